@@ -0,0 +1,154 @@
+package com.airtraffic.alert;
+
+import com.airtraffic.control.MessagePriority;
+import com.airtraffic.model.RiskLevel;
+
+/**
+ * Kontrol döngüsünün ürettiği yapılandırılmış uyarı
+ * Örnekler {@link AlertPipeline} halkasında yeniden kullanılır; sıcak yol metin
+ * yerine alan doldurur. Sink, {@link AlertSink#onAlert(AlertEvent)} döndükten
+ * sonra referans tutmamalı; gerekirse {@link #copy()} kullanılır.
+ */
+public final class AlertEvent {
+
+    private AlertType type;
+    private String vehicleId;
+    private String otherVehicleId;     // yalnızca çarpışma riskinde
+    private RiskLevel riskLevel;       // yalnızca çarpışma riskinde
+    private double timeToCollision;    // saniye
+    private double distance;           // metre
+    private int violationCount;        // yalnızca kural ihlalinde
+    private String recommendedAction;
+    private long timestampMillis;
+
+    void setCollisionRisk(String vehicleId, String otherVehicleId, RiskLevel riskLevel,
+                          double timeToCollision, double distance, String recommendedAction,
+                          long timestampMillis) {
+        this.type = AlertType.COLLISION_RISK;
+        this.vehicleId = vehicleId;
+        this.otherVehicleId = otherVehicleId;
+        this.riskLevel = riskLevel;
+        this.timeToCollision = timeToCollision;
+        this.distance = distance;
+        this.violationCount = 0;
+        this.recommendedAction = recommendedAction;
+        this.timestampMillis = timestampMillis;
+    }
+
+    void setRuleViolation(String vehicleId, int violationCount, long timestampMillis) {
+        this.type = AlertType.RULE_VIOLATION;
+        this.vehicleId = vehicleId;
+        this.otherVehicleId = null;
+        this.riskLevel = null;
+        this.timeToCollision = Double.NaN;
+        this.distance = Double.NaN;
+        this.violationCount = violationCount;
+        this.recommendedAction = null;
+        this.timestampMillis = timestampMillis;
+    }
+
+    /**
+     * Tüketilen slot araç veya metinleri tutmasın diye referansları bırakır
+     */
+    void clear() {
+        vehicleId = null;
+        otherVehicleId = null;
+        recommendedAction = null;
+    }
+
+    /**
+     * Olayın bağımsız kopyası
+     */
+    public AlertEvent copy() {
+        AlertEvent copy = new AlertEvent();
+        copy.type = type;
+        copy.vehicleId = vehicleId;
+        copy.otherVehicleId = otherVehicleId;
+        copy.riskLevel = riskLevel;
+        copy.timeToCollision = timeToCollision;
+        copy.distance = distance;
+        copy.violationCount = violationCount;
+        copy.recommendedAction = recommendedAction;
+        copy.timestampMillis = timestampMillis;
+        return copy;
+    }
+
+    /**
+     * Uplink öncelik sınıfı: kritik/yüksek risk > kural ihlali > bilgilendirme
+     */
+    public MessagePriority getPriority() {
+        if (type == AlertType.RULE_VIOLATION) {
+            return MessagePriority.RULE_VIOLATION;
+        }
+        return riskLevel == RiskLevel.HIGH || riskLevel == RiskLevel.CRITICAL
+            ? MessagePriority.CRITICAL_COLLISION
+            : MessagePriority.INFO;
+    }
+
+    /**
+     * Operatöre gösterilen uyarı metni (tüketici thread'inde üretilir)
+     */
+    public String formatMessage() {
+        if (type == AlertType.RULE_VIOLATION) {
+            return "UYARI: Araç " + vehicleId + " için " + violationCount + " kural ihlali tespit edildi";
+        }
+        if (riskLevel == RiskLevel.CRITICAL) {
+            return "KRİTİK ÇARPIŞMA RİSKİ: Araç " + vehicleId +
+                " ve " + otherVehicleId + " arasında kritik çarpışma riski tespit edildi! " +
+                "Tahmini çarpışma süresi: " + String.format("%.2f", timeToCollision) + " saniye. " +
+                "Önerilen aksiyon: " + recommendedAction;
+        }
+        if (riskLevel == RiskLevel.HIGH) {
+            return "YÜKSEK ÇARPIŞMA RİSKİ: Araç " + vehicleId +
+                " ve " + otherVehicleId + " arasında yüksek çarpışma riski. " +
+                "Mevcut mesafe: " + String.format("%.2f", distance) + " metre. " +
+                "Önerilen aksiyon: " + recommendedAction;
+        }
+        return "ÇARPIŞMA RİSKİ: Araç " + vehicleId +
+            " ve " + otherVehicleId + " arasında çarpışma riski tespit edildi. " +
+            "Risk seviyesi: " + riskLevel + ", Mesafe: " +
+            String.format("%.2f", distance) + " metre";
+    }
+
+    public AlertType getType() {
+        return type;
+    }
+
+    public String getVehicleId() {
+        return vehicleId;
+    }
+
+    public String getOtherVehicleId() {
+        return otherVehicleId;
+    }
+
+    public RiskLevel getRiskLevel() {
+        return riskLevel;
+    }
+
+    public double getTimeToCollision() {
+        return timeToCollision;
+    }
+
+    public double getDistance() {
+        return distance;
+    }
+
+    public int getViolationCount() {
+        return violationCount;
+    }
+
+    public String getRecommendedAction() {
+        return recommendedAction;
+    }
+
+    public long getTimestampMillis() {
+        return timestampMillis;
+    }
+
+    @Override
+    public String toString() {
+        return "AlertEvent{type=" + type + ", vehicleId='" + vehicleId + "', otherVehicleId='" +
+               otherVehicleId + "', riskLevel=" + riskLevel + ", violationCount=" + violationCount + '}';
+    }
+}
@@ -0,0 +1,310 @@
+package com.airtraffic.alert;
+
+import com.airtraffic.model.CollisionRisk;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Kontrol döngüsü ile uyarı alıcıları arasında asenkron uyarı hattı
+ *
+ * Üreticiler önceden ayrılmış halkada CAS ile slot alır, havuzdaki
+ * {@link AlertEvent}'i yerinde doldurup sıra numarasını yayınlar. Tek daemon
+ * tüketici thread'i olayları sırayla sink'lere verir; biçimlendirme ve I/O
+ * orada yapılır. Sıcak yol metin biçimlendirmez, kilit almaz, beklemez:
+ * halka doluysa yeni uyarı düşürülüp sayılır. Opsiyonel
+ * {@link AlertRateLimiter} üretici tarafında çalışır.
+ */
+public class AlertPipeline implements AutoCloseable {
+
+    private static final int DEFAULT_CAPACITY = 8192;
+    private static final int SPIN_LIMIT = 100;
+    private static final long IDLE_PARK_NANOS = 1_000_000L; // 1 ms
+
+    private final AlertEvent[] slots;
+    private final AtomicLongArray publishedSequence;
+    private final int mask;
+    private final AtomicLong claimSequence = new AtomicLong();
+    private final AtomicLong consumeSequence = new AtomicLong();
+    private final List<AlertSink> sinks = new CopyOnWriteArrayList<>();
+    private final AlertRateLimiter rateLimiter;
+
+    private final LongAdder publishedCount = new LongAdder();
+    private final LongAdder droppedCount = new LongAdder();
+    private final LongAdder suppressedCount = new LongAdder();
+    private final LongAdder sinkErrorCount = new LongAdder();
+
+    private volatile boolean running;
+    private volatile Thread consumer;
+
+    /**
+     * 8192 slotlu, varsayılan sınırlamalı hat
+     */
+    public AlertPipeline() {
+        this(DEFAULT_CAPACITY, new AlertRateLimiter());
+    }
+
+    /**
+     * @param capacity Halka boyu (ikinin kuvvetine yuvarlanır)
+     * @param rateLimiter Üretici tarafı sınırlayıcı (null = her uyarı geçer)
+     */
+    public AlertPipeline(int capacity, AlertRateLimiter rateLimiter) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("Capacity must be positive");
+        }
+        int size = Integer.highestOneBit(Math.max(2, capacity) - 1) << 1;
+        this.slots = new AlertEvent[size];
+        this.publishedSequence = new AtomicLongArray(size);
+        for (int i = 0; i < size; i++) {
+            slots[i] = new AlertEvent();
+            publishedSequence.set(i, -1L);
+        }
+        this.mask = size - 1;
+        this.rateLimiter = rateLimiter;
+    }
+
+    public void addSink(AlertSink sink) {
+        if (sink == null) {
+            throw new IllegalArgumentException("Sink cannot be null");
+        }
+        sinks.add(sink);
+    }
+
+    public void removeSink(AlertSink sink) {
+        sinks.remove(sink);
+    }
+
+    /**
+     * Tüketici thread'ini başlatır (çalışıyorsa bir şey yapmaz)
+     */
+    public synchronized void start() {
+        if (running) {
+            return;
+        }
+        running = true;
+        Thread thread = new Thread(this::consumeLoop, "alert-pipeline");
+        thread.setDaemon(true);
+        consumer = thread;
+        thread.start();
+    }
+
+    /**
+     * Yayınlanmış her şeyi ilettikten sonra tüketiciyi durdurur
+     */
+    @Override
+    public void close() {
+        Thread thread;
+        synchronized (this) {
+            running = false;
+            thread = consumer;
+            consumer = null;
+        }
+        if (thread != null) {
+            LockSupport.unpark(thread);
+            try {
+                thread.join();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    /**
+     * Verilen araçtan görülen çarpışma riskini yayınlar
+     * @return Uyarı sınırlandıysa veya halka doluysa false
+     */
+    public boolean publishCollisionRisk(String vehicleId, CollisionRisk risk) {
+        return publishCollisionRisk(vehicleId, risk, System.currentTimeMillis());
+    }
+
+    public boolean publishCollisionRisk(String vehicleId, CollisionRisk risk, long nowMillis) {
+        String otherId = vehicleId.equals(risk.getVehicleId2()) ? risk.getVehicleId1() : risk.getVehicleId2();
+        if (rateLimiter != null && !rateLimiter.allowCollision(vehicleId, otherId, risk.getRiskLevel(), nowMillis)) {
+            suppressedCount.increment();
+            return false;
+        }
+        return enqueueCollisionRisk(vehicleId, otherId, risk, nowMillis);
+    }
+
+    /**
+     * Çarpışma riskini çiftin iki aracına kendi bakışlarından yayınlar
+     * Çift bir kez sınırlanır; iki uyarı birlikte geçer ya da hiçbiri geçmez
+     * @return Yayınlanan uyarı sayısı (0, halka dolduysa 1, ya da 2)
+     */
+    public int publishCollisionRiskToPair(CollisionRisk risk) {
+        return publishCollisionRiskToPair(risk, System.currentTimeMillis());
+    }
+
+    public int publishCollisionRiskToPair(CollisionRisk risk, long nowMillis) {
+        String first = risk.getVehicleId1();
+        String second = risk.getVehicleId2();
+        if (rateLimiter != null && !rateLimiter.allowCollision(first, second, risk.getRiskLevel(), nowMillis)) {
+            suppressedCount.increment();
+            return 0;
+        }
+        int published = enqueueCollisionRisk(first, second, risk, nowMillis) ? 1 : 0;
+        return published + (enqueueCollisionRisk(second, first, risk, nowMillis) ? 1 : 0);
+    }
+
+    private boolean enqueueCollisionRisk(String vehicleId, String otherId, CollisionRisk risk, long nowMillis) {
+        long seq = claim();
+        if (seq < 0) {
+            return false;
+        }
+        slots[(int) seq & mask].setCollisionRisk(vehicleId, otherId, risk.getRiskLevel(),
+            risk.getEstimatedTimeToCollision(), risk.getCurrentDistance(), risk.getRecommendedAction(), nowMillis);
+        publish(seq);
+        return true;
+    }
+
+    /**
+     * Araç için kural ihlali uyarısı yayınlar
+     * @return Uyarı sınırlandıysa veya halka doluysa false
+     */
+    public boolean publishRuleViolation(String vehicleId, int violationCount) {
+        return publishRuleViolation(vehicleId, violationCount, System.currentTimeMillis());
+    }
+
+    public boolean publishRuleViolation(String vehicleId, int violationCount, long nowMillis) {
+        if (rateLimiter != null && !rateLimiter.allowViolation(vehicleId, nowMillis)) {
+            suppressedCount.increment();
+            return false;
+        }
+        long seq = claim();
+        if (seq < 0) {
+            return false;
+        }
+        slots[(int) seq & mask].setRuleViolation(vehicleId, violationCount, nowMillis);
+        publish(seq);
+        return true;
+    }
+
+    private long claim() {
+        while (true) {
+            long seq = claimSequence.get();
+            if (seq - consumeSequence.get() >= slots.length) {
+                droppedCount.increment();
+                return -1;
+            }
+            if (claimSequence.compareAndSet(seq, seq + 1)) {
+                return seq;
+            }
+        }
+    }
+
+    private void publish(long seq) {
+        publishedSequence.lazySet((int) seq & mask, seq);
+        publishedCount.increment();
+    }
+
+    private void consumeLoop() {
+        int idle = 0;
+        while (true) {
+            if (consumeAvailable() > 0) {
+                idle = 0;
+                continue;
+            }
+            if (!running && claimSequence.get() == consumeSequence.get()) {
+                return;
+            }
+            if (++idle < SPIN_LIMIT) {
+                Thread.onSpinWait();
+            } else {
+                LockSupport.parkNanos(IDLE_PARK_NANOS);
+            }
+        }
+    }
+
+    /**
+     * Ardışık yayınlanmış tüm olayları sink'lere iletir
+     * @return İletilen olay sayısı
+     */
+    private int consumeAvailable() {
+        long next = consumeSequence.get();
+        int count = 0;
+        while (true) {
+            int index = (int) next & mask;
+            if (publishedSequence.get(index) != next) {
+                return count;
+            }
+            AlertEvent event = slots[index];
+            for (AlertSink sink : sinks) {
+                try {
+                    sink.onAlert(event);
+                } catch (RuntimeException e) {
+                    // Bir sink hatası diğer sink'leri ve kuyruğu durdurmamalı
+                    sinkErrorCount.increment();
+                }
+            }
+            event.clear();
+            next++;
+            consumeSequence.lazySet(next);
+            count++;
+        }
+    }
+
+    /**
+     * Şimdiye kadar yayınlanan tüm uyarılar iletilene kadar bekler
+     * @return Zaman aşımında false
+     */
+    public boolean awaitDrained(long timeoutMillis) {
+        long target = claimSequence.get();
+        long deadline = System.nanoTime() + timeoutMillis * 1_000_000L;
+        while (consumeSequence.get() < target) {
+            if (System.nanoTime() >= deadline) {
+                return false;
+            }
+            LockSupport.parkNanos(100_000L);
+        }
+        return true;
+    }
+
+    public boolean isRunning() {
+        return running;
+    }
+
+    public int getCapacity() {
+        return slots.length;
+    }
+
+    /**
+     * Tüketiciyi bekleyen uyarı sayısı
+     */
+    public int getPendingCount() {
+        return (int) (claimSequence.get() - consumeSequence.get());
+    }
+
+    public long getPublishedCount() {
+        return publishedCount.sum();
+    }
+
+    public long getDeliveredCount() {
+        return consumeSequence.get();
+    }
+
+    /**
+     * Halka dolu olduğu için kaybedilen uyarı sayısı
+     */
+    public long getDroppedCount() {
+        return droppedCount.sum();
+    }
+
+    /**
+     * Sınırlayıcının filtrelediği uyarı sayısı
+     */
+    public long getSuppressedCount() {
+        return suppressedCount.sum();
+    }
+
+    public long getSinkErrorCount() {
+        return sinkErrorCount.sum();
+    }
+
+    public AlertRateLimiter getRateLimiter() {
+        return rateLimiter;
+    }
+}
@@ -0,0 +1,113 @@
+package com.airtraffic.alert;
+
+import com.airtraffic.model.RiskLevel;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Histerezisli, çift başına uyarı sınırlama
+ * Yükselen seviye her zaman geçer; aynı seviye aralık başına en fazla bir kez
+ * tekrarlanır. Düşen seviye ancak art arda birkaç güncellemede görülüp aralık
+ * dolunca kabul edilir, böylece eşik etrafında salınan çift operatörü
+ * boğmaz. Kural ihlalleri araç başına aynı aralıkla sınırlanır.
+ */
+public class AlertRateLimiter {
+
+    private static final long DEFAULT_INTERVAL_MILLIS = 1000;
+    private static final int DEFAULT_DEESCALATION_COUNT = 3;
+
+    private final long minIntervalMillis;
+    private final int deescalationCount;
+    // Küçük ID -> büyük ID -> durum; lookup yolunda anahtar nesnesi üretilmez
+    private final Map<String, Map<String, PairState>> pairs;
+    private final Map<String, PairState> violations;
+
+    public AlertRateLimiter() {
+        this(DEFAULT_INTERVAL_MILLIS, DEFAULT_DEESCALATION_COUNT);
+    }
+
+    /**
+     * @param minIntervalMillis Bir çiftin yükselmeyen uyarıları arasındaki minimum süre
+     * @param deescalationCount Seviye düşürmek için gereken ardışık düşük gözlem sayısı
+     */
+    public AlertRateLimiter(long minIntervalMillis, int deescalationCount) {
+        if (minIntervalMillis < 0) {
+            throw new IllegalArgumentException("Interval cannot be negative");
+        }
+        if (deescalationCount < 1) {
+            throw new IllegalArgumentException("De-escalation count must be at least 1");
+        }
+        this.minIntervalMillis = minIntervalMillis;
+        this.deescalationCount = deescalationCount;
+        this.pairs = new ConcurrentHashMap<>();
+        this.violations = new ConcurrentHashMap<>();
+    }
+
+    /**
+     * Çift için çarpışma uyarısı üretilmeli mi?
+     */
+    public boolean allowCollision(String vehicleId1, String vehicleId2, RiskLevel level, long nowMillis) {
+        String first = vehicleId1;
+        String second = vehicleId2;
+        if (first.compareTo(second) > 0) {
+            first = vehicleId2;
+            second = vehicleId1;
+        }
+        PairState state = pairs.computeIfAbsent(first, k -> new ConcurrentHashMap<>())
+            .computeIfAbsent(second, k -> new PairState());
+        return state.allow(level.ordinal(), nowMillis);
+    }
+
+    /**
+     * Araç için kural ihlali uyarısı üretilmeli mi?
+     */
+    public boolean allowViolation(String vehicleId, long nowMillis) {
+        return violations.computeIfAbsent(vehicleId, k -> new PairState()).allow(0, nowMillis);
+    }
+
+    /**
+     * Aracın tüm durumunu siler (ör. kaydı silindiğinde)
+     */
+    public void forget(String vehicleId) {
+        pairs.remove(vehicleId);
+        for (Map<String, PairState> inner : pairs.values()) {
+            inner.remove(vehicleId);
+        }
+        violations.remove(vehicleId);
+    }
+
+    public int getTrackedPairCount() {
+        int count = 0;
+        for (Map<String, PairState> inner : pairs.values()) {
+            count += inner.size();
+        }
+        return count;
+    }
+
+    private final class PairState {
+        private int lastLevel = -1;
+        private long lastEmitMillis;
+        private int lowerStreak;
+
+        synchronized boolean allow(int level, long nowMillis) {
+            if (lastLevel < 0 || level > lastLevel) {
+                return emit(level, nowMillis);
+            }
+            boolean intervalPassed = nowMillis - lastEmitMillis >= minIntervalMillis;
+            if (level == lastLevel) {
+                lowerStreak = 0;
+                return intervalPassed && emit(level, nowMillis);
+            }
+            lowerStreak++;
+            return lowerStreak >= deescalationCount && intervalPassed && emit(level, nowMillis);
+        }
+
+        private boolean emit(int level, long nowMillis) {
+            lastLevel = level;
+            lastEmitMillis = nowMillis;
+            lowerStreak = 0;
+            return true;
+        }
+    }
+}
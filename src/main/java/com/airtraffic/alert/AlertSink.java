@@ -0,0 +1,13 @@
+package com.airtraffic.alert;
+
+/**
+ * Alarm olaylarının alıcısı, pipeline'ın tüketici thread'inde çağrılır
+ */
+@FunctionalInterface
+public interface AlertSink {
+
+    /**
+     * @param event Havuzdan gelen olay, yalnızca çağrı süresince geçerli
+     */
+    void onAlert(AlertEvent event);
+}
@@ -0,0 +1,16 @@
+package com.airtraffic.alert;
+
+/**
+ * Uyarı olayı türü
+ */
+public enum AlertType {
+    /**
+     * İki araç arasında çarpışma riski
+     */
+    COLLISION_RISK,
+
+    /**
+     * Bir aracın trafik kuralı ihlali
+     */
+    RULE_VIOLATION
+}
@@ -0,0 +1,48 @@
+package com.airtraffic.alert;
+
+import com.airtraffic.model.RiskLevel;
+import org.apache.logging.log4j.Level;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+/**
+ * Alarmları "com.airtraffic.alert" log4j2 logger'ına yazar
+ * Kritik riskler ERROR, yüksek riskler ve kural ihlalleri WARN, diğerleri INFO
+ * seviyesinde; mesaj yalnızca seviye açıksa biçimlendirilir.
+ */
+public class Log4jAlertSink implements AlertSink {
+
+    public static final String LOGGER_NAME = "com.airtraffic.alert";
+
+    private final Logger logger;
+
+    public Log4jAlertSink() {
+        this(LogManager.getLogger(LOGGER_NAME));
+    }
+
+    public Log4jAlertSink(Logger logger) {
+        if (logger == null) {
+            throw new IllegalArgumentException("Logger cannot be null");
+        }
+        this.logger = logger;
+    }
+
+    @Override
+    public void onAlert(AlertEvent event) {
+        Level level = levelOf(event);
+        if (logger.isEnabled(level)) {
+            logger.log(level, event.formatMessage());
+        }
+    }
+
+    static Level levelOf(AlertEvent event) {
+        if (event.getType() == AlertType.RULE_VIOLATION) {
+            return Level.WARN;
+        }
+        RiskLevel risk = event.getRiskLevel();
+        if (risk == RiskLevel.CRITICAL) {
+            return Level.ERROR;
+        }
+        return risk == RiskLevel.HIGH ? Level.WARN : Level.INFO;
+    }
+}
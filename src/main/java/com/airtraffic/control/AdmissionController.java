@@ -0,0 +1,620 @@
+package com.airtraffic.control;
+
+import com.airtraffic.map.RouteNetwork;
+import com.airtraffic.map.RouteSegment;
+import com.airtraffic.model.Position;
+import com.airtraffic.model.Vehicle;
+import com.airtraffic.util.GeoUtils;
+import com.airtraffic.util.LocalProjection;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Uçuş izinleri için yoğunluk bazlı kabul kontrolü
+ *
+ * Hava sahası kare grid hücrelerine, zaman 15 dakikalık dilimlere bölünür.
+ * İki sayaç artımlı tutulur: doluluk (hücredeki kayıtlı araçlar) ve
+ * rezervasyon (henüz trafiğe girmemiş onaylı uçuşlar; uçuş penceresinin her
+ * koridor hücresi ve dilimi için bir). Talep, kalkış-varış düz koridorundaki
+ * her (hücre, dilim) yeni uçuşla kapasite içinde kalırsa ve
+ * {@link TrafficFlowService} bağlıysa uçlardaki segmentler araç limitinin
+ * altındaysa kabul edilir. Doluluk yalnızca izin geçerliliği olan önümüzdeki
+ * iki saatle örtüşen pencerelerde sayılır. {@link SpeedAdvisoryController}
+ * bağlıysa ölçümlü segment giriş dakikası başına en fazla ölçüm hızı kadar
+ * uçuş kabul eder.
+ *
+ * Karar yalnızca koridor hücrelerini ve dilimleri dolaşır (araç taraması yok).
+ * Kararlar ve rezervasyonlar sıralıdır; doluluk güncellemeleri kilit almaz.
+ */
+public class AdmissionController {
+
+    private static final double DEFAULT_CELL_SIZE = 250.0;       // metre
+    // 250 m hücre, 50 m yatay ayrım -> katman başına 25 araç, 4 irtifa katmanı
+    private static final int DEFAULT_CELL_CAPACITY = 100;
+    private static final double DEFAULT_SEGMENT_THRESHOLD = 100.0; // metre
+    private static final long DEFAULT_SLOT_MILLIS = 15 * 60 * 1000L;
+    private static final long DEFAULT_WINDOW_MILLIS = 2 * 60 * 60 * 1000L; // izin geçerliliği
+    private static final long METERING_MINUTE_MILLIS = 60 * 1000L;
+
+    private volatile LocalProjection projection;  // harita değişince setReference ile yenilenir
+    private final double cellSize;
+    private final int cellCapacity;
+    private final long slotMillis;
+
+    private final Map<Long, Integer> occupancy;             // hücre -> kayıtlı araç sayısı
+    private final Map<String, Long> vehicleCells;           // araç -> bulunduğu hücre
+    private final Map<SlotKey, Integer> cellReservations;   // (hücre, slot) -> onaylı, henüz kalkmamış uçuş
+    private final Map<SlotKey, Integer> segmentReservations; // (segment, slot) -> onaylı, henüz kalkmamış uçuş
+    private final Map<String, Reservation> reservations;    // araç -> rezervasyon (lock altında)
+    private final Map<Long, Set<String>> cellHolders;       // hücre -> koridoru geçen araçlar (lock altında)
+    private final Map<SlotKey, Integer> segmentEntries;     // (segment, giriş dakikası) -> onaylı giriş (lock altında)
+    private long prunedEntryMinute = Long.MIN_VALUE;
+    private volatile TrafficFlowService trafficFlowService; // null = segment kontrolü yok
+    private volatile SpeedAdvisoryController meteringSource; // null = giriş ölçümü yok
+
+    private final LongAdder admittedCount = new LongAdder();
+    private final LongAdder rejectedCount = new LongAdder();
+
+    /**
+     * 250 m hücreli, hücre başına 100 araçlık kontrolcü
+     * @param referenceLat Gridin referans enlemi
+     * @param referenceLon Gridin referans boylamı
+     */
+    public AdmissionController(double referenceLat, double referenceLon) {
+        this(referenceLat, referenceLon, DEFAULT_CELL_SIZE, DEFAULT_CELL_CAPACITY);
+    }
+
+    /**
+     * @param referenceLat Gridin referans enlemi
+     * @param referenceLon Gridin referans boylamı
+     * @param cellSize Hücre kenar uzunluğu (metre)
+     * @param cellCapacity Hücre başına maksimum öngörülen araç
+     */
+    public AdmissionController(double referenceLat, double referenceLon, double cellSize, int cellCapacity) {
+        if (cellSize <= 0) {
+            throw new IllegalArgumentException("Cell size must be positive");
+        }
+        if (cellCapacity <= 0) {
+            throw new IllegalArgumentException("Cell capacity must be positive");
+        }
+        this.projection = new LocalProjection(referenceLat, referenceLon);
+        this.cellSize = cellSize;
+        this.cellCapacity = cellCapacity;
+        this.slotMillis = DEFAULT_SLOT_MILLIS;
+        this.occupancy = new ConcurrentHashMap<>();
+        this.vehicleCells = new ConcurrentHashMap<>();
+        this.cellReservations = new ConcurrentHashMap<>();
+        this.segmentReservations = new ConcurrentHashMap<>();
+        this.reservations = new HashMap<>();
+        this.cellHolders = new HashMap<>();
+        this.segmentEntries = new HashMap<>();
+    }
+
+    /**
+     * Segment doluluğunu bağlar; koridorun iki ucundaki segmentler de kontrol edilir
+     */
+    public void setTrafficFlowService(TrafficFlowService trafficFlowService) {
+        this.trafficFlowService = trafficFlowService;
+    }
+
+    public TrafficFlowService getTrafficFlowService() {
+        return trafficFlowService;
+    }
+
+    /**
+     * Segment ölçümünü bağlar; ölçümlü segmentler giriş dakikası başına kabulü sınırlar
+     */
+    public void setMeteringSource(SpeedAdvisoryController meteringSource) {
+        this.meteringSource = meteringSource;
+    }
+
+    public SpeedAdvisoryController getMeteringSource() {
+        return meteringSource;
+    }
+
+    /**
+     * Önümüzdeki iki saat için uçuşu kabul eder, başarılıysa koridoru rezerve eder
+     * Aracın önceki rezervasyonu yalnızca yeni talep kabul edilirse değişir
+     * @return Kabul edildiyse true
+     */
+    public boolean tryAdmit(String vehicleId, Position departure, Position destination) {
+        long now = System.currentTimeMillis();
+        return tryAdmit(vehicleId, departure, destination, now, now + DEFAULT_WINDOW_MILLIS);
+    }
+
+    /**
+     * Verilen pencere için uçuşu kabul eder, başarılıysa koridoru rezerve eder
+     * @return Kabul edildiyse true
+     */
+    public boolean tryAdmit(String vehicleId, Position departure, Position destination,
+                            long startMillis, long endMillis) {
+        if (vehicleId == null || departure == null || destination == null) {
+            throw new IllegalArgumentException("Vehicle ID, departure and destination cannot be null");
+        }
+        return tryAdmit(vehicleId, corridorCells(departure, destination),
+            corridorSegments(departure, destination), startMillis, endMillis, 0) == 0;
+    }
+
+    /**
+     * Önceden hesaplanmış koridoru sığan en erken dilim kaydırmasıyla kabul eder
+     * @param maxShiftSlots Denenecek en geç kaydırma (0 = yalnızca istenen pencere)
+     * @return Kabul edilen pencerenin dilim kaydırması, sığmazsa -1
+     */
+    synchronized int tryAdmit(String vehicleId, long[] cells, RouteSegment[] segments,
+                              long startMillis, long endMillis, int maxShiftSlots) {
+        if (endMillis < startMillis) {
+            throw new IllegalArgumentException("Window end cannot be before its start");
+        }
+        long firstSlot = Math.floorDiv(startMillis, slotMillis);
+        long lastSlot = Math.floorDiv(endMillis, slotMillis);
+        // Aracın önceki rezervasyonu kendi yoğunluğuna sayılmaz; red durumunda geri konur
+        Reservation previous = reservations.get(vehicleId);
+        release(vehicleId);
+        long now = System.currentTimeMillis();
+        long nowSlot = Math.floorDiv(now, slotMillis);
+        pruneEntries(Math.floorDiv(now, METERING_MINUTE_MILLIS));
+        for (int shift = 0; shift <= maxShiftSlots; shift++) {
+            long entryMinute = Math.floorDiv(startMillis + shift * slotMillis, METERING_MINUTE_MILLIS);
+            if (fits(cells, segments, firstSlot + shift, lastSlot + shift, nowSlot)
+                    && withinMetering(segments, entryMinute)) {
+                addReservation(vehicleId, new Reservation(cells, segmentIds(segments),
+                    firstSlot + shift, lastSlot + shift));
+                recordEntries(segments, entryMinute);
+                admittedCount.increment();
+                return shift;
+            }
+        }
+        if (previous != null) {
+            addReservation(vehicleId, previous);
+        }
+        rejectedCount.increment();
+        return -1;
+    }
+
+    private boolean fits(long[] cells, RouteSegment[] segments, long firstSlot, long lastSlot, long nowSlot) {
+        boolean current = overlapsHorizon(firstSlot, lastSlot, nowSlot);
+        for (long cell : cells) {
+            int occupied = current ? count(occupancy, cell) : 0;
+            for (long slot = firstSlot; slot <= lastSlot; slot++) {
+                if (occupied + count(cellReservations, new SlotKey(cell, slot)) + 1 > cellCapacity) {
+                    return false;
+                }
+            }
+        }
+        TrafficFlowService flow = trafficFlowService;
+        for (RouteSegment segment : segments) {
+            if (segment == null || flow == null) {
+                continue;
+            }
+            int occupied = current ? flow.getVehicleCountForSegment(segment.getSegmentId()) : 0;
+            for (long slot = firstSlot; slot <= lastSlot; slot++) {
+                if (occupied + count(segmentReservations, new SlotKey(segment.getSegmentId(), slot)) + 1
+                        > segment.getMaxVehicles()) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Ölçümlü segmentler giriş dakikası başına en fazla hızları (araç/dk) kadar kabul eder
+     */
+    private boolean withinMetering(RouteSegment[] segments, long entryMinute) {
+        SpeedAdvisoryController metering = meteringSource;
+        if (metering == null) {
+            return true;
+        }
+        for (RouteSegment segment : segments) {
+            if (segment == null) {
+                continue;
+            }
+            double rate = metering.getMeteringRate(segment.getSegmentId());
+            if (count(segmentEntries, new SlotKey(segment.getSegmentId(), entryMinute)) + 1 > rate) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private void recordEntries(RouteSegment[] segments, long entryMinute) {
+        if (meteringSource == null) {
+            return;
+        }
+        for (RouteSegment segment : segments) {
+            if (segment != null) {
+                segmentEntries.merge(new SlotKey(segment.getSegmentId(), entryMinute), 1, Integer::sum);
+            }
+        }
+    }
+
+    /**
+     * Geçmiş dakikaların giriş sayıları artık kısıt değildir
+     */
+    private void pruneEntries(long nowMinute) {
+        if (nowMinute != prunedEntryMinute) {
+            segmentEntries.keySet().removeIf(key -> key.slot < nowMinute);
+            prunedEntryMinute = nowMinute;
+        }
+    }
+
+    /**
+     * Havadaki araçlar yalnızca önümüzdeki iki saatte başlayan pencereleri etkiler
+     */
+    private boolean overlapsHorizon(long firstSlot, long lastSlot, long nowSlot) {
+        return lastSlot >= nowSlot && firstSlot <= nowSlot + DEFAULT_WINDOW_MILLIS / slotMillis;
+    }
+
+    /**
+     * Kapasite kontrolü olmadan koridor rezerve eder (ör. kayıtlı izinleri geri yükleme)
+     */
+    public synchronized void reserve(String vehicleId, Position departure, Position destination,
+                                     long startMillis, long endMillis) {
+        if (vehicleId == null || departure == null || destination == null) {
+            throw new IllegalArgumentException("Vehicle ID, departure and destination cannot be null");
+        }
+        release(vehicleId);
+        addReservation(vehicleId, new Reservation(corridorCells(departure, destination),
+            segmentIds(corridorSegments(departure, destination)),
+            Math.floorDiv(startMillis, slotMillis), Math.floorDiv(Math.max(startMillis, endMillis), slotMillis)));
+    }
+
+    /**
+     * Aracın koridor rezervasyonunu bırakır (uçuş başladı, süresi doldu veya iptal)
+     * @return Aracın rezervasyonu varsa true
+     */
+    public synchronized boolean release(String vehicleId) {
+        Reservation reservation = reservations.remove(vehicleId);
+        if (reservation == null) {
+            return false;
+        }
+        for (long cell : reservation.cells) {
+            Set<String> holders = cellHolders.get(cell);
+            if (holders != null && holders.remove(vehicleId) && holders.isEmpty()) {
+                cellHolders.remove(cell);
+            }
+        }
+        for (long slot = reservation.firstSlot; slot <= reservation.lastSlot; slot++) {
+            for (long cell : reservation.cells) {
+                decrement(cellReservations, new SlotKey(cell, slot));
+            }
+            for (String segmentId : reservation.segmentIds) {
+                if (segmentId != null) {
+                    decrement(segmentReservations, new SlotKey(segmentId, slot));
+                }
+            }
+        }
+        return true;
+    }
+
+    private void addReservation(String vehicleId, Reservation reservation) {
+        reservations.put(vehicleId, reservation);
+        for (long cell : reservation.cells) {
+            cellHolders.computeIfAbsent(cell, c -> new HashSet<>()).add(vehicleId);
+        }
+        for (long slot = reservation.firstSlot; slot <= reservation.lastSlot; slot++) {
+            for (long cell : reservation.cells) {
+                cellReservations.merge(new SlotKey(cell, slot), 1, Integer::sum);
+            }
+            for (String segmentId : reservation.segmentIds) {
+                if (segmentId != null) {
+                    segmentReservations.merge(new SlotKey(segmentId, slot), 1, Integer::sum);
+                }
+            }
+        }
+    }
+
+    /**
+     * Araç trafiğe girdi: rezervasyonu doluluğa dönüşür
+     */
+    public void onVehicleRegistered(Vehicle vehicle) {
+        release(vehicle.getId());
+        onVehicleMoved(vehicle);
+    }
+
+    /**
+     * Aracın doluluğunu güncel hücresine taşır
+     */
+    public void onVehicleMoved(Vehicle vehicle) {
+        Position position = vehicle.getPosition();
+        if (position == null) {
+            return;
+        }
+        Long cell = cellKey(position);
+        Long previous = vehicleCells.put(vehicle.getId(), cell);
+        if (cell.equals(previous)) {
+            return;
+        }
+        occupancy.merge(cell, 1, Integer::sum);
+        if (previous != null) {
+            decrement(occupancy, previous);
+        }
+    }
+
+    /**
+     * Araç trafikten çıktı: doluluk ve rezervasyon bırakılır
+     */
+    public void onVehicleRemoved(String vehicleId) {
+        Long previous = vehicleCells.remove(vehicleId);
+        if (previous != null) {
+            decrement(occupancy, previous);
+        }
+        release(vehicleId);
+    }
+
+    /**
+     * Gridi yeni referans noktasına taşır. Hücre anahtarları değiştiği için tüm
+     * sayaçlar ve rezervasyonlar düşer; çağıran araçları yeniden kaydeder ve
+     * onaylı uçuşları yeniden rezerve eder.
+     */
+    public synchronized void setReference(double referenceLat, double referenceLon) {
+        projection = new LocalProjection(referenceLat, referenceLon);
+        clear();
+    }
+
+    public LocalProjection getProjection() {
+        return projection;
+    }
+
+    /**
+     * Tüm sayaçları ve rezervasyonları temizler
+     */
+    public synchronized void clear() {
+        reservations.clear();
+        cellHolders.clear();
+        cellReservations.clear();
+        segmentReservations.clear();
+        segmentEntries.clear();
+        vehicleCells.clear();
+        occupancy.clear();
+    }
+
+    /**
+     * Düz koridorun geçtiği hücreler, gidiş sırasıyla (grid taraması)
+     */
+    long[] corridorCells(Position departure, Position destination) {
+        LocalProjection grid = projection;
+        double x0 = grid.toX(departure.getLongitude()) / cellSize;
+        double y0 = grid.toY(departure.getLatitude()) / cellSize;
+        double x1 = grid.toX(destination.getLongitude()) / cellSize;
+        double y1 = grid.toY(destination.getLatitude()) / cellSize;
+        long cx = (long) Math.floor(x0);
+        long cy = (long) Math.floor(y0);
+        long endX = (long) Math.floor(x1);
+        long endY = (long) Math.floor(y1);
+
+        double dx = x1 - x0;
+        double dy = y1 - y0;
+        int stepX = dx > 0 ? 1 : -1;
+        int stepY = dy > 0 ? 1 : -1;
+        double deltaX = dx != 0 ? Math.abs(1.0 / dx) : Double.POSITIVE_INFINITY;
+        double deltaY = dy != 0 ? Math.abs(1.0 / dy) : Double.POSITIVE_INFINITY;
+        double nextX = dx != 0 ? (stepX > 0 ? (cx + 1 - x0) : (x0 - cx)) * deltaX : Double.POSITIVE_INFINITY;
+        double nextY = dy != 0 ? (stepY > 0 ? (cy + 1 - y0) : (y0 - cy)) * deltaY : Double.POSITIVE_INFINITY;
+
+        int count = (int) (Math.abs(endX - cx) + Math.abs(endY - cy)) + 1;
+        long[] cells = new long[count];
+        for (int i = 0; i < count; i++) {
+            cells[i] = GeoUtils.packKey(cx, cy);
+            if (nextX < nextY) {
+                cx += stepX;
+                nextX += deltaX;
+            } else {
+                cy += stepY;
+                nextY += deltaY;
+            }
+        }
+        return cells;
+    }
+
+    RouteSegment[] corridorSegments(Position departure, Position destination) {
+        TrafficFlowService flow = trafficFlowService;
+        if (flow == null) {
+            return new RouteSegment[0];
+        }
+        RouteSegment start = segmentAt(flow, departure);
+        RouteSegment end = segmentAt(flow, destination);
+        if (start != null && end != null && start.getSegmentId().equals(end.getSegmentId())) {
+            end = null;
+        }
+        return new RouteSegment[] {start, end};
+    }
+
+    private static String[] segmentIds(RouteSegment[] segments) {
+        String[] ids = new String[segments.length];
+        for (int i = 0; i < segments.length; i++) {
+            ids[i] = segments[i] != null ? segments[i].getSegmentId() : null;
+        }
+        return ids;
+    }
+
+    private static RouteSegment segmentAt(TrafficFlowService flow, Position position) {
+        RouteNetwork network = flow.getRouteNetwork();
+        if (network == null) {
+            return null;
+        }
+        RouteSegment segment = network.findNearestSegment(position, DEFAULT_SEGMENT_THRESHOLD);
+        return segment != null && segment.isActive() ? segment : null;
+    }
+
+    private long cellKey(Position position) {
+        LocalProjection grid = projection;
+        long x = (long) Math.floor(grid.toX(position.getLongitude()) / cellSize);
+        long y = (long) Math.floor(grid.toY(position.getLatitude()) / cellSize);
+        return GeoUtils.packKey(x, y);
+    }
+
+    private static <K> int count(Map<K, Integer> counters, K key) {
+        Integer value = counters.get(key);
+        return value != null ? value : 0;
+    }
+
+    private static <K> void decrement(Map<K, Integer> counters, K key) {
+        counters.computeIfPresent(key, (k, value) -> value <= 1 ? null : value - 1);
+    }
+
+    /**
+     * Konumun bulunduğu hücredeki kayıtlı araç sayısı
+     */
+    public int getOccupancy(Position position) {
+        return count(occupancy, cellKey(position));
+    }
+
+    /**
+     * Koridoru şu an hücreden geçen, henüz kayıtlı olmayan onaylı uçuşlar
+     */
+    public int getReservations(Position position) {
+        return getReservations(position, System.currentTimeMillis());
+    }
+
+    /**
+     * Koridoru verilen zamanda hücreden geçen, henüz kayıtlı olmayan onaylı uçuşlar
+     */
+    public int getReservations(Position position, long atMillis) {
+        return count(cellReservations, new SlotKey(cellKey(position), Math.floorDiv(atMillis, slotMillis)));
+    }
+
+    /**
+     * Konumun hücresi için doluluk + güncel rezervasyonlar
+     */
+    public int getProjectedDensity(Position position) {
+        return count(occupancy, cellKey(position)) + getReservations(position);
+    }
+
+    /**
+     * Segmenti şu an kullanan, henüz kayıtlı olmayan onaylı uçuşlar
+     */
+    public int getSegmentReservations(String segmentId) {
+        long slot = Math.floorDiv(System.currentTimeMillis(), slotMillis);
+        return count(segmentReservations, new SlotKey(segmentId, slot));
+    }
+
+    /**
+     * Önümüzdeki iki saatte koridor boyunca en yüksek öngörülen yoğunluk
+     */
+    public int getPeakCorridorDensity(Position departure, Position destination) {
+        long firstSlot = Math.floorDiv(System.currentTimeMillis(), slotMillis);
+        long lastSlot = firstSlot + DEFAULT_WINDOW_MILLIS / slotMillis;
+        int peak = 0;
+        for (long cell : corridorCells(departure, destination)) {
+            int occupied = count(occupancy, cell);
+            for (long slot = firstSlot; slot <= lastSlot; slot++) {
+                peak = Math.max(peak, occupied + count(cellReservations, new SlotKey(cell, slot)));
+            }
+        }
+        return peak;
+    }
+
+    public synchronized int getReservationCount() {
+        return reservations.size();
+    }
+
+    public synchronized List<String> getReservedVehicleIds() {
+        return new ArrayList<>(reservations.keySet());
+    }
+
+    /**
+     * Koridoru herhangi bir dilimde verilen kutudan geçen rezervasyonlu araçlar
+     * Kutunun altındaki hücreleri, daha azsa tüm rezerve hücreleri dolaşır
+     */
+    public synchronized Set<String> getReservedVehicleIds(double minLat, double maxLat,
+                                                          double minLon, double maxLon) {
+        LocalProjection grid = projection;
+        long minX = (long) Math.floor(grid.toX(minLon) / cellSize);
+        long maxX = (long) Math.floor(grid.toX(maxLon) / cellSize);
+        long minY = (long) Math.floor(grid.toY(minLat) / cellSize);
+        long maxY = (long) Math.floor(grid.toY(maxLat) / cellSize);
+        Set<String> result = new HashSet<>();
+        if ((double) (maxX - minX + 1) * (maxY - minY + 1) > cellHolders.size()) {
+            for (Map.Entry<Long, Set<String>> entry : cellHolders.entrySet()) {
+                long key = entry.getKey();
+                long x = GeoUtils.cellX(key);
+                long y = GeoUtils.cellY(key);
+                if (x >= minX && x <= maxX && y >= minY && y <= maxY) {
+                    result.addAll(entry.getValue());
+                }
+            }
+            return result;
+        }
+        for (long x = minX; x <= maxX; x++) {
+            for (long y = minY; y <= maxY; y++) {
+                Set<String> holders = cellHolders.get(GeoUtils.packKey(x, y));
+                if (holders != null) {
+                    result.addAll(holders);
+                }
+            }
+        }
+        return result;
+    }
+
+    public long getAdmittedCount() {
+        return admittedCount.sum();
+    }
+
+    public long getRejectedCount() {
+        return rejectedCount.sum();
+    }
+
+    public double getCellSize() {
+        return cellSize;
+    }
+
+    public int getCellCapacity() {
+        return cellCapacity;
+    }
+
+    public long getSlotMillis() {
+        return slotMillis;
+    }
+
+    /**
+     * (hücre veya segment, zaman dilimi) sayaç anahtarı
+     */
+    private static final class SlotKey {
+        private final Object id;
+        private final long slot;
+
+        SlotKey(Object id, long slot) {
+            this.id = id;
+            this.slot = slot;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof SlotKey)) {
+                return false;
+            }
+            SlotKey other = (SlotKey) o;
+            return slot == other.slot && id.equals(other.id);
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * id.hashCode() + Long.hashCode(slot);
+        }
+    }
+
+    private static final class Reservation {
+        final long[] cells;
+        final String[] segmentIds;
+        final long firstSlot;
+        final long lastSlot;
+
+        Reservation(long[] cells, String[] segmentIds, long firstSlot, long lastSlot) {
+            this.cells = cells;
+            this.segmentIds = segmentIds;
+            this.firstSlot = firstSlot;
+            this.lastSlot = lastSlot;
+        }
+    }
+}
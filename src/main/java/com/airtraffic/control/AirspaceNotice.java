@@ -0,0 +1,40 @@
+package com.airtraffic.control;
+
+/**
+ * Yasak bölge değişikliğinden etkilenen tek araca yönelik bildirim
+ */
+public class AirspaceNotice {
+    private final String vehicleId;
+    private final AirspaceNoticeType type;
+    private final String zoneId;
+
+    public AirspaceNotice(String vehicleId, AirspaceNoticeType type, String zoneId) {
+        this.vehicleId = vehicleId;
+        this.type = type;
+        this.zoneId = zoneId;
+    }
+
+    public String getVehicleId() {
+        return vehicleId;
+    }
+
+    public AirspaceNoticeType getType() {
+        return type;
+    }
+
+    public String getZoneId() {
+        return zoneId;
+    }
+
+    /**
+     * Uplink ile gönderilecek kısa mesaj
+     */
+    public String toPayload() {
+        return type + " zone=" + zoneId;
+    }
+
+    @Override
+    public String toString() {
+        return "AirspaceNotice{" + vehicleId + ", " + type + ", zone=" + zoneId + "}";
+    }
+}
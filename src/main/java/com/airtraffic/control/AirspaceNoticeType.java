@@ -0,0 +1,21 @@
+package com.airtraffic.control;
+
+/**
+ * Hava sahası değişikliğinde araca gönderilen bildirim türü
+ */
+public enum AirspaceNoticeType {
+    /**
+     * Havadaki araç yeni bölgenin içinde veya kalan rotası bölgeden geçiyor - rota değiştirilmeli
+     */
+    REROUTE,
+
+    /**
+     * Onaylı ama henüz kalkmamış uçuşun koridoru bölgeden geçiyor - kalkış bekletilmeli
+     */
+    HOLD,
+
+    /**
+     * Bekletmeye neden olan bölge kaldırıldı - kalkış serbest
+     */
+    RESUME
+}
@@ -0,0 +1,139 @@
+package com.airtraffic.control;
+
+import com.airtraffic.map.RestrictedZone;
+import com.airtraffic.model.Position;
+import com.airtraffic.model.Vehicle;
+import com.airtraffic.spatial.SpatialIndex;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Yasak bölge eklendiğinde veya kaldırıldığında trafiğin artımlı yeniden değerlendirilmesi
+ *
+ * Yalnızca bölge çevresindeki trafik incelenir. Havadaki araçlar, bölge kutusu
+ * ileri bakış mesafesiyle genişletilerek tek spatial index sorgusuyla bulunur;
+ * bölge içindeki veya kalan rotası bölgeden geçen araca REROUTE gönderilir.
+ * Henüz kalkmamış onaylı uçuşlar admission controller'ın kutu altındaki hücre
+ * rezervasyonlarından gelir; koridoru bölgeden geçene HOLD gönderilir. Bekletilen
+ * uçuşlar bölge başına tutulur ve bölge kalkınca RESUME alır.
+ *
+ * Maliyet filo boyutuna değil bölge boyutuna ve çevresindeki trafiğe bağlıdır.
+ * İleri bakış mesafesinden uzaktaki araçlara, kalan rotaları bölgeye ulaşsa da bildirim gitmez.
+ */
+public class AirspaceUpdateService {
+
+    private static final double DEFAULT_LOOKAHEAD = 5000.0; // metre
+
+    private final AdmissionController admissionController;
+    private final double lookaheadMeters;
+    private final Map<String, Set<String>> heldByZone;     // bölge -> bekletilen araçlar
+
+    public AirspaceUpdateService(AdmissionController admissionController) {
+        this(admissionController, DEFAULT_LOOKAHEAD);
+    }
+
+    /**
+     * @param admissionController Kalkmamış uçuş koridorlarının kaynağı
+     * @param lookaheadMeters Havadaki araçların kontrol edildiği bölge çevresi mesafesi (metre)
+     */
+    public AirspaceUpdateService(AdmissionController admissionController, double lookaheadMeters) {
+        if (admissionController == null) {
+            throw new IllegalArgumentException("Admission controller cannot be null");
+        }
+        if (lookaheadMeters < 0) {
+            throw new IllegalArgumentException("Lookahead cannot be negative");
+        }
+        this.admissionController = admissionController;
+        this.lookaheadMeters = lookaheadMeters;
+        this.heldByZone = new ConcurrentHashMap<>();
+    }
+
+    /**
+     * Yeni etkinleşen bölgeden etkilenen trafiği bulur
+     * @param zone ID ve sınırları olan etkin bölge
+     * @param vehicleIndex Havadaki araçların indeksi (opsiyonel)
+     * @param authorizations Araç ID'sine göre izinler
+     * @return Önce havadaki araçlar için REROUTE, sonra bekleyen uçuşlar için HOLD bildirimleri
+     */
+    public List<AirspaceNotice> onZoneActivated(RestrictedZone zone, SpatialIndex vehicleIndex,
+                                                Map<String, FlightAuthorization> authorizations) {
+        validate(zone);
+        List<AirspaceNotice> notices = new ArrayList<>();
+        double[] box = zone.getBoundingBox();
+        if (box == null || !zone.isActive()) {
+            return notices;
+        }
+
+        if (vehicleIndex != null) {
+            Position center = new Position((box[0] + box[1]) / 2.0, (box[2] + box[3]) / 2.0, 0.0);
+            double radius = center.horizontalDistanceTo(new Position(box[1], box[3], 0.0)) + lookaheadMeters;
+            for (Vehicle vehicle : vehicleIndex.query(center, radius)) {
+                Position position = vehicle.getPosition();
+                FlightAuthorization auth = authorizations.get(vehicle.getId());
+                Position destination = auth != null ? auth.getDestinationPoint() : null;
+                if (zone.contains(position)
+                        || (destination != null && zone.intersectsSegment(position, destination))) {
+                    notices.add(new AirspaceNotice(vehicle.getId(), AirspaceNoticeType.REROUTE, zone.getId()));
+                }
+            }
+        }
+
+        Set<String> held = heldByZone.computeIfAbsent(zone.getId(), id -> ConcurrentHashMap.newKeySet());
+        for (String vehicleId : admissionController.getReservedVehicleIds(box[0], box[1], box[2], box[3])) {
+            FlightAuthorization auth = authorizations.get(vehicleId);
+            if (auth != null && auth.getStatus() == AuthorizationStatus.APPROVED
+                    && auth.getDeparturePoint() != null && auth.getDestinationPoint() != null
+                    && zone.intersectsSegment(auth.getDeparturePoint(), auth.getDestinationPoint())
+                    && held.add(vehicleId)) {
+                notices.add(new AirspaceNotice(vehicleId, AirspaceNoticeType.HOLD, zone.getId()));
+            }
+        }
+        if (held.isEmpty()) {
+            heldByZone.remove(zone.getId());
+        }
+        return notices;
+    }
+
+    /**
+     * Kaldırılan bölgenin beklettiği uçuşları serbest bırakır
+     * @return İzni hâlâ onaylı bekletilen uçuşlar için RESUME bildirimleri
+     */
+    public List<AirspaceNotice> onZoneDeactivated(RestrictedZone zone,
+                                                  Map<String, FlightAuthorization> authorizations) {
+        validate(zone);
+        List<AirspaceNotice> notices = new ArrayList<>();
+        Set<String> held = heldByZone.remove(zone.getId());
+        if (held == null) {
+            return notices;
+        }
+        for (String vehicleId : held) {
+            FlightAuthorization auth = authorizations.get(vehicleId);
+            if (auth != null && auth.getStatus() == AuthorizationStatus.APPROVED) {
+                notices.add(new AirspaceNotice(vehicleId, AirspaceNoticeType.RESUME, zone.getId()));
+            }
+        }
+        return notices;
+    }
+
+    /**
+     * Bölgenin şu an beklettiği uçuş sayısı
+     */
+    public int getHeldCount(String zoneId) {
+        Set<String> held = heldByZone.get(zoneId);
+        return held != null ? held.size() : 0;
+    }
+
+    public double getLookaheadMeters() {
+        return lookaheadMeters;
+    }
+
+    private static void validate(RestrictedZone zone) {
+        if (zone == null || zone.getId() == null) {
+            throw new IllegalArgumentException("Zone and its ID cannot be null");
+        }
+    }
+}
@@ -0,0 +1,206 @@
+package com.airtraffic.control;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+/**
+ * Uçuş izni süre dolumu için hiyerarşik zamanlama çarkı
+ *
+ * 64 slotluk dört seviye; L seviyesindeki slot 64^L tick kapsar. İzin, süre
+ * sonunun üst basamaklarının mevcut tick ile aynı olduğu en alt seviyeye
+ * konur ve çark o bloğa gelince bir alt seviyeye indirilir. Planlama ve iptal
+ * O(1), ilerletme O(geçen tick + tetiklenen kayıt). Üst seviyeyi aşan süreler
+ * (64^4 tick, saniyelik tick'te ~194 gün) taşma listesinde bekler.
+ *
+ * Süre {@code expiryMillis}'ten sonraki ilk tick'te, asla önce değil ve en
+ * fazla bir kez tetiklenir. Thread-safe değildir; çağıran senkronize eder.
+ */
+public class AuthorizationExpiryWheel {
+
+    private static final int SLOT_BITS = 6;
+    private static final int SLOTS = 1 << SLOT_BITS;
+    private static final int SLOT_MASK = SLOTS - 1;
+    private static final int LEVELS = 4;
+    private static final long DEFAULT_TICK_MILLIS = 1000;
+
+    private final long tickMillis;
+    private final Node[][] slots;
+    private final List<Node> overflow;
+    private final Map<String, Node> byId;
+    private long currentTick;   // henüz işlenmemiş ilk tick
+
+    /**
+     * Şimdiden başlayan, saniyelik tick'li çark
+     */
+    public AuthorizationExpiryWheel() {
+        this(DEFAULT_TICK_MILLIS, System.currentTimeMillis());
+    }
+
+    /**
+     * @param tickMillis Tick uzunluğu (süre dolumu çözünürlüğü)
+     * @param startMillis İlk tick'in duvar saati zamanı
+     */
+    public AuthorizationExpiryWheel(long tickMillis, long startMillis) {
+        if (tickMillis <= 0) {
+            throw new IllegalArgumentException("Tick length must be positive");
+        }
+        this.tickMillis = tickMillis;
+        this.slots = new Node[LEVELS][SLOTS];
+        for (int level = 0; level < LEVELS; level++) {
+            for (int slot = 0; slot < SLOTS; slot++) {
+                Node sentinel = new Node(null, 0);
+                sentinel.prev = sentinel;
+                sentinel.next = sentinel;
+                slots[level][slot] = sentinel;
+            }
+        }
+        this.overflow = new ArrayList<>();
+        this.byId = new HashMap<>();
+        this.currentTick = Math.floorDiv(startMillis, tickMillis);
+    }
+
+    /**
+     * Süre dolumunu planlar; aynı iznin önceki planını değiştirir
+     * @param authorization Süresi dolacak izin
+     * @param expiryMillis Bu zamandan sonra izin geçersiz
+     */
+    public void schedule(FlightAuthorization authorization, long expiryMillis) {
+        if (authorization == null || authorization.getId() == null) {
+            throw new IllegalArgumentException("Authorization and its ID cannot be null");
+        }
+        cancel(authorization.getId());
+        long deadline = Math.max(Math.floorDiv(expiryMillis, tickMillis) + 1, currentTick);
+        Node node = new Node(authorization, deadline);
+        byId.put(authorization.getId(), node);
+        insert(node);
+    }
+
+    /**
+     * Planlanmış süre dolumunu kaldırır
+     * @return İzin planlıysa true
+     */
+    public boolean cancel(String authorizationId) {
+        Node node = byId.remove(authorizationId);
+        if (node == null) {
+            return false;
+        }
+        if (node.inOverflow) {
+            overflow.remove(node);
+        } else {
+            unlink(node);
+        }
+        return true;
+    }
+
+    /**
+     * Çarkı verilen zamana ilerletir, geçilen tüm süreleri tetikler
+     * @param nowMillis Şimdiki zaman
+     * @param onExpire Süresi dolan her izin için bir kez çağrılır
+     * @return Tetiklenen izin sayısı
+     */
+    public int advanceTo(long nowMillis, Consumer<FlightAuthorization> onExpire) {
+        long target = Math.floorDiv(nowMillis, tickMillis);
+        int fired = 0;
+        while (currentTick <= target) {
+            if (byId.isEmpty()) {
+                currentTick = target + 1; // Boş tekerlek: adım adım ilerlemeye gerek yok
+                break;
+            }
+            cascade();
+            Node head = slots[0][(int) (currentTick & SLOT_MASK)];
+            while (head.next != head) {
+                Node node = head.next;
+                unlink(node);
+                byId.remove(node.authorization.getId());
+                fired++;
+                onExpire.accept(node.authorization);
+            }
+            currentTick++;
+        }
+        return fired;
+    }
+
+    /**
+     * Bloğu mevcut tick'te başlayan üst seviye slotları yeniden yerleştirir
+     */
+    private void cascade() {
+        for (int level = 1; level < LEVELS; level++) {
+            long lowMask = (1L << (SLOT_BITS * level)) - 1;
+            if ((currentTick & lowMask) != 0) {
+                return;
+            }
+            Node head = slots[level][(int) ((currentTick >> (SLOT_BITS * level)) & SLOT_MASK)];
+            while (head.next != head) {
+                Node node = head.next;
+                unlink(node);
+                insert(node);
+            }
+        }
+        if ((currentTick & ((1L << (SLOT_BITS * LEVELS)) - 1)) == 0 && !overflow.isEmpty()) {
+            List<Node> waiting = new ArrayList<>(overflow);
+            overflow.clear();
+            for (Node node : waiting) {
+                node.inOverflow = false;
+                insert(node);
+            }
+        }
+    }
+
+    private void insert(Node node) {
+        for (int level = 0; level < LEVELS; level++) {
+            int higher = SLOT_BITS * (level + 1);
+            if ((node.deadline >> higher) == (currentTick >> higher)) {
+                int slot = (int) ((node.deadline >> (SLOT_BITS * level)) & SLOT_MASK);
+                link(slots[level][slot], node);
+                return;
+            }
+        }
+        node.inOverflow = true;
+        overflow.add(node);
+    }
+
+    private static void link(Node head, Node node) {
+        node.prev = head.prev;
+        node.next = head;
+        head.prev.next = node;
+        head.prev = node;
+    }
+
+    private static void unlink(Node node) {
+        node.prev.next = node.next;
+        node.next.prev = node.prev;
+        node.prev = null;
+        node.next = null;
+    }
+
+    /**
+     * Planlı izin sayısı
+     */
+    public int size() {
+        return byId.size();
+    }
+
+    public boolean isScheduled(String authorizationId) {
+        return byId.containsKey(authorizationId);
+    }
+
+    public long getTickMillis() {
+        return tickMillis;
+    }
+
+    private static final class Node {
+        final FlightAuthorization authorization;
+        final long deadline;
+        Node prev;
+        Node next;
+        boolean inOverflow;
+
+        Node(FlightAuthorization authorization, long deadline) {
+            this.authorization = authorization;
+            this.deadline = deadline;
+        }
+    }
+}
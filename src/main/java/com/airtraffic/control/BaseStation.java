@@ -4,7 +4,9 @@ import com.airtraffic.model.Position;
 import com.airtraffic.model.Vehicle;
 
 import java.util.ArrayList;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Set;
 import java.util.UUID;
 
 /**
@@ -16,11 +18,12 @@ public class BaseStation {
     private Position position;              // Baz istasyonu konumu
     private double coverageRadius;          // Kapsama yarıçapı (metre)
     private boolean isActive;               // Aktif mi?
-    private List<String> connectedVehicles; // Bağlı araçlar
+    private int maxConnections;             // Maksimum birincil bağlantı (0 = sınırsız)
+    private Set<String> connectedVehicles;  // Bağlı araçlar (bağlanma sırasıyla)
 
     public BaseStation() {
         this.id = UUID.randomUUID().toString();
-        this.connectedVehicles = new ArrayList<>();
+        this.connectedVehicles = new LinkedHashSet<>();
         this.isActive = true;
         this.coverageRadius = 5000.0; // Varsayılan: 5km
     }
@@ -48,16 +51,14 @@ public class BaseStation {
     /**
      * Araç bağlantısını ekler
      */
-    public void connectVehicle(String vehicleId) {
-        if (!connectedVehicles.contains(vehicleId)) {
-            connectedVehicles.add(vehicleId);
-        }
+    public synchronized void connectVehicle(String vehicleId) {
+        connectedVehicles.add(vehicleId);
     }
 
     /**
      * Araç bağlantısını kaldırır
      */
-    public void disconnectVehicle(String vehicleId) {
+    public synchronized void disconnectVehicle(String vehicleId) {
         connectedVehicles.remove(vehicleId);
     }
 
@@ -102,11 +103,29 @@ public class BaseStation {
         isActive = active;
     }
 
-    public List<String> getConnectedVehicles() {
+    public int getMaxConnections() {
+        return maxConnections;
+    }
+
+    public void setMaxConnections(int maxConnections) {
+        if (maxConnections < 0) {
+            throw new IllegalArgumentException("Maksimum bağlantı sayısı negatif olamaz");
+        }
+        this.maxConnections = maxConnections;
+    }
+
+    public synchronized List<String> getConnectedVehicles() {
         return new ArrayList<>(connectedVehicles);
     }
 
-    public int getConnectedVehicleCount() {
+    /**
+     * Aracın bu istasyona bağlı olup olmadığını döndürür (O(1))
+     */
+    public synchronized boolean isConnected(String vehicleId) {
+        return connectedVehicles.contains(vehicleId);
+    }
+
+    public synchronized int getConnectedVehicleCount() {
         return connectedVehicles.size();
     }
 }
@@ -0,0 +1,340 @@
+package com.airtraffic.control;
+
+import com.airtraffic.model.Position;
+import com.airtraffic.model.Vehicle;
+import com.airtraffic.util.GeoUtils;
+import com.airtraffic.util.LocalProjection;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Artımlı araç kapsamalı baz istasyonu grid indeksi
+ *
+ * Her hücre, kapsama dairesi hücreye ulaşan istasyonları FULL (daire hücreyi
+ * tamamen kapsar, mesafe kontrolü gerekmez) ve PARTIAL (kesin kontrol
+ * {@link BaseStation#isInCoverage(Vehicle)} ile) olarak listeler; hücreler
+ * istasyon eklenirken bir kez sınıflanır.
+ *
+ * Araç başına hücre ve bağlı istasyonlar tutulur. Aynı hücrede güncelleme
+ * yalnızca PARTIAL istasyonları yeniden kontrol eder; hücre değişince yalnızca
+ * fark bağlanır/koparılır. Araç silme yalnızca bağlı istasyonlara dokunur.
+ */
+public class BaseStationIndex {
+
+    private static final double DEFAULT_CELL_SIZE = 1000.0;      // metre
+    private static final double FULL_MARGIN = 0.995;             // haversine vs. köşe testi payı
+    private static final double PARTIAL_MARGIN = 1.01;
+    private static final BaseStation[] NO_STATIONS = new BaseStation[0];
+    private static final CellCoverage EMPTY_CELL = new CellCoverage(NO_STATIONS, NO_STATIONS);
+
+    private volatile LocalProjection projection;  // rebuild ile yeni referansa taşınabilir
+    private final double cellSize;
+
+    private final Map<Long, CellCoverage> cells;
+    private final Map<String, VehicleCoverage> vehicles;
+    private volatile int stationVersion;
+    private int stationCount;
+
+    /**
+     * 1 km hücreli indeks
+     * @param referenceLat Grid referans enlemi
+     * @param referenceLon Grid referans boylamı
+     */
+    public BaseStationIndex(double referenceLat, double referenceLon) {
+        this(referenceLat, referenceLon, DEFAULT_CELL_SIZE);
+    }
+
+    /**
+     * @param referenceLat Grid referans enlemi
+     * @param referenceLon Grid referans boylamı
+     * @param cellSize Hücre kenar uzunluğu (metre)
+     */
+    public BaseStationIndex(double referenceLat, double referenceLon, double cellSize) {
+        if (cellSize <= 0) {
+            throw new IllegalArgumentException("Cell size must be positive");
+        }
+        this.projection = new LocalProjection(referenceLat, referenceLon);
+        this.cellSize = cellSize;
+        this.cells = new ConcurrentHashMap<>();
+        this.vehicles = new ConcurrentHashMap<>();
+    }
+
+    /**
+     * İstasyonu kapsama dairesinin ulaştığı her hücreye kaydeder
+     * İzlenen araçlar sonraki güncellemede yeniden değerlendirilir
+     * @param station Baz istasyonu (konumsuz istasyonlar yok sayılır)
+     */
+    public synchronized void addStation(BaseStation station) {
+        if (station == null) {
+            throw new IllegalArgumentException("Base station cannot be null");
+        }
+        Position center = station.getPosition();
+        if (center == null) {
+            return;
+        }
+        LocalProjection grid = projection;
+        double radius = station.getCoverageRadius();
+        double cx = grid.toX(center.getLongitude());
+        double cy = grid.toY(center.getLatitude());
+        // Boylam derecesi enleme göre değişir: referans ile istasyon enlemi arasındaki oranla genişlet
+        double stretch = Math.max(1.0, grid.getMetersPerDegreeLon()
+            / GeoUtils.metersPerDegreeLon(center.getLatitude()));
+        double reachX = radius * PARTIAL_MARGIN * stretch + 1.0;
+        double reachY = radius * PARTIAL_MARGIN + 1.0;
+        long minX = (long) Math.floor((cx - reachX) / cellSize);
+        long maxX = (long) Math.floor((cx + reachX) / cellSize);
+        long minY = (long) Math.floor((cy - reachY) / cellSize);
+        long maxY = (long) Math.floor((cy + reachY) / cellSize);
+
+        for (long x = minX; x <= maxX; x++) {
+            for (long y = minY; y <= maxY; y++) {
+                double south = grid.fromY(y * cellSize);
+                double north = grid.fromY((y + 1) * cellSize);
+                double west = grid.fromX(x * cellSize);
+                double east = grid.fromX((x + 1) * cellSize);
+
+                if (isCellInside(center, radius, south, north, west, east)) {
+                    long key = GeoUtils.packKey(x, y);
+                    CellCoverage cell = cells.getOrDefault(key, EMPTY_CELL);
+                    cells.put(key, new CellCoverage(append(cell.full, station), cell.partial));
+                } else if (nearestDistance(center, south, north, west, east) <= radius * PARTIAL_MARGIN + 1.0) {
+                    long key = GeoUtils.packKey(x, y);
+                    CellCoverage cell = cells.getOrDefault(key, EMPTY_CELL);
+                    cells.put(key, new CellCoverage(cell.full, append(cell.partial, station)));
+                }
+            }
+        }
+        stationCount++;
+        stationVersion++;
+    }
+
+    /**
+     * İndeksi istasyon listesinden yeniden kurar
+     * İstasyonlardaki mevcut bağlantılar devralınır, eskiler sonraki güncellemede düşer
+     * @param stations Baz istasyonları
+     */
+    public synchronized void rebuild(Collection<BaseStation> stations) {
+        rebuild(stations, projection);
+    }
+
+    /**
+     * İndeksi yeni grid referansı etrafında yeniden kurar (ör. yüklenen haritanın merkezi)
+     * @param stations Baz istasyonları
+     * @param referenceLat Grid referans enlemi
+     * @param referenceLon Grid referans boylamı
+     */
+    public synchronized void rebuild(Collection<BaseStation> stations, double referenceLat, double referenceLon) {
+        rebuild(stations, new LocalProjection(referenceLat, referenceLon));
+    }
+
+    private void rebuild(Collection<BaseStation> stations, LocalProjection grid) {
+        projection = grid;
+        cells.clear();
+        vehicles.clear();
+        stationCount = 0;
+        for (BaseStation station : stations) {
+            addStation(station);
+            for (String vehicleId : station.getConnectedVehicles()) {
+                vehicles.computeIfAbsent(vehicleId, id -> new VehicleCoverage()).connected.add(station);
+            }
+        }
+        stationVersion++;
+    }
+
+    /**
+     * Hareket eden aracın istasyon bağlantılarını günceller
+     * @param vehicle Araç
+     */
+    public void updateVehicle(Vehicle vehicle) {
+        if (vehicle == null) {
+            return;
+        }
+        String vehicleId = vehicle.getId();
+        VehicleCoverage coverage = vehicles.computeIfAbsent(vehicleId, id -> new VehicleCoverage());
+        Position position = vehicle.getPosition();
+
+        synchronized (coverage) {
+            if (position == null) {
+                disconnectAll(vehicleId, coverage);
+                coverage.cellKey = Long.MIN_VALUE;
+                return;
+            }
+            long key = cellKey(position);
+            int version = stationVersion;
+            CellCoverage cell = cellAt(key);
+
+            if (key == coverage.cellKey && version == coverage.stationVersion) {
+                // Aynı hücre: yalnızca PARTIAL istasyonlar yeniden kontrol edilir
+                for (BaseStation station : cell.partial) {
+                    connect(vehicleId, coverage, station, station.isInCoverage(vehicle));
+                }
+                return;
+            }
+
+            Set<BaseStation> next = new LinkedHashSet<>(Arrays.asList(cell.full));
+            for (BaseStation station : cell.partial) {
+                if (station.isInCoverage(vehicle)) {
+                    next.add(station);
+                }
+            }
+            for (BaseStation station : new ArrayList<>(coverage.connected)) {
+                if (!next.contains(station)) {
+                    connect(vehicleId, coverage, station, false);
+                }
+            }
+            for (BaseStation station : next) {
+                connect(vehicleId, coverage, station, true);
+            }
+            coverage.cellKey = key;
+            coverage.stationVersion = version;
+        }
+    }
+
+    /**
+     * Ayrılan aracı bağlı olduğu istasyonlardan koparır
+     * @param vehicleId Araç ID
+     */
+    public void removeVehicle(String vehicleId) {
+        if (vehicleId == null) {
+            return;
+        }
+        VehicleCoverage coverage = vehicles.remove(vehicleId);
+        if (coverage != null) {
+            synchronized (coverage) {
+                disconnectAll(vehicleId, coverage);
+            }
+        }
+    }
+
+    /**
+     * Aracın bu indeks üzerinden bağlı olduğu istasyonlar
+     */
+    public List<BaseStation> getConnectedStations(String vehicleId) {
+        VehicleCoverage coverage = vehicleId != null ? vehicles.get(vehicleId) : null;
+        if (coverage == null) {
+            return new ArrayList<>();
+        }
+        synchronized (coverage) {
+            return new ArrayList<>(coverage.connected);
+        }
+    }
+
+    /**
+     * Konum için istasyonlar: FULL olanlar ve konumu kapsayan PARTIAL olanlar
+     */
+    public List<BaseStation> getStationsCovering(Position position) {
+        List<BaseStation> result = new ArrayList<>();
+        if (position == null) {
+            return result;
+        }
+        CellCoverage cell = cellAt(cellKey(position));
+        result.addAll(Arrays.asList(cell.full));
+        for (BaseStation station : cell.partial) {
+            if (station.getPosition().horizontalDistanceTo(position) <= station.getCoverageRadius()) {
+                result.add(station);
+            }
+        }
+        return result;
+    }
+
+    private void connect(String vehicleId, VehicleCoverage coverage, BaseStation station, boolean inCoverage) {
+        if (inCoverage) {
+            if (coverage.connected.add(station)) {
+                station.connectVehicle(vehicleId);
+            }
+        } else if (coverage.connected.remove(station)) {
+            station.disconnectVehicle(vehicleId);
+        }
+    }
+
+    private void disconnectAll(String vehicleId, VehicleCoverage coverage) {
+        for (BaseStation station : coverage.connected) {
+            station.disconnectVehicle(vehicleId);
+        }
+        coverage.connected.clear();
+    }
+
+    private CellCoverage cellAt(long key) {
+        return cells.getOrDefault(key, EMPTY_CELL);
+    }
+
+    /**
+     * Dört köşe de daire içinde mi? Bu ölçekte hücre ve daire dışbükeydir
+     */
+    private static boolean isCellInside(Position center, double radius,
+                                        double south, double north, double west, double east) {
+        double limit = radius * FULL_MARGIN;
+        double lat = center.getLatitude();
+        double lon = center.getLongitude();
+        return GeoUtils.haversine(lat, lon, south, west) <= limit && GeoUtils.haversine(lat, lon, south, east) <= limit
+            && GeoUtils.haversine(lat, lon, north, west) <= limit && GeoUtils.haversine(lat, lon, north, east) <= limit;
+    }
+
+    private static double nearestDistance(Position center, double south, double north, double west, double east) {
+        double lat = Math.max(south, Math.min(north, center.getLatitude()));
+        double lon = Math.max(west, Math.min(east, center.getLongitude()));
+        return GeoUtils.haversine(center.getLatitude(), center.getLongitude(), lat, lon);
+    }
+
+    private static BaseStation[] append(BaseStation[] stations, BaseStation station) {
+        BaseStation[] result = Arrays.copyOf(stations, stations.length + 1);
+        result[stations.length] = station;
+        return result;
+    }
+
+    private long cellKey(Position position) {
+        LocalProjection grid = projection;
+        long x = (long) Math.floor(grid.toX(position.getLongitude()) / cellSize);
+        long y = (long) Math.floor(grid.toY(position.getLatitude()) / cellSize);
+        return GeoUtils.packKey(x, y);
+    }
+
+    public LocalProjection getProjection() {
+        return projection;
+    }
+
+    public synchronized int getStationCount() {
+        return stationCount;
+    }
+
+    public int getIndexedCellCount() {
+        return cells.size();
+    }
+
+    public int getTrackedVehicleCount() {
+        return vehicles.size();
+    }
+
+    public double getCellSize() {
+        return cellSize;
+    }
+
+    /**
+     * Tek hücreye ulaşan istasyonlar (değişmez, değişince yenisi konur)
+     */
+    private static final class CellCoverage {
+        private final BaseStation[] full;
+        private final BaseStation[] partial;
+
+        private CellCoverage(BaseStation[] full, BaseStation[] partial) {
+            this.full = full;
+            this.partial = partial;
+        }
+    }
+
+    /**
+     * Tek aracın bağlantı durumu; kendi monitörüyle korunur
+     */
+    private static final class VehicleCoverage {
+        private long cellKey = Long.MIN_VALUE;
+        private int stationVersion = -1;
+        private final Set<BaseStation> connected = new LinkedHashSet<>();
+    }
+}
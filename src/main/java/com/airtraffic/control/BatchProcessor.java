@@ -1,7 +1,9 @@
 package com.airtraffic.control;
 
 import com.airtraffic.model.Position;
+import com.airtraffic.model.Vehicle;
 
+import java.util.LinkedHashMap;
 import java.util.Map;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutorService;
@@ -27,6 +29,8 @@ public class BatchProcessor {
     private final TrafficControlCenter controlCenter;
     private final ExecutorService executorService;
     private volatile boolean isShutdown = false;
+    private volatile KalmanTrackFilter trackFilter;   // null = raw positions
+    private volatile EventTimeIngestStage ingestStage; // null = arrival order
     
     /**
      * Create batch processor with default thread pool
@@ -67,8 +71,27 @@ public class BatchProcessor {
             AtomicLong processedCount = new AtomicLong(0);
             AtomicLong errorCount = new AtomicLong(0);
             
+            Map<String, Position> positions = updates;
+            EventTimeIngestStage stage = ingestStage;
+            if (stage != null) {
+                // Order by event time; the batch closes one watermark tick
+                for (Map.Entry<String, Position> entry : updates.entrySet()) {
+                    if (entry.getKey() != null && entry.getValue() != null) {
+                        stage.offer(entry.getKey(), entry.getValue());
+                    } else {
+                        errorCount.incrementAndGet();
+                    }
+                }
+                positions = stage.closeTick().getUpdates();
+            }
+            
+            KalmanTrackFilter filter = trackFilter;
+            if (filter != null) {
+                positions = smooth(filter, positions);
+            }
+            
             // Process updates in parallel
-            updates.entrySet().parallelStream().forEach(entry -> {
+            positions.entrySet().parallelStream().forEach(entry -> {
                 try {
                     String vehicleId = entry.getKey();
                     Position position = entry.getValue();
@@ -87,10 +110,78 @@ public class BatchProcessor {
                 }
             });
             
+            // A batch closes a tick: publish the fleet snapshot for readers
+            controlCenter.publishFleetSnapshot();
+            controlCenter.planHandoffs();
+            long now = System.currentTimeMillis();
+            controlCenter.evaluateSpeedAdvisories(now);
+            controlCenter.tickUplinks(now);
+            controlCenter.expireAuthorizations();
+            
             return new BatchResult(processedCount.get(), errorCount.get());
         }, executorService);
     }
     
+    /**
+     * Batch'i iz filtresinden tek tick olarak geçirir, yumuşatılmış konumları döndürür
+     * Hız tahmini olan araçların hız ve yönü de yumuşatılır
+     */
+    private Map<String, Position> smooth(KalmanTrackFilter filter, Map<String, Position> updates) {
+        Map<String, Integer> slots = new LinkedHashMap<>();
+        for (Map.Entry<String, Position> entry : updates.entrySet()) {
+            // Kayıtlı olmayan araçlara iz açılmaz (ayrılınca serbest bırakılamaz)
+            if (entry.getKey() != null && entry.getValue() != null
+                    && controlCenter.getVehicle(entry.getKey()) != null) {
+                slots.put(entry.getKey(), filter.submit(entry.getKey(), entry.getValue()));
+            }
+        }
+        filter.processTick();
+        
+        Map<String, Position> smoothed = new LinkedHashMap<>(updates);
+        for (Map.Entry<String, Integer> entry : slots.entrySet()) {
+            int slot = entry.getValue();
+            Position raw = updates.get(entry.getKey());
+            smoothed.put(entry.getKey(), filter.getSmoothedPosition(slot, raw.getTimestamp()));
+            
+            Vehicle vehicle = controlCenter.getVehicle(entry.getKey());
+            if (vehicle != null && filter.hasVelocity(slot)) {
+                vehicle.setVelocity(filter.getSpeed(slot));
+                vehicle.setHeading(filter.getHeading(slot));
+            }
+        }
+        return smoothed;
+    }
+    
+    /**
+     * Batch konumlarının Kalman yumuşatmasını açar (null = kapalı, varsayılan)
+     * Filtre kontrol merkezine de kaydedilir; araç kaydı silinince izi bırakılır
+     * @param trackFilter Batch'ler arasında paylaşılan iz filtresi
+     */
+    public void setTrackFilter(KalmanTrackFilter trackFilter) {
+        this.trackFilter = trackFilter;
+        controlCenter.setTrackFilter(trackFilter); // unregister izleri serbest bırakır
+    }
+    
+    public KalmanTrackFilter getTrackFilter() {
+        return trackFilter;
+    }
+    
+    /**
+     * Batch güncellemelerinin olay zamanına göre sıralanmasını açar (null = kapalı, varsayılan)
+     * Her batch aşamaya verilir ve bir watermark tick'i kapatır; yalnızca salınan
+     * raporlar uygulanır. Aşama kontrol merkezine de kaydedilir; araç kaydı
+     * silinince tampondaki raporları düşer.
+     * @param ingestStage Batch'ler arasında paylaşılan ingest aşaması
+     */
+    public void setIngestStage(EventTimeIngestStage ingestStage) {
+        this.ingestStage = ingestStage;
+        controlCenter.setIngestStage(ingestStage); // unregister bekleyen raporları siler
+    }
+    
+    public EventTimeIngestStage getIngestStage() {
+        return ingestStage;
+    }
+    
     /**
      * Shutdown the batch processor
      * Stops accepting new batches and waits for existing batches to complete
@@ -0,0 +1,186 @@
+package com.airtraffic.control;
+
+import com.airtraffic.map.CityMap;
+import com.airtraffic.map.RouteSegment;
+import com.airtraffic.util.TimeUtils;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Stratejik çakışma çözümlü toplu uçuş izni
+ *
+ * İki geçiş: ilki fork-join havuzunda her talebin güvenlik kontrolünü ve
+ * koridorunu (grid hücreleri ve uç segmentler) bağımsız hesaplar. İkincisi
+ * istenen başlangıca göre sıralı açgözlü taramadır; her uçuş
+ * {@link AdmissionController}'ın (hücre x zaman dilimi) rezervasyon gridine
+ * alınır. Penceresine sığmayan uçuş kaydırma sınırına kadar dilim dilim ileri
+ * alınır ve kaydırma kararla döner. İzin yalnızca atanan pencerede geçerlidir.
+ * Bir araç batch'te bir kez yer alabilir; sonraki talepleri reddedilir.
+ */
+public class BulkAuthorizationPlanner {
+
+    private static final int PARALLEL_THRESHOLD = 256;   // altında sıralı çalışır
+    private static final int REQUESTS_PER_TASK = 64;
+    private static final int DEFAULT_MAX_SHIFT_SLOTS = 8; // 15 dk slotlarla 2 saat
+
+    private final AdmissionController admissionController;
+    private final ForkJoinPool pool;
+    private final int maxShiftSlots;
+
+    public BulkAuthorizationPlanner(AdmissionController admissionController) {
+        this(admissionController, ForkJoinPool.commonPool(), DEFAULT_MAX_SHIFT_SLOTS);
+    }
+
+    /**
+     * @param admissionController Paylaşılan rezervasyon gridi
+     * @param pool Güvenlik/koridor geçişi için havuz
+     * @param maxShiftSlots Önerilebilecek en fazla dilim kaydırması (0 = yalnızca istenen pencere)
+     */
+    public BulkAuthorizationPlanner(AdmissionController admissionController, ForkJoinPool pool, int maxShiftSlots) {
+        if (admissionController == null || pool == null) {
+            throw new IllegalArgumentException("Admission controller and pool cannot be null");
+        }
+        if (maxShiftSlots < 0) {
+            throw new IllegalArgumentException("Max shift cannot be negative");
+        }
+        this.admissionController = admissionController;
+        this.pool = pool;
+        this.maxShiftSlots = maxShiftSlots;
+    }
+
+    /**
+     * Bir batch uçuş talebini karara bağlar
+     * @param requests Uçuş planları; her aracın yalnızca ilk talebi planlanır
+     * @param cityMap Uç nokta güvenlik kontrolü için şehir haritası (opsiyonel)
+     * @return Talep sırasında, talep başına bir karar
+     */
+    public List<FlightDecision> plan(List<FlightRequest> requests, CityMap cityMap) {
+        if (requests == null) {
+            throw new IllegalArgumentException("Requests cannot be null");
+        }
+        FlightRequest[] batch = requests.toArray(new FlightRequest[0]);
+        Corridor[] corridors = new Corridor[batch.length];
+        PrecheckTask task = new PrecheckTask(batch, corridors, cityMap, 0, batch.length);
+        if (batch.length < PARALLEL_THRESHOLD) {
+            task.compute();
+        } else {
+            pool.invoke(task);
+        }
+
+        // En erken istenen pencereden başlayarak açgözlü yerleştirme
+        Integer[] order = new Integer[batch.length];
+        for (int i = 0; i < order.length; i++) {
+            order[i] = i;
+        }
+        Arrays.sort(order, Comparator.comparing((Integer i) -> batch[i].getWindowStart()));
+
+        // Aynı aracın ikinci talebi, izin ile rezervasyonun ayrışmaması için reddedilir
+        boolean[] duplicate = new boolean[batch.length];
+        Set<String> vehicleIds = new HashSet<>();
+        for (int i = 0; i < batch.length; i++) {
+            duplicate[i] = !vehicleIds.add(batch[i].getVehicle().getId());
+        }
+
+        long slotMillis = admissionController.getSlotMillis();
+        FlightDecision[] decisions = new FlightDecision[batch.length];
+        for (int i : order) {
+            FlightRequest request = batch[i];
+            FlightAuthorization authorization = new FlightAuthorization(
+                request.getVehicle().getId(), request.getDeparture(), request.getDestination());
+            authorization.setPilotLicense(request.getVehicle().getPilotLicense());
+
+            Corridor corridor = corridors[i];
+            if (duplicate[i]) {
+                authorization.reject("Araç için bu toplu talepte zaten bir uçuş planı var");
+                decisions[i] = new FlightDecision(request, authorization, null);
+                continue;
+            }
+            if (!corridor.safe) {
+                authorization.reject("Kalkış veya varış noktası güvenli değil");
+                decisions[i] = new FlightDecision(request, authorization, null);
+                continue;
+            }
+            int shift = admissionController.tryAdmit(request.getVehicle().getId(), corridor.cells,
+                corridor.segments, TimeUtils.toEpochMillis(request.getWindowStart()),
+                TimeUtils.toEpochMillis(request.getWindowEnd()), maxShiftSlots);
+            if (shift < 0) {
+                authorization.reject("Talep edilen pencerede ve kaydırma sınırında koridor kapasitesi yok");
+                decisions[i] = new FlightDecision(request, authorization, null);
+                continue;
+            }
+            Duration slotShift = Duration.ofMillis(shift * slotMillis);
+            authorization.approve(request.getWindowStart().plus(slotShift),
+                request.getWindowEnd().plus(slotShift));
+            decisions[i] = new FlightDecision(request, authorization, slotShift);
+        }
+        return new ArrayList<>(Arrays.asList(decisions));
+    }
+
+    public int getMaxShiftSlots() {
+        return maxShiftSlots;
+    }
+
+    /**
+     * Tek talebin güvenlik sonucu ve koridoru
+     */
+    private static final class Corridor {
+        final boolean safe;
+        final long[] cells;
+        final RouteSegment[] segments;
+
+        Corridor(boolean safe, long[] cells, RouteSegment[] segments) {
+            this.safe = safe;
+            this.cells = cells;
+            this.segments = segments;
+        }
+    }
+
+    private final class PrecheckTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final FlightRequest[] batch;
+        private final Corridor[] corridors;
+        private final CityMap cityMap;
+        private final int from;
+        private final int to;
+
+        PrecheckTask(FlightRequest[] batch, Corridor[] corridors, CityMap cityMap, int from, int to) {
+            this.batch = batch;
+            this.corridors = corridors;
+            this.cityMap = cityMap;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= REQUESTS_PER_TASK) {
+                for (int i = from; i < to; i++) {
+                    corridors[i] = precheck(batch[i]);
+                }
+                return;
+            }
+            int mid = (from + to) >>> 1;
+            invokeAll(new PrecheckTask(batch, corridors, cityMap, from, mid),
+                      new PrecheckTask(batch, corridors, cityMap, mid, to));
+        }
+
+        private Corridor precheck(FlightRequest request) {
+            if (cityMap != null && (!cityMap.isPositionSafe(request.getDeparture())
+                    || !cityMap.isPositionSafe(request.getDestination()))) {
+                return new Corridor(false, null, null);
+            }
+            return new Corridor(true,
+                admissionController.corridorCells(request.getDeparture(), request.getDestination()),
+                admissionController.corridorSegments(request.getDeparture(), request.getDestination()));
+        }
+    }
+}
@@ -2,7 +2,7 @@ package com.airtraffic.control;
 
 import com.airtraffic.map.CityMap;
 import com.airtraffic.model.*;
-import com.airtraffic.spatial.Quadtree;
+import com.airtraffic.spatial.SpatialIndex;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -38,10 +38,10 @@ public class CollisionDetectionService {
      * Belirli bir araç için çarpışma risklerini kontrol eder
      * @param vehicle Kontrol edilecek araç
      * @param allVehicles Tüm aktif araçlar listesi
-     * @param vehicleIndex Quadtree spatial index (opsiyonel, performans için)
+     * @param vehicleIndex Spatial index (Quadtree veya HashGridIndex, opsiyonel, performans için)
      * @return Çarpışma riskleri listesi
      */
-    public List<CollisionRisk> checkCollisionRisks(Vehicle vehicle, List<Vehicle> allVehicles, Quadtree vehicleIndex) {
+    public List<CollisionRisk> checkCollisionRisks(Vehicle vehicle, List<Vehicle> allVehicles, SpatialIndex vehicleIndex) {
         return checkCollisionRisks(vehicle, allVehicles, vehicleIndex, null);
     }
 
@@ -49,11 +49,11 @@ public class CollisionDetectionService {
      * Belirli bir araç için çarpışma risklerini kontrol eder (yükseklik katmanı desteği ile)
      * @param vehicle Kontrol edilecek araç
      * @param allVehicles Tüm aktif araçlar listesi
-     * @param vehicleIndex Quadtree spatial index (opsiyonel, performans için)
+     * @param vehicleIndex Spatial index (Quadtree veya HashGridIndex, opsiyonel, performans için)
      * @param cityMap Şehir haritası (yükseklik katmanı kontrolü için, opsiyonel)
      * @return Çarpışma riskleri listesi
      */
-    public List<CollisionRisk> checkCollisionRisks(Vehicle vehicle, List<Vehicle> allVehicles, Quadtree vehicleIndex, CityMap cityMap) {
+    public List<CollisionRisk> checkCollisionRisks(Vehicle vehicle, List<Vehicle> allVehicles, SpatialIndex vehicleIndex, CityMap cityMap) {
         if (vehicle == null || vehicle.getPosition() == null) {
             throw new IllegalArgumentException("Vehicle and position cannot be null");
         }
@@ -185,11 +185,11 @@ public class CollisionDetectionService {
     }
     
     /**
-     * Yakın araçları bulur (Quadtree kullanarak performanslı)
+     * Yakın araçları bulur (spatial index kullanarak performanslı)
      */
-    private List<Vehicle> findNearbyVehicles(Vehicle vehicle, List<Vehicle> allVehicles, Quadtree vehicleIndex) {
+    private List<Vehicle> findNearbyVehicles(Vehicle vehicle, List<Vehicle> allVehicles, SpatialIndex vehicleIndex) {
         if (vehicleIndex != null && vehicle.getPosition() != null) {
-            // Quadtree kullanarak yakın araçları bul (O(log n))
+            // Spatial index kullanarak yakın araçları bul
             return vehicleIndex.query(vehicle.getPosition(), COLLISION_CHECK_RADIUS);
         } else {
             // Fallback: Linear search (O(n))
@@ -393,6 +393,13 @@ public class CollisionDetectionService {
     public static double getMinVerticalSeparation() {
         return MIN_VERTICAL_SEPARATION;
     }
+
+    /**
+     * Çarpışma kontrolü yarıçapını döndürür (spatial index hücre boyutu ayarı için)
+     */
+    public static double getCollisionCheckRadius() {
+        return COLLISION_CHECK_RADIUS;
+    }
 }
 
 
@@ -0,0 +1,79 @@
+package com.airtraffic.control;
+
+import com.airtraffic.model.CollisionRisk;
+import com.airtraffic.model.RiskLevel;
+
+/**
+ * {@link CollisionRiskTracker} içindeki bir araç çiftinin durum değişikliği
+ */
+public final class CollisionRiskEvent {
+
+    private final String vehicleId1;
+    private final String vehicleId2;
+    private final RiskState previousState;
+    private final RiskState state;
+    private final RiskLevel previousLevel;
+    private final RiskLevel level;
+    private final CollisionRisk risk;
+
+    /**
+     * @param vehicleId1 Çiftin sözlük sırasında küçük araç ID'si
+     * @param vehicleId2 Çiftin büyük araç ID'si
+     * @param previousState Değişiklik öncesi durum (yeni çift için null)
+     * @param state Değişiklik sonrası durum
+     * @param previousLevel Değişiklik öncesi etkin seviye (yeni çift için null)
+     * @param level Değişiklik sonrası etkin seviye
+     * @param risk Çiftin son hesaplanan riski
+     */
+    public CollisionRiskEvent(String vehicleId1, String vehicleId2, RiskState previousState, RiskState state,
+                              RiskLevel previousLevel, RiskLevel level, CollisionRisk risk) {
+        this.vehicleId1 = vehicleId1;
+        this.vehicleId2 = vehicleId2;
+        this.previousState = previousState;
+        this.state = state;
+        this.previousLevel = previousLevel;
+        this.level = level;
+        this.risk = risk;
+    }
+
+    public String getVehicleId1() {
+        return vehicleId1;
+    }
+
+    public String getVehicleId2() {
+        return vehicleId2;
+    }
+
+    public RiskState getPreviousState() {
+        return previousState;
+    }
+
+    public RiskState getState() {
+        return state;
+    }
+
+    public RiskLevel getPreviousLevel() {
+        return previousLevel;
+    }
+
+    public RiskLevel getLevel() {
+        return level;
+    }
+
+    public CollisionRisk getRisk() {
+        return risk;
+    }
+
+    /**
+     * Değişiklik sonrası etkin seviye HIGH veya CRITICAL mi?
+     */
+    public boolean isSevere() {
+        return state != RiskState.CLEARED && (level == RiskLevel.HIGH || level == RiskLevel.CRITICAL);
+    }
+
+    @Override
+    public String toString() {
+        return "CollisionRiskEvent{" + vehicleId1 + "/" + vehicleId2 + ", " + previousState + "->" + state +
+               ", " + previousLevel + "->" + level + '}';
+    }
+}
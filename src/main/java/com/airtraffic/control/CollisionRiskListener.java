@@ -0,0 +1,13 @@
+package com.airtraffic.control;
+
+/**
+ * Takip edilen çarpışma risklerinin yaşam döngüsü değişikliklerinin alıcısı
+ */
+@FunctionalInterface
+public interface CollisionRiskListener {
+
+    /**
+     * Değişikliği yapan thread'de, çift kilitliyken çağrılır; kısa tutulmalı
+     */
+    void onRiskChanged(CollisionRiskEvent event);
+}
@@ -0,0 +1,459 @@
+package com.airtraffic.control;
+
+import com.airtraffic.model.CollisionRisk;
+import com.airtraffic.model.Position;
+import com.airtraffic.model.RiskLevel;
+import com.airtraffic.model.Vehicle;
+import com.airtraffic.spatial.SpatialIndex;
+import com.airtraffic.util.GeoUtils;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Araç çifti anahtarlı kalıcı çarpışma riski tablosu
+ *
+ * Bir aracın çiftleri yalnızca hareketi son puanlamadan beri anlamlı değiştiyse
+ * (konum, irtifa, hız veya yön toleransı aştıysa) yeniden puanlanır.
+ *
+ * Her çift histerezisli bir yaşam döngüsü izler: yüksek seviye hemen alınır
+ * (ESCALATING); düşük seviye veya riskin kalkması art arda birkaç puanlamada
+ * görülmeden (RESOLVING) kabul edilmez. Dinleyiciler her durum/seviye
+ * değişikliği için bir {@link CollisionRiskEvent} alır. Olaylar çiftin kilidi
+ * altında sırayla iletilir; dinleyici tracker'a geri çağrı yapmamalı.
+ */
+public class CollisionRiskTracker {
+
+    private static final double DEFAULT_HORIZONTAL_TOLERANCE = 5.0;  // metre
+    private static final double DEFAULT_VERTICAL_TOLERANCE = 2.0;    // metre
+    private static final double SPEED_CHANGE_TOLERANCE = 0.5;        // m/s
+    private static final double HEADING_CHANGE_TOLERANCE = 2.0;      // derece
+    private static final int DEFAULT_CLEAR_CONFIRMATIONS = 3;
+
+    private final CollisionDetectionService collisionService;
+    private final double horizontalTolerance;
+    private final double verticalTolerance;
+    private final int clearConfirmations;
+
+    private final Map<String, Motion> lastScored;
+    private final Map<PairKey, TrackedPair> pairs;
+    private final Map<String, Set<PairKey>> pairsByVehicle;
+    private final List<CollisionRiskListener> listeners;
+
+    private final LongAdder updateCount = new LongAdder();
+    private final LongAdder skippedCount = new LongAdder();
+    private final LongAdder pairScoreCount = new LongAdder();
+
+    public CollisionRiskTracker(CollisionDetectionService collisionService) {
+        this(collisionService, DEFAULT_HORIZONTAL_TOLERANCE, DEFAULT_VERTICAL_TOLERANCE, DEFAULT_CLEAR_CONFIRMATIONS);
+    }
+
+    /**
+     * @param collisionService Çift puanlamada kullanılan servis
+     * @param horizontalTolerance Anlamlı değişiklik sayılan yatay hareket (metre)
+     * @param verticalTolerance Anlamlı değişiklik sayılan dikey hareket (metre)
+     * @param clearConfirmations Seviye düşürmek veya temizlemek için gereken ardışık düşük gözlem
+     */
+    public CollisionRiskTracker(CollisionDetectionService collisionService, double horizontalTolerance,
+                                double verticalTolerance, int clearConfirmations) {
+        if (collisionService == null) {
+            throw new IllegalArgumentException("Collision service cannot be null");
+        }
+        if (horizontalTolerance < 0 || verticalTolerance < 0) {
+            throw new IllegalArgumentException("Tolerances cannot be negative");
+        }
+        if (clearConfirmations < 1) {
+            throw new IllegalArgumentException("Clear confirmations must be at least 1");
+        }
+        this.collisionService = collisionService;
+        this.horizontalTolerance = horizontalTolerance;
+        this.verticalTolerance = verticalTolerance;
+        this.clearConfirmations = clearConfirmations;
+        this.lastScored = new ConcurrentHashMap<>();
+        this.pairs = new ConcurrentHashMap<>();
+        this.pairsByVehicle = new ConcurrentHashMap<>();
+        this.listeners = new CopyOnWriteArrayList<>();
+    }
+
+    public void addListener(CollisionRiskListener listener) {
+        if (listener == null) {
+            throw new IllegalArgumentException("Listener cannot be null");
+        }
+        listeners.add(listener);
+    }
+
+    public void removeListener(CollisionRiskListener listener) {
+        listeners.remove(listener);
+    }
+
+    /**
+     * Hareket anlamlı değiştiyse aracın çiftlerini yeniden puanlar
+     * @param vehicle Güncellenen araç
+     * @param vehicleIndex Komşu sorgusu için spatial index (opsiyonel)
+     * @param allVehicles İndeks yoksa kullanılacak adaylar
+     * @return Çiftler yeniden puanlandıysa true
+     */
+    public boolean update(Vehicle vehicle, SpatialIndex vehicleIndex, Collection<Vehicle> allVehicles) {
+        if (vehicle == null || vehicle.getPosition() == null) {
+            throw new IllegalArgumentException("Vehicle and position cannot be null");
+        }
+        updateCount.increment();
+        Motion current = new Motion(vehicle);
+        Motion previous = lastScored.get(vehicle.getId());
+        if (previous != null && !isMaterialChange(previous, current)) {
+            skippedCount.increment();
+            return false;
+        }
+        lastScored.put(vehicle.getId(), current);
+
+        String id = vehicle.getId();
+        Set<PairKey> seen = new HashSet<>();
+        for (Vehicle other : findCandidates(vehicle, vehicleIndex, allVehicles)) {
+            if (other.getPosition() == null || other.getId().equals(id)) {
+                continue;
+            }
+            PairKey key = new PairKey(id, other.getId());
+            seen.add(key);
+            CollisionRisk risk = collisionService.calculateCollisionRisk(vehicle, other);
+            if (risk != null && risk.getRiskScore() <= 0.0) {
+                risk = null;
+            }
+            pairScoreCount.increment();
+            observe(key, risk);
+        }
+
+        // Kapsam dışına çıkan komşular risk yok olarak gözlenir
+        Set<PairKey> tracked = pairsByVehicle.get(id);
+        if (tracked != null) {
+            for (PairKey key : new ArrayList<>(tracked)) {
+                if (!seen.contains(key)) {
+                    observe(key, null);
+                }
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Aracın tüm çiftlerini kaldırır, her biri için CLEARED yayar
+     */
+    public void forget(String vehicleId) {
+        lastScored.remove(vehicleId);
+        Set<PairKey> keys = pairsByVehicle.remove(vehicleId);
+        if (keys == null) {
+            return;
+        }
+        for (PairKey key : keys) {
+            TrackedPair pair = pairs.remove(key);
+            if (pair == null) {
+                continue;
+            }
+            unindex(key);
+            synchronized (pair) {
+                CollisionRiskEvent event = pair.clear();
+                if (event != null) {
+                    fire(event);
+                }
+            }
+        }
+    }
+
+    /**
+     * Tüm çiftleri kaldırır, her biri için CLEARED yayar (ör. durum yüklemeden önce)
+     */
+    public void clear() {
+        for (String vehicleId : new ArrayList<>(pairsByVehicle.keySet())) {
+            forget(vehicleId);
+        }
+        lastScored.clear();
+    }
+
+    private Collection<Vehicle> findCandidates(Vehicle vehicle, SpatialIndex vehicleIndex,
+                                               Collection<Vehicle> allVehicles) {
+        double radius = CollisionDetectionService.getCollisionCheckRadius();
+        if (vehicleIndex != null) {
+            return vehicleIndex.query(vehicle.getPosition(), radius);
+        }
+        if (allVehicles == null) {
+            return Collections.emptyList();
+        }
+        List<Vehicle> nearby = new ArrayList<>();
+        for (Vehicle other : allVehicles) {
+            if (other.getPosition() != null
+                    && other.getPosition().horizontalDistanceTo(vehicle.getPosition()) <= radius) {
+                nearby.add(other);
+            }
+        }
+        return nearby;
+    }
+
+    private void observe(PairKey key, CollisionRisk risk) {
+        while (true) {
+            TrackedPair pair = pairs.get(key);
+            if (pair == null) {
+                if (risk == null) {
+                    return;
+                }
+                TrackedPair created = new TrackedPair(key);
+                pair = pairs.putIfAbsent(key, created);
+                if (pair == null) {
+                    pair = created;
+                    index(key);
+                }
+            }
+            // Olaylar çift kilidi altında yayınlanır: aynı çiftin olayları sırayla görülür
+            synchronized (pair) {
+                CollisionRiskEvent event = pair.observe(risk);
+                if (event == null && pair.isRemoved()) {
+                    continue; // Çift başka bir thread tarafından silindi; yeniden dene
+                }
+                if (event != null) {
+                    if (event.getState() == RiskState.CLEARED) {
+                        pairs.remove(key, pair);
+                        unindex(key);
+                    }
+                    fire(event);
+                }
+            }
+            return;
+        }
+    }
+
+    private void index(PairKey key) {
+        pairsByVehicle.computeIfAbsent(key.first, k -> ConcurrentHashMap.newKeySet()).add(key);
+        pairsByVehicle.computeIfAbsent(key.second, k -> ConcurrentHashMap.newKeySet()).add(key);
+    }
+
+    private void unindex(PairKey key) {
+        Set<PairKey> first = pairsByVehicle.get(key.first);
+        if (first != null) {
+            first.remove(key);
+        }
+        Set<PairKey> second = pairsByVehicle.get(key.second);
+        if (second != null) {
+            second.remove(key);
+        }
+    }
+
+    private void fire(CollisionRiskEvent event) {
+        for (CollisionRiskListener listener : listeners) {
+            listener.onRiskChanged(event);
+        }
+    }
+
+    private boolean isMaterialChange(Motion previous, Motion current) {
+        double dNorth = (current.lat - previous.lat) * GeoUtils.METERS_PER_DEGREE_LAT;
+        double dEast = (current.lon - previous.lon) * GeoUtils.metersPerDegreeLon(previous.lat);
+        if (dNorth * dNorth + dEast * dEast > horizontalTolerance * horizontalTolerance) {
+            return true;
+        }
+        if (Math.abs(current.alt - previous.alt) > verticalTolerance) {
+            return true;
+        }
+        if (Math.abs(current.velocity - previous.velocity) > SPEED_CHANGE_TOLERANCE) {
+            return true;
+        }
+        double headingDiff = Math.abs(current.heading - previous.heading) % 360.0;
+        return Math.min(headingDiff, 360.0 - headingDiff) > HEADING_CHANGE_TOLERANCE;
+    }
+
+    /**
+     * Çiftin güncel durumu (takip edilmiyorsa null)
+     */
+    public RiskState getRiskState(String vehicleId1, String vehicleId2) {
+        TrackedPair pair = pairs.get(new PairKey(vehicleId1, vehicleId2));
+        return pair != null ? pair.getState() : null;
+    }
+
+    /**
+     * Çiftin etkin (histerezisli) seviyesi (takip edilmiyorsa null)
+     */
+    public RiskLevel getRiskLevel(String vehicleId1, String vehicleId2) {
+        TrackedPair pair = pairs.get(new PairKey(vehicleId1, vehicleId2));
+        return pair != null ? pair.getLevel() : null;
+    }
+
+    /**
+     * Çiftin son puanlanan riski (takip edilmiyorsa null)
+     */
+    public CollisionRisk getRisk(String vehicleId1, String vehicleId2) {
+        TrackedPair pair = pairs.get(new PairKey(vehicleId1, vehicleId2));
+        return pair != null ? pair.getRisk() : null;
+    }
+
+    /**
+     * Aracın dahil olduğu takip edilen riskler
+     */
+    public List<CollisionRisk> getRisks(String vehicleId) {
+        Set<PairKey> keys = pairsByVehicle.get(vehicleId);
+        if (keys == null) {
+            return Collections.emptyList();
+        }
+        List<CollisionRisk> risks = new ArrayList<>();
+        for (PairKey key : keys) {
+            TrackedPair pair = pairs.get(key);
+            if (pair != null) {
+                risks.add(pair.getRisk());
+            }
+        }
+        return risks;
+    }
+
+    public int getTrackedPairCount() {
+        return pairs.size();
+    }
+
+    public long getUpdateCount() {
+        return updateCount.sum();
+    }
+
+    /**
+     * Hareket anlamlı değişmediği için puanlamasız geçen güncelleme sayısı
+     */
+    public long getSkippedCount() {
+        return skippedCount.sum();
+    }
+
+    /**
+     * Yapılan tekil çift puanlaması sayısı
+     */
+    public long getPairScoreCount() {
+        return pairScoreCount.sum();
+    }
+
+    private static final class Motion {
+        final double lat;
+        final double lon;
+        final double alt;
+        final double velocity;
+        final double heading;
+
+        Motion(Vehicle vehicle) {
+            Position position = vehicle.getPosition();
+            this.lat = position.getLatitude();
+            this.lon = position.getLongitude();
+            this.alt = position.getAltitude();
+            this.velocity = vehicle.getVelocity();
+            this.heading = vehicle.getHeading();
+        }
+    }
+
+    private static final class PairKey {
+        final String first;
+        final String second;
+
+        PairKey(String a, String b) {
+            if (a.compareTo(b) <= 0) {
+                first = a;
+                second = b;
+            } else {
+                first = b;
+                second = a;
+            }
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof PairKey)) return false;
+            PairKey other = (PairKey) o;
+            return first.equals(other.first) && second.equals(other.second);
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * first.hashCode() + second.hashCode();
+        }
+    }
+
+    private final class TrackedPair {
+        private final PairKey key;
+        private RiskState state;
+        private RiskLevel level;
+        private CollisionRisk risk;
+        private int lowerStreak;
+        private boolean removed;
+
+        TrackedPair(PairKey key) {
+            this.key = key;
+        }
+
+        synchronized CollisionRiskEvent observe(CollisionRisk observed) {
+            if (removed) {
+                return null;
+            }
+            RiskLevel raw = observed != null ? observed.getRiskLevel() : null;
+            if (state == null) {
+                if (raw == null) {
+                    return null;
+                }
+                state = RiskState.NEW;
+                level = raw;
+                risk = observed;
+                return new CollisionRiskEvent(key.first, key.second, null, state, null, level, risk);
+            }
+
+            RiskState previousState = state;
+            RiskLevel previousLevel = level;
+            if (observed != null) {
+                risk = observed;
+            }
+            if (raw != null && raw.ordinal() > level.ordinal()) {
+                level = raw;
+                state = RiskState.ESCALATING;
+                lowerStreak = 0;
+            } else if (raw == level) {
+                state = RiskState.STEADY;
+                lowerStreak = 0;
+            } else if (++lowerStreak >= clearConfirmations) {
+                lowerStreak = 0;
+                if (raw == null) {
+                    state = RiskState.CLEARED;
+                    removed = true;
+                } else {
+                    level = raw;
+                    state = RiskState.STEADY;
+                }
+            } else {
+                state = RiskState.RESOLVING;
+            }
+
+            if (state == previousState && level == previousLevel) {
+                return null;
+            }
+            return new CollisionRiskEvent(key.first, key.second, previousState, state, previousLevel, level, risk);
+        }
+
+        synchronized CollisionRiskEvent clear() {
+            if (removed) {
+                return null;
+            }
+            removed = true;
+            return new CollisionRiskEvent(key.first, key.second, state, RiskState.CLEARED, level, level, risk);
+        }
+
+        synchronized boolean isRemoved() {
+            return removed;
+        }
+
+        synchronized RiskState getState() {
+            return state;
+        }
+
+        synchronized RiskLevel getLevel() {
+            return level;
+        }
+
+        synchronized CollisionRisk getRisk() {
+            return risk;
+        }
+    }
+}
@@ -0,0 +1,125 @@
+package com.airtraffic.control;
+
+import com.airtraffic.model.CollisionRisk;
+import com.airtraffic.model.RiskLevel;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * CRITICAL ve HIGH çarpışma risklerinin sürekli güncel görünümü
+ * Üyelik {@link CollisionRiskTracker} olaylarındaki etkin (histerezisli) seviyeyi
+ * izler; çözülmekte olan çift görünümde kalır. Okuma O(sonuç) maliyetlidir, çift
+ * yeniden puanlanmaz. Ham seviyesi etkin seviyenin altına düşmüş risk etkin
+ * seviyeli kopya olarak döner; {@link #getCriticalRisks()} hep CRITICAL raporlar.
+ */
+public class CriticalRiskView implements CollisionRiskListener {
+
+    private final CollisionRiskTracker tracker;
+    private final Map<String, String[]> critical;
+    private final Map<String, String[]> high;
+    private final AtomicLong version;
+
+    /**
+     * Görünümü oluşturur ve tracker'a abone eder
+     */
+    public CriticalRiskView(CollisionRiskTracker tracker) {
+        if (tracker == null) {
+            throw new IllegalArgumentException("Tracker cannot be null");
+        }
+        this.tracker = tracker;
+        this.critical = new ConcurrentHashMap<>();
+        this.high = new ConcurrentHashMap<>();
+        this.version = new AtomicLong();
+        tracker.addListener(this);
+    }
+
+    @Override
+    public void onRiskChanged(CollisionRiskEvent event) {
+        String key = event.getVehicleId1() + '|' + event.getVehicleId2();
+        RiskLevel level = event.getState() == RiskState.CLEARED ? null : event.getLevel();
+        boolean changed;
+        if (level == RiskLevel.CRITICAL) {
+            changed = critical.putIfAbsent(key, pair(event)) == null | high.remove(key) != null;
+        } else if (level == RiskLevel.HIGH) {
+            changed = high.putIfAbsent(key, pair(event)) == null | critical.remove(key) != null;
+        } else {
+            changed = critical.remove(key) != null | high.remove(key) != null;
+        }
+        if (changed) {
+            version.incrementAndGet();
+        }
+    }
+
+    private static String[] pair(CollisionRiskEvent event) {
+        return new String[] {event.getVehicleId1(), event.getVehicleId2()};
+    }
+
+    /**
+     * Etkin seviyesi CRITICAL olan çiftler
+     */
+    public List<CollisionRisk> getCriticalRisks() {
+        List<CollisionRisk> risks = new ArrayList<>(critical.size());
+        collect(critical, RiskLevel.CRITICAL, risks);
+        return risks;
+    }
+
+    /**
+     * Etkin seviyesi HIGH olan çiftler
+     */
+    public List<CollisionRisk> getHighRisks() {
+        List<CollisionRisk> risks = new ArrayList<>(high.size());
+        collect(high, RiskLevel.HIGH, risks);
+        return risks;
+    }
+
+    /**
+     * Önce CRITICAL, sonra HIGH çiftler
+     */
+    public List<CollisionRisk> getSevereRisks() {
+        List<CollisionRisk> risks = new ArrayList<>(critical.size() + high.size());
+        collect(critical, RiskLevel.CRITICAL, risks);
+        collect(high, RiskLevel.HIGH, risks);
+        return risks;
+    }
+
+    private void collect(Map<String, String[]> members, RiskLevel level, List<CollisionRisk> out) {
+        for (String[] pair : members.values()) {
+            CollisionRisk risk = tracker.getRisk(pair[0], pair[1]);
+            if (risk != null) {
+                out.add(risk.getRiskLevel() == level ? risk : atLevel(risk, level));
+            }
+        }
+    }
+
+    /**
+     * Riskin etkin seviyedeki kopyası (tracker'daki örnek paylaşımlı, değiştirilmez)
+     */
+    private static CollisionRisk atLevel(CollisionRisk risk, RiskLevel level) {
+        CollisionRisk copy = new CollisionRisk(risk.getVehicleId1(), risk.getVehicleId2(), level, risk.getRiskScore());
+        copy.setEstimatedTimeToCollision(risk.getEstimatedTimeToCollision());
+        copy.setCurrentDistance(risk.getCurrentDistance());
+        copy.setHorizontalDistance(risk.getHorizontalDistance());
+        copy.setVerticalDistance(risk.getVerticalDistance());
+        copy.setDetectedAt(risk.getDetectedAt());
+        return copy;
+    }
+
+    public int getCriticalCount() {
+        return critical.size();
+    }
+
+    public int getHighCount() {
+        return high.size();
+    }
+
+    /**
+     * Üyelik her değiştiğinde artar; okuyucular değişmeyen görünümü atlayabilir
+     */
+    public long getVersion() {
+        return version.get();
+    }
+}
@@ -0,0 +1,202 @@
+package com.airtraffic.control;
+
+import com.airtraffic.model.Position;
+import com.airtraffic.model.Vehicle;
+import com.airtraffic.util.GeoUtils;
+import com.airtraffic.util.TimeUtils;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Araç konum raporları için dead-reckoning alım filtresi
+ *
+ * Araç başına son iletilen konum ile o andaki hız ve yönü tutar. Yeni rapor;
+ * {@link CollisionDetectionService#predictFuturePosition(Vehicle, double)} ile
+ * aynı doğrusal tahminin toleransı içindeyse, hız/yön değişmediyse ve heartbeat
+ * süresi dolmadıysa bastırılır. Bastırılan rapor aracın konumunu yine günceller
+ * ama kural, çarpışma ve baz istasyonu işlemlerini atlar.
+ * Thread-safe: her iz kendi monitörü altında güncellenir.
+ */
+public class DeadReckoningFilter {
+
+    private static final double DEFAULT_HORIZONTAL_TOLERANCE = 5.0;  // metre
+    private static final double DEFAULT_VERTICAL_TOLERANCE = 2.0;    // metre
+    private static final long DEFAULT_HEARTBEAT_MILLIS = 5000;       // 5 saniye
+    private static final double SPEED_CHANGE_TOLERANCE = 0.5;        // m/s
+    private static final double HEADING_CHANGE_TOLERANCE = 2.0;      // derece
+
+    private final double horizontalTolerance;
+    private final double verticalTolerance;
+    private final long heartbeatMillis;
+    private final Map<String, Track> tracks;
+
+    private final LongAdder receivedCount = new LongAdder();
+    private final LongAdder suppressedCount = new LongAdder();
+
+    /**
+     * Varsayılan toleranslarla filtre (5 m yatay, 2 m dikey, 5 sn heartbeat)
+     */
+    public DeadReckoningFilter() {
+        this(DEFAULT_HORIZONTAL_TOLERANCE, DEFAULT_VERTICAL_TOLERANCE, DEFAULT_HEARTBEAT_MILLIS);
+    }
+
+    /**
+     * Özel toleranslarla filtre
+     * @param horizontalTolerance Tahminden en fazla yatay sapma (metre)
+     * @param verticalTolerance Tahminden en fazla dikey sapma (metre)
+     * @param heartbeatMillis İletilen raporlar arasındaki en uzun süre (milisaniye)
+     */
+    public DeadReckoningFilter(double horizontalTolerance, double verticalTolerance, long heartbeatMillis) {
+        if (horizontalTolerance < 0 || verticalTolerance < 0) {
+            throw new IllegalArgumentException("Tolerances cannot be negative");
+        }
+        if (heartbeatMillis <= 0) {
+            throw new IllegalArgumentException("Heartbeat interval must be positive");
+        }
+        this.horizontalTolerance = horizontalTolerance;
+        this.verticalTolerance = verticalTolerance;
+        this.heartbeatMillis = heartbeatMillis;
+        this.tracks = new ConcurrentHashMap<>();
+    }
+
+    /**
+     * Raporun işlenmesi gerekip gerekmediğine karar verir
+     * İletilen rapor yeni dead-reckoning başlangıcı olur
+     * @param vehicle Araç (hız ve yön kinematik temel olarak okunur)
+     * @param report Raporlanan konum
+     * @return Rapor tahminden saptıysa veya heartbeat zamanı geldiyse true
+     */
+    public boolean shouldForward(Vehicle vehicle, Position report) {
+        if (vehicle == null || report == null) {
+            throw new IllegalArgumentException("Vehicle and report cannot be null");
+        }
+        receivedCount.increment();
+        long reportMillis = TimeUtils.toEpochMillis(report.getTimestamp());
+        Track track = tracks.computeIfAbsent(vehicle.getId(), id -> new Track());
+
+        synchronized (track) {
+            if (track.initialized && isPredicted(track, vehicle, report, reportMillis)) {
+                suppressedCount.increment();
+                return false;
+            }
+            track.reset(report, vehicle.getVelocity(), vehicle.getHeading(), reportMillis);
+            return true;
+        }
+    }
+
+    /**
+     * Aracın izini siler (ör. kaydı silindiğinde)
+     * @param vehicleId Araç ID
+     */
+    public void forget(String vehicleId) {
+        if (vehicleId != null) {
+            tracks.remove(vehicleId);
+        }
+    }
+
+    /**
+     * Tüm izleri siler (ör. durum yüklenirken); sonraki raporlar yeni başlangıç olur
+     */
+    public void clear() {
+        tracks.clear();
+    }
+
+    private boolean isPredicted(Track track, Vehicle vehicle, Position report, long reportMillis) {
+        long elapsedMillis = reportMillis - track.baseMillis;
+        if (elapsedMillis < 0 || elapsedMillis >= heartbeatMillis) {
+            return false; // out-of-order report or heartbeat due
+        }
+        if (Math.abs(vehicle.getVelocity() - track.velocity) > SPEED_CHANGE_TOLERANCE) {
+            return false;
+        }
+        double headingDelta = Math.abs(vehicle.getHeading() - track.heading) % 360.0;
+        if (Math.min(headingDelta, 360.0 - headingDelta) > HEADING_CHANGE_TOLERANCE) {
+            return false;
+        }
+        if (Math.abs(report.getAltitude() - track.altitude) > verticalTolerance) {
+            return false;
+        }
+
+        // Same linear projection as CollisionDetectionService.predictFuturePosition
+        double distance = track.velocity > 0 ? track.velocity * elapsedMillis / 1000.0 : 0.0;
+        double headingRad = Math.toRadians(track.heading);
+        double metersPerDegreeLon = GeoUtils.metersPerDegreeLon(track.latitude);
+        double predictedLat = track.latitude + distance * Math.cos(headingRad) / GeoUtils.METERS_PER_DEGREE_LAT;
+        double predictedLon = track.longitude + distance * Math.sin(headingRad) / metersPerDegreeLon;
+
+        double dNorth = (report.getLatitude() - predictedLat) * GeoUtils.METERS_PER_DEGREE_LAT;
+        double dEast = (report.getLongitude() - predictedLon) * metersPerDegreeLon;
+        return dNorth * dNorth + dEast * dEast <= horizontalTolerance * horizontalTolerance;
+    }
+
+    // Counters
+
+    public long getReceivedCount() {
+        return receivedCount.sum();
+    }
+
+    public long getSuppressedCount() {
+        return suppressedCount.sum();
+    }
+
+    public long getForwardedCount() {
+        return receivedCount.sum() - suppressedCount.sum();
+    }
+
+    /**
+     * Şimdiye kadar bastırılan rapor oranı (0.0 - 1.0)
+     */
+    public double getSuppressionRatio() {
+        long received = receivedCount.sum();
+        return received > 0 ? (double) suppressedCount.sum() / received : 0.0;
+    }
+
+    /**
+     * Sayaçları sıfırlar (izler korunur)
+     */
+    public void resetCounters() {
+        receivedCount.reset();
+        suppressedCount.reset();
+    }
+
+    public int getTrackCount() {
+        return tracks.size();
+    }
+
+    public double getHorizontalTolerance() {
+        return horizontalTolerance;
+    }
+
+    public double getVerticalTolerance() {
+        return verticalTolerance;
+    }
+
+    public long getHeartbeatMillis() {
+        return heartbeatMillis;
+    }
+
+    /**
+     * Tek aracın dead-reckoning başlangıcı
+     */
+    private static final class Track {
+        private boolean initialized;
+        private double latitude;
+        private double longitude;
+        private double altitude;
+        private double velocity;
+        private double heading;
+        private long baseMillis;
+
+        private void reset(Position position, double velocity, double heading, long millis) {
+            this.latitude = position.getLatitude();
+            this.longitude = position.getLongitude();
+            this.altitude = position.getAltitude();
+            this.velocity = velocity;
+            this.heading = heading;
+            this.baseMillis = millis;
+            this.initialized = true;
+        }
+    }
+}
@@ -0,0 +1,347 @@
+package com.airtraffic.control;
+
+import com.airtraffic.model.Position;
+import com.airtraffic.util.TimeUtils;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Olay zamanlı alım aşaması: konum raporlarını zaman damgasına göre sıralar
+ *
+ * Raporlar araç başına sınırlı bir sıralama tamponunda bekler. Watermark,
+ * görülen en yeni olay zamanını izin verilen gecikme kadar geriden izler ve
+ * geri gitmez; {@link #closeTick()} watermark altındaki raporları bırakır ve
+ * araç başına en yenisini yayınlar. Çıktı varış sırasından bağımsızdır, aracın
+ * yayınlanan olay zamanları kesin artandır. Watermark gerisinde kalan raporlar
+ * {@link LatePolicy}'ye göre işlenir.
+ */
+public class EventTimeIngestStage {
+
+    /**
+     * Tick'i kapandıktan sonra gelen raporların işlenmesi
+     */
+    public enum LatePolicy {
+        DROP,            // Geç gelen rapor atılır
+        APPLY_IF_NEWER,  // Araç için yayınlanandan yeniyse sonraki tick'te uygulanır
+        SIDE_OUTPUT      // Ayrı kuyruğa alınır (drainSideOutput)
+    }
+
+    private static final int DEFAULT_BUFFER_SIZE = 16;
+    private static final int MAX_SIDE_OUTPUT = 10000;
+
+    private final long allowedLatenessMillis;
+    private final int maxBufferPerVehicle;
+    private final LatePolicy latePolicy;
+
+    private final Map<String, VehicleBuffer> buffers;
+    private final AtomicLong maxEventTime = new AtomicLong(Long.MIN_VALUE);
+    private final AtomicLong arrivalSequence = new AtomicLong();
+    private volatile long watermark = Long.MIN_VALUE;
+    private long tickNumber;
+
+    private final List<LateUpdate> sideOutput = new ArrayList<>();
+    private final LongAdder lateCount = new LongAdder();
+    private final LongAdder droppedCount = new LongAdder();
+    private final LongAdder overflowCount = new LongAdder();
+
+    /**
+     * Araç başına 16 raporluk tamponlu aşama
+     * @param allowedLatenessMillis Watermark'ın en yeni olay zamanının ne kadar gerisinde kaldığı
+     * @param latePolicy Geç raporlar için politika
+     */
+    public EventTimeIngestStage(long allowedLatenessMillis, LatePolicy latePolicy) {
+        this(allowedLatenessMillis, DEFAULT_BUFFER_SIZE, latePolicy);
+    }
+
+    /**
+     * @param allowedLatenessMillis Watermark'ın en yeni olay zamanının ne kadar gerisinde kaldığı
+     * @param maxBufferPerVehicle Sıralama tamponu boyu; taşınca en eski rapor erken bırakılır
+     * @param latePolicy Geç raporlar için politika
+     */
+    public EventTimeIngestStage(long allowedLatenessMillis, int maxBufferPerVehicle, LatePolicy latePolicy) {
+        if (allowedLatenessMillis < 0) {
+            throw new IllegalArgumentException("Allowed lateness cannot be negative");
+        }
+        if (maxBufferPerVehicle <= 0) {
+            throw new IllegalArgumentException("Buffer size must be positive");
+        }
+        if (latePolicy == null) {
+            throw new IllegalArgumentException("Late policy cannot be null");
+        }
+        this.allowedLatenessMillis = allowedLatenessMillis;
+        this.maxBufferPerVehicle = maxBufferPerVehicle;
+        this.latePolicy = latePolicy;
+        this.buffers = new ConcurrentHashMap<>();
+    }
+
+    /**
+     * Rapor sunar (thread-safe)
+     * @param vehicleId Araç ID
+     * @param position Raporlanan konum; zaman damgası olay zamanıdır
+     * @return Rapor tamponlandı veya planlandıysa true, düşürüldü veya yan çıktıya gittiyse false
+     */
+    public boolean offer(String vehicleId, Position position) {
+        if (vehicleId == null || position == null) {
+            throw new IllegalArgumentException("Vehicle ID and position cannot be null");
+        }
+        long eventTime = TimeUtils.toEpochMillis(position.getTimestamp());
+        maxEventTime.accumulateAndGet(eventTime, Math::max);
+        VehicleBuffer buffer = buffers.computeIfAbsent(vehicleId, id -> new VehicleBuffer());
+
+        synchronized (buffer) {
+            if (eventTime <= watermark || eventTime <= buffer.lastEmittedEventTime) {
+                return handleLate(vehicleId, position, eventTime, buffer);
+            }
+            buffer.pending.add(new Pending(eventTime, arrivalSequence.getAndIncrement(), position));
+            if (buffer.pending.size() > maxBufferPerVehicle) {
+                // Buffer dolu: en eski raporu watermark'ı beklemeden serbest bırak
+                Pending oldest = buffer.pending.poll();
+                buffer.release(oldest.eventTime, oldest.position);
+                overflowCount.increment();
+            }
+            return true;
+        }
+    }
+
+    private boolean handleLate(String vehicleId, Position position, long eventTime, VehicleBuffer buffer) {
+        lateCount.increment();
+        switch (latePolicy) {
+            case APPLY_IF_NEWER:
+                if (eventTime > buffer.lastEmittedEventTime && eventTime > buffer.readyEventTime) {
+                    buffer.release(eventTime, position);
+                    return true;
+                }
+                droppedCount.increment();
+                return false;
+            case SIDE_OUTPUT:
+                synchronized (sideOutput) {
+                    if (sideOutput.size() < MAX_SIDE_OUTPUT) {
+                        sideOutput.add(new LateUpdate(vehicleId, position, eventTime, watermark));
+                    } else {
+                        droppedCount.increment();
+                    }
+                }
+                return false;
+            case DROP:
+            default:
+                droppedCount.increment();
+                return false;
+        }
+    }
+
+    /**
+     * Watermark'ı en yeni olay zamanından ilerletir ve tick'i kapatır
+     * @return Tick çıktısı (araç başına bırakılan en yeni rapor)
+     */
+    public Tick closeTick() {
+        long max = maxEventTime.get();
+        return closeTick(max == Long.MIN_VALUE ? Long.MIN_VALUE : max - allowedLatenessMillis);
+    }
+
+    /**
+     * Tick'i açık watermark ile kapatır (ör. trafik boşken işlem zamanıyla)
+     * Watermark geri gitmez
+     * @param proposedWatermark Önerilen watermark (epoch milisaniye, {@link TimeUtils} ile çevrilir)
+     * @return Tick çıktısı (araç başına bırakılan en yeni rapor)
+     */
+    public synchronized Tick closeTick(long proposedWatermark) {
+        long mark = Math.max(watermark, proposedWatermark);
+        watermark = mark;
+
+        Map<String, Position> ready = new TreeMap<>(); // araç ID sırası: deterministik çıktı
+        int coalesced = 0;
+        for (Map.Entry<String, VehicleBuffer> entry : buffers.entrySet()) {
+            VehicleBuffer buffer = entry.getValue();
+            synchronized (buffer) {
+                while (!buffer.pending.isEmpty() && buffer.pending.peek().eventTime <= mark) {
+                    Pending next = buffer.pending.poll();
+                    buffer.release(next.eventTime, next.position);
+                }
+                if (buffer.ready != null) {
+                    ready.put(entry.getKey(), buffer.ready);
+                    coalesced += buffer.readyCount - 1;
+                    buffer.lastEmittedEventTime = buffer.readyEventTime;
+                    buffer.ready = null;
+                    buffer.readyCount = 0;
+                }
+            }
+        }
+        tickNumber++;
+        return new Tick(tickNumber, mark, new LinkedHashMap<>(ready), coalesced);
+    }
+
+    /**
+     * Yan çıktıyı alır ve temizler (SIDE_OUTPUT politikası)
+     */
+    public List<LateUpdate> drainSideOutput() {
+        synchronized (sideOutput) {
+            List<LateUpdate> drained = new ArrayList<>(sideOutput);
+            sideOutput.clear();
+            return drained;
+        }
+    }
+
+    /**
+     * Aracın tüm durumunu siler (ör. kaydı silindiğinde)
+     */
+    public void forget(String vehicleId) {
+        if (vehicleId != null) {
+            buffers.remove(vehicleId);
+        }
+    }
+
+    /**
+     * Watermark'ı bekleyen rapor sayısı
+     */
+    public int getBufferedCount() {
+        int count = 0;
+        for (VehicleBuffer buffer : buffers.values()) {
+            synchronized (buffer) {
+                count += buffer.pending.size();
+            }
+        }
+        return count;
+    }
+
+    public long getWatermark() {
+        return watermark;
+    }
+
+    public long getLateCount() {
+        return lateCount.sum();
+    }
+
+    public long getDroppedCount() {
+        return droppedCount.sum();
+    }
+
+    public long getOverflowCount() {
+        return overflowCount.sum();
+    }
+
+    public LatePolicy getLatePolicy() {
+        return latePolicy;
+    }
+
+    public long getAllowedLatenessMillis() {
+        return allowedLatenessMillis;
+    }
+
+    /**
+     * Araç başına sıralama tamponu; kendi monitörüyle korunur
+     */
+    private static final class VehicleBuffer {
+        private final PriorityQueue<Pending> pending = new PriorityQueue<>();
+        private long lastEmittedEventTime = Long.MIN_VALUE;
+        private Position ready;                 // en yeni serbest bırakılan rapor
+        private long readyEventTime = Long.MIN_VALUE;
+        private int readyCount;
+
+        private void release(long eventTime, Position position) {
+            if (ready == null || eventTime > readyEventTime) {
+                ready = position;
+                readyEventTime = eventTime;
+            }
+            readyCount++;
+        }
+    }
+
+    private static final class Pending implements Comparable<Pending> {
+        private final long eventTime;
+        private final long arrival;
+        private final Position position;
+
+        private Pending(long eventTime, long arrival, Position position) {
+            this.eventTime = eventTime;
+            this.arrival = arrival;
+            this.position = position;
+        }
+
+        @Override
+        public int compareTo(Pending other) {
+            int byTime = Long.compare(eventTime, other.eventTime);
+            return byTime != 0 ? byTime : Long.compare(arrival, other.arrival);
+        }
+    }
+
+    /**
+     * Kapanan tek tick'in çıktısı
+     */
+    public static final class Tick {
+        private final long tickNumber;
+        private final long watermark;
+        private final Map<String, Position> updates;
+        private final int coalescedCount;
+
+        private Tick(long tickNumber, long watermark, Map<String, Position> updates, int coalescedCount) {
+            this.tickNumber = tickNumber;
+            this.watermark = watermark;
+            this.updates = Collections.unmodifiableMap(updates);
+            this.coalescedCount = coalescedCount;
+        }
+
+        public long getTickNumber() {
+            return tickNumber;
+        }
+
+        public long getWatermark() {
+            return watermark;
+        }
+
+        /**
+         * Araç başına bırakılan en yeni rapor (araç ID sırasında)
+         */
+        public Map<String, Position> getUpdates() {
+            return updates;
+        }
+
+        /**
+         * Aynı tick'te daha yenisiyle geçersiz kalan bırakılmış rapor sayısı
+         */
+        public int getCoalescedCount() {
+            return coalescedCount;
+        }
+    }
+
+    /**
+     * Yan çıktıya yönlendirilen geç rapor
+     */
+    public static final class LateUpdate {
+        private final String vehicleId;
+        private final Position position;
+        private final long eventTime;
+        private final long watermarkAtArrival;
+
+        private LateUpdate(String vehicleId, Position position, long eventTime, long watermarkAtArrival) {
+            this.vehicleId = vehicleId;
+            this.position = position;
+            this.eventTime = eventTime;
+            this.watermarkAtArrival = watermarkAtArrival;
+        }
+
+        public String getVehicleId() {
+            return vehicleId;
+        }
+
+        public Position getPosition() {
+            return position;
+        }
+
+        public long getEventTime() {
+            return eventTime;
+        }
+
+        public long getWatermarkAtArrival() {
+            return watermarkAtArrival;
+        }
+    }
+}
@@ -0,0 +1,331 @@
+package com.airtraffic.control;
+
+import com.airtraffic.model.Position;
+import com.airtraffic.model.Vehicle;
+import com.airtraffic.model.VehicleStatus;
+import com.airtraffic.model.VehicleType;
+import com.airtraffic.util.GeoUtils;
+import com.airtraffic.util.LocalProjection;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Aktif filonun değişmez, sürümlü kopyası
+ *
+ * Kontrol döngüsü tick başına bir kopya yayınlar (bkz.
+ * {@link TrafficControlCenter#publishFleetSnapshot()}); UI, raporlar ve
+ * uyumluluk sorguları canlı {@link Vehicle} nesneleri değişirken kilitsiz okur.
+ * Her araç kopyalanır; okuyucu hep tutarlı tek bir tick görür ve canlı filoyu
+ * değiştiremez. Kopyanın kendi salt okunur grid indeksi vardır: paketlenmiş
+ * hücre anahtarına göre sıralı araç indeksleri, yarıçap sorgusu birkaç ikili arama.
+ */
+public final class FleetSnapshot {
+
+    private static final double QUERY_MARGIN = 1.01; // projection vs. haversine slack
+
+    private static final FleetSnapshot EMPTY = new FleetSnapshot(0L, 0L, new Vehicle[0],
+        new double[0], new double[0], new double[0], new double[0], new double[0],
+        new VehicleStatus[0], new VehicleType[0], 41.0, 29.0, 500.0);
+
+    private final long version;
+    private final long publishedAtMillis;
+    private final int size;
+
+    // Columns (index i describes the same vehicle in every array)
+    private final Vehicle[] vehicles;
+    private final String[] ids;
+    private final double[] latitudes;
+    private final double[] longitudes;
+    private final double[] altitudes;
+    private final double[] velocities;
+    private final double[] headings;
+    private final VehicleStatus[] statuses;
+    private final VehicleType[] types;
+    private final int[] statusCounts;
+    private final Map<String, Integer> indexById;
+
+    // Read-only grid index
+    private final LocalProjection projection;
+    private final double cellSize;
+    private final long[] sortedCellKeys;   // one entry per vehicle, ascending
+    private final int[] sortedIndices;     // vehicle index for each sortedCellKeys entry
+
+    private FleetSnapshot(long version, long publishedAtMillis, Vehicle[] vehicles,
+                          double[] latitudes, double[] longitudes, double[] altitudes,
+                          double[] velocities, double[] headings,
+                          VehicleStatus[] statuses, VehicleType[] types,
+                          double originLat, double originLon, double cellSize) {
+        this.version = version;
+        this.publishedAtMillis = publishedAtMillis;
+        this.size = vehicles.length;
+        this.vehicles = vehicles;
+        this.latitudes = latitudes;
+        this.longitudes = longitudes;
+        this.altitudes = altitudes;
+        this.velocities = velocities;
+        this.headings = headings;
+        this.statuses = statuses;
+        this.types = types;
+        this.projection = new LocalProjection(originLat, originLon);
+        this.cellSize = cellSize;
+
+        this.ids = new String[size];
+        this.statusCounts = new int[VehicleStatus.values().length];
+        this.indexById = new HashMap<>(size * 2);
+        long[] keyed = new long[size];
+        for (int i = 0; i < size; i++) {
+            ids[i] = vehicles[i].getId();
+            indexById.put(ids[i], i);
+            if (statuses[i] != null) {
+                statusCounts[statuses[i].ordinal()]++;
+            }
+            // Vehicles without a position sort after every real cell and never match a query
+            keyed[i] = Double.isNaN(latitudes[i]) ? Long.MAX_VALUE : cellKey(latitudes[i], longitudes[i]);
+        }
+
+        // Sort vehicle indices by cell key
+        Integer[] order = new Integer[size];
+        for (int i = 0; i < size; i++) {
+            order[i] = i;
+        }
+        Arrays.sort(order, (a, b) -> Long.compare(keyed[a], keyed[b]));
+        this.sortedCellKeys = new long[size];
+        this.sortedIndices = new int[size];
+        for (int i = 0; i < size; i++) {
+            sortedIndices[i] = order[i];
+            sortedCellKeys[i] = keyed[order[i]];
+        }
+    }
+
+    /**
+     * Canlı araçlardan kopya oluşturur
+     * Her araç bir kez kopyalanır, sütunlar kopyadan doldurulur; koordinatlar
+     * yarım okunmaz. Konumsuz araçlar tutulur (NaN) ama indekslenmez.
+     * @param version Kopyanın yansıttığı artan filo sürümü
+     * @param liveVehicles Aktif araçlar
+     * @param referenceLat Grid izdüşümü referans enlemi
+     * @param referenceLon Grid izdüşümü referans boylamı
+     * @param cellSize Grid hücre boyu (metre)
+     * @return Değişmez kopya
+     */
+    public static FleetSnapshot build(long version, Collection<Vehicle> liveVehicles,
+                                      double referenceLat, double referenceLon, double cellSize) {
+        if (cellSize <= 0) {
+            throw new IllegalArgumentException("Cell size must be positive");
+        }
+        Vehicle[] live = liveVehicles.toArray(new Vehicle[0]);
+        int n = live.length;
+        Vehicle[] vehicles = new Vehicle[n];
+        double[] lat = new double[n];
+        double[] lon = new double[n];
+        double[] alt = new double[n];
+        double[] vel = new double[n];
+        double[] hdg = new double[n];
+        VehicleStatus[] status = new VehicleStatus[n];
+        VehicleType[] type = new VehicleType[n];
+        for (int i = 0; i < n; i++) {
+            Vehicle vehicle = new Vehicle(live[i]);
+            vehicles[i] = vehicle;
+            Position position = vehicle.getPosition();
+            if (position != null) {
+                lat[i] = position.getLatitude();
+                lon[i] = position.getLongitude();
+                alt[i] = position.getAltitude();
+            } else {
+                lat[i] = Double.NaN;
+                lon[i] = Double.NaN;
+                alt[i] = Double.NaN;
+            }
+            vel[i] = vehicle.getVelocity();
+            hdg[i] = vehicle.getHeading();
+            status[i] = vehicle.getStatus();
+            type[i] = vehicle.getType();
+        }
+        return new FleetSnapshot(version, System.currentTimeMillis(), vehicles, lat, lon, alt, vel, hdg,
+            status, type, referenceLat, referenceLon, cellSize);
+    }
+
+    /**
+     * Boş kopya (sürüm 0)
+     */
+    public static FleetSnapshot empty() {
+        return EMPTY;
+    }
+
+    /**
+     * Merkez etrafında yarıçap içindeki araçların indeksleri (kopya konumlarıyla)
+     * @param center Merkez konum
+     * @param radius Yarıçap (metre)
+     * @return Araç indeksleri (sütun getter'larıyla kullanılır)
+     */
+    public int[] queryIndices(Position center, double radius) {
+        if (center == null || radius < 0 || size == 0) {
+            return new int[0];
+        }
+        double cx = projection.toX(center.getLongitude());
+        double cy = projection.toY(center.getLatitude());
+        double reach = radius * QUERY_MARGIN + 1.0;
+        long minCellX = (long) Math.floor((cx - reach) / cellSize);
+        long maxCellX = (long) Math.floor((cx + reach) / cellSize);
+        long minCellY = (long) Math.floor((cy - reach) / cellSize);
+        long maxCellY = (long) Math.floor((cy + reach) / cellSize);
+
+        int[] hits = new int[8];
+        int count = 0;
+        for (long x = minCellX; x <= maxCellX; x++) {
+            // Cells with the same X and ascending Y are contiguous in key order
+            int from = lowerBound(GeoUtils.packKey(x, minCellY));
+            for (int k = from; k < size; k++) {
+                long key = sortedCellKeys[k];
+                if (GeoUtils.cellX(key) != x || GeoUtils.cellY(key) > maxCellY) {
+                    break;
+                }
+                int i = sortedIndices[k];
+                if (GeoUtils.haversine(center.getLatitude(), center.getLongitude(), latitudes[i], longitudes[i]) <= radius) {
+                    if (count == hits.length) {
+                        hits = Arrays.copyOf(hits, count * 2);
+                    }
+                    hits[count++] = i;
+                }
+            }
+        }
+        return Arrays.copyOf(hits, count);
+    }
+
+    /**
+     * Merkez etrafında yarıçap içindeki araçlar (kopya konumlarıyla)
+     * @param center Merkez konum
+     * @param radius Yarıçap (metre)
+     * @return Bölgedeki araçların kopya anındaki kopyaları
+     */
+    public List<Vehicle> getVehiclesInArea(Position center, double radius) {
+        int[] indices = queryIndices(center, radius);
+        List<Vehicle> result = new ArrayList<>(indices.length);
+        for (int index : indices) {
+            result.add(new Vehicle(vehicles[index]));
+        }
+        return result;
+    }
+
+    /**
+     * Kopyadaki araçlar (değiştirilemez kopya listesi)
+     */
+    public List<Vehicle> getVehicles() {
+        List<Vehicle> result = new ArrayList<>(size);
+        for (Vehicle vehicle : vehicles) {
+            result.add(new Vehicle(vehicle));
+        }
+        return Collections.unmodifiableList(result);
+    }
+
+    /**
+     * Araç kopya anında aktif miydi?
+     */
+    public boolean containsVehicle(String vehicleId) {
+        return vehicleId != null && indexById.containsKey(vehicleId);
+    }
+
+    /**
+     * Aracın sütun indeksi (kopyada yoksa -1)
+     */
+    public int indexOf(String vehicleId) {
+        Integer index = vehicleId != null ? indexById.get(vehicleId) : null;
+        return index != null ? index : -1;
+    }
+
+    /**
+     * İndeksteki aracın kopya anında konumu var mıydı?
+     */
+    public boolean hasPosition(int index) {
+        return !Double.isNaN(latitudes[index]);
+    }
+
+    /**
+     * Kopya anında verilen durumdaki araç sayısı (O(1))
+     */
+    public int countByStatus(VehicleStatus status) {
+        return status == null ? 0 : statusCounts[status.ordinal()];
+    }
+
+    public long getVersion() {
+        return version;
+    }
+
+    public long getPublishedAtMillis() {
+        return publishedAtMillis;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    /**
+     * İndeksteki aracın kopya anındaki kopyası
+     */
+    public Vehicle getVehicle(int index) {
+        return new Vehicle(vehicles[index]);
+    }
+
+    public String getVehicleId(int index) {
+        return ids[index];
+    }
+
+    public double getLatitude(int index) {
+        return latitudes[index];
+    }
+
+    public double getLongitude(int index) {
+        return longitudes[index];
+    }
+
+    public double getAltitude(int index) {
+        return altitudes[index];
+    }
+
+    public double getVelocity(int index) {
+        return velocities[index];
+    }
+
+    public double getHeading(int index) {
+        return headings[index];
+    }
+
+    public VehicleStatus getStatus(int index) {
+        return statuses[index];
+    }
+
+    public VehicleType getType(int index) {
+        return types[index];
+    }
+
+    private int lowerBound(long key) {
+        int low = 0;
+        int high = size;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (sortedCellKeys[mid] < key) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    private long cellKey(double latitude, double longitude) {
+        long cellX = (long) Math.floor(projection.toX(longitude) / cellSize);
+        long cellY = (long) Math.floor(projection.toY(latitude) / cellSize);
+        return GeoUtils.packKey(cellX, cellY);
+    }
+
+    @Override
+    public String toString() {
+        return "FleetSnapshot{version=" + version + ", size=" + size + ", publishedAt=" + publishedAtMillis + '}';
+    }
+}
@@ -19,6 +19,7 @@ public class FlightAuthorization {
     private Route plannedRoute;            // Planlanan rota
     private LocalDateTime requestedTime;   // İzin talep zamanı
     private LocalDateTime authorizedTime;  // İzin verilme zamanı
+    private LocalDateTime validFrom;        // Uçuş penceresi başlangıcı (null = hemen)
     private LocalDateTime validUntil;       // İzin geçerlilik süresi
     private AuthorizationStatus status;    // İzin durumu
     private String reason;                  // Red nedeni (eğer reddedildiyse)
@@ -42,9 +43,20 @@ public class FlightAuthorization {
     public void approve(LocalDateTime validUntil) {
         this.status = AuthorizationStatus.APPROVED;
         this.authorizedTime = LocalDateTime.now();
+        this.validFrom = null;
         this.validUntil = validUntil;
     }
 
+    /**
+     * İzni belirli bir uçuş penceresi için onaylar
+     * @param validFrom Pencere başlangıcı; öncesinde izin geçersizdir
+     * @param validUntil Pencere sonu
+     */
+    public void approve(LocalDateTime validFrom, LocalDateTime validUntil) {
+        approve(validUntil);
+        this.validFrom = validFrom;
+    }
+
     /**
      * İzni reddeder
      */
@@ -60,9 +72,30 @@ public class FlightAuthorization {
         if (status != AuthorizationStatus.APPROVED) {
             return false;
         }
-        if (validUntil != null && LocalDateTime.now().isAfter(validUntil)) {
+        LocalDateTime now = LocalDateTime.now();
+        if (validUntil != null && now.isAfter(validUntil)) {
             return false;
         }
+        return validFrom == null || !now.isBefore(validFrom);
+    }
+
+    /**
+     * Onaylı iznin uçuş penceresi henüz başlamadı mı?
+     */
+    public boolean isBeforeWindow() {
+        return status == AuthorizationStatus.APPROVED && validFrom != null
+            && LocalDateTime.now().isBefore(validFrom);
+    }
+
+    /**
+     * Onaylı izni süresi dolmuş olarak işaretler
+     * @return Geçiş bu çağrıda yapıldıysa true (yalnızca bir kez)
+     */
+    public boolean expire() {
+        if (status != AuthorizationStatus.APPROVED) {
+            return false;
+        }
+        this.status = AuthorizationStatus.EXPIRED;
         return true;
     }
 
@@ -131,6 +164,14 @@ public class FlightAuthorization {
         this.authorizedTime = authorizedTime;
     }
 
+    public LocalDateTime getValidFrom() {
+        return validFrom;
+    }
+
+    public void setValidFrom(LocalDateTime validFrom) {
+        this.validFrom = validFrom;
+    }
+
     public LocalDateTime getValidUntil() {
         return validUntil;
     }
@@ -0,0 +1,66 @@
+package com.airtraffic.control;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+/**
+ * Toplu izin sonucundaki tek karar
+ * Onaylanan uçuş, çakışma nedeniyle ileri kaydırılmış bir pencereye atanmış olabilir
+ */
+public class FlightDecision {
+    private final FlightRequest request;
+    private final FlightAuthorization authorization;
+    private final Duration slotShift;          // İstenen pencereye göre kaydırma (reddedildiyse null)
+
+    public FlightDecision(FlightRequest request, FlightAuthorization authorization, Duration slotShift) {
+        this.request = request;
+        this.authorization = authorization;
+        this.slotShift = slotShift;
+    }
+
+    public FlightRequest getRequest() {
+        return request;
+    }
+
+    public FlightAuthorization getAuthorization() {
+        return authorization;
+    }
+
+    public boolean isApproved() {
+        return authorization.getStatus() == AuthorizationStatus.APPROVED;
+    }
+
+    /**
+     * Onaylı uçuş istenenden farklı bir pencereye mi atandı?
+     */
+    public boolean isShifted() {
+        return slotShift != null && !slotShift.isZero();
+    }
+
+    public Duration getSlotShift() {
+        return slotShift;
+    }
+
+    /**
+     * Atanan pencerenin başlangıcı (reddedildiyse null)
+     */
+    public LocalDateTime getApprovedStart() {
+        return slotShift != null ? request.getWindowStart().plus(slotShift) : null;
+    }
+
+    /**
+     * Atanan pencerenin sonu (reddedildiyse null)
+     */
+    public LocalDateTime getApprovedEnd() {
+        return slotShift != null ? request.getWindowEnd().plus(slotShift) : null;
+    }
+
+    @Override
+    public String toString() {
+        return "FlightDecision{" +
+                "vehicleId='" + request.getVehicle().getId() + '\'' +
+                ", status=" + authorization.getStatus() +
+                ", slotShift=" + slotShift +
+                '}';
+    }
+}
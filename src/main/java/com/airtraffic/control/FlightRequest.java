@@ -0,0 +1,55 @@
+package com.airtraffic.control;
+
+import com.airtraffic.model.Position;
+import com.airtraffic.model.Vehicle;
+
+import java.time.LocalDateTime;
+
+/**
+ * Toplu izin talebindeki tek uçuş planı: araç, kalkış/varış ve istenen uçuş penceresi
+ */
+public class FlightRequest {
+    private final Vehicle vehicle;
+    private final Position departure;
+    private final Position destination;
+    private final LocalDateTime windowStart;   // İstenen en erken kalkış
+    private final LocalDateTime windowEnd;     // Uçuşun bitmesi gereken zaman
+
+    public FlightRequest(Vehicle vehicle, Position departure, Position destination,
+                         LocalDateTime windowStart, LocalDateTime windowEnd) {
+        if (vehicle == null) {
+            throw new IllegalArgumentException("Araç null olamaz");
+        }
+        if (departure == null || destination == null) {
+            throw new IllegalArgumentException("Kalkış ve varış noktaları belirtilmelidir");
+        }
+        if (windowStart == null || windowEnd == null || windowEnd.isBefore(windowStart)) {
+            throw new IllegalArgumentException("Geçerli bir uçuş penceresi belirtilmelidir");
+        }
+        this.vehicle = vehicle;
+        this.departure = departure;
+        this.destination = destination;
+        this.windowStart = windowStart;
+        this.windowEnd = windowEnd;
+    }
+
+    public Vehicle getVehicle() {
+        return vehicle;
+    }
+
+    public Position getDeparture() {
+        return departure;
+    }
+
+    public Position getDestination() {
+        return destination;
+    }
+
+    public LocalDateTime getWindowStart() {
+        return windowStart;
+    }
+
+    public LocalDateTime getWindowEnd() {
+        return windowEnd;
+    }
+}
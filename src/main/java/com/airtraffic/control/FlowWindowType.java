@@ -0,0 +1,16 @@
+package com.airtraffic.control;
+
+/**
+ * Segment akış metriklerinin pencere türü
+ */
+public enum FlowWindowType {
+    /**
+     * Son tamamlanmış sabit pencere (ör. 09:00:00-09:01:00); pencere bitene kadar değişmez
+     */
+    TUMBLING,
+
+    /**
+     * Şu ana kadar olan son pencere uzunluğu (kova çözünürlüğünde kayar)
+     */
+    SLIDING
+}
@@ -0,0 +1,278 @@
+package com.airtraffic.control;
+
+import com.airtraffic.model.Position;
+import com.airtraffic.model.Vehicle;
+import com.airtraffic.util.GeoUtils;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Tahminli handoff planlayıcı: araç başına bir birincil ve bir yedek istasyon
+ *
+ * Adaylar {@link BaseStationIndex}'ten gelir. Her aday, aracın şimdiki ve ileri
+ * bakış sonrası tahmini konumdaki kapsama derinliğinden yük cezası düşülerek
+ * puanlanır ({@link CollisionDetectionService#predictFuturePosition(Vehicle, double)}
+ * ile aynı doğrusal kinematik). {@link BaseStation#getMaxConnections()} dolu
+ * istasyon yeni birincil almaz.
+ *
+ * Planlama artımlıdır: araç yalnızca ataması yoksa, birincili onu şimdi veya
+ * tahmini konumda kapsamıyorsa ya da dengeleme zamanı geldiyse yeniden planlanır.
+ * Daha iyi istasyon ancak histerezis payıyla kazanırsa birincili değiştirir.
+ */
+public class HandoffPlanner {
+
+    private static final double DEFAULT_LOOKAHEAD_SECONDS = 30.0;
+    private static final double DEFAULT_HYSTERESIS = 0.15;
+    private static final int DEFAULT_REBALANCE_TICKS = 10;
+    private static final double LOAD_WEIGHT = 0.5;
+
+    private final BaseStationIndex stationIndex;
+    private final double lookaheadSeconds;
+    private final double hysteresisMargin;
+    private final int rebalanceTicks;
+
+    private final Map<String, Assignment> assignments;
+    private final Map<BaseStation, int[]> primaryLoad; // istasyon -> birincil araç sayısı
+    private long tick;
+
+    private final AtomicLong handoffCount = new AtomicLong();
+    private final AtomicLong replannedCount = new AtomicLong();
+    private final AtomicLong unservedCount = new AtomicLong();
+
+    /**
+     * 30 sn ileri bakış, 0.15 histerezis ve 10 tick'te bir dengelemeli planlayıcı
+     * @param stationIndex Adaylar için baz istasyonu indeksi
+     */
+    public HandoffPlanner(BaseStationIndex stationIndex) {
+        this(stationIndex, DEFAULT_LOOKAHEAD_SECONDS, DEFAULT_HYSTERESIS, DEFAULT_REBALANCE_TICKS);
+    }
+
+    /**
+     * @param stationIndex Adaylar için baz istasyonu indeksi
+     * @param lookaheadSeconds Rota tahminli puanlama için tahmin ufku (saniye)
+     * @param hysteresisMargin Yeni birincilin mevcuda karşı gereken puan üstünlüğü
+     * @param rebalanceTicks Kararlı aracın gönüllü yeniden planlamaları arası tick
+     */
+    public HandoffPlanner(BaseStationIndex stationIndex, double lookaheadSeconds,
+                          double hysteresisMargin, int rebalanceTicks) {
+        if (stationIndex == null) {
+            throw new IllegalArgumentException("Station index cannot be null");
+        }
+        if (lookaheadSeconds < 0 || hysteresisMargin < 0 || rebalanceTicks <= 0) {
+            throw new IllegalArgumentException("Invalid planner parameters");
+        }
+        this.stationIndex = stationIndex;
+        this.lookaheadSeconds = lookaheadSeconds;
+        this.hysteresisMargin = hysteresisMargin;
+        this.rebalanceTicks = rebalanceTicks;
+        this.assignments = new HashMap<>();
+        this.primaryLoad = new IdentityHashMap<>();
+    }
+
+    /**
+     * Verilen araçlar için bir tick planlar
+     * @param vehicles Aktif araçlar
+     * @return Birincil istasyonu değişen araç sayısı
+     */
+    public synchronized int planTick(Collection<Vehicle> vehicles) {
+        tick++;
+        int handoffs = 0;
+        for (Vehicle vehicle : vehicles) {
+            if (plan(vehicle)) {
+                handoffs++;
+            }
+        }
+        handoffCount.addAndGet(handoffs);
+        return handoffs;
+    }
+
+    private boolean plan(Vehicle vehicle) {
+        Position position = vehicle.getPosition();
+        String vehicleId = vehicle.getId();
+        Assignment current = assignments.get(vehicleId);
+        if (position == null) {
+            release(vehicleId);
+            return current != null && current.primary != null;
+        }
+
+        double speed = vehicle.getVelocity() > 0 ? vehicle.getVelocity() : 0.0;
+        double distance = speed * lookaheadSeconds;
+        double headingRad = Math.toRadians(vehicle.getHeading());
+        double lat = position.getLatitude();
+        double lon = position.getLongitude();
+        double predictedLat = lat + distance * Math.cos(headingRad) / GeoUtils.METERS_PER_DEGREE_LAT;
+        double predictedLon = lon + distance * Math.sin(headingRad) / GeoUtils.metersPerDegreeLon(lat);
+
+        if (current != null && current.primary != null && tick - current.plannedTick < rebalanceTicks
+                && depth(current.primary, lat, lon) >= 0 && depth(current.primary, predictedLat, predictedLon) >= 0
+                && (current.backup == null || depth(current.backup, lat, lon) >= 0)) {
+            return false; // Kararlı: yeniden planlama gerekmiyor
+        }
+        replannedCount.incrementAndGet();
+
+        List<BaseStation> candidates = stationIndex.getStationsCovering(position);
+        BaseStation currentPrimary = current != null ? current.primary : null;
+        double currentScore = Double.NEGATIVE_INFINITY;
+        BaseStation best = null;
+        double bestScore = Double.NEGATIVE_INFINITY;
+        BaseStation second = null;
+        double secondScore = Double.NEGATIVE_INFINITY;
+
+        for (BaseStation station : candidates) {
+            boolean isCurrent = station == currentPrimary;
+            if (!isCurrent && isFull(station)) {
+                continue;
+            }
+            double score = score(station, lat, lon, predictedLat, predictedLon, isCurrent);
+            if (isCurrent) {
+                currentScore = score;
+            }
+            if (score > bestScore) {
+                second = best;
+                secondScore = bestScore;
+                best = station;
+                bestScore = score;
+            } else if (score > secondScore) {
+                second = station;
+                secondScore = score;
+            }
+        }
+
+        // Histerezis: mevcut birincil istasyon yeterince geride kalmadıkça korunur
+        BaseStation primary = best;
+        if (currentPrimary != null && currentScore != Double.NEGATIVE_INFINITY
+                && bestScore - currentScore < hysteresisMargin) {
+            primary = currentPrimary;
+        }
+        BaseStation backup = primary == best ? second : best;
+
+        Assignment next = current != null ? current : new Assignment();
+        if (primary != currentPrimary) {
+            adjustLoad(currentPrimary, -1);
+            adjustLoad(primary, 1);
+        }
+        next.primary = primary;
+        next.backup = backup;
+        next.plannedTick = tick;
+        assignments.put(vehicleId, next);
+        if (primary == null) {
+            unservedCount.incrementAndGet();
+        }
+        return primary != currentPrimary && currentPrimary != null;
+    }
+
+    /**
+     * Aday puanı: şimdiki ve tahmini konumdaki kapsama derinliği eksi yük
+     * Mevcut birincilin yükünden aracın kendisi düşülür
+     */
+    private double score(BaseStation station, double lat, double lon,
+                         double predictedLat, double predictedLon, boolean isCurrent) {
+        double now = depth(station, lat, lon);
+        double predicted = Math.max(-1.0, depth(station, predictedLat, predictedLon));
+        int max = station.getMaxConnections();
+        double load = 0.0;
+        if (max > 0) {
+            int[] count = primaryLoad.get(station);
+            int assigned = count != null ? count[0] - (isCurrent ? 1 : 0) : 0;
+            load = (double) assigned / max;
+        }
+        return 0.5 * now + 0.5 * predicted - LOAD_WEIGHT * load;
+    }
+
+    /**
+     * Kapsama içindeki göreli derinlik: direkte 1, sınırda 0, dışarıda negatif
+     */
+    private static double depth(BaseStation station, double lat, double lon) {
+        Position center = station.getPosition();
+        double radius = station.getCoverageRadius();
+        if (center == null || radius <= 0) {
+            return -1.0;
+        }
+        return 1.0 - GeoUtils.haversine(center.getLatitude(), center.getLongitude(), lat, lon) / radius;
+    }
+
+    private boolean isFull(BaseStation station) {
+        int max = station.getMaxConnections();
+        if (max <= 0) {
+            return false;
+        }
+        int[] count = primaryLoad.get(station);
+        return count != null && count[0] >= max;
+    }
+
+    private void adjustLoad(BaseStation station, int delta) {
+        if (station == null) {
+            return;
+        }
+        int[] count = primaryLoad.computeIfAbsent(station, s -> new int[1]);
+        count[0] += delta;
+    }
+
+    /**
+     * Aracın atamasını kaldırır ve birincil slotunu boşaltır
+     * @param vehicleId Araç ID
+     */
+    public synchronized void release(String vehicleId) {
+        Assignment assignment = vehicleId != null ? assignments.remove(vehicleId) : null;
+        if (assignment != null) {
+            adjustLoad(assignment.primary, -1);
+        }
+    }
+
+    /**
+     * Aracın birincil istasyonu veya null
+     */
+    public synchronized BaseStation getPrimary(String vehicleId) {
+        Assignment assignment = assignments.get(vehicleId);
+        return assignment != null ? assignment.primary : null;
+    }
+
+    /**
+     * Aracın yedek istasyonu veya null
+     */
+    public synchronized BaseStation getBackup(String vehicleId) {
+        Assignment assignment = assignments.get(vehicleId);
+        return assignment != null ? assignment.backup : null;
+    }
+
+    /**
+     * Bu istasyonu birincil kullanan araç sayısı
+     */
+    public synchronized int getPrimaryLoad(BaseStation station) {
+        int[] count = primaryLoad.get(station);
+        return count != null ? count[0] : 0;
+    }
+
+    public synchronized int getAssignmentCount() {
+        return assignments.size();
+    }
+
+    public long getHandoffCount() {
+        return handoffCount.get();
+    }
+
+    public long getReplannedCount() {
+        return replannedCount.get();
+    }
+
+    /**
+     * Boş kapasiteli istasyon bulamayan yeniden planlama sayısı
+     */
+    public long getUnservedCount() {
+        return unservedCount.get();
+    }
+
+    /**
+     * Tek aracın birincil/yedek çifti
+     */
+    private static final class Assignment {
+        private BaseStation primary;
+        private BaseStation backup;
+        private long plannedTick;
+    }
+}
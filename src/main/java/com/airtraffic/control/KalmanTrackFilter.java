@@ -0,0 +1,380 @@
+package com.airtraffic.control;
+
+import com.airtraffic.model.Position;
+import com.airtraffic.util.LocalProjection;
+import com.airtraffic.util.TimeUtils;
+
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.stream.IntStream;
+
+/**
+ * Araç konumları için toplu, sabit hızlı Kalman izleyici
+ *
+ * Her araç bir iz slotu alır; durum, referans nokta etrafındaki yerel
+ * doğu/kuzey/yukarı düzleminde primitive dizilerde tutulur. Her eksen
+ * [konum, hız] modeli ve 2x2 kovaryansla bağımsız filtrelenir.
+ *
+ * Tick başına: ham ölçümler {@link #submit} ile verilir (her thread'den), sonra
+ * {@link #processTick()} bekleyen tüm izleri tek batch'te (büyükse paralel)
+ * filtreler. Yumuşatılmış konum, hız ve yön tick'ler arasında okunur.
+ */
+public class KalmanTrackFilter {
+
+    private static final double DEFAULT_MEASUREMENT_STD = 3.0;       // metre (GPS)
+    private static final double DEFAULT_ACCELERATION_STD = 2.0;      // m/s² (manevra gürültüsü)
+    private static final double INITIAL_VELOCITY_VARIANCE = 100.0;   // (10 m/s)²
+    private static final double MAX_TICK_SECONDS = 60.0;             // daha uzun boşlukta iz sıfırlanır
+    private static final int PARALLEL_THRESHOLD = 2048;
+    private static final int INITIAL_CAPACITY = 64;
+    private static final int AXES = 3;                               // east, north, up
+
+    private final LocalProjection projection;
+    private final double measurementVariance;
+    private final double accelerationVariance;
+
+    private final Map<String, Integer> slotById;
+    private int[] freeSlots;
+    private int freeCount;
+    private int slotCount;
+
+    // State, indexed [slot * AXES + axis]
+    private double[] x;     // position (m)
+    private double[] v;     // velocity (m/s)
+    private double[] p00;   // var(position)
+    private double[] p01;   // cov(position, velocity)
+    private double[] p11;   // var(velocity)
+
+    // Per-slot bookkeeping
+    private long[] lastMillis;
+    private int[] updateCounts;
+    private boolean[] active;
+
+    // Pending measurements for the current tick
+    private double[] pendingZ;      // [slot * AXES + axis]
+    private long[] pendingMillis;
+    private boolean[] pending;
+    private int[] pendingSlots;
+    private int pendingCount;
+    private long outOfOrderCount;
+
+    /**
+     * Varsayılan gürültü modelli izleyici (3 m GPS, 2 m/s² manevra)
+     * @param referenceLat Yerel düzlemin referans enlemi
+     * @param referenceLon Yerel düzlemin referans boylamı
+     */
+    public KalmanTrackFilter(double referenceLat, double referenceLon) {
+        this(referenceLat, referenceLon, DEFAULT_MEASUREMENT_STD, DEFAULT_ACCELERATION_STD);
+    }
+
+    /**
+     * Özel gürültü modelli izleyici
+     * @param referenceLat Yerel düzlemin referans enlemi
+     * @param referenceLon Yerel düzlemin referans boylamı
+     * @param measurementStd Konum ölçümü standart sapması (metre)
+     * @param accelerationStd İvme standart sapması olarak süreç gürültüsü (m/s²)
+     */
+    public KalmanTrackFilter(double referenceLat, double referenceLon,
+                             double measurementStd, double accelerationStd) {
+        if (measurementStd <= 0 || accelerationStd <= 0) {
+            throw new IllegalArgumentException("Noise parameters must be positive");
+        }
+        this.projection = new LocalProjection(referenceLat, referenceLon);
+        this.measurementVariance = measurementStd * measurementStd;
+        this.accelerationVariance = accelerationStd * accelerationStd;
+        this.slotById = new HashMap<>();
+        this.freeSlots = new int[INITIAL_CAPACITY];
+        allocate(INITIAL_CAPACITY);
+    }
+
+    /**
+     * Aracın iz slotu (gerekirse ayrılır)
+     * @param vehicleId Araç ID
+     * @return Primitive API için slot tanıtıcısı
+     */
+    public synchronized int track(String vehicleId) {
+        if (vehicleId == null) {
+            throw new IllegalArgumentException("Vehicle ID cannot be null");
+        }
+        Integer existing = slotById.get(vehicleId);
+        if (existing != null) {
+            return existing;
+        }
+        int slot;
+        if (freeCount > 0) {
+            slot = freeSlots[--freeCount];
+        } else {
+            if (slotCount == active.length) {
+                allocate(active.length * 2);
+            }
+            slot = slotCount++;
+        }
+        active[slot] = true;
+        updateCounts[slot] = 0;
+        slotById.put(vehicleId, slot);
+        return slot;
+    }
+
+    /**
+     * Aracın izini bırakır (ör. kaydı silindiğinde)
+     * @param vehicleId Araç ID
+     * @return İz varsa true
+     */
+    public synchronized boolean release(String vehicleId) {
+        Integer slot = vehicleId != null ? slotById.remove(vehicleId) : null;
+        if (slot == null) {
+            return false;
+        }
+        active[slot] = false;
+        if (pending[slot]) {
+            // Drop the pending measurement so a reused slot never inherits it
+            pending[slot] = false;
+            for (int i = 0; i < pendingCount; i++) {
+                if (pendingSlots[i] == slot) {
+                    pendingSlots[i] = pendingSlots[--pendingCount];
+                    break;
+                }
+            }
+        }
+        if (freeCount == freeSlots.length) {
+            freeSlots = Arrays.copyOf(freeSlots, freeSlots.length * 2);
+        }
+        freeSlots[freeCount++] = slot;
+        return true;
+    }
+
+    /**
+     * Sonraki tick için ham ölçüm verir (primitive API, nesne oluşturmaz)
+     * Aynı tick'te aynı slot için sonraki ölçüm öncekinin yerine geçer
+     * @param slot {@link #track(String)} ile alınan slot tanıtıcısı
+     * @param latitude Ölçülen enlem
+     * @param longitude Ölçülen boylam
+     * @param altitude Ölçülen yükseklik (metre)
+     * @param timeMillis Ölçüm zamanı (milisaniye, herhangi sabit epoch)
+     */
+    public synchronized void submit(int slot, double latitude, double longitude, double altitude, long timeMillis) {
+        if (slot < 0 || slot >= slotCount || !active[slot]) {
+            throw new IllegalArgumentException("Unknown track slot: " + slot);
+        }
+        int base = slot * AXES;
+        pendingZ[base] = projection.toX(longitude);
+        pendingZ[base + 1] = projection.toY(latitude);
+        pendingZ[base + 2] = altitude;
+        pendingMillis[slot] = timeMillis;
+        if (!pending[slot]) {
+            pending[slot] = true;
+            pendingSlots[pendingCount++] = slot;
+        }
+    }
+
+    /**
+     * Position'dan ölçüm verir
+     * @param vehicleId Araç ID
+     * @param position Ölçülen konum (zaman damgası ölçüm zamanıdır)
+     * @return Aracın slot tanıtıcısı
+     */
+    public int submit(String vehicleId, Position position) {
+        if (position == null) {
+            throw new IllegalArgumentException("Position cannot be null");
+        }
+        synchronized (this) {
+            int slot = track(vehicleId);
+            submit(slot, position.getLatitude(), position.getLongitude(), position.getAltitude(),
+                TimeUtils.toEpochMillis(position.getTimestamp()));
+            return slot;
+        }
+    }
+
+    /**
+     * Bekleyen tüm ölçümleri tek batch'te filtreler
+     * İzin son güncellemesinden eski ölçümler düşürülür (bkz. {@link #getOutOfOrderCount()})
+     * @return Güncellenen iz sayısı
+     */
+    public synchronized int processTick() {
+        int count = pendingCount;
+        if (count == 0) {
+            return 0;
+        }
+        int updated;
+        if (count >= PARALLEL_THRESHOLD) {
+            updated = (int) IntStream.range(0, count).parallel().filter(i -> step(pendingSlots[i])).count();
+        } else {
+            updated = 0;
+            for (int i = 0; i < count; i++) {
+                if (step(pendingSlots[i])) {
+                    updated++;
+                }
+            }
+        }
+        for (int i = 0; i < count; i++) {
+            pending[pendingSlots[i]] = false;
+        }
+        pendingCount = 0;
+        outOfOrderCount += count - updated;
+        return updated;
+    }
+
+    /**
+     * Tek izin tahmin + güncelleme adımı (yalnızca kendi slotuna dokunur)
+     * @return Ölçüm izden eski olup düşürüldüyse false
+     */
+    private boolean step(int slot) {
+        int base = slot * AXES;
+        long millis = pendingMillis[slot];
+        double dt = (millis - lastMillis[slot]) / 1000.0;
+
+        if (updateCounts[slot] == 0 || dt > MAX_TICK_SECONDS) {
+            for (int a = 0; a < AXES; a++) {
+                int k = base + a;
+                x[k] = pendingZ[k];
+                v[k] = 0.0;
+                p00[k] = measurementVariance;
+                p01[k] = 0.0;
+                p11[k] = INITIAL_VELOCITY_VARIANCE;
+            }
+            lastMillis[slot] = millis;
+            updateCounts[slot] = 1;
+            return true;
+        }
+        if (dt < 0) {
+            // Sıra dışı rapor: durum daha yeni bir ölçüme göre; geriye tahmin yapılmaz
+            return false;
+        }
+
+        double dt2 = dt * dt;
+        double q = accelerationVariance;
+        for (int a = 0; a < AXES; a++) {
+            int k = base + a;
+            // Predict
+            double xp = x[k] + v[k] * dt;
+            double a00 = p00[k] + dt * (2 * p01[k] + dt * p11[k]) + q * dt2 * dt2 / 4;
+            double a01 = p01[k] + dt * p11[k] + q * dt2 * dt / 2;
+            double a11 = p11[k] + q * dt2;
+            // Update
+            double s = a00 + measurementVariance;
+            double k0 = a00 / s;
+            double k1 = a01 / s;
+            double y = pendingZ[k] - xp;
+            x[k] = xp + k0 * y;
+            v[k] = v[k] + k1 * y;
+            p00[k] = (1 - k0) * a00;
+            p01[k] = (1 - k0) * a01;
+            p11[k] = a11 - k1 * a01;
+        }
+        lastMillis[slot] = millis;
+        updateCounts[slot]++;
+        return true;
+    }
+
+    private void allocate(int capacity) {
+        x = grow(x, capacity * AXES);
+        v = grow(v, capacity * AXES);
+        p00 = grow(p00, capacity * AXES);
+        p01 = grow(p01, capacity * AXES);
+        p11 = grow(p11, capacity * AXES);
+        pendingZ = grow(pendingZ, capacity * AXES);
+        lastMillis = lastMillis == null ? new long[capacity] : Arrays.copyOf(lastMillis, capacity);
+        pendingMillis = pendingMillis == null ? new long[capacity] : Arrays.copyOf(pendingMillis, capacity);
+        updateCounts = updateCounts == null ? new int[capacity] : Arrays.copyOf(updateCounts, capacity);
+        pendingSlots = pendingSlots == null ? new int[capacity] : Arrays.copyOf(pendingSlots, capacity);
+        active = active == null ? new boolean[capacity] : Arrays.copyOf(active, capacity);
+        pending = pending == null ? new boolean[capacity] : Arrays.copyOf(pending, capacity);
+    }
+
+    private static double[] grow(double[] array, int length) {
+        return array == null ? new double[length] : Arrays.copyOf(array, length);
+    }
+
+    // Smoothed state getters (slot API)
+
+    public double getLatitude(int slot) {
+        return projection.fromY(x[slot * AXES + 1]);
+    }
+
+    public double getLongitude(int slot) {
+        return projection.fromX(x[slot * AXES]);
+    }
+
+    public double getAltitude(int slot) {
+        return x[slot * AXES + 2];
+    }
+
+    public double getVelocityEast(int slot) {
+        return v[slot * AXES];
+    }
+
+    public double getVelocityNorth(int slot) {
+        return v[slot * AXES + 1];
+    }
+
+    public double getVelocityUp(int slot) {
+        return v[slot * AXES + 2];
+    }
+
+    /**
+     * Yumuşatılmış yatay hız (m/s)
+     */
+    public double getSpeed(int slot) {
+        return Math.hypot(v[slot * AXES], v[slot * AXES + 1]);
+    }
+
+    /**
+     * Yumuşatılmış yön (derece, 0 = kuzey, saat yönü; Vehicle ile aynı)
+     */
+    public double getHeading(int slot) {
+        double heading = Math.toDegrees(Math.atan2(v[slot * AXES], v[slot * AXES + 1]));
+        return heading < 0 ? heading + 360.0 : heading;
+    }
+
+    /**
+     * İz (yeniden) başlatıldığından beri işlenen ölçüm sayısı
+     */
+    public int getUpdateCount(int slot) {
+        return updateCounts[slot];
+    }
+
+    /**
+     * İzin hız tahmini var mı? (en az iki ölçüm)
+     */
+    public boolean hasVelocity(int slot) {
+        return updateCounts[slot] >= 2;
+    }
+
+    /**
+     * Yumuşatılmış konum Position olarak (nesne oluşturur; sıcak yol dışı için)
+     * @param slot Slot tanıtıcısı
+     * @param timestamp Dönen konumun zaman damgası
+     */
+    public Position getSmoothedPosition(int slot, LocalDateTime timestamp) {
+        return new Position(getLatitude(slot), getLongitude(slot), getAltitude(slot), timestamp);
+    }
+
+    /**
+     * Aracın slot tanıtıcısı (izlenmiyorsa -1)
+     */
+    public synchronized int slotOf(String vehicleId) {
+        Integer slot = vehicleId != null ? slotById.get(vehicleId) : null;
+        return slot != null ? slot : -1;
+    }
+
+    public synchronized int getTrackCount() {
+        return slotById.size();
+    }
+
+    /**
+     * İzinden eski olduğu için düşürülen ölçüm sayısı
+     */
+    public synchronized long getOutOfOrderCount() {
+        return outOfOrderCount;
+    }
+
+    public double getReferenceLat() {
+        return projection.getReferenceLat();
+    }
+
+    public double getReferenceLon() {
+        return projection.getReferenceLon();
+    }
+}
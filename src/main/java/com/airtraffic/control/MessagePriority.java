@@ -0,0 +1,22 @@
+package com.airtraffic.control;
+
+/**
+ * Baz istasyonu üzerinden gönderilen mesajların öncelik sınıfı
+ * Sıra önemlidir: düşük ordinal önce iletilir
+ */
+public enum MessagePriority {
+    /**
+     * Kritik çarpışma uyarısı - her zaman önce iletilir
+     */
+    CRITICAL_COLLISION,
+
+    /**
+     * Trafik kuralı ihlali uyarısı
+     */
+    RULE_VIOLATION,
+
+    /**
+     * Bilgilendirme mesajı (orta/düşük risk, durum bildirimi)
+     */
+    INFO
+}
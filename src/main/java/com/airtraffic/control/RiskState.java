@@ -0,0 +1,31 @@
+package com.airtraffic.control;
+
+/**
+ * Takip edilen bir araç çifti riskinin yaşam döngüsü durumu
+ */
+public enum RiskState {
+    /**
+     * Risk ilk kez tespit edildi
+     */
+    NEW,
+
+    /**
+     * Risk seviyesi yükseldi
+     */
+    ESCALATING,
+
+    /**
+     * Risk seviyesi değişmeden devam ediyor
+     */
+    STEADY,
+
+    /**
+     * Daha düşük seviye gözlendi, düşüş henüz onaylanmadı (histerezis)
+     */
+    RESOLVING,
+
+    /**
+     * Risk ortadan kalktı; çift tablodan çıkarıldı
+     */
+    CLEARED
+}
@@ -0,0 +1,353 @@
+package com.airtraffic.control;
+
+import com.airtraffic.map.RouteSegment;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Segment bazlı akış analitiği (TrafficFlowService üzerinde akan aşama)
+ *
+ * Her segment için sabit boyutlu bir halka tampon tutulur: zaman eşit kovalara
+ * bölünür (varsayılan 5 sn) ve her kovada giriş sayısı, hız toplamı, hız kare
+ * toplamı ve doluluk örnekleri ilkel dizilerde birikir. Halka, iki pencere
+ * uzunluğu kadar kova içerir; böylece hem kayan pencere (son W kova) hem de
+ * son tamamlanmış sabit pencere aynı tampondan okunur. Olay kaydı nesne
+ * oluşturmaz; tampon segmentin ilk olayında bir kez ayrılır.
+ *
+ * Metrikler:
+ * - throughput: pencere içinde segmente giren araç / dakika
+ * - density: ortalama araç sayısı / segment uzunluğu (araç / km)
+ * - utilization: ortalama araç sayısı / segment kapasitesi
+ * - mean speed ve speed variance: hız örneklerinden (m/s)
+ *
+ * Giriş ve hız olayları {@link TrafficFlowService#updateVehicleSegment} ile
+ * otomatik gelir; doluluk ise {@link #sampleOccupancy(long)} her çağrıldığında
+ * (ör. her kontrol turunda) servis sayaçlarından kilitsiz okunur.
+ */
+public class SegmentFlowAnalytics {
+
+    private static final long DEFAULT_BUCKET_MILLIS = 5_000L;
+    private static final int DEFAULT_WINDOW_BUCKETS = 12;    // 60 sn pencere
+    private static final int PAGE_BITS = 12;
+    private static final int PAGE_SIZE = 1 << PAGE_BITS;
+    private static final int MAX_PAGES = 1 << 12;
+
+    private final TrafficFlowService flowService;
+    private final long bucketMillis;
+    private final int windowBuckets;
+    private final AtomicReferenceArray<AtomicReferenceArray<SegmentRing>> ringPages;
+
+    /**
+     * 5 sn kovalı, 60 sn pencereli analitik; kendini servise bağlar
+     */
+    public SegmentFlowAnalytics(TrafficFlowService flowService) {
+        this(flowService, DEFAULT_BUCKET_MILLIS, DEFAULT_WINDOW_BUCKETS);
+    }
+
+    /**
+     * @param flowService Olay kaynağı ve doluluk sayaçları (analitik servise bağlanır)
+     * @param bucketMillis Kova uzunluğu (ms)
+     * @param windowBuckets Pencere başına kova sayısı
+     */
+    public SegmentFlowAnalytics(TrafficFlowService flowService, long bucketMillis, int windowBuckets) {
+        if (flowService == null) {
+            throw new IllegalArgumentException("Traffic flow service cannot be null");
+        }
+        if (bucketMillis <= 0) {
+            throw new IllegalArgumentException("Bucket length must be positive");
+        }
+        if (windowBuckets <= 0) {
+            throw new IllegalArgumentException("Window must contain at least one bucket");
+        }
+        this.flowService = flowService;
+        this.bucketMillis = bucketMillis;
+        this.windowBuckets = windowBuckets;
+        this.ringPages = new AtomicReferenceArray<>(MAX_PAGES);
+        flowService.setFlowAnalytics(this);
+    }
+
+    /**
+     * Servis bağlantısını kaldırır; birikmiş metrikler okunabilir kalır
+     */
+    public void detach() {
+        if (flowService.getFlowAnalytics() == this) {
+            flowService.setFlowAnalytics(null);
+        }
+    }
+
+    /**
+     * Bir aracın segment güncellemesini kaydeder (nesne oluşturmaz)
+     * @param handle TrafficFlowService segment tanıtıcısı
+     * @param segment Segment (uzunluk ve kapasite için)
+     * @param entered Araç segmente bu güncellemede girdiyse true
+     * @param speed Araç hızı (m/s)
+     * @param timestampMillis Olay zamanı
+     */
+    public void record(int handle, RouteSegment segment, boolean entered, double speed, long timestampMillis) {
+        SegmentRing ring = ring(handle, segment);
+        if (ring != null) {
+            ring.record(Math.floorDiv(timestampMillis, bucketMillis), entered, speed);
+        }
+    }
+
+    /**
+     * İzlenen tüm segmentlerin anlık araç sayısını doluluk örneği olarak ekler
+     * @param timestampMillis Örnek zamanı
+     */
+    public void sampleOccupancy(long timestampMillis) {
+        long bucket = Math.floorDiv(timestampMillis, bucketMillis);
+        int count = flowService.getSegmentCount();
+        for (int pageIndex = 0; pageIndex << PAGE_BITS < count; pageIndex++) {
+            AtomicReferenceArray<SegmentRing> page = ringPages.get(pageIndex);
+            if (page == null) {
+                continue;
+            }
+            int base = pageIndex << PAGE_BITS;
+            int end = Math.min(PAGE_SIZE, count - base);
+            for (int i = 0; i < end; i++) {
+                SegmentRing ring = page.get(i);
+                if (ring != null) {
+                    ring.sample(bucket, flowService.getVehicleCount(base + i));
+                }
+            }
+        }
+    }
+
+    /**
+     * Segment metrikleri
+     * @param segmentId Segment ID
+     * @param type Pencere türü
+     * @param nowMillis Sorgu zamanı
+     * @return Metrikler veya segment izlenmiyorsa null
+     */
+    public SegmentFlowMetrics getMetrics(String segmentId, FlowWindowType type, long nowMillis) {
+        if (segmentId == null || type == null) {
+            throw new IllegalArgumentException("Segment ID and window type cannot be null");
+        }
+        SegmentRing ring = ring(flowService.findSegmentHandle(segmentId));
+        return ring != null ? ring.metrics(segmentId, type, Math.floorDiv(nowMillis, bucketMillis)) : null;
+    }
+
+    /**
+     * Tanıtıcı ile segment metrikleri (ID araması yapılmaz)
+     * @return Metrikler veya segment izlenmiyorsa null
+     */
+    public SegmentFlowMetrics getMetrics(int handle, FlowWindowType type, long nowMillis) {
+        if (type == null) {
+            throw new IllegalArgumentException("Window type cannot be null");
+        }
+        SegmentRing ring = ring(handle);
+        return ring != null
+            ? ring.metrics(flowService.getSegmentId(handle), type, Math.floorDiv(nowMillis, bucketMillis))
+            : null;
+    }
+
+    /**
+     * Tanıtıcının izlenen segmenti (ilk olayda kaydedilen)
+     * @return Segment veya izlenmiyorsa null
+     */
+    RouteSegment getSegment(int handle) {
+        SegmentRing ring = ring(handle);
+        return ring != null ? ring.segment : null;
+    }
+
+    /**
+     * En tıkalı k segment (kapasite kullanımı, eşitlikte yoğunluk azalan sırada)
+     * @param k Sonuç sayısı
+     * @param type Pencere türü
+     * @param nowMillis Sorgu zamanı
+     */
+    public List<SegmentFlowMetrics> getTopCongested(int k, FlowWindowType type, long nowMillis) {
+        if (k <= 0) {
+            throw new IllegalArgumentException("k must be positive");
+        }
+        if (type == null) {
+            throw new IllegalArgumentException("Window type cannot be null");
+        }
+        Comparator<SegmentFlowMetrics> congestion = Comparator
+            .comparingDouble(SegmentFlowMetrics::getUtilization)
+            .thenComparingDouble(SegmentFlowMetrics::getDensity);
+        PriorityQueue<SegmentFlowMetrics> top = new PriorityQueue<>(k + 1, congestion);
+        long nowBucket = Math.floorDiv(nowMillis, bucketMillis);
+        int count = flowService.getSegmentCount();
+        for (int handle = 0; handle < count; handle++) {
+            SegmentRing ring = ring(handle);
+            if (ring == null) {
+                continue;
+            }
+            SegmentFlowMetrics metrics = ring.metrics(flowService.getSegmentId(handle), type, nowBucket);
+            if (top.size() < k) {
+                top.add(metrics);
+            } else if (congestion.compare(metrics, top.peek()) > 0) {
+                top.poll();
+                top.add(metrics);
+            }
+        }
+        List<SegmentFlowMetrics> result = new ArrayList<>(top);
+        result.sort(congestion.reversed());
+        return result;
+    }
+
+    /**
+     * Tamponu ayrılmış (en az bir olay görmüş) segment sayısı
+     */
+    public int getTrackedSegmentCount() {
+        int tracked = 0;
+        int count = flowService.getSegmentCount();
+        for (int handle = 0; handle < count; handle++) {
+            if (ring(handle) != null) {
+                tracked++;
+            }
+        }
+        return tracked;
+    }
+
+    public long getBucketMillis() {
+        return bucketMillis;
+    }
+
+    public long getWindowMillis() {
+        return bucketMillis * windowBuckets;
+    }
+
+    public TrafficFlowService getFlowService() {
+        return flowService;
+    }
+
+    private SegmentRing ring(int handle) {
+        if (handle < 0 || (handle >>> PAGE_BITS) >= MAX_PAGES) {
+            return null;
+        }
+        AtomicReferenceArray<SegmentRing> page = ringPages.get(handle >>> PAGE_BITS);
+        return page != null ? page.get(handle & (PAGE_SIZE - 1)) : null;
+    }
+
+    private SegmentRing ring(int handle, RouteSegment segment) {
+        SegmentRing ring = ring(handle);
+        if (ring != null || handle < 0 || segment == null || (handle >>> PAGE_BITS) >= MAX_PAGES) {
+            return ring;
+        }
+        int pageIndex = handle >>> PAGE_BITS;
+        ringPages.compareAndSet(pageIndex, null, new AtomicReferenceArray<>(PAGE_SIZE));
+        AtomicReferenceArray<SegmentRing> page = ringPages.get(pageIndex);
+        page.compareAndSet(handle & (PAGE_SIZE - 1), null, new SegmentRing(segment, 2 * windowBuckets));
+        return page.get(handle & (PAGE_SIZE - 1));
+    }
+
+    /**
+     * Tek segmentin kova halkası; yuva, içerdiği kova numarasıyla etiketlenir
+     * ve başka bir kova için yeniden kullanılırken sıfırlanır
+     */
+    private final class SegmentRing {
+        private final RouteSegment segment;
+        private final long[] bucketIds;
+        private final int[] entries;
+        private final int[] speedSamples;
+        private final double[] speedSum;
+        private final double[] speedSquareSum;
+        private final long[] occupancySum;
+        private final int[] occupancySamples;
+        private long latestBucket = Long.MIN_VALUE;
+
+        SegmentRing(RouteSegment segment, int size) {
+            this.segment = segment;
+            this.bucketIds = new long[size];
+            this.entries = new int[size];
+            this.speedSamples = new int[size];
+            this.speedSum = new double[size];
+            this.speedSquareSum = new double[size];
+            this.occupancySum = new long[size];
+            this.occupancySamples = new int[size];
+            Arrays.fill(bucketIds, Long.MIN_VALUE);
+        }
+
+        synchronized void record(long bucket, boolean entered, double speed) {
+            int slot = slot(bucket);
+            if (slot < 0) {
+                return;
+            }
+            if (entered) {
+                entries[slot]++;
+            }
+            speedSamples[slot]++;
+            speedSum[slot] += speed;
+            speedSquareSum[slot] += speed * speed;
+        }
+
+        synchronized void sample(long bucket, int vehicleCount) {
+            int slot = slot(bucket);
+            if (slot >= 0) {
+                occupancySum[slot] += vehicleCount;
+                occupancySamples[slot]++;
+            }
+        }
+
+        /**
+         * Kovanın yuvası; halkadan düşmüş eski kovalar için -1
+         */
+        private int slot(long bucket) {
+            if (latestBucket != Long.MIN_VALUE && bucket <= latestBucket - bucketIds.length) {
+                return -1;
+            }
+            latestBucket = Math.max(latestBucket, bucket);
+            int slot = (int) Math.floorMod(bucket, (long) bucketIds.length);
+            if (bucketIds[slot] != bucket) {
+                bucketIds[slot] = bucket;
+                entries[slot] = 0;
+                speedSamples[slot] = 0;
+                speedSum[slot] = 0.0;
+                speedSquareSum[slot] = 0.0;
+                occupancySum[slot] = 0L;
+                occupancySamples[slot] = 0;
+            }
+            return slot;
+        }
+
+        synchronized SegmentFlowMetrics metrics(String segmentId, FlowWindowType type, long nowBucket) {
+            // Kayan: (now - W, now]; sabit: son tamamlanmış [k*W, (k+1)*W)
+            long last = type == FlowWindowType.SLIDING
+                ? nowBucket
+                : Math.floorDiv(nowBucket, (long) windowBuckets) * windowBuckets - 1;
+            long first = last - windowBuckets + 1;
+
+            long entryCount = 0;
+            long samples = 0;
+            double sum = 0.0;
+            double squareSum = 0.0;
+            long occupancy = 0;
+            long occupancyCount = 0;
+            for (int slot = 0; slot < bucketIds.length; slot++) {
+                long id = bucketIds[slot];
+                if (id < first || id > last) {
+                    continue;
+                }
+                entryCount += entries[slot];
+                samples += speedSamples[slot];
+                sum += speedSum[slot];
+                squareSum += speedSquareSum[slot];
+                occupancy += occupancySum[slot];
+                occupancyCount += occupancySamples[slot];
+            }
+
+            double windowMinutes = windowBuckets * bucketMillis / 60_000.0;
+            double meanCount = occupancyCount > 0 ? (double) occupancy / occupancyCount : 0.0;
+            double lengthKm = segment.calculateLength() / 1000.0;
+            double density = lengthKm > 0 ? meanCount / lengthKm : 0.0;
+            double utilization;
+            if (segment.getMaxVehicles() > 0) {
+                utilization = meanCount / segment.getMaxVehicles();
+            } else {
+                utilization = meanCount > 0 ? Double.POSITIVE_INFINITY : 0.0;
+            }
+            double meanSpeed = samples > 0 ? sum / samples : 0.0;
+            double variance = samples > 0 ? Math.max(0.0, squareSum / samples - meanSpeed * meanSpeed) : 0.0;
+            return new SegmentFlowMetrics(segmentId, entryCount / windowMinutes, density, utilization,
+                meanSpeed, variance, samples);
+        }
+    }
+}
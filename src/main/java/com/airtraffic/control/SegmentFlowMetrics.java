@@ -0,0 +1,59 @@
+package com.airtraffic.control;
+
+/**
+ * Bir segmentin tek pencere için akış metrikleri
+ */
+public class SegmentFlowMetrics {
+    private final String segmentId;
+    private final double throughputPerMinute;  // Segmente giren araç / dakika
+    private final double density;              // Ortalama araç / km
+    private final double utilization;          // Ortalama araç sayısı / segment kapasitesi
+    private final double meanSpeed;            // m/s (örnek yoksa 0)
+    private final double speedVariance;        // (m/s)^2
+    private final long speedSamples;
+
+    public SegmentFlowMetrics(String segmentId, double throughputPerMinute, double density, double utilization,
+                              double meanSpeed, double speedVariance, long speedSamples) {
+        this.segmentId = segmentId;
+        this.throughputPerMinute = throughputPerMinute;
+        this.density = density;
+        this.utilization = utilization;
+        this.meanSpeed = meanSpeed;
+        this.speedVariance = speedVariance;
+        this.speedSamples = speedSamples;
+    }
+
+    public String getSegmentId() {
+        return segmentId;
+    }
+
+    public double getThroughputPerMinute() {
+        return throughputPerMinute;
+    }
+
+    public double getDensity() {
+        return density;
+    }
+
+    public double getUtilization() {
+        return utilization;
+    }
+
+    public double getMeanSpeed() {
+        return meanSpeed;
+    }
+
+    public double getSpeedVariance() {
+        return speedVariance;
+    }
+
+    public long getSpeedSamples() {
+        return speedSamples;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("SegmentFlowMetrics[%s, %.1f veh/min, %.1f veh/km, util=%.2f, v=%.1f±%.1f m/s]",
+            segmentId, throughputPerMinute, density, utilization, meanSpeed, Math.sqrt(speedVariance));
+    }
+}
@@ -0,0 +1,61 @@
+package com.airtraffic.control;
+
+import com.airtraffic.map.RouteSegment;
+
+import java.util.Map;
+
+/**
+ * Tek bir tick'te alınmış segment doluluk kopyası
+ * Kopyadan sonra eklenen segmentler için sayı 0 döner
+ */
+public class SegmentOccupancySnapshot {
+    private final long tick;
+    private final int[] counts;                      // tanıtıcı -> araç sayısı
+    private final Map<String, Integer> handles;      // Segment ID -> tanıtıcı (yalnızca okunur)
+    private final long totalVehicles;
+
+    SegmentOccupancySnapshot(long tick, int[] counts, Map<String, Integer> handles) {
+        this.tick = tick;
+        this.counts = counts;
+        this.handles = handles;
+        long total = 0;
+        for (int count : counts) {
+            total += count;
+        }
+        this.totalVehicles = total;
+    }
+
+    public long getTick() {
+        return tick;
+    }
+
+    /**
+     * Tanıtıcı ile segment araç sayısı
+     */
+    public int getVehicleCount(int handle) {
+        return handle >= 0 && handle < counts.length ? counts[handle] : 0;
+    }
+
+    public int getVehicleCount(String segmentId) {
+        Integer handle = segmentId != null ? handles.get(segmentId) : null;
+        return handle != null ? getVehicleCount(handle) : 0;
+    }
+
+    /**
+     * Kopyadaki sayıya göre segment kapasitesi dolu mu?
+     */
+    public boolean isAtCapacity(RouteSegment segment) {
+        return segment != null && getVehicleCount(segment.getSegmentId()) >= segment.getMaxVehicles();
+    }
+
+    /**
+     * Kopyadaki segment sayısı (tanıtıcılar 0..n-1)
+     */
+    public int getSegmentCount() {
+        return counts.length;
+    }
+
+    public long getTotalVehicles() {
+        return totalVehicles;
+    }
+}
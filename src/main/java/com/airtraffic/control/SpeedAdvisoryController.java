@@ -0,0 +1,279 @@
+package com.airtraffic.control;
+
+import com.airtraffic.map.RouteSegment;
+import com.airtraffic.rules.SegmentSpeedAdvisoryRule;
+
+import java.util.Arrays;
+
+/**
+ * Tıkalı segmentler için dinamik tavsiye hız limiti ve giriş ölçümü (metering)
+ *
+ * Her evaluate çağrısı, verilen CPU bütçesi dolana kadar segmentleri tanıtıcı
+ * sırasıyla değerlendirir ve kaldığı yerden devam eder; böylece şehir genelinde
+ * tüm segmentler birkaç çağrıda (ör. birkaç saniyede bir) taranır. Her tarama
+ * başında doluluk örneği alınır.
+ *
+ * Segment başına:
+ * - Tıkanıklık şiddeti, kapasite kullanımının kritik eşiği aşma oranı ile
+ *   ortalama hızın statik limite göre düşüşünden büyük olanıdır.
+ * - Hedef limit, şiddetle statik limitten minSpeedFactor katına doğru iner.
+ *   Limit tur başına en fazla maxStepPerUpdate kadar değişir; ani düşüşler
+ *   yerine kademeli yavaşlatma ana caddelerdeki şok dalgalarını yumuşatır.
+ *   Yarım m/s'den küçük değişiklikler kurala gönderilmez.
+ * - Kullanım kritik eşiği aşınca giriş oranı (araç/dk) ALINEA benzeri bir
+ *   geri beslemeyle ayarlanır; kullanım eşiğin %90'ının altına inince
+ *   ölçüm kaldırılır.
+ *
+ * Değişen limitler SegmentSpeedAdvisoryRule üzerinden kural motoruna
+ * yerinde yazılır; kural yeniden oluşturulmaz.
+ */
+public class SpeedAdvisoryController {
+
+    private static final long DEFAULT_BUDGET_NANOS = 2_000_000L;    // 2 ms
+    private static final double SPEED_DROP_THRESHOLD = 0.3;         // %30 altı yavaşlama tıkanıklık sayılmaz
+    private static final double LIMIT_DEADBAND = 0.5;               // m/s
+    private static final double METERING_RELEASE_RATIO = 0.9;
+    private static final double MIN_METERING_RATE = 1.0;            // araç/dk
+
+    private final SegmentFlowAnalytics analytics;
+    private final SegmentSpeedAdvisoryRule advisoryRule;
+    private final long budgetNanos;
+
+    private double criticalUtilization = 0.7;
+    private double minSpeedFactor = 0.4;
+    private double maxStepPerUpdate = 2.0;     // m/s
+    private double meteringGain = 0.5;
+
+    // Tanıtıcı ile indekslenen durum (NaN = tavsiye yok, sonsuz = ölçüm yok)
+    private double[] advisoryLimits = new double[0];
+    private double[] meteringRates = new double[0];
+    private int cursor;
+    private long completedSweeps;
+    private long limitChanges;
+
+    /**
+     * Tur başına 2 ms bütçeli denetleyici
+     */
+    public SpeedAdvisoryController(SegmentFlowAnalytics analytics, SegmentSpeedAdvisoryRule advisoryRule) {
+        this(analytics, advisoryRule, DEFAULT_BUDGET_NANOS);
+    }
+
+    /**
+     * @param analytics Segment akış metrikleri
+     * @param advisoryRule Tavsiye limitlerinin yazıldığı kural
+     * @param budgetNanos evaluate çağrısı başına CPU bütçesi (ns)
+     */
+    public SpeedAdvisoryController(SegmentFlowAnalytics analytics, SegmentSpeedAdvisoryRule advisoryRule,
+                                   long budgetNanos) {
+        if (analytics == null || advisoryRule == null) {
+            throw new IllegalArgumentException("Analytics and advisory rule cannot be null");
+        }
+        if (budgetNanos <= 0) {
+            throw new IllegalArgumentException("CPU budget must be positive");
+        }
+        this.analytics = analytics;
+        this.advisoryRule = advisoryRule;
+        this.budgetNanos = budgetNanos;
+        analytics.getFlowService().setSpeedAdvisoryRule(advisoryRule);
+    }
+
+    /**
+     * Bütçe dolana veya tarama bitene kadar segmentleri değerlendirir
+     * En az bir segment değerlendirilir; tek çağrıda bir segment iki kez ele alınmaz
+     * @param nowMillis Değerlendirme zamanı
+     * @return Bu çağrıda değerlendirilen segment sayısı
+     */
+    public synchronized int evaluate(long nowMillis) {
+        int count = analytics.getFlowService().getSegmentCount();
+        if (count == 0) {
+            return 0;
+        }
+        ensureCapacity(count);
+        if (cursor >= count) {
+            cursor = 0;
+        }
+        if (cursor == 0) {
+            analytics.sampleOccupancy(nowMillis);
+        }
+        long deadline = System.nanoTime() + budgetNanos;
+        int evaluated = 0;
+        do {
+            evaluateSegment(cursor, nowMillis);
+            evaluated++;
+            if (++cursor >= count) {
+                cursor = 0;
+                completedSweeps++;
+                break;
+            }
+        } while (System.nanoTime() < deadline);
+        return evaluated;
+    }
+
+    private void evaluateSegment(int handle, long nowMillis) {
+        RouteSegment segment = analytics.getSegment(handle);
+        SegmentFlowMetrics metrics = segment != null && segment.isActive()
+            ? analytics.getMetrics(handle, FlowWindowType.SLIDING, nowMillis) : null;
+        double base = segment != null ? segment.getSpeedLimit() : 0.0;
+        if (metrics == null || base <= 0) {
+            release(handle, segment);
+            return;
+        }
+
+        double utilization = metrics.getUtilization();
+        double severity = (utilization - criticalUtilization) / (1.0 - criticalUtilization);
+        if (metrics.getSpeedSamples() > 0) {
+            double drop = 1.0 - metrics.getMeanSpeed() / base;
+            severity = Math.max(severity, (drop - SPEED_DROP_THRESHOLD) / (1.0 - SPEED_DROP_THRESHOLD));
+        }
+        severity = Math.max(0.0, Math.min(1.0, severity));
+
+        updateLimit(handle, segment, base, base * (1.0 - severity * (1.0 - minSpeedFactor)));
+        updateMetering(handle, segment, metrics, utilization);
+    }
+
+    private void updateLimit(int handle, RouteSegment segment, double base, double target) {
+        double previous = advisoryLimits[handle];
+        double current = Double.isNaN(previous) ? base : previous;
+        double next = current + Math.max(-maxStepPerUpdate, Math.min(maxStepPerUpdate, target - current));
+        if (next >= base - LIMIT_DEADBAND) {
+            if (!Double.isNaN(previous)) {
+                advisoryRule.clearAdvisoryLimit(segment.getSegmentId());
+                advisoryLimits[handle] = Double.NaN;
+                limitChanges++;
+            }
+        } else if (Double.isNaN(previous) || Math.abs(next - previous) >= LIMIT_DEADBAND) {
+            advisoryRule.setAdvisoryLimit(segment, next);
+            advisoryLimits[handle] = next;
+            limitChanges++;
+        }
+    }
+
+    private void updateMetering(int handle, RouteSegment segment, SegmentFlowMetrics metrics, double utilization) {
+        double rate = meteringRates[handle];
+        boolean metered = !Double.isInfinite(rate);
+        if (utilization > criticalUtilization) {
+            double previous = metered ? rate : Math.max(MIN_METERING_RATE, metrics.getThroughputPerMinute());
+            double next = previous + meteringGain * (criticalUtilization - utilization) * segment.getMaxVehicles();
+            meteringRates[handle] = Math.max(MIN_METERING_RATE, next);
+        } else if (metered) {
+            if (utilization < criticalUtilization * METERING_RELEASE_RATIO) {
+                meteringRates[handle] = Double.POSITIVE_INFINITY;
+            } else {
+                meteringRates[handle] = rate + meteringGain * (criticalUtilization - utilization)
+                    * segment.getMaxVehicles();
+            }
+        }
+    }
+
+    private void release(int handle, RouteSegment segment) {
+        if (!Double.isNaN(advisoryLimits[handle]) && segment != null) {
+            advisoryRule.clearAdvisoryLimit(segment.getSegmentId());
+            limitChanges++;
+        }
+        advisoryLimits[handle] = Double.NaN;
+        meteringRates[handle] = Double.POSITIVE_INFINITY;
+    }
+
+    private void ensureCapacity(int count) {
+        int old = advisoryLimits.length;
+        if (count <= old) {
+            return;
+        }
+        int size = Math.max(count, old * 2);
+        advisoryLimits = Arrays.copyOf(advisoryLimits, size);
+        meteringRates = Arrays.copyOf(meteringRates, size);
+        Arrays.fill(advisoryLimits, old, size, Double.NaN);
+        Arrays.fill(meteringRates, old, size, Double.POSITIVE_INFINITY);
+    }
+
+    /**
+     * Segmente izin verilen giriş oranı
+     * @return Araç/dk veya ölçüm yoksa Double.POSITIVE_INFINITY
+     */
+    public synchronized double getMeteringRate(String segmentId) {
+        int handle = analytics.getFlowService().findSegmentHandle(segmentId);
+        return handle >= 0 && handle < meteringRates.length ? meteringRates[handle] : Double.POSITIVE_INFINITY;
+    }
+
+    /**
+     * Segmentin güncel tavsiye limiti
+     * @return m/s veya tavsiye yoksa NaN
+     */
+    public double getAdvisoryLimit(String segmentId) {
+        return advisoryRule.getAdvisoryLimit(segmentId);
+    }
+
+    /**
+     * Bir sonraki evaluate çağrısının başlayacağı segment tanıtıcısı
+     */
+    public synchronized int getCursor() {
+        return cursor;
+    }
+
+    public synchronized long getCompletedSweeps() {
+        return completedSweeps;
+    }
+
+    /**
+     * Kurala gönderilen limit değişikliği (ayar veya kaldırma) sayısı
+     */
+    public synchronized long getLimitChangeCount() {
+        return limitChanges;
+    }
+
+    public long getBudgetNanos() {
+        return budgetNanos;
+    }
+
+    public SegmentFlowAnalytics getAnalytics() {
+        return analytics;
+    }
+
+    public SegmentSpeedAdvisoryRule getAdvisoryRule() {
+        return advisoryRule;
+    }
+
+    public synchronized double getCriticalUtilization() {
+        return criticalUtilization;
+    }
+
+    public synchronized void setCriticalUtilization(double criticalUtilization) {
+        if (criticalUtilization <= 0 || criticalUtilization >= 1) {
+            throw new IllegalArgumentException("Critical utilization must be between 0 and 1");
+        }
+        this.criticalUtilization = criticalUtilization;
+    }
+
+    public synchronized double getMinSpeedFactor() {
+        return minSpeedFactor;
+    }
+
+    public synchronized void setMinSpeedFactor(double minSpeedFactor) {
+        if (minSpeedFactor <= 0 || minSpeedFactor > 1) {
+            throw new IllegalArgumentException("Minimum speed factor must be in (0, 1]");
+        }
+        this.minSpeedFactor = minSpeedFactor;
+    }
+
+    public synchronized double getMaxStepPerUpdate() {
+        return maxStepPerUpdate;
+    }
+
+    public synchronized void setMaxStepPerUpdate(double maxStepPerUpdate) {
+        if (maxStepPerUpdate <= 0) {
+            throw new IllegalArgumentException("Maximum step must be positive");
+        }
+        this.maxStepPerUpdate = maxStepPerUpdate;
+    }
+
+    public synchronized double getMeteringGain() {
+        return meteringGain;
+    }
+
+    public synchronized void setMeteringGain(double meteringGain) {
+        if (meteringGain <= 0) {
+            throw new IllegalArgumentException("Metering gain must be positive");
+        }
+        this.meteringGain = meteringGain;
+    }
+}
@@ -0,0 +1,173 @@
+package com.airtraffic.control;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Tek baz istasyonunun simüle edilmiş giden bağlantısı
+ * Her {@link MessagePriority} sınıfının kendi sınırlı FIFO kuyruğu vardır;
+ * düşük öncelikli yığılma çarpışma uyarılarının kapasitesini alamaz. Bağlantı
+ * seridir: mesaj boyut / bant genişliği kadar hattı meşgul eder, sabit
+ * gecikmeyle ulaşır. {@link #drain(double)} kesin öncelik sırasıyla gönderir.
+ * Thread-safe; üreticiler ve boşaltan tick eşzamanlı çalışabilir.
+ */
+public class StationUplink {
+
+    private static final int PRIORITY_COUNT = MessagePriority.values().length;
+
+    private final String stationId;
+    private final double bytesPerMillis;
+    private final double latencyMillis;
+    private final int queueCapacity;
+    private final List<ArrayDeque<UplinkMessage>> queues;
+    private double linkFreeAtMillis = Double.NEGATIVE_INFINITY;
+
+    // Metrics per priority class
+    private final long[] enqueued = new long[PRIORITY_COUNT];
+    private final long[] delivered = new long[PRIORITY_COUNT];
+    private final long[] dropped = new long[PRIORITY_COUNT];
+    private final double[] delaySum = new double[PRIORITY_COUNT];
+    private final double[] delayMax = new double[PRIORITY_COUNT];
+
+    /**
+     * @param stationId İstasyon ID
+     * @param bandwidthBytesPerSecond Bant genişliği (byte/s)
+     * @param latencyMillis Her mesaja eklenen yayılım gecikmesi (ms)
+     * @param queueCapacity Her öncelik kuyruğunun kapasitesi
+     */
+    public StationUplink(String stationId, double bandwidthBytesPerSecond, double latencyMillis, int queueCapacity) {
+        validateLink(bandwidthBytesPerSecond, latencyMillis, queueCapacity);
+        this.stationId = stationId;
+        this.bytesPerMillis = bandwidthBytesPerSecond / 1000.0;
+        this.latencyMillis = latencyMillis;
+        this.queueCapacity = queueCapacity;
+        this.queues = new ArrayList<>(PRIORITY_COUNT);
+        for (int i = 0; i < PRIORITY_COUNT; i++) {
+            queues.add(new ArrayDeque<>());
+        }
+    }
+
+    /**
+     * Bağlantı oluşturmadan parametreleri doğrular
+     * @throws IllegalArgumentException Parametre aralık dışındaysa
+     */
+    static void validateLink(double bandwidthBytesPerSecond, double latencyMillis, int queueCapacity) {
+        if (bandwidthBytesPerSecond <= 0) {
+            throw new IllegalArgumentException("Bandwidth must be positive");
+        }
+        if (latencyMillis < 0) {
+            throw new IllegalArgumentException("Latency cannot be negative");
+        }
+        if (queueCapacity <= 0) {
+            throw new IllegalArgumentException("Queue capacity must be positive");
+        }
+    }
+
+    /**
+     * Mesajı kuyruğa alır
+     * @return Öncelik kuyruğu dolu olduğu için mesaj düşürüldüyse false
+     */
+    public synchronized boolean enqueue(UplinkMessage message) {
+        int p = message.getPriority().ordinal();
+        ArrayDeque<UplinkMessage> queue = queues.get(p);
+        if (queue.size() >= queueCapacity) {
+            dropped[p]++;
+            return false;
+        }
+        queue.addLast(message);
+        enqueued[p]++;
+        return true;
+    }
+
+    /**
+     * Gönderimi verilen zamana kadar başlayabilen mesajları iletir
+     * Kuyruğa alınma zamanı nowMillis'ten sonra olan mesaj sonraki tick'lere kalır;
+     * gönderim en erken max(enqueuedAt, bağlantının boşalma zamanı) anında başlar
+     * @param nowMillis Simülasyon zamanı
+     * @return Gönderim sırasında, teslim zamanı damgalı mesajlar
+     */
+    public synchronized List<UplinkMessage> drain(double nowMillis) {
+        List<UplinkMessage> sent = new ArrayList<>();
+        while (linkFreeAtMillis <= nowMillis) {
+            UplinkMessage next = pollHighestPriority(nowMillis);
+            if (next == null) {
+                break;
+            }
+            double start = Math.max(linkFreeAtMillis, next.getEnqueuedAtMillis());
+            double finish = start + next.getSizeBytes() / bytesPerMillis;
+            linkFreeAtMillis = finish;
+            UplinkMessage done = next.delivered(finish + latencyMillis);
+
+            int p = next.getPriority().ordinal();
+            delivered[p]++;
+            double delay = done.getDelayMillis();
+            delaySum[p] += delay;
+            delayMax[p] = Math.max(delayMax[p], delay);
+            sent.add(done);
+        }
+        return sent;
+    }
+
+    private UplinkMessage pollHighestPriority(double nowMillis) {
+        for (ArrayDeque<UplinkMessage> queue : queues) {
+            UplinkMessage head = queue.peekFirst();
+            if (head != null && head.getEnqueuedAtMillis() <= nowMillis) {
+                return queue.pollFirst();
+            }
+        }
+        return null;
+    }
+
+    public String getStationId() {
+        return stationId;
+    }
+
+    public synchronized int getQueuedCount() {
+        int count = 0;
+        for (ArrayDeque<UplinkMessage> queue : queues) {
+            count += queue.size();
+        }
+        return count;
+    }
+
+    public synchronized int getQueuedCount(MessagePriority priority) {
+        return queues.get(priority.ordinal()).size();
+    }
+
+    public synchronized long getEnqueuedCount(MessagePriority priority) {
+        return enqueued[priority.ordinal()];
+    }
+
+    public synchronized long getDeliveredCount(MessagePriority priority) {
+        return delivered[priority.ordinal()];
+    }
+
+    public synchronized long getDroppedCount(MessagePriority priority) {
+        return dropped[priority.ordinal()];
+    }
+
+    /**
+     * Teslim edilen mesajların ortalama kuyruk-teslim gecikmesi (ms), yoksa 0
+     */
+    public synchronized double getMeanDelayMillis(MessagePriority priority) {
+        int p = priority.ordinal();
+        return delivered[p] > 0 ? delaySum[p] / delivered[p] : 0.0;
+    }
+
+    public synchronized double getMaxDelayMillis(MessagePriority priority) {
+        return delayMax[priority.ordinal()];
+    }
+
+    public double getBandwidthBytesPerSecond() {
+        return bytesPerMillis * 1000.0;
+    }
+
+    public double getLatencyMillis() {
+        return latencyMillis;
+    }
+
+    public int getQueueCapacity() {
+        return queueCapacity;
+    }
+}
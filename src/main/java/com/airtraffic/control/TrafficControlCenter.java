@@ -1,18 +1,37 @@
 package com.airtraffic.control;
 
+import com.airtraffic.alert.AlertPipeline;
+import com.airtraffic.alert.Log4jAlertSink;
 import com.airtraffic.map.CityMap;
+import com.airtraffic.map.CorridorSafetyCache;
+import com.airtraffic.map.GeofenceEngine;
+import com.airtraffic.map.GeofenceEvent;
+import com.airtraffic.map.GeofenceEventType;
+import com.airtraffic.map.RestrictedZone;
+import com.airtraffic.map.RouteSegment;
+import com.airtraffic.model.Route;
 import com.airtraffic.model.CollisionRisk;
 import com.airtraffic.model.Position;
 import com.airtraffic.model.SystemState;
 import com.airtraffic.model.Vehicle;
 import com.airtraffic.rules.TrafficRuleEngine;
 import com.airtraffic.rules.TrafficRule;
+import com.airtraffic.spatial.HashGridIndex;
 import com.airtraffic.spatial.Quadtree;
+import com.airtraffic.spatial.SpatialIndex;
+import com.airtraffic.spatial.SpatialIndexType;
+import com.airtraffic.standards.ContinuousComplianceAuditor;
+import com.airtraffic.standards.ICAOStandardsCompliance;
+import com.airtraffic.standards.SeparationViolationSink;
+import com.airtraffic.util.LocalProjection;
+import com.airtraffic.util.TimeUtils;
 
 import java.io.IOException;
 import java.time.LocalDateTime;
 import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
 import java.util.stream.Collectors;
 
 /**
@@ -21,24 +40,86 @@ import java.util.stream.Collectors;
 public class TrafficControlCenter {
     private static TrafficControlCenter instance;
 
+    /** Spatial index seçimi için sistem özelliği (QUADTREE veya HASH_GRID) */
+    public static final String SPATIAL_INDEX_PROPERTY = "airtraffic.spatialIndex";
+
     private String centerId;
     private CityMap cityMap;                           // Şehir haritası
+    private volatile CorridorSafetyCache corridorSafetyCache; // Segment güvenlik önbelleği (haritaya bağlı)
+    private volatile GeofenceEngine geofenceEngine;     // Yasak bölge giriş/çıkış olayları (haritaya bağlı)
     private TrafficRuleEngine ruleEngine;              // Trafik kuralı motoru
     private List<BaseStation> baseStations;             // Baz istasyonları
+    private BaseStationIndex baseStationIndex;          // İstasyon kapsama grid'i
+    private volatile HandoffPlanner handoffPlanner;     // null = birincil/yedek ataması yok
     private Map<String, Vehicle> activeVehicles;       // Aktif araçlar
     private Map<String, FlightAuthorization> authorizations; // Uçuş izinleri
-    private Quadtree vehicleIndex;                      // Spatial index for vehicles (Quadtree)
+    private SpatialIndex vehicleIndex;                  // Spatial index for vehicles
+    private SpatialIndexType spatialIndexType;          // Quadtree veya hash grid
     private CollisionDetectionService collisionService; // Çarpışma tespiti servisi
+    private final CollisionRiskTracker riskTracker;     // Çift bazlı kalıcı risk tablosu
+    private final CriticalRiskView criticalRiskView;    // Güncel kritik/yüksek riskler
+    private final ICAOStandardsCompliance standardsCompliance; // ICAO uyumluluk denetimi
+    private final ContinuousComplianceAuditor complianceAuditor; // Arka plan denetimi (start ile başlar)
+    private final AdmissionController admissionController;      // Hücre/segment yoğunluğuna göre izin
+    private final BulkAuthorizationPlanner bulkPlanner;         // Toplu izin ve slot kaydırma
+    private final AirspaceUpdateService airspaceUpdateService;  // Yasak bölge değişikliği etki analizi
     private boolean isOperational;                      // Operasyonel mi?
+    private final AtomicLong fleetVersion;              // Her filo değişikliğinde artar
+    private final AtomicReference<FleetSnapshot> fleetSnapshot; // Son yayınlanan snapshot
+    private volatile DeadReckoningFilter deadReckoningFilter;   // null = filtre kapalı
+    private volatile KalmanTrackFilter trackFilter;             // null = iz yumuşatma yok
+    private volatile EventTimeIngestStage ingestStage;          // null = varış sırası
+    private volatile TrafficFlowService trafficFlowService;     // null = segment akışı izlenmez
+    private volatile SpeedAdvisoryController speedAdvisoryController; // null = tavsiye limiti yok
+    private static final double SEGMENT_MATCH_THRESHOLD = 50.0; // metre
+    private static final double DEFAULT_REFERENCE_LAT = 41.0;
+    private static final double DEFAULT_REFERENCE_LON = 29.0;
+    private volatile UplinkDispatcher uplinkDispatcher;         // null = uyarılar yalnızca loglanır
+    private final AlertPipeline alertPipeline;                  // Uyarılar asenkron olarak işlenir
+    private static final int EXPIRED_ARCHIVE_CAPACITY = 256;
+    private final Object authorizationLock = new Object();      // İzin tablosu + sayaçlar
+    private final AuthorizationExpiryWheel expiryWheel;         // İzin sürelerini zamanlar
+    private final int[] authorizationCounts;                    // Duruma göre izin sayıları
+    private int approvedUnregisteredCount;                      // Onaylı ama trafiğe kaydedilmemiş
+    private long expiredAuthorizationTotal;                     // Süresi dolup çıkarılan izinler
+    private final Deque<FlightAuthorization> expiredArchive;    // Son süresi dolan izinler
 
     private TrafficControlCenter() {
         this.centerId = UUID.randomUUID().toString();
         this.baseStations = new ArrayList<>();
+        // Harita yüklenene kadar İstanbul merkezli grid; loadCityMap harita merkezine taşır
+        this.baseStationIndex = new BaseStationIndex(DEFAULT_REFERENCE_LAT, DEFAULT_REFERENCE_LON);
+        this.admissionController = new AdmissionController(DEFAULT_REFERENCE_LAT, DEFAULT_REFERENCE_LON);
+        this.bulkPlanner = new BulkAuthorizationPlanner(admissionController);
+        this.airspaceUpdateService = new AirspaceUpdateService(admissionController);
         this.activeVehicles = new ConcurrentHashMap<>();
         this.authorizations = new ConcurrentHashMap<>();
+        this.expiryWheel = new AuthorizationExpiryWheel();
+        this.authorizationCounts = new int[AuthorizationStatus.values().length];
+        this.expiredArchive = new ArrayDeque<>();
         this.ruleEngine = new TrafficRuleEngine();
         this.collisionService = new CollisionDetectionService();
+        this.spatialIndexType = SpatialIndexType.fromConfig(
+            System.getProperty(SPATIAL_INDEX_PROPERTY), SpatialIndexType.QUADTREE);
         this.isOperational = true;
+        this.fleetVersion = new AtomicLong();
+        this.fleetSnapshot = new AtomicReference<>(FleetSnapshot.empty());
+        this.alertPipeline = new AlertPipeline();
+        this.alertPipeline.addSink(new Log4jAlertSink());
+        this.alertPipeline.addSink(event -> {
+            UplinkDispatcher dispatcher = uplinkDispatcher;
+            if (dispatcher != null) {
+                dispatcher.dispatch(event.getVehicleId(), event.getPriority(),
+                    event.formatMessage(), event.getTimestampMillis());
+            }
+        });
+        this.alertPipeline.start();
+        this.riskTracker = new CollisionRiskTracker(collisionService);
+        this.riskTracker.addListener(this::handleCollisionRiskEvent);
+        this.criticalRiskView = new CriticalRiskView(riskTracker);
+        this.standardsCompliance = new ICAOStandardsCompliance();
+        this.complianceAuditor = new ContinuousComplianceAuditor(standardsCompliance,
+            activeVehicles::values, this::getCityMap, this::getBaseStationPositions);
     }
 
     /**
@@ -56,23 +137,291 @@ public class TrafficControlCenter {
      */
     public void loadCityMap(CityMap cityMap) {
         this.cityMap = cityMap;
+        attachCorridorSafetyCache(cityMap);
+        attachGeofenceEngine(cityMap);
+        TrafficFlowService flow = trafficFlowService;
+        if (flow != null && cityMap != null) {
+            flow.initialize(cityMap.getRouteNetwork(), cityMap);
+        }
         
-        // Initialize Quadtree with city map bounds
+        // Initialize spatial index with city map bounds
         if (cityMap != null) {
-            double minLat = cityMap.getMinLatitude();
-            double maxLat = cityMap.getMaxLatitude();
-            double minLon = cityMap.getMinLongitude();
-            double maxLon = cityMap.getMaxLongitude();
-            
-            // If bounds are not set, use default Istanbul bounds
-            if (minLat == 0.0 && maxLat == 0.0 && minLon == 0.0 && maxLon == 0.0) {
-                minLat = 40.8;
-                maxLat = 41.2;
-                minLon = 28.5;
-                maxLon = 29.5;
+            this.vehicleIndex = createVehicleIndex(cityMap);
+        }
+        applyMapReference(cityMap);
+    }
+
+    /**
+     * Grid indekslerini haritanın merkezine taşır (sınırsız haritada referans korunur).
+     * Hücre anahtarları değiştiği için yoğunluk sayaçları ve istasyon kapsaması
+     * mevcut araç ve izinlerden yeniden kurulur.
+     */
+    private void applyMapReference(CityMap map) {
+        double[] reference = mapReference(map);
+        LocalProjection current = admissionController.getProjection();
+        if (reference == null || (reference[0] == current.getReferenceLat()
+                && reference[1] == current.getReferenceLon())) {
+            return;
+        }
+        synchronized (authorizationLock) {
+            admissionController.setReference(reference[0], reference[1]);
+            rebuildAdmission();
+        }
+        baseStationIndex.rebuild(baseStations, reference[0], reference[1]);
+        for (Vehicle vehicle : activeVehicles.values()) {
+            baseStationIndex.updateVehicle(vehicle);
+        }
+    }
+
+    /**
+     * Harita sınırlarının merkezi, sınır tanımlı değilse null
+     */
+    private static double[] mapReference(CityMap map) {
+        if (map == null || (map.getMinLatitude() == 0.0 && map.getMaxLatitude() == 0.0)) {
+            return null;
+        }
+        return new double[] {
+            (map.getMinLatitude() + map.getMaxLatitude()) / 2.0,
+            (map.getMinLongitude() + map.getMaxLongitude()) / 2.0
+        };
+    }
+
+    /**
+     * Yoğunluk sayaçları: kayıtlı araçlar doluluk, kalkmamış onaylı uçuşlar rezervasyon.
+     * authorizationLock altında çağrılır.
+     */
+    private void rebuildAdmission() {
+        admissionController.clear();
+        for (Vehicle vehicle : activeVehicles.values()) {
+            admissionController.onVehicleRegistered(vehicle);
+        }
+        for (FlightAuthorization auth : authorizations.values()) {
+            if (auth.getStatus() == AuthorizationStatus.APPROVED && !activeVehicles.containsKey(auth.getVehicleId())
+                    && auth.getDeparturePoint() != null && auth.getDestinationPoint() != null) {
+                // İleri tarihli izin koridoru pencere başlangıcından itibaren tutar
+                long start = auth.getValidFrom() != null
+                    ? TimeUtils.toEpochMillis(auth.getValidFrom()) : System.currentTimeMillis();
+                long end = auth.getValidUntil() != null ? TimeUtils.toEpochMillis(auth.getValidUntil()) : start;
+                admissionController.reserve(auth.getVehicleId(), auth.getDeparturePoint(),
+                    auth.getDestinationPoint(), start, end);
+            }
+        }
+    }
+
+    /**
+     * Segment güvenlik önbelleğini yeni haritaya bağlar (eski harita dinlenmez)
+     */
+    private void attachCorridorSafetyCache(CityMap cityMap) {
+        CorridorSafetyCache previous = corridorSafetyCache;
+        if (previous != null && previous.getCityMap() == cityMap) {
+            return;
+        }
+        if (previous != null) {
+            previous.detach();
+        }
+        corridorSafetyCache = cityMap != null ? new CorridorSafetyCache(cityMap) : null;
+    }
+
+    /**
+     * Geofence motorunu yeni haritaya bağlar; bölge girişleri uyarı hattına akar
+     */
+    private void attachGeofenceEngine(CityMap cityMap) {
+        GeofenceEngine previous = geofenceEngine;
+        if (previous != null && previous.getCityMap() == cityMap) {
+            return;
+        }
+        if (previous != null) {
+            previous.detach();
+        }
+        GeofenceEngine engine = null;
+        if (cityMap != null) {
+            engine = new GeofenceEngine(cityMap);
+            engine.addListener(this::handleGeofenceEvent);
+            seedGeofence(engine);
+        }
+        geofenceEngine = engine;
+    }
+
+    /**
+     * Kayıtlı araçların mevcut üyeliklerini kurar
+     */
+    private void seedGeofence(GeofenceEngine engine) {
+        for (Vehicle vehicle : activeVehicles.values()) {
+            if (vehicle.getPosition() != null) {
+                updateGeofence(engine, vehicle);
+            }
+        }
+    }
+
+    /**
+     * Yasak bölgeye giriş ve bölgede bekleme kural ihlali olarak uyarılır
+     */
+    private void handleGeofenceEvent(GeofenceEvent event) {
+        if (event.getType() != GeofenceEventType.EXIT) {
+            alertPipeline.publishRuleViolation(event.getVehicleId(), 1);
+        }
+    }
+
+    /**
+     * Yüklü haritanın geofence motoru (harita yoksa null)
+     * Olaylara abone olmak için addListener kullanılır
+     */
+    public GeofenceEngine getGeofenceEngine() {
+        return geofenceEngine;
+    }
+
+    /**
+     * Yüklü haritanın segment güvenlik önbelleği (harita yoksa null)
+     */
+    public CorridorSafetyCache getCorridorSafetyCache() {
+        return corridorSafetyCache;
+    }
+
+    /**
+     * Harita sınırlarına göre yapılandırılmış tipte spatial index oluşturur
+     */
+    private SpatialIndex createVehicleIndex(CityMap cityMap) {
+        double minLat = cityMap.getMinLatitude();
+        double maxLat = cityMap.getMaxLatitude();
+        double minLon = cityMap.getMinLongitude();
+        double maxLon = cityMap.getMaxLongitude();
+        
+        // If bounds are not set, use default Istanbul bounds
+        if (minLat == 0.0 && maxLat == 0.0 && minLon == 0.0 && maxLon == 0.0) {
+            minLat = 40.8;
+            maxLat = 41.2;
+            minLon = 28.5;
+            maxLon = 29.5;
+        }
+        
+        if (spatialIndexType == SpatialIndexType.HASH_GRID) {
+            // Hücre boyutu çarpışma kontrol yarıçapından başlar, yoğunluğa göre ayarlanır
+            return new HashGridIndex(minLat, maxLat, minLon, maxLon,
+                CollisionDetectionService.getCollisionCheckRadius());
+        }
+        return new Quadtree(minLat, maxLat, minLon, maxLon);
+    }
+
+    /**
+     * Araç spatial index tipini değiştirir; aktif araçlar yeni index'e taşınır
+     * @param type QUADTREE veya HASH_GRID
+     */
+    public void setSpatialIndexType(SpatialIndexType type) {
+        if (type == null) {
+            throw new IllegalArgumentException("Spatial index tipi null olamaz");
+        }
+        this.spatialIndexType = type;
+        if (cityMap != null) {
+            rebuildVehicleIndex();
+        }
+    }
+
+    public SpatialIndexType getSpatialIndexType() {
+        return spatialIndexType;
+    }
+
+    /**
+     * Konum güncellemeleri için dead-reckoning filtresini ayarlar.
+     * Tahmin edilen konumla uyumlu raporlar kural, çarpışma ve baz istasyonu
+     * kontrollerini atlar.
+     * @param filter Filtre (null = kapalı, varsayılan)
+     */
+    public void setDeadReckoningFilter(DeadReckoningFilter filter) {
+        this.deadReckoningFilter = filter;
+    }
+
+    public DeadReckoningFilter getDeadReckoningFilter() {
+        return deadReckoningFilter;
+    }
+
+    /**
+     * Toplu işlemede kullanılan Kalman iz filtresini kaydeder; trafikten
+     * ayrılan aracın izi bu filtreden silinir
+     * @param filter Filtre (null = yok)
+     */
+    public void setTrackFilter(KalmanTrackFilter filter) {
+        this.trackFilter = filter;
+    }
+
+    public KalmanTrackFilter getTrackFilter() {
+        return trackFilter;
+    }
+
+    /**
+     * Toplu işlemede kullanılan olay zamanı sıralama aşamasını kaydeder;
+     * trafikten ayrılan aracın bekleyen raporları bu aşamadan silinir
+     * @param stage Sıralama aşaması (null = yok)
+     */
+    public void setIngestStage(EventTimeIngestStage stage) {
+        this.ingestStage = stage;
+    }
+
+    public EventTimeIngestStage getIngestStage() {
+        return ingestStage;
+    }
+
+    /**
+     * Segment doluluk takibini bağlar: konum güncellemeleri aracın segmentini
+     * günceller ve izin kontrolü koridor uçlarındaki segment kapasitesine bakar.
+     * Başlatılmamış servis yüklü haritanın yol ağıyla başlatılır.
+     * @param service Akış servisi (null = kapalı, varsayılan)
+     */
+    public void setTrafficFlowService(TrafficFlowService service) {
+        TrafficFlowService previous = trafficFlowService;
+        if (previous != null && previous != service) {
+            for (String vehicleId : activeVehicles.keySet()) {
+                previous.removeVehicle(vehicleId);
+            }
+        }
+        if (service != null && service.getRouteNetwork() == null && cityMap != null) {
+            service.initialize(cityMap.getRouteNetwork(), cityMap);
+        }
+        this.trafficFlowService = service;
+        admissionController.setTrafficFlowService(service);
+        if (service != null) {
+            for (Vehicle vehicle : activeVehicles.values()) {
+                service.updateVehicleSegment(vehicle, SEGMENT_MATCH_THRESHOLD);
+            }
+        }
+    }
+
+    public TrafficFlowService getTrafficFlowService() {
+        return trafficFlowService;
+    }
+
+    /**
+     * Tıkanıklık tavsiye hız limitlerini bağlar: denetleyicinin kuralı kural
+     * motoruna eklenir (öncekinin kuralı çıkarılır), denetleyicinin akış
+     * servisi kontrol merkezine bağlanır ve giriş ölçümü izin kontrolüne
+     * verilir. Değerlendirme her batch sonunda evaluateSpeedAdvisories ile yapılır.
+     * @param controller Tavsiye denetleyicisi (null = kapalı)
+     */
+    public void setSpeedAdvisoryController(SpeedAdvisoryController controller) {
+        SpeedAdvisoryController previous = speedAdvisoryController;
+        if (previous != null) {
+            ruleEngine.removeRule(previous.getAdvisoryRule().getId());
+        }
+        this.speedAdvisoryController = controller;
+        admissionController.setMeteringSource(controller);
+        if (controller != null) {
+            ruleEngine.addRule(controller.getAdvisoryRule());
+            setTrafficFlowService(controller.getAnalytics().getFlowService());
+        }
+    }
+
+    public SpeedAdvisoryController getSpeedAdvisoryController() {
+        return speedAdvisoryController;
+    }
+
+    /**
+     * Araç spatial index'ini yeniden oluşturur ve aktif araçları ekler
+     */
+    private void rebuildVehicleIndex() {
+        this.vehicleIndex = createVehicleIndex(cityMap);
+        for (Vehicle vehicle : activeVehicles.values()) {
+            if (vehicle.getPosition() != null) {
+                vehicleIndex.insert(vehicle);
             }
-            
-            this.vehicleIndex = new Quadtree(minLat, maxLat, minLon, maxLon);
         }
     }
 
@@ -84,12 +433,102 @@ public class TrafficControlCenter {
             throw new IllegalArgumentException("Baz istasyonu null olamaz");
         }
         this.baseStations.add(station);
+        this.baseStationIndex.addStation(station);
+    }
+
+    /**
+     * Baz istasyonu kapsama index'ini döndürür
+     */
+    public BaseStationIndex getBaseStationIndex() {
+        return baseStationIndex;
+    }
+
+    /**
+     * Birincil/yedek istasyon planlayıcısını ayarlar (null = kapalı, varsayılan)
+     * Uplink dağıtıcısı varsa uyarılar da birincil istasyona yönlendirilir
+     */
+    public synchronized void setHandoffPlanner(HandoffPlanner planner) {
+        this.handoffPlanner = planner;
+        UplinkDispatcher dispatcher = uplinkDispatcher;
+        if (dispatcher != null) {
+            dispatcher.setHandoffPlanner(planner);
+        }
+    }
+
+    public HandoffPlanner getHandoffPlanner() {
+        return handoffPlanner;
+    }
+
+    /**
+     * Tick sonunda birincil/yedek istasyon atamalarını artımlı olarak günceller
+     * @return Birincil istasyonu değişen araç sayısı
+     */
+    public int planHandoffs() {
+        HandoffPlanner planner = handoffPlanner;
+        return planner != null ? planner.planTick(activeVehicles.values()) : 0;
+    }
+
+    /**
+     * Uyarıları baz istasyonu uplink'leri üzerinden iletecek dağıtıcıyı ayarlar (null = kapalı)
+     * Mevcut birincil/yedek planlayıcısı dağıtıcıya da verilir
+     */
+    public synchronized void setUplinkDispatcher(UplinkDispatcher dispatcher) {
+        if (dispatcher != null) {
+            dispatcher.setHandoffPlanner(handoffPlanner);
+        }
+        this.uplinkDispatcher = dispatcher;
+    }
+
+    public UplinkDispatcher getUplinkDispatcher() {
+        return uplinkDispatcher;
+    }
+
+    /**
+     * Çift bazlı çarpışma riski tablosunu döndürür (dinleyici eklemek için)
+     */
+    public CollisionRiskTracker getCollisionRiskTracker() {
+        return riskTracker;
+    }
+
+    /**
+     * Uyarı hattını döndürür (sink ekleme ve metrikler için)
+     */
+    public AlertPipeline getAlertPipeline() {
+        return alertPipeline;
+    }
+
+    /**
+     * Tavsiye limitlerini ve giriş ölçümünü bütçe dahilinde günceller
+     * @return Değerlendirilen segment sayısı
+     */
+    public int evaluateSpeedAdvisories(long nowMillis) {
+        SpeedAdvisoryController controller = speedAdvisoryController;
+        return controller != null ? controller.evaluate(nowMillis) : 0;
+    }
+
+    /**
+     * Uplink kuyruklarını verilen simülasyon zamanına kadar boşaltır
+     * @return İletilen mesaj sayısı
+     */
+    public int tickUplinks(double nowMillis) {
+        UplinkDispatcher dispatcher = uplinkDispatcher;
+        return dispatcher != null ? dispatcher.tick(nowMillis) : 0;
     }
 
     /**
      * Uçuş izni talebinde bulunur
      */
     public FlightAuthorization requestFlightAuthorization(Vehicle vehicle, Position departure, Position destination) {
+        return requestFlightAuthorization(vehicle, departure, destination, null);
+    }
+
+    /**
+     * Planlanan rota ile uçuş izni talebinde bulunur.
+     * Rotanın yol ağındaki segmentleri önbellekten tek tek doğrulanır.
+     * @param plannedRoute Planlanan rota (null ise yalnızca uç noktalar kontrol edilir)
+     */
+    public FlightAuthorization requestFlightAuthorization(Vehicle vehicle, Position departure, Position destination,
+                                                          Route plannedRoute) {
         if (vehicle == null) {
             throw new IllegalArgumentException("Araç null olamaz");
         }
@@ -101,11 +540,12 @@ public class TrafficControlCenter {
 
         FlightAuthorization authorization = new FlightAuthorization(vehicle.getId(), departure, destination);
         authorization.setPilotLicense(vehicle.getPilotLicense());
+        authorization.setPlannedRoute(plannedRoute);
 
         // İzin kontrolü
-        if (canAuthorizeFlight(vehicle, departure, destination)) {
+        if (canAuthorizeFlight(vehicle, departure, destination, plannedRoute)) {
             authorization.approve(LocalDateTime.now().plusHours(2)); // 2 saat geçerli
-            authorizations.put(vehicle.getId(), authorization);
+            storeAuthorization(authorization);
         } else {
             authorization.reject("Trafik yoğunluğu veya güvenlik nedeniyle izin verilemedi");
         }
@@ -113,26 +553,226 @@ public class TrafficControlCenter {
         return authorization;
     }
 
+    /**
+     * Uçuş planlarını toplu olarak değerlendirir.
+     * Güvenlik ve koridor hesabı paralel yapılır; planlar birbirine ve mevcut izinlere
+     * karşı çakışmasız yerleştirilir, gerekirse ileri bir slota kaydırılır.
+     * @param requests Uçuş planları
+     * @return Talep sırasıyla kararlar (onaylananlar izin tablosuna eklenir)
+     */
+    public List<FlightDecision> requestFlightAuthorizations(List<FlightRequest> requests) {
+        if (requests == null) {
+            throw new IllegalArgumentException("Talep listesi null olamaz");
+        }
+        List<FlightDecision> decisions = bulkPlanner.plan(requests, cityMap);
+        for (FlightDecision decision : decisions) {
+            if (decision.isApproved()) {
+                storeAuthorization(decision.getAuthorization());
+            }
+        }
+        return decisions;
+    }
+
+    /**
+     * İzni tabloya ekler, sayaçları günceller ve bitiş zamanını tekerleğe kaydeder
+     */
+    private void storeAuthorization(FlightAuthorization authorization) {
+        synchronized (authorizationLock) {
+            String vehicleId = authorization.getVehicleId();
+            boolean registered = activeVehicles.containsKey(vehicleId);
+            FlightAuthorization previous = authorizations.put(vehicleId, authorization);
+            if (previous != null) {
+                countAuthorization(previous, registered, -1);
+                expiryWheel.cancel(previous.getId());
+            }
+            countAuthorization(authorization, registered, 1);
+            if (authorization.getStatus() == AuthorizationStatus.APPROVED && authorization.getValidUntil() != null) {
+                expiryWheel.schedule(authorization, TimeUtils.toEpochMillis(authorization.getValidUntil()));
+            }
+        }
+    }
+
+    /**
+     * Durum sayaçlarını tek bir izin için artırır/azaltır
+     */
+    private void countAuthorization(FlightAuthorization authorization, boolean registered, int delta) {
+        AuthorizationStatus status = authorization.getStatus();
+        if (status == null) {
+            return;
+        }
+        authorizationCounts[status.ordinal()] += delta;
+        if (status == AuthorizationStatus.APPROVED && !registered) {
+            approvedUnregisteredCount += delta;
+        }
+    }
+
+    /**
+     * Süresi dolan izinleri EXPIRED durumuna geçirir ve tablodan arşive taşır
+     * @return Bu çağrıda süresi dolan izin sayısı
+     */
+    public int expireAuthorizations() {
+        return expireAuthorizations(System.currentTimeMillis());
+    }
+
+    public int expireAuthorizations(long nowMillis) {
+        synchronized (authorizationLock) {
+            return expiryWheel.advanceTo(nowMillis, this::evictExpired);
+        }
+    }
+
+    private void evictExpired(FlightAuthorization authorization) {
+        String vehicleId = authorization.getVehicleId();
+        // Yalnızca tablodaki güncel izin çıkarılır; geçiş tek sefer yapılır
+        if (authorizations.get(vehicleId) != authorization) {
+            return;
+        }
+        countAuthorization(authorization, activeVehicles.containsKey(vehicleId), -1);
+        if (!authorization.expire()) {
+            countAuthorization(authorization, activeVehicles.containsKey(vehicleId), 1);
+            return;
+        }
+        authorizations.remove(vehicleId);
+        admissionController.release(vehicleId);
+        expiredAuthorizationTotal++;
+        if (expiredArchive.size() == EXPIRED_ARCHIVE_CAPACITY) {
+            expiredArchive.removeFirst();
+        }
+        expiredArchive.addLast(authorization);
+    }
+
+    /**
+     * Tablodaki verilen durumdaki izin sayısı (O(1))
+     * EXPIRED için süresi dolup arşive taşınan toplam sayı döner
+     */
+    public long getAuthorizationCount(AuthorizationStatus status) {
+        synchronized (authorizationLock) {
+            if (status == AuthorizationStatus.EXPIRED) {
+                return expiredAuthorizationTotal;
+            }
+            return authorizationCounts[status.ordinal()];
+        }
+    }
+
+    /**
+     * Onaylı izni olan fakat henüz trafiğe kaydedilmemiş araç sayısı (O(1))
+     */
+    public int getApprovedUnregisteredCount() {
+        synchronized (authorizationLock) {
+            return approvedUnregisteredCount;
+        }
+    }
+
+    /**
+     * Son süresi dolan izinler (en eskiden en yeniye)
+     */
+    public List<FlightAuthorization> getExpiredAuthorizations() {
+        synchronized (authorizationLock) {
+            return new ArrayList<>(expiredArchive);
+        }
+    }
+
     /**
      * Uçuş izninin verilip verilemeyeceğini kontrol eder
      */
-    private boolean canAuthorizeFlight(Vehicle vehicle, Position departure, Position destination) {
+    private boolean canAuthorizeFlight(Vehicle vehicle, Position departure, Position destination, Route plannedRoute) {
         // Güvenlik kontrolü
         if (cityMap != null) {
             if (!cityMap.isPositionSafe(departure) || !cityMap.isPositionSafe(destination)) {
                 return false;
             }
+            // Rota segmentleri: segment başına tek önbellek okuması
+            CorridorSafetyCache cache = corridorSafetyCache;
+            if (plannedRoute != null && cache != null && cityMap.getRouteNetwork() != null) {
+                List<RouteSegment> path = cityMap.getRouteNetwork().getSegmentsForRoute(plannedRoute.getId());
+                if (!cache.isPathSafe(path)) {
+                    return false;
+                }
+            }
         }
 
-        // Trafik yoğunluğu kontrolü (basitleştirilmiş)
-        // Gerçek uygulamada daha gelişmiş algoritma gerekir
-        long activeCount = activeVehicles.size();
-        // Örnek: Maksimum 100 araç aynı anda trafikte olabilir
-        if (activeCount >= 100) {
-            return false;
+        // Trafik yoğunluğu kontrolü: koridor hücreleri ve segmentlerin öngörülen yoğunluğu.
+        // Onaylanan uçuş koridorunu rezerve eder
+        return admissionController.tryAdmit(vehicle.getId(), departure, destination);
+    }
+
+    /**
+     * Yoğunluk tabanlı izin denetleyicisini döndürür
+     */
+    public AdmissionController getAdmissionController() {
+        return admissionController;
+    }
+
+    /**
+     * Yasak bölgeyi canlı olarak etkinleştirir (yeni bölge haritaya eklenir)
+     * Yalnızca bölge çevresindeki araçlar ve bekleyen izinler değerlendirilir;
+     * bildirimler uplink tanımlıysa araçlara iletilir
+     * @param zone Etkinleştirilecek bölge (ID yoksa atanır)
+     * @return Rota değiştirme ve bekletme bildirimleri
+     */
+    public List<AirspaceNotice> activateRestrictedZone(RestrictedZone zone) {
+        if (zone == null) {
+            throw new IllegalArgumentException("Yasak bölge null olamaz");
+        }
+        if (cityMap == null) {
+            throw new IllegalStateException("Şehir haritası yüklenmemiş");
+        }
+        if (zone.getId() == null) {
+            zone.setId(UUID.randomUUID().toString());
+        }
+        zone.setActive(true);
+        if (cityMap.getRestrictedZones().contains(zone)) {
+            cityMap.notifyRestrictedZoneChanged(zone);
+        } else {
+            cityMap.addRestrictedZone(zone);
         }
+        List<AirspaceNotice> notices = airspaceUpdateService.onZoneActivated(zone, vehicleIndex, authorizations);
+        dispatchNotices(notices);
+        return notices;
+    }
 
-        return true;
+    /**
+     * Yasak bölgeyi kaldırır
+     * Geçici bölge haritadan silinir, kalıcı bölge haritada pasif olarak kalır
+     * @return Bölge yüzünden bekletilen uçuşlar için devam bildirimleri
+     */
+    public List<AirspaceNotice> deactivateRestrictedZone(RestrictedZone zone) {
+        if (zone == null) {
+            throw new IllegalArgumentException("Yasak bölge null olamaz");
+        }
+        if (cityMap == null) {
+            throw new IllegalStateException("Şehir haritası yüklenmemiş");
+        }
+        zone.setActive(false);
+        if (zone.isPermanent()) {
+            cityMap.notifyRestrictedZoneChanged(zone);
+        } else {
+            cityMap.removeRestrictedZone(zone);
+        }
+        if (zone.getId() == null) {
+            return new ArrayList<>();
+        }
+        List<AirspaceNotice> notices = airspaceUpdateService.onZoneDeactivated(zone, authorizations);
+        dispatchNotices(notices);
+        return notices;
+    }
+
+    private void dispatchNotices(List<AirspaceNotice> notices) {
+        UplinkDispatcher dispatcher = uplinkDispatcher;
+        if (dispatcher == null) {
+            return;
+        }
+        for (AirspaceNotice notice : notices) {
+            MessagePriority priority = notice.getType() == AirspaceNoticeType.RESUME
+                ? MessagePriority.INFO : MessagePriority.RULE_VIOLATION;
+            dispatcher.dispatch(notice.getVehicleId(), priority, notice.toPayload());
+        }
+    }
+
+    /**
+     * Yasak bölge değişikliği etki analizini döndürür
+     */
+    public AirspaceUpdateService getAirspaceUpdateService() {
+        return airspaceUpdateService;
     }
 
     /**
@@ -145,16 +785,36 @@ public class TrafficControlCenter {
 
         // Uçuş izni kontrolü
         FlightAuthorization auth = authorizations.get(vehicle.getId());
+        if (auth != null && auth.isBeforeWindow()) {
+            throw new IllegalStateException("Uçuş izni penceresi henüz başlamadı: " + auth.getValidFrom());
+        }
         if (auth == null || !auth.isValid()) {
             throw new IllegalStateException("Araç için geçerli uçuş izni bulunamadı");
         }
 
-        activeVehicles.put(vehicle.getId(), vehicle);
+        synchronized (authorizationLock) {
+            if (activeVehicles.put(vehicle.getId(), vehicle) == null
+                    && authorizations.get(vehicle.getId()) == auth
+                    && auth.getStatus() == AuthorizationStatus.APPROVED) {
+                approvedUnregisteredCount--;
+            }
+        }
+        TrafficFlowService flow = trafficFlowService;
+        if (flow != null) {
+            flow.updateVehicleSegment(vehicle, SEGMENT_MATCH_THRESHOLD);
+        }
+        admissionController.onVehicleRegistered(vehicle);
         
         // Add to spatial index
         if (vehicleIndex != null) {
             vehicleIndex.insert(vehicle);
         }
+        fleetVersion.incrementAndGet();
+
+        if (vehicle.getPosition() != null) {
+            riskTracker.update(vehicle, vehicleIndex, activeVehicles.values());
+            updateGeofence(vehicle);
+        }
         
         updateBaseStationConnections(vehicle);
     }
@@ -163,15 +823,54 @@ public class TrafficControlCenter {
      * Aracı trafikten çıkarır
      */
     public void unregisterVehicle(String vehicleId) {
-        Vehicle vehicle = activeVehicles.remove(vehicleId);
-        authorizations.remove(vehicleId);
+        Vehicle vehicle;
+        synchronized (authorizationLock) {
+            vehicle = activeVehicles.remove(vehicleId);
+            FlightAuthorization auth = authorizations.remove(vehicleId);
+            if (auth != null) {
+                countAuthorization(auth, vehicle != null, -1);
+                expiryWheel.cancel(auth.getId());
+            }
+        }
+        admissionController.onVehicleRemoved(vehicleId);
         
         // Remove from spatial index
         if (vehicle != null && vehicleIndex != null) {
             vehicleIndex.remove(vehicle);
         }
+        fleetVersion.incrementAndGet();
+
+        DeadReckoningFilter filter = deadReckoningFilter;
+        if (filter != null) {
+            filter.forget(vehicleId);
+        }
+        KalmanTrackFilter tracks = trackFilter;
+        if (tracks != null) {
+            tracks.release(vehicleId);
+        }
+        EventTimeIngestStage stage = ingestStage;
+        if (stage != null) {
+            stage.forget(vehicleId);
+        }
+        TrafficFlowService flow = trafficFlowService;
+        if (flow != null) {
+            flow.removeVehicle(vehicleId);
+        }
         
-        updateBaseStationConnections(null);
+        // Yalnızca ayrılan aracın bağlantıları kaldırılır
+        baseStationIndex.removeVehicle(vehicleId);
+        HandoffPlanner planner = handoffPlanner;
+        if (planner != null) {
+            planner.release(vehicleId);
+        }
+        riskTracker.forget(vehicleId);
+        GeofenceEngine geofence = geofenceEngine;
+        if (geofence != null) {
+            geofence.remove(vehicleId);
+        }
+        if (alertPipeline.getRateLimiter() != null) {
+            alertPipeline.getRateLimiter().forget(vehicleId);
+        }
     }
 
     /**
@@ -183,12 +882,30 @@ public class TrafficControlCenter {
             return;
         }
 
+        // Dead-reckoning: tahminle uyumlu rapor mu? (konum yine de güncellenir)
+        DeadReckoningFilter filter = deadReckoningFilter;
+        boolean forward = filter == null || newPosition == null || filter.shouldForward(vehicle, newPosition);
+
         vehicle.updatePosition(newPosition);
+        // Segment tavsiye kuralı güncel segmente bakar; kural kontrolünden önce
+        TrafficFlowService flow = trafficFlowService;
+        if (flow != null) {
+            flow.updateVehicleSegment(vehicle, SEGMENT_MATCH_THRESHOLD);
+        }
+        admissionController.onVehicleMoved(vehicle);
 
         // Update spatial index
         if (vehicleIndex != null) {
             vehicleIndex.update(vehicle);
         }
+        fleetVersion.incrementAndGet();
+        if (newPosition != null) {
+            updateGeofence(vehicle);
+        }
+
+        if (!forward) {
+            return;
+        }
 
         // Trafik kuralı kontrolü
         List<TrafficRule> violations = ruleEngine.checkViolations(vehicle, newPosition);
@@ -198,22 +915,32 @@ public class TrafficControlCenter {
             sendWarning(vehicleId, violations);
         }
 
-        // Çarpışma riski kontrolü
-        List<CollisionRisk> collisionRisks = collisionService.checkCollisionRisks(
-            vehicle, 
-            getActiveVehicles(), 
-            vehicleIndex
-        );
-
-        if (!collisionRisks.isEmpty()) {
-            // Çarpışma riski tespit edildi
-            handleCollisionRisks(vehicleId, collisionRisks);
-        }
+        // Çarpışma riski kontrolü: yalnızca belirgin hareket değişiminde çiftler yeniden puanlanır,
+        // uyarılar durum değişikliği olaylarından üretilir
+        riskTracker.update(vehicle, vehicleIndex, activeVehicles.values());
 
         // Baz istasyonu bağlantılarını güncelle
         updateBaseStationConnections(vehicle);
     }
 
+    /**
+     * Bölge üyeliğini günceller; olaylar dinleyicilere (uyarı hattı dahil) iletilir
+     */
+    private void updateGeofence(Vehicle vehicle) {
+        GeofenceEngine geofence = geofenceEngine;
+        if (geofence != null) {
+            updateGeofence(geofence, vehicle);
+        }
+    }
+
+    /**
+     * Olay zamanı raporun zaman damgasıdır (geciken/yeniden oynatılan raporlar için)
+     */
+    private void updateGeofence(GeofenceEngine geofence, Vehicle vehicle) {
+        Position position = vehicle.getPosition();
+        geofence.update(vehicle.getId(), position, TimeUtils.toEpochMillis(position.getTimestamp()));
+    }
+
     /**
      * Baz istasyonu bağlantılarını günceller
      */
@@ -229,47 +956,27 @@ public class TrafficControlCenter {
     }
 
     private void updateVehicleBaseStationConnection(Vehicle vehicle) {
-        for (BaseStation station : baseStations) {
-            if (station.isInCoverage(vehicle)) {
-                station.connectVehicle(vehicle.getId());
-            } else {
-                station.disconnectVehicle(vehicle.getId());
-            }
-        }
+        // Kapsama yalnızca hücre değişiminde yeniden hesaplanır
+        baseStationIndex.updateVehicle(vehicle);
     }
 
     /**
      * Uyarı gönderir
+     * Yalnızca havuzdaki olay doldurulur; metin ve iletim tüketici thread'inde yapılır
      */
     private void sendWarning(String vehicleId, List<TrafficRule> violations) {
-        // Gerçek uygulamada iletişim protokolü üzerinden gönderilir
-        System.out.println("UYARI: Araç " + vehicleId + " için " + violations.size() + " kural ihlali tespit edildi");
-    }
-
-    /**
-     * Çarpışma risklerini işler
-     */
-    private void handleCollisionRisks(String vehicleId, List<CollisionRisk> risks) {
-        for (CollisionRisk risk : risks) {
-            if (risk.isCritical()) {
-                // Kritik risk - acil uyarı
-                System.out.println("KRİTİK ÇARPIŞMA RİSKİ: Araç " + vehicleId + 
-                    " ve " + risk.getVehicleId2() + " arasında kritik çarpışma riski tespit edildi! " +
-                    "Tahmini çarpışma süresi: " + String.format("%.2f", risk.getEstimatedTimeToCollision()) + " saniye. " +
-                    "Önerilen aksiyon: " + risk.getRecommendedAction());
-            } else if (risk.requiresImmediateAction()) {
-                // Yüksek risk - uyarı
-                System.out.println("YÜKSEK ÇARPIŞMA RİSKİ: Araç " + vehicleId + 
-                    " ve " + risk.getVehicleId2() + " arasında yüksek çarpışma riski. " +
-                    "Mevcut mesafe: " + String.format("%.2f", risk.getCurrentDistance()) + " metre. " +
-                    "Önerilen aksiyon: " + risk.getRecommendedAction());
-            } else {
-                // Orta/düşük risk - bilgilendirme
-                System.out.println("ÇARPIŞMA RİSKİ: Araç " + vehicleId + 
-                    " ve " + risk.getVehicleId2() + " arasında çarpışma riski tespit edildi. " +
-                    "Risk seviyesi: " + risk.getRiskLevel() + ", Mesafe: " + 
-                    String.format("%.2f", risk.getCurrentDistance()) + " metre");
-            }
+        alertPipeline.publishRuleViolation(vehicleId, violations.size());
+    }
+
+    /**
+     * Çarpışma riski durum değişikliklerini işler
+     * Yalnızca yeni veya yükselen riskler uyarı üretir; devam eden riskler tekrar bildirilmez
+     */
+    private void handleCollisionRiskEvent(CollisionRiskEvent event) {
+        if (event.getState() == RiskState.NEW || event.getState() == RiskState.ESCALATING) {
+            CollisionRisk risk = event.getRisk();
+            // Çiftin iki aracı da uyarılır (her biri kendi bakış açısından)
+            alertPipeline.publishCollisionRiskToPair(risk);
         }
     }
 
@@ -288,22 +995,42 @@ public class TrafficControlCenter {
 
     /**
      * Tüm aktif araçlar için kritik çarpışma risklerini döndürür
-     * @return Kritik çarpışma riskleri listesi
+     * Sürekli güncellenen görünümden okunur; yeniden hesaplama yapılmaz
+     * @return Kritik çarpışma riskleri listesi (çift başına bir kayıt)
      */
     public List<CollisionRisk> getCriticalCollisionRisks() {
-        List<CollisionRisk> allRisks = new ArrayList<>();
-        for (Vehicle vehicle : activeVehicles.values()) {
-            List<CollisionRisk> risks = collisionService.checkCollisionRisks(
-                vehicle, 
-                getActiveVehicles(), 
-                vehicleIndex
-            );
-            // Sadece kritik riskleri ekle
-            risks.stream()
-                .filter(CollisionRisk::isCritical)
-                .forEach(allRisks::add);
+        return criticalRiskView.getCriticalRisks();
+    }
+
+    /**
+     * Tüm filo için ICAO ayrım denetimi yapar; uyumsuz çiftler sink'e akıtılır
+     * @param sink Uyumsuz çiftlerin alıcısı (thread-safe olmalı)
+     * @return Uyumsuz çift sayısı
+     */
+    public long auditSeparation(SeparationViolationSink sink) {
+        return standardsCompliance.auditSeparation(activeVehicles.values(), cityMap, sink);
+    }
+
+    /**
+     * Sürekli uyumluluk denetleyicisini döndürür (varsayılan olarak çalışmaz)
+     */
+    public ContinuousComplianceAuditor getComplianceAuditor() {
+        return complianceAuditor;
+    }
+
+    private List<Position> getBaseStationPositions() {
+        List<Position> positions = new ArrayList<>();
+        for (BaseStation station : getBaseStations()) {
+            positions.add(station.getPosition());
         }
-        return allRisks;
+        return positions;
+    }
+
+    /**
+     * Kritik ve yüksek seviyeli güncel çarpışma riskleri görünümünü döndürür
+     */
+    public CriticalRiskView getCriticalRiskView() {
+        return criticalRiskView;
     }
 
     /**
@@ -313,23 +1040,64 @@ public class TrafficControlCenter {
         return new ArrayList<>(activeVehicles.values());
     }
 
+    /**
+     * ID ile aktif aracı döndürür
+     * @param vehicleId Araç ID
+     * @return Araç veya kayıtlı değilse null
+     */
+    public Vehicle getVehicle(String vehicleId) {
+        return vehicleId != null ? activeVehicles.get(vehicleId) : null;
+    }
+
     /**
      * Belirli bir bölgedeki araçları döndürür
-     * Uses Quadtree spatial indexing for O(log n) performance
+     * Yapılandırılmış uzamsal indeksi kullanır (Quadtree veya hash grid)
      */
     public List<Vehicle> getVehiclesInArea(Position center, double radius) {
-        // Use Quadtree if available for better performance
+        // Use spatial index if available for better performance
         if (vehicleIndex != null) {
             return vehicleIndex.query(center, radius);
         }
         
-        // Fallback to linear search if Quadtree not initialized
+        // Fallback to linear search if spatial index not initialized
         return activeVehicles.values().stream()
                 .filter(v -> v.getPosition() != null)
                 .filter(v -> v.getPosition().horizontalDistanceTo(center) <= radius)
                 .collect(Collectors.toList());
     }
 
+    /**
+     * Aktif filonun değişmez snapshot'ını oluşturur ve yayınlar.
+     * Kontrol döngüsü her tick sonunda çağırır; okuyucular kilitsiz okur.
+     * @return Yayınlanan snapshot
+     */
+    public FleetSnapshot publishFleetSnapshot() {
+        long version = fleetVersion.get();
+        LocalProjection grid = admissionController.getProjection(); // harita merkezli referans
+        FleetSnapshot snapshot = FleetSnapshot.build(version, activeVehicles.values(),
+            grid.getReferenceLat(), grid.getReferenceLon(), CollisionDetectionService.getCollisionCheckRadius());
+        
+        // Daha yeni bir snapshot yayınlanmışsa onu ezme
+        FleetSnapshot current = fleetSnapshot.get();
+        while (current.getVersion() <= version) {
+            if (fleetSnapshot.compareAndSet(current, snapshot)) {
+                return snapshot;
+            }
+            current = fleetSnapshot.get();
+        }
+        return current;
+    }
+
+    /**
+     * Son yayınlanan filo snapshot'ını döndürür (UI, raporlama, uyumluluk sorguları için).
+     * Tek bir volatile okumadır; snapshot'ı yalnızca kontrol döngüsü yayınlar,
+     * okuyucu hiçbir durumda yeniden oluşturmaz.
+     * @return Filo snapshot'ı
+     */
+    public FleetSnapshot getFleetSnapshot() {
+        return fleetSnapshot.get();
+    }
+
     /**
      * Sistem durumunu kontrol eder
      */
@@ -404,57 +1172,67 @@ public class TrafficControlCenter {
         
         // Restore TrafficControlCenter state from SystemState
         this.cityMap = systemState.getCityMap();
+        attachCorridorSafetyCache(this.cityMap);
+        attachGeofenceEngine(this.cityMap);
         this.centerId = systemState.getCenterId();
         this.isOperational = systemState.isOperational();
         
-        // Clear and restore vehicles
-        this.activeVehicles.clear();
-        for (Vehicle vehicle : systemState.getVehicles()) {
-            this.activeVehicles.put(vehicle.getId(), vehicle);
+        synchronized (authorizationLock) {
+            // Clear and restore vehicles
+            this.activeVehicles.clear();
+            riskTracker.clear();
+            for (Vehicle vehicle : systemState.getVehicles()) {
+                this.activeVehicles.put(vehicle.getId(), vehicle);
+            }
+
+            // Clear and restore authorizations; sayaçlar ve tekerlek yeniden kurulur
+            for (FlightAuthorization auth : this.authorizations.values()) {
+                expiryWheel.cancel(auth.getId());
+            }
+            this.authorizations.clear();
+            Arrays.fill(authorizationCounts, 0);
+            approvedUnregisteredCount = 0;
+            for (FlightAuthorization auth : systemState.getAuthorizations().values()) {
+                storeAuthorization(auth);
+            }
+
+            double[] reference = mapReference(cityMap);
+            if (reference != null) {
+                admissionController.setReference(reference[0], reference[1]);
+            }
+            rebuildAdmission();
+        }
+
+        // Eski filonun bölge üyelikleri ve dead-reckoning izleri bırakılır
+        GeofenceEngine geofence = geofenceEngine;
+        if (geofence != null) {
+            geofence.clear();
+            seedGeofence(geofence);
+        }
+        DeadReckoningFilter filter = deadReckoningFilter;
+        if (filter != null) {
+            filter.clear();
         }
         
         // Clear and restore base stations
         this.baseStations.clear();
         this.baseStations.addAll(systemState.getBaseStations());
+        LocalProjection grid = admissionController.getProjection();
+        this.baseStationIndex.rebuild(this.baseStations, grid.getReferenceLat(), grid.getReferenceLon());
         
-        // Clear and restore authorizations
-        this.authorizations.clear();
-        this.authorizations.putAll(systemState.getAuthorizations());
-        
-        // Reinitialize Quadtree if cityMap is loaded
+        // Reinitialize spatial index if cityMap is loaded
         if (this.cityMap != null) {
-            double minLat = cityMap.getMinLatitude();
-            double maxLat = cityMap.getMaxLatitude();
-            double minLon = cityMap.getMinLongitude();
-            double maxLon = cityMap.getMaxLongitude();
-            
-            // If bounds are not set, use default Istanbul bounds
-            if (minLat == 0.0 && maxLat == 0.0 && minLon == 0.0 && maxLon == 0.0) {
-                minLat = 40.8;
-                maxLat = 41.2;
-                minLon = 28.5;
-                maxLon = 29.5;
-            }
-            
-            this.vehicleIndex = new Quadtree(minLat, maxLat, minLon, maxLon);
-            
-            // Rebuild Quadtree with loaded vehicles
-            for (Vehicle vehicle : this.activeVehicles.values()) {
-                if (vehicle.getPosition() != null) {
-                    this.vehicleIndex.insert(vehicle);
-                }
+            rebuildVehicleIndex();
+        }
+        fleetVersion.incrementAndGet();
+
+        // Risk tablosu yüklenen konumlardan yeniden kurulur
+        for (Vehicle vehicle : activeVehicles.values()) {
+            if (vehicle.getPosition() != null) {
+                riskTracker.update(vehicle, vehicleIndex, activeVehicles.values());
             }
         }
+        // Filo toptan değişti: okuyucular eski durumu görmesin
+        publishFleetSnapshot();
     }
 }
-
-
-
-
-
-
-
-
-
-
-
@@ -6,36 +6,100 @@ import com.airtraffic.map.RouteSegment;
 import com.airtraffic.model.Position;
 import com.airtraffic.model.RouteDirection;
 import com.airtraffic.model.Vehicle;
+import com.airtraffic.rules.SegmentSpeedAdvisoryRule;
 
 import java.util.ArrayList;
-import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
 
 /**
  * Trafik akışı yönetimi servisi
  * Segment bazlı trafik organizasyonu ve hız/yükseklik yönetimi
+ *
+ * Segment doluluğu thread-safe tutulur: her segmente ilk kullanımda sabit bir
+ * int tanıtıcı verilir; sayaçlar 4096'lık sayfalara bölünmüş atomik int
+ * dizilerinde, üyelikler eşzamanlı kümelerde saklanır. Bir aracın segment
+ * değişimi araç anahtarı üzerinde atomiktir, böylece paralel güncellemeler
+ * birbirini beklemez. Sayaç okumaları kilitsizdir. snapshot() tüm sayaçların
+ * tutarlı bir kopyasını alır; kopya sırasında yalnızca segment değişimleri
+ * kısa süre bekler.
  */
 public class TrafficFlowService {
     
+    private static final int PAGE_BITS = 12;                 // sayfa başına 4096 segment
+    private static final int PAGE_SIZE = 1 << PAGE_BITS;
+    private static final int MAX_PAGES = 1 << 12;            // en fazla ~16M segment
+    
     private RouteNetwork routeNetwork;
     private CityMap cityMap;
     
     // Segment bazlı araç takibi
-    private Map<String, List<String>> segmentVehicles; // Segment ID -> Vehicle ID listesi
+    private final Map<String, Integer> segmentHandles;       // Segment ID -> tanıtıcı
+    private final AtomicInteger nextHandle;
+    private final AtomicReferenceArray<AtomicIntegerArray> counterPages; // tanıtıcı -> araç sayısı
+    private final AtomicReferenceArray<AtomicReferenceArray<String>> idPages; // tanıtıcı -> Segment ID
+    private final Map<Integer, Set<String>> segmentMembers;  // tanıtıcı -> araç ID kümesi
+    private final Map<String, Integer> vehicleSegments;      // araç -> bulunduğu segment tanıtıcısı
+    private final ReentrantReadWriteLock tickLock;           // değişimler paylaşımlı, snapshot özel
+    private long tick;                                       // tickLock yazma kilidi altında
+    private volatile SegmentFlowAnalytics flowAnalytics;     // null = akış analitiği yok
+    private volatile SegmentSpeedAdvisoryRule speedAdvisoryRule; // null = yalnızca statik limit
     
     public TrafficFlowService() {
-        this.segmentVehicles = new HashMap<>();
+        this.segmentHandles = new ConcurrentHashMap<>();
+        this.nextHandle = new AtomicInteger();
+        this.counterPages = new AtomicReferenceArray<>(MAX_PAGES);
+        this.idPages = new AtomicReferenceArray<>(MAX_PAGES);
+        this.segmentMembers = new ConcurrentHashMap<>();
+        this.vehicleSegments = new ConcurrentHashMap<>();
+        this.tickLock = new ReentrantReadWriteLock();
     }
     
     /**
-     * RouteNetwork ve CityMap'i ayarlar
+     * RouteNetwork ve CityMap'i ayarlar; aktif segmentlere tanıtıcı atanır
      * @param routeNetwork Yol ağı
      * @param cityMap Şehir haritası
      */
     public void initialize(RouteNetwork routeNetwork, CityMap cityMap) {
         this.routeNetwork = routeNetwork;
         this.cityMap = cityMap;
+        if (routeNetwork != null) {
+            for (RouteSegment segment : routeNetwork.getAllActiveSegments()) {
+                getSegmentHandle(segment.getSegmentId());
+            }
+        }
+    }
+    
+    public RouteNetwork getRouteNetwork() {
+        return routeNetwork;
+    }
+    
+    /**
+     * Segment güncellemelerini akış analitiğine aktarır (null = kapalı)
+     */
+    public void setFlowAnalytics(SegmentFlowAnalytics flowAnalytics) {
+        this.flowAnalytics = flowAnalytics;
+    }
+    
+    public SegmentFlowAnalytics getFlowAnalytics() {
+        return flowAnalytics;
+    }
+    
+    /**
+     * Uyum kontrolünde segment tavsiye limitlerini kullanır (null = statik limit)
+     */
+    public void setSpeedAdvisoryRule(SegmentSpeedAdvisoryRule speedAdvisoryRule) {
+        this.speedAdvisoryRule = speedAdvisoryRule;
+    }
+    
+    public SegmentSpeedAdvisoryRule getSpeedAdvisoryRule() {
+        return speedAdvisoryRule;
     }
     
     /**
@@ -45,6 +109,17 @@ public class TrafficFlowService {
      * @return Bulunan segment veya null
      */
     public RouteSegment updateVehicleSegment(Vehicle vehicle, double threshold) {
+        return updateVehicleSegment(vehicle, threshold, System.currentTimeMillis());
+    }
+    
+    /**
+     * Aracın mevcut segmentini belirler ve günceller
+     * @param vehicle Araç
+     * @param threshold Mesafe eşiği (metre)
+     * @param timestampMillis Güncelleme zamanı (akış analitiği için)
+     * @return Bulunan segment veya null
+     */
+    public RouteSegment updateVehicleSegment(Vehicle vehicle, double threshold, long timestampMillis) {
         if (vehicle == null || vehicle.getPosition() == null || routeNetwork == null) {
             return null;
         }
@@ -53,33 +128,38 @@ public class TrafficFlowService {
         RouteSegment currentSegment = vehicle.getCurrentSegment();
         if (currentSegment != null && currentSegment.isActive() && 
             currentSegment.isOnSegment(vehicle.getPosition(), threshold)) {
-            // Hala aynı segmentte
+            // Hala aynı segmentte (temizlenmiş sayaçlar burada yeniden kurulur)
+            int handle = getSegmentHandle(currentSegment.getSegmentId());
+            Integer recorded = vehicleSegments.get(vehicle.getId());
+            boolean entered = recorded == null || recorded != handle;
+            if (entered) {
+                moveVehicle(vehicle.getId(), handle);
+            }
+            recordFlow(handle, currentSegment, entered, vehicle, timestampMillis);
             return currentSegment;
         }
         
         // Yeni segment bul
         RouteSegment newSegment = routeNetwork.findNearestSegment(vehicle.getPosition(), threshold);
         
+        // Eski segmentten çıkarma ve yeniye ekleme araç bazında atomik
+        vehicle.setCurrentSegment(newSegment);
+        int newHandle = newSegment != null ? getSegmentHandle(newSegment.getSegmentId()) : -1;
+        moveVehicle(vehicle.getId(), newHandle);
         if (newSegment != null) {
-            // Eski segmentten çıkar
-            if (currentSegment != null) {
-                removeVehicleFromSegment(currentSegment.getSegmentId(), vehicle.getId());
-            }
-            
-            // Yeni segmente ekle
-            vehicle.setCurrentSegment(newSegment);
-            addVehicleToSegment(newSegment.getSegmentId(), vehicle.getId());
-        } else {
-            // Segment bulunamadı
-            if (currentSegment != null) {
-                removeVehicleFromSegment(currentSegment.getSegmentId(), vehicle.getId());
-            }
-            vehicle.setCurrentSegment(null);
+            recordFlow(newHandle, newSegment, newSegment != currentSegment, vehicle, timestampMillis);
         }
         
         return newSegment;
     }
     
+    private void recordFlow(int handle, RouteSegment segment, boolean entered, Vehicle vehicle, long timestampMillis) {
+        SegmentFlowAnalytics analytics = flowAnalytics;
+        if (analytics != null) {
+            analytics.record(handle, segment, entered, vehicle.getVelocity(), timestampMillis);
+        }
+    }
+    
     /**
      * Aracın segment kurallarına uygun olup olmadığını kontrol eder
      * @param vehicle Araç
@@ -100,8 +180,10 @@ public class TrafficFlowService {
             }
         }
         
-        // Hız kontrolü
-        if (vehicle.getVelocity() > segment.getSpeedLimit() * 1.1) { // %10 tolerans
+        // Hız kontrolü (tavsiye limiti varsa o geçerli)
+        SegmentSpeedAdvisoryRule advisory = speedAdvisoryRule;
+        double speedLimit = advisory != null ? advisory.getEffectiveLimit(segment) : segment.getSpeedLimit();
+        if (vehicle.getVelocity() > speedLimit * 1.1) { // %10 tolerans
             return false; // Hız limiti aşılmış
         }
         
@@ -109,13 +191,26 @@ public class TrafficFlowService {
     }
     
     /**
-     * Segment için araç sayısını döndürür
+     * Segment için araç sayısını döndürür (kilitsiz okuma)
      * @param segmentId Segment ID
      * @return Araç sayısı
      */
     public int getVehicleCountForSegment(String segmentId) {
-        List<String> vehicles = segmentVehicles.get(segmentId);
-        return vehicles != null ? vehicles.size() : 0;
+        Integer handle = segmentId != null ? segmentHandles.get(segmentId) : null;
+        return handle != null ? getVehicleCount(handle) : 0;
+    }
+    
+    /**
+     * Tanıtıcı ile segment araç sayısı (kilitsiz okuma)
+     * @param handle getSegmentHandle ile alınan tanıtıcı
+     * @return Araç sayısı
+     */
+    public int getVehicleCount(int handle) {
+        if (handle < 0 || handle >= nextHandle.get()) {
+            return 0;
+        }
+        AtomicIntegerArray page = counterPages.get(handle >>> PAGE_BITS);
+        return page != null ? page.get(handle & (PAGE_SIZE - 1)) : 0;
     }
     
     /**
@@ -138,35 +233,156 @@ public class TrafficFlowService {
      * @return Araç ID listesi
      */
     public List<String> getVehiclesInSegment(String segmentId) {
-        List<String> vehicles = segmentVehicles.get(segmentId);
+        Integer handle = segmentId != null ? segmentHandles.get(segmentId) : null;
+        Set<String> vehicles = handle != null ? segmentMembers.get(handle) : null;
         return vehicles != null ? new ArrayList<>(vehicles) : new ArrayList<>();
     }
     
     /**
-     * Aracı segmente ekler
+     * Segmentin sabit int tanıtıcısını döndürür; ilk çağrıda atanır
+     * @param segmentId Segment ID
+     * @return Tanıtıcı (0'dan başlayarak ardışık)
+     */
+    public int getSegmentHandle(String segmentId) {
+        if (segmentId == null) {
+            throw new IllegalArgumentException("Segment ID cannot be null");
+        }
+        Integer handle = segmentHandles.get(segmentId);
+        if (handle != null) {
+            return handle;
+        }
+        return segmentHandles.computeIfAbsent(segmentId, id -> {
+            // Farklı segmentler paralel tanıtıcı alabilir; sayfa henüz yoksa okuyucular 0 görür
+            int h = nextHandle.getAndIncrement();
+            int pageIndex = h >>> PAGE_BITS;
+            if (pageIndex >= MAX_PAGES) {
+                throw new IllegalStateException("Segment handle capacity exceeded");
+            }
+            counterPages.compareAndSet(pageIndex, null, new AtomicIntegerArray(PAGE_SIZE));
+            idPages.compareAndSet(pageIndex, null, new AtomicReferenceArray<>(PAGE_SIZE));
+            idPages.get(pageIndex).set(h & (PAGE_SIZE - 1), id);
+            return h;
+        });
+    }
+    
+    /**
+     * Atanmış tanıtıcıyı döndürür; yeni tanıtıcı atamaz
+     * @return Tanıtıcı veya segment hiç görülmemişse -1
      */
-    private void addVehicleToSegment(String segmentId, String vehicleId) {
-        segmentVehicles.computeIfAbsent(segmentId, k -> new ArrayList<>()).add(vehicleId);
+    public int findSegmentHandle(String segmentId) {
+        Integer handle = segmentId != null ? segmentHandles.get(segmentId) : null;
+        return handle != null ? handle : -1;
     }
     
     /**
-     * Aracı segmentten çıkarır
+     * Tanıtıcının Segment ID'si
+     * @return Segment ID veya tanıtıcı atanmamışsa null
      */
-    private void removeVehicleFromSegment(String segmentId, String vehicleId) {
-        List<String> vehicles = segmentVehicles.get(segmentId);
-        if (vehicles != null) {
-            vehicles.remove(vehicleId);
-            if (vehicles.isEmpty()) {
-                segmentVehicles.remove(segmentId);
+    public String getSegmentId(int handle) {
+        if (handle < 0 || handle >= nextHandle.get()) {
+            return null;
+        }
+        AtomicReferenceArray<String> page = idPages.get(handle >>> PAGE_BITS);
+        return page != null ? page.get(handle & (PAGE_SIZE - 1)) : null;
+    }
+    
+    /**
+     * Tanıtıcı atanmış segment sayısı
+     */
+    public int getSegmentCount() {
+        return nextHandle.get();
+    }
+    
+    /**
+     * Trafikten ayrılan aracı bulunduğu segmentten çıkarır
+     */
+    public void removeVehicle(String vehicleId) {
+        if (vehicleId != null) {
+            moveVehicle(vehicleId, -1);
+        }
+    }
+    
+    /**
+     * Tüm segment sayaçlarının tutarlı kopyasını alır (kapasite kararları için)
+     * Kopya sırasında devam eden segment değişimleri tamamlanır, yenileri bekler
+     * @return Tick numaralı doluluk kopyası
+     */
+    public SegmentOccupancySnapshot snapshot() {
+        tickLock.writeLock().lock();
+        try {
+            int count = nextHandle.get();
+            int[] counts = new int[count];
+            for (int pageIndex = 0; pageIndex << PAGE_BITS < count; pageIndex++) {
+                AtomicIntegerArray page = counterPages.get(pageIndex);
+                if (page == null) {
+                    continue;
+                }
+                int base = pageIndex << PAGE_BITS;
+                int end = Math.min(PAGE_SIZE, count - base);
+                for (int i = 0; i < end; i++) {
+                    counts[base + i] = page.get(i);
+                }
             }
+            return new SegmentOccupancySnapshot(++tick, counts, segmentHandles);
+        } finally {
+            tickLock.writeLock().unlock();
         }
     }
     
     /**
-     * Tüm segment araç dağılımını temizler
+     * Aracı segmentler arasında taşır (-1 = hiçbir segment)
+     * Araç anahtarı üzerinde atomiktir; farklı araçlar paralel taşınır
+     */
+    private void moveVehicle(String vehicleId, int newHandle) {
+        tickLock.readLock().lock();
+        try {
+            vehicleSegments.compute(vehicleId, (id, oldHandle) -> {
+                if (oldHandle != null && oldHandle == newHandle) {
+                    return oldHandle;
+                }
+                if (oldHandle != null) {
+                    Set<String> members = segmentMembers.get(oldHandle);
+                    if (members != null && members.remove(id)) {
+                        counter(oldHandle).decrementAndGet(oldHandle & (PAGE_SIZE - 1));
+                    }
+                }
+                if (newHandle < 0) {
+                    return null;
+                }
+                if (segmentMembers.computeIfAbsent(newHandle, h -> ConcurrentHashMap.newKeySet()).add(id)) {
+                    counter(newHandle).incrementAndGet(newHandle & (PAGE_SIZE - 1));
+                }
+                return newHandle;
+            });
+        } finally {
+            tickLock.readLock().unlock();
+        }
+    }
+    
+    private AtomicIntegerArray counter(int handle) {
+        return counterPages.get(handle >>> PAGE_BITS);
+    }
+    
+    /**
+     * Tüm segment araç dağılımını temizler (segment tanıtıcıları korunur)
      */
     public void clearSegmentVehicles() {
-        segmentVehicles.clear();
+        tickLock.writeLock().lock();
+        try {
+            int count = nextHandle.get();
+            for (int pageIndex = 0; pageIndex << PAGE_BITS < count; pageIndex++) {
+                AtomicIntegerArray page = counterPages.get(pageIndex);
+                if (page == null) {
+                    continue;
+                }
+                for (int i = 0; i < PAGE_SIZE; i++) {
+                    page.set(i, 0);
+                }
+            }
+            segmentMembers.clear();
+            vehicleSegments.clear();
+        } finally {
+            tickLock.writeLock().unlock();
+        }
     }
 }
-
@@ -0,0 +1,190 @@
+package com.airtraffic.control;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+/**
+ * Simüle baz istasyonu uplink'leri üzerinden süreç içi bildirim gönderimi
+ * Mesaj, {@link HandoffPlanner} varsa aracın birincil istasyonuna, yoksa
+ * {@link BaseStationIndex}'te bağlı olduğu ilk istasyona yönlendirilir. Her
+ * istasyona ilk kullanımda bir {@link StationUplink} açılır; {@link #tick(double)}
+ * tüm uplink'leri verilen simülasyon zamanına kadar boşaltır.
+ */
+public class UplinkDispatcher {
+
+    private static final double DEFAULT_BANDWIDTH = 125_000.0;  // byte/s (1 Mbit/s)
+    private static final double DEFAULT_LATENCY = 20.0;         // ms
+    private static final int DEFAULT_QUEUE_CAPACITY = 256;      // öncelik sınıfı başına
+
+    private final BaseStationIndex stationIndex;
+    private final double bandwidthBytesPerSecond;
+    private final double latencyMillis;
+    private final int queueCapacity;
+    private final Map<String, StationUplink> uplinks;
+    private volatile HandoffPlanner handoffPlanner;
+    private volatile Consumer<UplinkMessage> deliveryListener;
+
+    private final AtomicLong noRouteCount = new AtomicLong();
+
+    /**
+     * 1 Mbit/s, 20 ms gecikmeli ve öncelik kuyruğu başına 256 mesajlık dağıtıcı
+     */
+    public UplinkDispatcher(BaseStationIndex stationIndex) {
+        this(stationIndex, DEFAULT_BANDWIDTH, DEFAULT_LATENCY, DEFAULT_QUEUE_CAPACITY);
+    }
+
+    /**
+     * @param stationIndex Aracın bağlı istasyonlarını bulmak için indeks
+     * @param bandwidthBytesPerSecond İstasyon bağlantılarının bant genişliği (byte/s)
+     * @param latencyMillis İstasyon bağlantılarının yayılım gecikmesi (ms)
+     * @param queueCapacity İstasyon başına her öncelik kuyruğunun kapasitesi
+     */
+    public UplinkDispatcher(BaseStationIndex stationIndex, double bandwidthBytesPerSecond,
+                            double latencyMillis, int queueCapacity) {
+        if (stationIndex == null) {
+            throw new IllegalArgumentException("Station index cannot be null");
+        }
+        StationUplink.validateLink(bandwidthBytesPerSecond, latencyMillis, queueCapacity);
+        this.stationIndex = stationIndex;
+        this.bandwidthBytesPerSecond = bandwidthBytesPerSecond;
+        this.latencyMillis = latencyMillis;
+        this.queueCapacity = queueCapacity;
+        this.uplinks = new ConcurrentHashMap<>();
+    }
+
+    /**
+     * Araca bildirimi şimdiki duvar saati zamanıyla kuyruğa alır
+     */
+    public boolean dispatch(String vehicleId, MessagePriority priority, String payload) {
+        return dispatch(vehicleId, priority, payload, System.currentTimeMillis());
+    }
+
+    /**
+     * Araca bildirimi kuyruğa alır
+     * @param vehicleId Hedef araç
+     * @param priority Öncelik sınıfı
+     * @param payload Mesaj metni
+     * @param nowMillis Simülasyon zamanı
+     * @return Aracın istasyonu yoksa veya kuyruk mesajı düşürdüyse false
+     */
+    public boolean dispatch(String vehicleId, MessagePriority priority, String payload, double nowMillis) {
+        BaseStation station = route(vehicleId);
+        if (station == null) {
+            noRouteCount.incrementAndGet();
+            return false;
+        }
+        StationUplink uplink = getOrCreateUplink(station.getId());
+        return uplink.enqueue(new UplinkMessage(vehicleId, station.getId(), priority, payload, nowMillis));
+    }
+
+    /**
+     * Tüm uplink'leri verilen simülasyon zamanına kadar boşaltır
+     * @return Bu tick'te teslim edilen mesaj sayısı
+     */
+    public int tick(double nowMillis) {
+        Consumer<UplinkMessage> listener = deliveryListener;
+        int count = 0;
+        for (StationUplink uplink : uplinks.values()) {
+            List<UplinkMessage> sent = uplink.drain(nowMillis);
+            count += sent.size();
+            if (listener != null) {
+                sent.forEach(listener);
+            }
+        }
+        return count;
+    }
+
+    private BaseStation route(String vehicleId) {
+        HandoffPlanner planner = handoffPlanner;
+        BaseStation primary = planner != null ? planner.getPrimary(vehicleId) : null;
+        if (primary != null) {
+            return primary;
+        }
+        List<BaseStation> connected = stationIndex.getConnectedStations(vehicleId);
+        return connected.isEmpty() ? null : connected.get(0);
+    }
+
+    private StationUplink getOrCreateUplink(String stationId) {
+        return uplinks.computeIfAbsent(stationId,
+            id -> new StationUplink(id, bandwidthBytesPerSecond, latencyMillis, queueCapacity));
+    }
+
+    /**
+     * İstasyonun uplink'i (henüz mesaj yönlendirilmediyse null)
+     */
+    public StationUplink getUplink(String stationId) {
+        return uplinks.get(stationId);
+    }
+
+    public void setHandoffPlanner(HandoffPlanner handoffPlanner) {
+        this.handoffPlanner = handoffPlanner;
+    }
+
+    public HandoffPlanner getHandoffPlanner() {
+        return handoffPlanner;
+    }
+
+    /**
+     * Teslim edilen her mesaj için çağrılan dinleyici (tick thread'inden)
+     */
+    public void setDeliveryListener(Consumer<UplinkMessage> deliveryListener) {
+        this.deliveryListener = deliveryListener;
+    }
+
+    // Aggregate metrics over all stations
+
+    public long getDeliveredCount(MessagePriority priority) {
+        long total = 0;
+        for (StationUplink uplink : uplinks.values()) {
+            total += uplink.getDeliveredCount(priority);
+        }
+        return total;
+    }
+
+    /**
+     * İstasyon kuyruğu dolu olduğu için düşürülen mesaj sayısı
+     */
+    public long getDroppedCount(MessagePriority priority) {
+        long total = 0;
+        for (StationUplink uplink : uplinks.values()) {
+            total += uplink.getDroppedCount(priority);
+        }
+        return total;
+    }
+
+    public int getQueuedCount() {
+        int total = 0;
+        for (StationUplink uplink : uplinks.values()) {
+            total += uplink.getQueuedCount();
+        }
+        return total;
+    }
+
+    /**
+     * Tüm istasyonlarda ortalama kuyruk-teslim gecikmesi (ms), teslim yoksa 0
+     */
+    public double getMeanDelayMillis(MessagePriority priority) {
+        double weighted = 0.0;
+        long delivered = 0;
+        for (StationUplink uplink : uplinks.values()) {
+            long count = uplink.getDeliveredCount(priority);
+            weighted += uplink.getMeanDelayMillis(priority) * count;
+            delivered += count;
+        }
+        return delivered > 0 ? weighted / delivered : 0.0;
+    }
+
+    /**
+     * İstasyonu olmayan araçlara gelen mesaj sayısı
+     */
+    public long getNoRouteCount() {
+        return noRouteCount.get();
+    }
+
+    public int getUplinkCount() {
+        return uplinks.size();
+    }
+}
@@ -0,0 +1,91 @@
+package com.airtraffic.control;
+
+/**
+ * İstasyon uplink kuyruğundaki bildirim mesajı
+ * Zamanlar çağıranın verdiği simülasyon milisaniyesidir; yük testleri gerçek
+ * zamandan hızlı ve deterministik çalışabilir.
+ */
+public final class UplinkMessage {
+
+    private static final int HEADER_BYTES = 64; // adresleme + çerçeve yükü
+
+    private final String vehicleId;
+    private final String stationId;
+    private final MessagePriority priority;
+    private final String payload;
+    private final int sizeBytes;
+    private final double enqueuedAtMillis;
+    private final double deliveredAtMillis;
+
+    public UplinkMessage(String vehicleId, String stationId, MessagePriority priority,
+                         String payload, double enqueuedAtMillis) {
+        this(vehicleId, stationId, priority, payload,
+            HEADER_BYTES + (payload != null ? payload.length() : 0), enqueuedAtMillis, Double.NaN);
+    }
+
+    private UplinkMessage(String vehicleId, String stationId, MessagePriority priority, String payload,
+                          int sizeBytes, double enqueuedAtMillis, double deliveredAtMillis) {
+        if (vehicleId == null || priority == null) {
+            throw new IllegalArgumentException("Vehicle ID and priority cannot be null");
+        }
+        this.vehicleId = vehicleId;
+        this.stationId = stationId;
+        this.priority = priority;
+        this.payload = payload;
+        this.sizeBytes = sizeBytes;
+        this.enqueuedAtMillis = enqueuedAtMillis;
+        this.deliveredAtMillis = deliveredAtMillis;
+    }
+
+    /**
+     * Teslim zamanı damgalanmış kopya
+     */
+    UplinkMessage delivered(double deliveredAtMillis) {
+        return new UplinkMessage(vehicleId, stationId, priority, payload, sizeBytes,
+            enqueuedAtMillis, deliveredAtMillis);
+    }
+
+    public String getVehicleId() {
+        return vehicleId;
+    }
+
+    public String getStationId() {
+        return stationId;
+    }
+
+    public MessagePriority getPriority() {
+        return priority;
+    }
+
+    public String getPayload() {
+        return payload;
+    }
+
+    public int getSizeBytes() {
+        return sizeBytes;
+    }
+
+    public double getEnqueuedAtMillis() {
+        return enqueuedAtMillis;
+    }
+
+    /**
+     * Teslim zamanı (kuyruktayken NaN)
+     */
+    public double getDeliveredAtMillis() {
+        return deliveredAtMillis;
+    }
+
+    /**
+     * Kuyruğa alınmadan teslime toplam gecikme (bekleme + iletim + gecikme)
+     */
+    public double getDelayMillis() {
+        return deliveredAtMillis - enqueuedAtMillis;
+    }
+
+    @Override
+    public String toString() {
+        return "UplinkMessage{vehicleId='" + vehicleId + "', stationId='" + stationId +
+               "', priority=" + priority + ", sizeBytes=" + sizeBytes + '}';
+    }
+}
@@ -2,6 +2,7 @@ package com.airtraffic.map;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
 
 import com.airtraffic.model.AltitudeLayer;
 import com.airtraffic.model.Position;
@@ -18,13 +19,16 @@ public class CityMap {
     private double minLongitude;
     private double maxLongitude;
     private RouteNetwork routeNetwork;        // Trafik yolu ağı
-    private List<Obstacle> obstacles;          // Engeller
-    private List<RestrictedZone> restrictedZones; // Yasak bölgeler
+    // Canlı bölge güncellemeleri okuyucularla yarışır: okuyucu kopyayı kilitsiz dolaşır
+    private volatile CopyOnWriteArrayList<Obstacle> obstacles;          // Engeller
+    private volatile CopyOnWriteArrayList<RestrictedZone> restrictedZones; // Yasak bölgeler
+    private transient List<MapChangeListener> listeners; // Kalıcı değil; önbellekler kendini kaydeder
 
     public CityMap() {
-        this.obstacles = new ArrayList<>();
-        this.restrictedZones = new ArrayList<>();
+        this.obstacles = new CopyOnWriteArrayList<>();
+        this.restrictedZones = new CopyOnWriteArrayList<>();
         this.routeNetwork = new RouteNetwork();
+        this.listeners = new CopyOnWriteArrayList<>();
     }
 
     public CityMap(String cityName) {
@@ -72,8 +76,7 @@ public class CityMap {
 
         // En yüksek engeli bul
         for (Obstacle obstacle : obstacles) {
-            double distance = position.horizontalDistanceTo(obstacle.getPosition());
-            if (distance <= obstacle.getRadius() || distance <= Math.max(obstacle.getWidth(), obstacle.getLength()) / 2.0) {
+            if (obstacle.footprintContains(position)) {
                 double obstacleTop = obstacle.getPosition().getAltitude() + obstacle.getHeight();
                 if (obstacleTop > maxObstacleHeight) {
                     maxObstacleHeight = obstacleTop;
@@ -111,6 +114,19 @@ public class CityMap {
      */
     public void addObstacle(Obstacle obstacle) {
         this.obstacles.add(obstacle);
+        notifyObstacleChanged(obstacle);
+    }
+
+    /**
+     * Engeli kaldırır
+     * @return Engel haritadaysa true
+     */
+    public boolean removeObstacle(Obstacle obstacle) {
+        boolean removed = this.obstacles.remove(obstacle);
+        if (removed) {
+            notifyObstacleChanged(obstacle);
+        }
+        return removed;
     }
 
     /**
@@ -118,6 +134,66 @@ public class CityMap {
      */
     public void addRestrictedZone(RestrictedZone zone) {
         this.restrictedZones.add(zone);
+        notifyRestrictedZoneChanged(zone);
+    }
+
+    /**
+     * Yasak bölgeyi kaldırır
+     * @return Bölge haritadaysa true
+     */
+    public boolean removeRestrictedZone(RestrictedZone zone) {
+        boolean removed = this.restrictedZones.remove(zone);
+        if (removed) {
+            notifyRestrictedZoneChanged(zone);
+        }
+        return removed;
+    }
+
+    public void addMapChangeListener(MapChangeListener listener) {
+        if (listener == null) {
+            throw new IllegalArgumentException("Listener cannot be null");
+        }
+        listeners().add(listener);
+    }
+
+    public void removeMapChangeListener(MapChangeListener listener) {
+        listeners().remove(listener);
+    }
+
+    /**
+     * Yerinde değiştirilen engeli dinleyicilere bildirir (ör. yükseklik güncellemesi)
+     */
+    public void notifyObstacleChanged(Obstacle obstacle) {
+        for (MapChangeListener listener : listeners()) {
+            listener.onObstacleChanged(obstacle);
+        }
+    }
+
+    /**
+     * Yerinde değiştirilen yasak bölgeyi dinleyicilere bildirir
+     */
+    public void notifyRestrictedZoneChanged(RestrictedZone zone) {
+        for (MapChangeListener listener : listeners()) {
+            listener.onRestrictedZoneChanged(zone);
+        }
+    }
+
+    private void notifyMapReset() {
+        for (MapChangeListener listener : listeners()) {
+            listener.onMapReset();
+        }
+    }
+
+    private List<MapChangeListener> listeners() {
+        // JSON'dan yüklenen haritada transient alan boş gelebilir
+        if (listeners == null) {
+            synchronized (this) {
+                if (listeners == null) {
+                    listeners = new CopyOnWriteArrayList<>();
+                }
+            }
+        }
+        return listeners;
     }
 
     // Getters and Setters
@@ -154,6 +230,7 @@ public class CityMap {
 
     public void setMinLatitude(double minLatitude) {
         this.minLatitude = minLatitude;
+        notifyMapReset();
     }
 
     public double getMaxLatitude() {
@@ -162,6 +239,7 @@ public class CityMap {
 
     public void setMaxLatitude(double maxLatitude) {
         this.maxLatitude = maxLatitude;
+        notifyMapReset();
     }
 
     public double getMinLongitude() {
@@ -170,6 +248,7 @@ public class CityMap {
 
     public void setMinLongitude(double minLongitude) {
         this.minLongitude = minLongitude;
+        notifyMapReset();
     }
 
     public double getMaxLongitude() {
@@ -178,6 +257,7 @@ public class CityMap {
 
     public void setMaxLongitude(double maxLongitude) {
         this.maxLongitude = maxLongitude;
+        notifyMapReset();
     }
 
     public RouteNetwork getRouteNetwork() {
@@ -193,7 +273,8 @@ public class CityMap {
     }
 
     public void setObstacles(List<Obstacle> obstacles) {
-        this.obstacles = new ArrayList<>(obstacles);
+        this.obstacles = new CopyOnWriteArrayList<>(obstacles);
+        notifyMapReset();
     }
 
     public List<RestrictedZone> getRestrictedZones() {
@@ -201,7 +282,8 @@ public class CityMap {
     }
 
     public void setRestrictedZones(List<RestrictedZone> restrictedZones) {
-        this.restrictedZones = new ArrayList<>(restrictedZones);
+        this.restrictedZones = new CopyOnWriteArrayList<>(restrictedZones);
+        notifyMapReset();
     }
 
     @Override
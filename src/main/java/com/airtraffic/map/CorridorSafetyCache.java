@@ -0,0 +1,327 @@
+package com.airtraffic.map;
+
+import com.airtraffic.model.Position;
+import com.airtraffic.util.GeoUtils;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Segment bazlı koridor güvenlik önbelleği
+ *
+ * Her {@link RouteSegment} için segmentin uçuş irtifasında tamamen güvenli olup
+ * olmadığı (boyunca örneklenen noktalarda {@link CityMap#isPositionSafe}) ve
+ * minimum geçiş irtifası (bu noktaların en yüksek
+ * {@link CityMap#getSafePassageAltitude} değeri) tutulur; kayıt ilk kullanımda
+ * hesaplanır, harita değişene kadar kullanılır.
+ *
+ * Önbellek haritayı dinler: engel/bölge değişince yalnızca kutusu nesnenin eski
+ * veya yeni kutusuyla kesişen segmentler düşer. Segmentler kaba bir enlem/boylam
+ * gridinde indekslenir; değişiklik yalnızca kutusunun altındaki hücrelere bakar.
+ * Sınır veya toplu liste değişikliği her şeyi temizler.
+ */
+public class CorridorSafetyCache implements MapChangeListener {
+
+    private static final double DEFAULT_SAMPLE_SPACING = 10.0; // metre
+    private static final double CELL_DEGREES = 0.01;            // ~1 km indeks hücresi
+
+    private final CityMap cityMap;
+    private final double sampleSpacing;
+    private final Map<String, SegmentSafety> entries;
+    private final Map<Long, Set<String>> cellSegments; // hücre -> kutusu hücreye değen segmentler
+    private final Map<Object, double[]> lastBounds; // engel/bölge -> son kutu (kimlik anahtarı)
+    private final AtomicLong invalidationVersion = new AtomicLong();
+
+    private final LongAdder hitCount = new LongAdder();
+    private final LongAdder missCount = new LongAdder();
+    private final LongAdder invalidatedCount = new LongAdder();
+
+    /**
+     * Segmentleri 10 m'de bir örnekleyen önbellek; kendini haritaya kaydeder
+     */
+    public CorridorSafetyCache(CityMap cityMap) {
+        this(cityMap, DEFAULT_SAMPLE_SPACING);
+    }
+
+    /**
+     * @param cityMap Doğrulamada kullanılan harita (dinleyici kaydedilir)
+     * @param sampleSpacing Segment boyunca örnek noktalar arası mesafe (metre)
+     */
+    public CorridorSafetyCache(CityMap cityMap, double sampleSpacing) {
+        if (cityMap == null) {
+            throw new IllegalArgumentException("City map cannot be null");
+        }
+        if (sampleSpacing <= 0) {
+            throw new IllegalArgumentException("Sample spacing must be positive");
+        }
+        this.cityMap = cityMap;
+        this.sampleSpacing = sampleSpacing;
+        this.entries = new ConcurrentHashMap<>();
+        this.cellSegments = new ConcurrentHashMap<>();
+        this.lastBounds = new ConcurrentHashMap<>();
+        rememberBounds();
+        cityMap.addMapChangeListener(this);
+    }
+
+    /**
+     * Haritadan kaydı siler ve tüm kayıtları bırakır
+     */
+    public void detach() {
+        cityMap.removeMapChangeListener(this);
+        entries.clear();
+        cellSegments.clear();
+        lastBounds.clear();
+    }
+
+    /**
+     * Segmentin güvenlik bilgisi (ilk kullanımda hesaplanır)
+     */
+    public SegmentSafety get(RouteSegment segment) {
+        if (segment == null || segment.getStartPoint() == null || segment.getEndPoint() == null) {
+            throw new IllegalArgumentException("Segment and its end points cannot be null");
+        }
+        SegmentSafety cached = entries.get(segment.getSegmentId());
+        if (cached != null) {
+            hitCount.increment();
+            return cached;
+        }
+        missCount.increment();
+        long version = invalidationVersion.get();
+        SegmentSafety computed = compute(segment);
+        // Hesap sırasında harita değiştiyse sonuç önbelleğe alınmaz; indeks kayıttan önce kurulur
+        if (invalidationVersion.get() == version) {
+            String segmentId = segment.getSegmentId();
+            index(segmentId, computed);
+            entries.put(segmentId, computed);
+            if (invalidationVersion.get() != version) {
+                entries.remove(segmentId, computed);
+            }
+        }
+        return computed;
+    }
+
+    /**
+     * Verilen segmentlerin kayıtlarını önceden hesaplar
+     */
+    public void precompute(Collection<RouteSegment> segments) {
+        for (RouteSegment segment : segments) {
+            get(segment);
+        }
+    }
+
+    /**
+     * @return Rotanın tüm segmentleri güvenliyse true
+     */
+    public boolean isPathSafe(List<RouteSegment> path) {
+        for (RouteSegment segment : path) {
+            if (!get(segment).isSafe()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Rota boyunca tüm engelleri aşan en düşük irtifa
+     */
+    public double getMinClearanceAltitude(List<RouteSegment> path) {
+        double clearance = 0.0;
+        for (RouteSegment segment : path) {
+            clearance = Math.max(clearance, get(segment).getMinClearanceAltitude());
+        }
+        return clearance;
+    }
+
+    private SegmentSafety compute(RouteSegment segment) {
+        Position start = segment.getStartPoint();
+        Position end = segment.getEndPoint();
+        int steps = Math.max(1, (int) Math.ceil(segment.calculateLength() / sampleSpacing));
+        boolean safe = true;
+        double clearance = 0.0;
+        for (int i = 0; i <= steps; i++) {
+            double ratio = (double) i / steps;
+            double lat = start.getLatitude() + (end.getLatitude() - start.getLatitude()) * ratio;
+            double lon = start.getLongitude() + (end.getLongitude() - start.getLongitude()) * ratio;
+            if (safe && !cityMap.isPositionSafe(new Position(lat, lon, segment.getAltitude()))) {
+                safe = false;
+            }
+            clearance = Math.max(clearance, cityMap.getSafePassageAltitude(new Position(lat, lon, 0.0)));
+        }
+        return new SegmentSafety(safe, clearance,
+            Math.min(start.getLatitude(), end.getLatitude()), Math.max(start.getLatitude(), end.getLatitude()),
+            Math.min(start.getLongitude(), end.getLongitude()), Math.max(start.getLongitude(), end.getLongitude()));
+    }
+
+    @Override
+    public void onObstacleChanged(Obstacle obstacle) {
+        onObjectChanged(obstacle, obstacle.getBoundingBox(), cityMap.getObstacles().contains(obstacle));
+    }
+
+    @Override
+    public void onRestrictedZoneChanged(RestrictedZone zone) {
+        onObjectChanged(zone, zone.getBoundingBox(), cityMap.getRestrictedZones().contains(zone));
+    }
+
+    @Override
+    public void onMapReset() {
+        invalidationVersion.incrementAndGet();
+        invalidatedCount.add(entries.size());
+        entries.clear();
+        cellSegments.clear();
+        lastBounds.clear();
+        rememberBounds();
+    }
+
+    /**
+     * Değişen nesnenin önceki ve güncel kutusunu geçersiz kılar, güncelini saklar
+     * (nesne haritadan çıkınca unutulur)
+     */
+    private void onObjectChanged(Object object, double[] box, boolean onMap) {
+        double[] previous = onMap && box != null ? lastBounds.put(object, box) : lastBounds.remove(object);
+        if (previous != null) {
+            invalidate(previous[0], previous[1], previous[2], previous[3]);
+        }
+        if (box != null && !Arrays.equals(box, previous)) {
+            invalidate(box[0], box[1], box[2], box[3]);
+        }
+    }
+
+    private void rememberBounds() {
+        for (Obstacle obstacle : cityMap.getObstacles()) {
+            double[] box = obstacle.getBoundingBox();
+            if (box != null) {
+                lastBounds.put(obstacle, box);
+            }
+        }
+        for (RestrictedZone zone : cityMap.getRestrictedZones()) {
+            double[] box = zone.getBoundingBox();
+            if (box != null) {
+                lastBounds.put(zone, box);
+            }
+        }
+    }
+
+    /**
+     * Segment kutusu değişen bölgeyle kesişen kayıtları düşürür
+     * Kutunun altındaki hücreleri, daha azsa tüm kayıtları dolaşır
+     */
+    private void invalidate(double minLat, double maxLat, double minLon, double maxLon) {
+        invalidationVersion.incrementAndGet();
+        long minX = cell(minLon);
+        long maxX = cell(maxLon);
+        long minY = cell(minLat);
+        long maxY = cell(maxLat);
+        if ((double) (maxX - minX + 1) * (maxY - minY + 1) > entries.size()) {
+            Iterator<SegmentSafety> iterator = entries.values().iterator();
+            while (iterator.hasNext()) {
+                if (iterator.next().intersects(minLat, maxLat, minLon, maxLon)) {
+                    iterator.remove();
+                    invalidatedCount.increment();
+                }
+            }
+            return;
+        }
+        for (long x = minX; x <= maxX; x++) {
+            for (long y = minY; y <= maxY; y++) {
+                Set<String> segmentIds = cellSegments.get(GeoUtils.packKey(x, y));
+                if (segmentIds == null) {
+                    continue;
+                }
+                for (String segmentId : segmentIds) {
+                    SegmentSafety entry = entries.get(segmentId);
+                    if (entry != null && entry.intersects(minLat, maxLat, minLon, maxLon)
+                            && entries.remove(segmentId, entry)) {
+                        invalidatedCount.increment();
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Segmenti kutusunun değdiği her hücreye yazar. ID'ler geçersiz kılmadan
+     * sonra da kalır; haritanın segment kümesi sabit olduğundan indeks sınırlıdır.
+     */
+    private void index(String segmentId, SegmentSafety entry) {
+        for (long x = cell(entry.minLon); x <= cell(entry.maxLon); x++) {
+            for (long y = cell(entry.minLat); y <= cell(entry.maxLat); y++) {
+                cellSegments.computeIfAbsent(GeoUtils.packKey(x, y), key -> ConcurrentHashMap.newKeySet()).add(segmentId);
+            }
+        }
+    }
+
+    private static long cell(double degrees) {
+        return (long) Math.floor(degrees / CELL_DEGREES);
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    public long getHitCount() {
+        return hitCount.sum();
+    }
+
+    public long getMissCount() {
+        return missCount.sum();
+    }
+
+    /**
+     * Harita değişiklikleri yüzünden düşürülen kayıt sayısı
+     */
+    public long getInvalidatedCount() {
+        return invalidatedCount.sum();
+    }
+
+    public CityMap getCityMap() {
+        return cityMap;
+    }
+
+    /**
+     * Tek segmentin önbellekteki güvenlik bilgisi
+     */
+    public static final class SegmentSafety {
+        private final boolean safe;
+        private final double minClearanceAltitude;
+        private final double minLat;
+        private final double maxLat;
+        private final double minLon;
+        private final double maxLon;
+
+        SegmentSafety(boolean safe, double minClearanceAltitude,
+                      double minLat, double maxLat, double minLon, double maxLon) {
+            this.safe = safe;
+            this.minClearanceAltitude = minClearanceAltitude;
+            this.minLat = minLat;
+            this.maxLat = maxLat;
+            this.minLon = minLon;
+            this.maxLon = maxLon;
+        }
+
+        private boolean intersects(double minLat, double maxLat, double minLon, double maxLon) {
+            return this.maxLat >= minLat && this.minLat <= maxLat
+                && this.maxLon >= minLon && this.minLon <= maxLon;
+        }
+
+        /**
+         * Segment irtifasında tüm örnek noktalar güvenli mi?
+         */
+        public boolean isSafe() {
+            return safe;
+        }
+
+        /**
+         * Segment boyunca en yüksek güvenli geçiş irtifası (engel tepesi + pay)
+         */
+        public double getMinClearanceAltitude() {
+            return minClearanceAltitude;
+        }
+    }
+}
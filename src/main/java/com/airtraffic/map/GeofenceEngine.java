@@ -0,0 +1,430 @@
+package com.airtraffic.map;
+
+import com.airtraffic.model.Position;
+import com.airtraffic.util.GeoUtils;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Haritanın yasak bölgeleri üzerinde artımlı geofencing
+ *
+ * Araç başına güncel bölge üyeliği tutulur. Konum güncellemesinde yalnızca
+ * kutusu hareket segmentinin (önceki -> yeni konum) kutusuna değen bölgeler
+ * ile aracın zaten içinde olduğu bölgeler test edilir; bölgeler kaba bir kutu
+ * gridiyle bulunur. Her poligon bir kez enlem dilimlerine derlenir, nokta
+ * konumlama kenar taraması yerine iki ikili aramadır.
+ *
+ * Üyelik değişiklikleri ENTER/EXIT olarak yayınlanır; bekleme eşiğini aşan
+ * kalışta bir kez DWELL yayınlanır. Motor haritayı dinler: değişen bölge
+ * yeniden derlenir, kaldırılan bölgedeki araçlar sonraki güncellemede EXIT alır.
+ */
+public class GeofenceEngine implements MapChangeListener {
+
+    private static final double GRID_CELL_DEGREES = 0.01;            // ~1.1 km
+    private static final long DEFAULT_DWELL_MILLIS = 60_000L;
+
+    private final CityMap cityMap;
+    private final long dwellMillis;
+    private volatile ZoneIndex zoneIndex;
+    private final Map<String, Membership> memberships;
+    private final List<GeofenceListener> listeners;
+
+    /**
+     * Bir dakika bekleme eşikli motor; kendini haritaya kaydeder
+     */
+    public GeofenceEngine(CityMap cityMap) {
+        this(cityMap, DEFAULT_DWELL_MILLIS);
+    }
+
+    /**
+     * @param cityMap Yasak bölgeleri izlenen harita (dinleyici kaydedilir)
+     * @param dwellMillis DWELL olayından önce bölgede geçen süre (ms)
+     */
+    public GeofenceEngine(CityMap cityMap, long dwellMillis) {
+        if (cityMap == null) {
+            throw new IllegalArgumentException("City map cannot be null");
+        }
+        if (dwellMillis <= 0) {
+            throw new IllegalArgumentException("Dwell time must be positive");
+        }
+        this.cityMap = cityMap;
+        this.dwellMillis = dwellMillis;
+        this.memberships = new ConcurrentHashMap<>();
+        this.listeners = new CopyOnWriteArrayList<>();
+        this.zoneIndex = ZoneIndex.build(compileAll(cityMap.getRestrictedZones()));
+        cityMap.addMapChangeListener(this);
+    }
+
+    public void addListener(GeofenceListener listener) {
+        if (listener == null) {
+            throw new IllegalArgumentException("Listener cannot be null");
+        }
+        listeners.add(listener);
+    }
+
+    public void removeListener(GeofenceListener listener) {
+        listeners.remove(listener);
+    }
+
+    /**
+     * Haritadan kaydı siler ve tüm üyelikleri bırakır
+     */
+    public void detach() {
+        cityMap.removeMapChangeListener(this);
+        memberships.clear();
+    }
+
+    /**
+     * Konum raporunu işler
+     * @param vehicleId Araç ID
+     * @param position Yeni konum
+     * @param timestampMillis Rapor zamanı
+     * @return Rapordan üretilen olaylar (dinleyicilere iletilmiş)
+     */
+    public List<GeofenceEvent> update(String vehicleId, Position position, long timestampMillis) {
+        if (vehicleId == null || position == null) {
+            throw new IllegalArgumentException("Vehicle ID and position cannot be null");
+        }
+        List<GeofenceEvent> events = new ArrayList<>();
+        Membership membership = memberships.computeIfAbsent(vehicleId, id -> new Membership());
+        synchronized (membership) {
+            Position previous = membership.lastPosition != null ? membership.lastPosition : position;
+            membership.lastPosition = position;
+            ZoneIndex index = zoneIndex;
+
+            Set<CompiledZone> candidates = index.candidates(
+                Math.min(previous.getLatitude(), position.getLatitude()),
+                Math.max(previous.getLatitude(), position.getLatitude()),
+                Math.min(previous.getLongitude(), position.getLongitude()),
+                Math.max(previous.getLongitude(), position.getLongitude()));
+
+            // Çıkışlar: mevcut üyeliklerin her biri yeniden test edilir
+            Iterator<Map.Entry<RestrictedZone, Stay>> iterator = membership.stays.entrySet().iterator();
+            while (iterator.hasNext()) {
+                Map.Entry<RestrictedZone, Stay> entry = iterator.next();
+                RestrictedZone zone = entry.getKey();
+                Stay stay = entry.getValue();
+                CompiledZone compiled = index.compiled.get(zone);
+                if (compiled == null || !compiled.contains(position)) {
+                    iterator.remove();
+                    events.add(new GeofenceEvent(vehicleId, zone, GeofenceEventType.EXIT,
+                        position, timestampMillis, timestampMillis - stay.enteredAt));
+                } else if (!stay.dwellReported && timestampMillis - stay.enteredAt >= dwellMillis) {
+                    stay.dwellReported = true;
+                    events.add(new GeofenceEvent(vehicleId, zone, GeofenceEventType.DWELL,
+                        position, timestampMillis, timestampMillis - stay.enteredAt));
+                }
+            }
+
+            for (CompiledZone compiled : candidates) {
+                if (!membership.stays.containsKey(compiled.zone) && compiled.contains(position)) {
+                    membership.stays.put(compiled.zone, new Stay(timestampMillis));
+                    events.add(new GeofenceEvent(vehicleId, compiled.zone, GeofenceEventType.ENTER,
+                        position, timestampMillis, 0L));
+                }
+            }
+        }
+        for (GeofenceEvent event : events) {
+            for (GeofenceListener listener : listeners) {
+                listener.onGeofenceEvent(event);
+            }
+        }
+        return events;
+    }
+
+    /**
+     * Tüm araç üyeliklerini bırakır (EXIT yayınlanmaz), ör. durum yüklenirken
+     */
+    public void clear() {
+        memberships.clear();
+    }
+
+    /**
+     * Trafikten çıkan aracı unutur (EXIT yayınlanmaz)
+     */
+    public void remove(String vehicleId) {
+        memberships.remove(vehicleId);
+    }
+
+    /**
+     * Aracın şu an içinde olduğu bölgeler
+     */
+    public List<RestrictedZone> getZones(String vehicleId) {
+        Membership membership = memberships.get(vehicleId);
+        if (membership == null) {
+            return Collections.emptyList();
+        }
+        synchronized (membership) {
+            return new ArrayList<>(membership.stays.keySet());
+        }
+    }
+
+    public boolean isInside(String vehicleId, RestrictedZone zone) {
+        Membership membership = memberships.get(vehicleId);
+        if (membership == null) {
+            return false;
+        }
+        synchronized (membership) {
+            return membership.stays.containsKey(zone);
+        }
+    }
+
+    @Override
+    public void onObstacleChanged(Obstacle obstacle) {
+        // Engeller geofence kapsamında değil
+    }
+
+    @Override
+    public synchronized void onRestrictedZoneChanged(RestrictedZone zone) {
+        // Yalnızca değişen bölge yeniden derlenir; diğerleri aynen kullanılır
+        Map<RestrictedZone, CompiledZone> compiled = new IdentityHashMap<>(zoneIndex.compiled);
+        compiled.remove(zone);
+        if (cityMap.getRestrictedZones().contains(zone)) {
+            CompiledZone recompiled = CompiledZone.compile(zone);
+            if (recompiled != null) {
+                compiled.put(zone, recompiled);
+            }
+        }
+        zoneIndex = ZoneIndex.build(compiled);
+    }
+
+    @Override
+    public synchronized void onMapReset() {
+        zoneIndex = ZoneIndex.build(compileAll(cityMap.getRestrictedZones()));
+    }
+
+    private static Map<RestrictedZone, CompiledZone> compileAll(List<RestrictedZone> zones) {
+        Map<RestrictedZone, CompiledZone> compiled = new IdentityHashMap<>();
+        for (RestrictedZone zone : zones) {
+            CompiledZone c = CompiledZone.compile(zone);
+            if (c != null) {
+                compiled.put(zone, c);
+            }
+        }
+        return compiled;
+    }
+
+    /**
+     * İzlenen bölge sayısı (aktif ve geçerli poligonlu)
+     */
+    public int getZoneCount() {
+        return zoneIndex.compiled.size();
+    }
+
+    public int getTrackedVehicleCount() {
+        return memberships.size();
+    }
+
+    public long getDwellMillis() {
+        return dwellMillis;
+    }
+
+    public CityMap getCityMap() {
+        return cityMap;
+    }
+
+    private static final class Membership {
+        final Map<RestrictedZone, Stay> stays = new IdentityHashMap<>();
+        Position lastPosition;
+    }
+
+    private static final class Stay {
+        final long enteredAt;
+        boolean dwellReported;
+
+        Stay(long enteredAt) {
+            this.enteredAt = enteredAt;
+        }
+    }
+
+    /**
+     * Değişmez görüntü: derlenmiş bölgeler ve kutularının gridi
+     */
+    private static final class ZoneIndex {
+        final Map<RestrictedZone, CompiledZone> compiled;
+        final Map<Long, CompiledZone[]> grid;
+
+        private ZoneIndex(Map<RestrictedZone, CompiledZone> compiled, Map<Long, CompiledZone[]> grid) {
+            this.compiled = compiled;
+            this.grid = grid;
+        }
+
+        static ZoneIndex build(Map<RestrictedZone, CompiledZone> compiled) {
+            Map<Long, List<CompiledZone>> cells = new HashMap<>();
+            for (CompiledZone zone : compiled.values()) {
+                for (long x = cell(zone.minLat); x <= cell(zone.maxLat); x++) {
+                    for (long y = cell(zone.minLon); y <= cell(zone.maxLon); y++) {
+                        cells.computeIfAbsent(GeoUtils.packKey(x, y), k -> new ArrayList<>()).add(zone);
+                    }
+                }
+            }
+            Map<Long, CompiledZone[]> grid = new HashMap<>();
+            for (Map.Entry<Long, List<CompiledZone>> entry : cells.entrySet()) {
+                grid.put(entry.getKey(), entry.getValue().toArray(new CompiledZone[0]));
+            }
+            return new ZoneIndex(compiled, grid);
+        }
+
+        /**
+         * Kutusu verilen kutuyla kesişen bölgeler
+         */
+        Set<CompiledZone> candidates(double minLat, double maxLat, double minLon, double maxLon) {
+            Set<CompiledZone> result = new LinkedHashSet<>();
+            long minX = cell(minLat);
+            long maxX = cell(maxLat);
+            long minY = cell(minLon);
+            long maxY = cell(maxLon);
+            if ((double) (maxX - minX + 1) * (maxY - minY + 1) > compiled.size()) {
+                // Uzun sıçrama: tüm bölgeleri kutu ile elemek daha ucuz
+                for (CompiledZone zone : compiled.values()) {
+                    if (zone.intersects(minLat, maxLat, minLon, maxLon)) {
+                        result.add(zone);
+                    }
+                }
+                return result;
+            }
+            for (long x = minX; x <= maxX; x++) {
+                for (long y = minY; y <= maxY; y++) {
+                    CompiledZone[] zones = grid.get(GeoUtils.packKey(x, y));
+                    if (zones == null) {
+                        continue;
+                    }
+                    for (CompiledZone zone : zones) {
+                        if (zone.intersects(minLat, maxLat, minLon, maxLon)) {
+                            result.add(zone);
+                        }
+                    }
+                }
+            }
+            return result;
+        }
+
+        private static long cell(double degrees) {
+            return (long) Math.floor(degrees / GRID_CELL_DEGREES);
+        }
+    }
+
+    /**
+     * Logaritmik nokta konumlama için enlem dilimlerine derlenmiş bölge poligonu
+     */
+    static final class CompiledZone {
+        final RestrictedZone zone;
+        final double minLat;
+        final double maxLat;
+        final double minLon;
+        final double maxLon;
+        private final double minAltitude;
+        private final double maxAltitude;
+        private final double[] edgeLat0;
+        private final double[] edgeLon0;
+        private final double[] edgeSlope;       // derece boylam / derece enlem
+        private final double[] slabLats;         // artan, tekrarsız köşe enlemleri
+        private final int[][] slabEdges;         // dilim -> boylama göre sıralı kenarlar
+
+        private CompiledZone(RestrictedZone zone, double[] lats, double[] lons) {
+            this.zone = zone;
+            this.minAltitude = zone.getMinAltitude();
+            this.maxAltitude = zone.getMaxAltitude();
+            int n = lats.length;
+            this.edgeLat0 = new double[n];
+            this.edgeLon0 = new double[n];
+            this.edgeSlope = new double[n];
+            double[] edgeLatMin = new double[n];
+            double[] edgeLatMax = new double[n];
+            for (int i = 0, j = n - 1; i < n; j = i++) {
+                edgeLat0[i] = lats[j];
+                edgeLon0[i] = lons[j];
+                edgeSlope[i] = lats[i] != lats[j] ? (lons[i] - lons[j]) / (lats[i] - lats[j]) : 0.0;
+                edgeLatMin[i] = Math.min(lats[i], lats[j]);
+                edgeLatMax[i] = Math.max(lats[i], lats[j]);
+            }
+
+            this.slabLats = Arrays.stream(lats).sorted().distinct().toArray();
+            this.minLat = slabLats[0];
+            this.maxLat = slabLats[slabLats.length - 1];
+            this.minLon = Arrays.stream(lons).min().getAsDouble();
+            this.maxLon = Arrays.stream(lons).max().getAsDouble();
+
+            this.slabEdges = new int[Math.max(0, slabLats.length - 1)][];
+            for (int s = 0; s < slabEdges.length; s++) {
+                double low = slabLats[s];
+                double high = slabLats[s + 1];
+                double mid = (low + high) / 2.0;
+                List<Integer> crossing = new ArrayList<>();
+                for (int e = 0; e < n; e++) {
+                    // Yatay kenarlar hiçbir dilimi kesmez
+                    if (edgeLatMin[e] <= low && edgeLatMax[e] >= high) {
+                        crossing.add(e);
+                    }
+                }
+                // Basit polygonda kenarlar dilim içinde kesişmez; orta enlemdeki sıra her yerde geçerli
+                crossing.sort((a, b) -> Double.compare(lonAt(a, mid), lonAt(b, mid)));
+                slabEdges[s] = crossing.stream().mapToInt(Integer::intValue).toArray();
+            }
+        }
+
+        /**
+         * @return Derlenmiş bölge (bölge pasifse veya 3'ten az noktası varsa null)
+         */
+        static CompiledZone compile(RestrictedZone zone) {
+            List<Position> boundaries = zone.getBoundaries();
+            if (!zone.isActive() || boundaries.size() < 3) {
+                return null;
+            }
+            double[] lats = new double[boundaries.size()];
+            double[] lons = new double[boundaries.size()];
+            for (int i = 0; i < lats.length; i++) {
+                lats[i] = boundaries.get(i).getLatitude();
+                lons[i] = boundaries.get(i).getLongitude();
+            }
+            return new CompiledZone(zone, lats, lons);
+        }
+
+        boolean intersects(double lat0, double lat1, double lon0, double lon1) {
+            return maxLat >= lat0 && minLat <= lat1 && maxLon >= lon0 && minLon <= lon1;
+        }
+
+        boolean contains(Position position) {
+            double altitude = position.getAltitude();
+            if (altitude < minAltitude || altitude > maxAltitude) {
+                return false;
+            }
+            double lat = position.getLatitude();
+            double lon = position.getLongitude();
+            if (lat < minLat || lat >= maxLat || lon < minLon || lon > maxLon) {
+                return false;
+            }
+            // Enlemi içeren dilim: slabLats[s] <= lat < slabLats[s + 1]
+            int s = Arrays.binarySearch(slabLats, lat);
+            s = s >= 0 ? s : -s - 2;
+            int[] edges = slabEdges[s];
+            // Noktanın doğusunda kalan kenar sayısı tek ise içeride
+            int low = 0;
+            int high = edges.length;
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                if (lonAt(edges[mid], lat) <= lon) {
+                    low = mid + 1;
+                } else {
+                    high = mid;
+                }
+            }
+            return ((edges.length - low) & 1) == 1;
+        }
+
+        private double lonAt(int edge, double lat) {
+            return edgeLon0[edge] + (lat - edgeLat0[edge]) * edgeSlope[edge];
+        }
+    }
+}
@@ -0,0 +1,54 @@
+package com.airtraffic.map;
+
+import com.airtraffic.model.Position;
+
+/**
+ * Bir aracın yasak bölge üyeliğindeki değişiklik
+ */
+public class GeofenceEvent {
+    private final String vehicleId;
+    private final RestrictedZone zone;
+    private final GeofenceEventType type;
+    private final Position position;           // Olayı tetikleyen konum
+    private final long timestampMillis;
+    private final long dwellMillis;            // Bölgede geçen süre (ENTER için 0)
+
+    public GeofenceEvent(String vehicleId, RestrictedZone zone, GeofenceEventType type,
+                         Position position, long timestampMillis, long dwellMillis) {
+        this.vehicleId = vehicleId;
+        this.zone = zone;
+        this.type = type;
+        this.position = position;
+        this.timestampMillis = timestampMillis;
+        this.dwellMillis = dwellMillis;
+    }
+
+    public String getVehicleId() {
+        return vehicleId;
+    }
+
+    public RestrictedZone getZone() {
+        return zone;
+    }
+
+    public GeofenceEventType getType() {
+        return type;
+    }
+
+    public Position getPosition() {
+        return position;
+    }
+
+    public long getTimestampMillis() {
+        return timestampMillis;
+    }
+
+    public long getDwellMillis() {
+        return dwellMillis;
+    }
+
+    @Override
+    public String toString() {
+        return "GeofenceEvent{" + vehicleId + ", " + type + ", zone=" + zone.getName() + "}";
+    }
+}
@@ -0,0 +1,21 @@
+package com.airtraffic.map;
+
+/**
+ * Geofence olay türü
+ */
+public enum GeofenceEventType {
+    /**
+     * Araç yasak bölgeye girdi
+     */
+    ENTER,
+
+    /**
+     * Araç yasak bölgeden çıktı (veya bölge kaldırıldı)
+     */
+    EXIT,
+
+    /**
+     * Araç bekleme süresinden uzun süredir bölgede (her girişte bir kez)
+     */
+    DWELL
+}
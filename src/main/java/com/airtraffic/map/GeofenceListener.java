@@ -0,0 +1,10 @@
+package com.airtraffic.map;
+
+/**
+ * Geofence olaylarının alıcısı
+ * Olayı üreten güncelleme thread'inde çağrılır; uzun işler başka thread'e devredilmelidir
+ */
+public interface GeofenceListener {
+
+    void onGeofenceEvent(GeofenceEvent event);
+}
@@ -0,0 +1,23 @@
+package com.airtraffic.map;
+
+/**
+ * Harita değişikliği dinleyicisi
+ * Engel veya yasak bölge eklendiğinde, kaldırıldığında ya da değiştirildiğinde çağrılır
+ */
+public interface MapChangeListener {
+
+    /**
+     * Engel eklendi, kaldırıldı veya değiştirildi
+     */
+    void onObstacleChanged(Obstacle obstacle);
+
+    /**
+     * Yasak bölge eklendi, kaldırıldı veya değiştirildi
+     */
+    void onRestrictedZoneChanged(RestrictedZone zone);
+
+    /**
+     * Sınırlar veya engel/bölge listeleri toptan değişti
+     */
+    void onMapReset();
+}
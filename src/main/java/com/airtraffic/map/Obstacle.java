@@ -1,11 +1,21 @@
 package com.airtraffic.map;
 
 import com.airtraffic.model.Position;
+import com.airtraffic.util.GeoUtils;
+
+import java.util.ArrayList;
+import java.util.List;
 
 /**
  * Engel tanımı (bina, köprü, yüksek gerilim hattı, vb.)
+ *
+ * Taban izi öncelik sırasıyla daire (radius), polygon (footprint) veya
+ * yönlendirilmiş dikdörtgendir (width x length, heading yönünde).
+ * Konum testleri merkez etrafındaki yerel metre düzleminde yapılır; düzlem ve
+ * kapsayan kutu ilk kullanımda hesaplanır, geometri setter'ları ile sıfırlanır.
  */
 public class Obstacle {
+
     private String id;
     private String name;
     private ObstacleType type;
@@ -14,7 +24,9 @@ public class Obstacle {
     private double radius;               // Yarıçap (metre) - dairesel engel için
     private double width;                // Genişlik (metre) - dikdörtgen engel için
     private double length;               // Uzunluk (metre) - dikdörtgen engel için
-    private double heading;              // Yön (derece) - dikdörtgen engel için
+    private double heading;              // Yön (derece, kuzeyden saat yönünde) - uzunluk ekseni
+    private List<Position> footprint;    // Taban polygonu (en az 3 nokta) - düzensiz binalar için
+    private transient Frame frame;       // Kalıcı değil; ilk kullanımda hesaplanır
 
     public Obstacle() {
     }
@@ -35,22 +47,77 @@ public class Obstacle {
         if (checkPosition.getAltitude() > position.getAltitude() + height) {
             return false; // Yükseklik engelin üstünde
         }
+        return footprintContains(checkPosition);
+    }
 
-        double horizontalDistance = position.horizontalDistanceTo(checkPosition);
+    /**
+     * Konumun yatay izdüşümünün engel taban izi içinde olup olmadığını kontrol eder (yükseklik yok sayılır)
+     * @param checkPosition Kontrol edilecek konum
+     * @return Taban izi içindeyse true
+     */
+    public boolean footprintContains(Position checkPosition) {
+        Frame f = frame();
+        if (f == null) {
+            return false;
+        }
+        double lat = checkPosition.getLatitude();
+        double lon = checkPosition.getLongitude();
+        // Kapsayan kutu ile hızlı eleme
+        if (lat < f.minLat || lat > f.maxLat || lon < f.minLon || lon > f.maxLon) {
+            return false;
+        }
+        double east = (lon - position.getLongitude()) * f.metersPerDegreeLon;
+        double north = (lat - position.getLatitude()) * GeoUtils.METERS_PER_DEGREE_LAT;
 
         // Dairesel engel
         if (radius > 0) {
-            return horizontalDistance <= radius;
+            return east * east + north * north <= radius * radius;
         }
 
-        // Dikdörtgen engel (basitleştirilmiş - daha gelişmiş geometri gerekebilir)
-        if (width > 0 && length > 0) {
-            // Basit dikdörtgen kontrolü (daha gelişmiş dönüşüm gerekebilir)
-            double maxDistance = Math.max(width, length) / 2.0;
-            return horizontalDistance <= maxDistance;
+        // Polygon taban izi (ray casting, yerel düzlemde)
+        if (f.polygonX != null) {
+            boolean inside = false;
+            double[] xs = f.polygonX;
+            double[] ys = f.polygonY;
+            for (int i = 0, j = xs.length - 1; i < xs.length; j = i++) {
+                if ((ys[i] > north) != (ys[j] > north)
+                        && east < (xs[j] - xs[i]) * (north - ys[i]) / (ys[j] - ys[i]) + xs[i]) {
+                    inside = !inside;
+                }
+            }
+            return inside;
         }
 
-        return false;
+        // Yönlendirilmiş dikdörtgen: uzunluk heading ekseninde, genişlik ona dik
+        double along = east * f.sinHeading + north * f.cosHeading;
+        double across = east * f.cosHeading - north * f.sinHeading;
+        return Math.abs(along) <= length / 2.0 && Math.abs(across) <= width / 2.0;
+    }
+
+    /**
+     * Taban izinin kapsayan kutusu
+     * @return {minLat, maxLat, minLon, maxLon} veya taban izi yoksa null
+     */
+    public double[] getBoundingBox() {
+        Frame f = frame();
+        return f != null ? new double[] {f.minLat, f.maxLat, f.minLon, f.maxLon} : null;
+    }
+
+    /**
+     * Merkezden taban izinin en uzak noktasına yatay mesafe (metre)
+     */
+    public double getBoundingRadius() {
+        Frame f = frame();
+        return f != null ? f.reach : 0.0;
+    }
+
+    private Frame frame() {
+        Frame f = frame;
+        if (f == null && position != null) {
+            f = Frame.build(this);
+            frame = f;
+        }
+        return f;
     }
 
     /**
@@ -92,6 +159,7 @@ public class Obstacle {
 
     public void setPosition(Position position) {
         this.position = position;
+        this.frame = null;
     }
 
     public double getHeight() {
@@ -108,6 +176,7 @@ public class Obstacle {
 
     public void setRadius(double radius) {
         this.radius = radius;
+        this.frame = null;
     }
 
     public double getWidth() {
@@ -116,6 +185,7 @@ public class Obstacle {
 
     public void setWidth(double width) {
         this.width = width;
+        this.frame = null;
     }
 
     public double getLength() {
@@ -124,6 +194,7 @@ public class Obstacle {
 
     public void setLength(double length) {
         this.length = length;
+        this.frame = null;
     }
 
     public double getHeading() {
@@ -132,16 +203,91 @@ public class Obstacle {
 
     public void setHeading(double heading) {
         this.heading = heading;
+        this.frame = null;
     }
-}
-
-
-
-
-
-
-
 
+    public List<Position> getFootprint() {
+        return footprint != null ? new ArrayList<>(footprint) : new ArrayList<>();
+    }
 
+    /**
+     * Taban polygonunu ayarlar; en az 3 nokta varsa dikdörtgenin yerine kullanılır
+     */
+    public void setFootprint(List<Position> footprint) {
+        this.footprint = footprint != null ? new ArrayList<>(footprint) : null;
+        this.frame = null;
+    }
 
+    /**
+     * Merkez etrafında yerel metre düzlemi ve kapsayan kutu (değişmez)
+     */
+    private static final class Frame {
+        final double metersPerDegreeLon;
+        final double sinHeading;
+        final double cosHeading;
+        final double[] polygonX;          // doğu (metre), polygon yoksa null
+        final double[] polygonY;          // kuzey (metre)
+        final double reach;               // merkezden en uzak nokta (metre)
+        final double minLat;
+        final double maxLat;
+        final double minLon;
+        final double maxLon;
+
+        private Frame(double metersPerDegreeLon, double sinHeading, double cosHeading,
+                      double[] polygonX, double[] polygonY, double reach, Position center,
+                      double halfNorth, double halfEast) {
+            this.metersPerDegreeLon = metersPerDegreeLon;
+            this.sinHeading = sinHeading;
+            this.cosHeading = cosHeading;
+            this.polygonX = polygonX;
+            this.polygonY = polygonY;
+            this.reach = reach;
+            this.minLat = center.getLatitude() - halfNorth / GeoUtils.METERS_PER_DEGREE_LAT;
+            this.maxLat = center.getLatitude() + halfNorth / GeoUtils.METERS_PER_DEGREE_LAT;
+            this.minLon = center.getLongitude() - halfEast / metersPerDegreeLon;
+            this.maxLon = center.getLongitude() + halfEast / metersPerDegreeLon;
+        }
 
+        /**
+         * @return Düzlem (taban izi yoksa null)
+         */
+        static Frame build(Obstacle o) {
+            Position center = o.position;
+            double metersPerDegreeLon = GeoUtils.metersPerDegreeLon(center.getLatitude());
+            double headingRad = Math.toRadians(o.heading);
+            double sin = Math.sin(headingRad);
+            double cos = Math.cos(headingRad);
+
+            if (o.radius > 0) {
+                return new Frame(metersPerDegreeLon, sin, cos, null, null, o.radius, center, o.radius, o.radius);
+            }
+            if (o.footprint != null && o.footprint.size() >= 3) {
+                int n = o.footprint.size();
+                double[] xs = new double[n];
+                double[] ys = new double[n];
+                double halfNorth = 0.0;
+                double halfEast = 0.0;
+                double reach = 0.0;
+                for (int i = 0; i < n; i++) {
+                    Position p = o.footprint.get(i);
+                    xs[i] = (p.getLongitude() - center.getLongitude()) * metersPerDegreeLon;
+                    ys[i] = (p.getLatitude() - center.getLatitude()) * GeoUtils.METERS_PER_DEGREE_LAT;
+                    halfEast = Math.max(halfEast, Math.abs(xs[i]));
+                    halfNorth = Math.max(halfNorth, Math.abs(ys[i]));
+                    reach = Math.max(reach, Math.hypot(xs[i], ys[i]));
+                }
+                return new Frame(metersPerDegreeLon, sin, cos, xs, ys, reach, center, halfNorth, halfEast);
+            }
+            if (o.width > 0 && o.length > 0) {
+                // Döndürülmüş dikdörtgenin eksen hizalı yarı boyutları
+                double halfLength = o.length / 2.0;
+                double halfWidth = o.width / 2.0;
+                double halfEast = Math.abs(halfLength * sin) + Math.abs(halfWidth * cos);
+                double halfNorth = Math.abs(halfLength * cos) + Math.abs(halfWidth * sin);
+                return new Frame(metersPerDegreeLon, sin, cos, null, null,
+                    Math.hypot(halfLength, halfWidth), center, halfNorth, halfEast);
+            }
+            return null;
+        }
+    }
+}
@@ -17,10 +17,12 @@ public class RestrictedZone {
     private double maxAltitude;            // Maksimum yasak yükseklik
     private String restrictionReason;      // Kısıtlama nedeni
     private boolean permanent;             // Kalıcı mı yoksa geçici mi?
+    private boolean active;                // Devre dışı bölge uçuşu kısıtlamaz
 
     public RestrictedZone() {
         this.boundaries = new ArrayList<>();
         this.permanent = true;
+        this.active = true;
     }
 
     public RestrictedZone(String name, RestrictedZoneType type) {
@@ -35,7 +37,7 @@ public class RestrictedZone {
      * @return Yasak bölgenin içindeyse true
      */
     public boolean contains(Position position) {
-        if (boundaries.size() < 3) {
+        if (!active || boundaries.size() < 3) {
             return false; // Polygon için en az 3 nokta gerekli
         }
 
@@ -44,6 +46,72 @@ public class RestrictedZone {
             return false;
         }
 
+        return containsHorizontally(position.getLatitude(), position.getLongitude());
+    }
+
+    /**
+     * Düz bir uçuş bacağının bölgeden geçip geçmediğini kontrol eder
+     * Bacağın irtifa aralığı bölgeninkiyle kesişmeli ve yatay izdüşümü polygona değmelidir
+     * @param from Bacak başlangıcı
+     * @param to Bacak sonu
+     * @return Bacak yasak bölgeden geçiyorsa true
+     */
+    public boolean intersectsSegment(Position from, Position to) {
+        if (!active || boundaries.size() < 3) {
+            return false;
+        }
+        if (Math.max(from.getAltitude(), to.getAltitude()) < minAltitude
+                || Math.min(from.getAltitude(), to.getAltitude()) > maxAltitude) {
+            return false;
+        }
+        if (containsHorizontally(from.getLatitude(), from.getLongitude())
+                || containsHorizontally(to.getLatitude(), to.getLongitude())) {
+            return true;
+        }
+        // Uç noktalar dışarıdaysa bacak bir kenarı kesmelidir
+        int j = boundaries.size() - 1;
+        for (int i = 0; i < boundaries.size(); i++) {
+            if (segmentsCross(from, to, boundaries.get(j), boundaries.get(i))) {
+                return true;
+            }
+            j = i;
+        }
+        return false;
+    }
+
+    /**
+     * Sınırların kapsayan kutusu
+     * @return {minLat, maxLat, minLon, maxLon} veya sınır yoksa null
+     */
+    public double[] getBoundingBox() {
+        if (boundaries.isEmpty()) {
+            return null;
+        }
+        double[] box = {Double.POSITIVE_INFINITY, Double.NEGATIVE_INFINITY,
+                        Double.POSITIVE_INFINITY, Double.NEGATIVE_INFINITY};
+        for (Position point : boundaries) {
+            box[0] = Math.min(box[0], point.getLatitude());
+            box[1] = Math.max(box[1], point.getLatitude());
+            box[2] = Math.min(box[2], point.getLongitude());
+            box[3] = Math.max(box[3], point.getLongitude());
+        }
+        return box;
+    }
+
+    private static boolean segmentsCross(Position a, Position b, Position c, Position d) {
+        double d1 = orientation(c, d, a);
+        double d2 = orientation(c, d, b);
+        double d3 = orientation(a, b, c);
+        double d4 = orientation(a, b, d);
+        return ((d1 > 0) != (d2 > 0)) && ((d3 > 0) != (d4 > 0));
+    }
+
+    private static double orientation(Position p, Position q, Position r) {
+        return (q.getLongitude() - p.getLongitude()) * (r.getLatitude() - p.getLatitude())
+             - (q.getLatitude() - p.getLatitude()) * (r.getLongitude() - p.getLongitude());
+    }
+
+    private boolean containsHorizontally(double latitude, double longitude) {
         // Point-in-polygon algoritması (Ray casting)
         boolean inside = false;
         int j = boundaries.size() - 1;
@@ -52,9 +120,9 @@ public class RestrictedZone {
             Position pi = boundaries.get(i);
             Position pj = boundaries.get(j);
 
-            if (((pi.getLatitude() > position.getLatitude()) != (pj.getLatitude() > position.getLatitude())) &&
-                (position.getLongitude() < (pj.getLongitude() - pi.getLongitude()) *
-                 (position.getLatitude() - pi.getLatitude()) / (pj.getLatitude() - pi.getLatitude()) + pi.getLongitude())) {
+            if (((pi.getLatitude() > latitude) != (pj.getLatitude() > latitude)) &&
+                (longitude < (pj.getLongitude() - pi.getLongitude()) *
+                 (latitude - pi.getLatitude()) / (pj.getLatitude() - pi.getLatitude()) + pi.getLongitude())) {
                 inside = !inside;
             }
             j = i;
@@ -134,6 +202,14 @@ public class RestrictedZone {
     public void setPermanent(boolean permanent) {
         this.permanent = permanent;
     }
+
+    public boolean isActive() {
+        return active;
+    }
+
+    public void setActive(boolean active) {
+        this.active = active;
+    }
 }
 
 
@@ -241,14 +241,11 @@ public class RouteNetwork {
                 continue;
             }
             
+            // Kutu elemesi + segmente dik mesafe
             if (segment.isOnSegment(position, threshold)) {
-                // Segment üzerinde, mesafeyi hesapla
-                double distanceToStart = position.horizontalDistanceTo(segment.getStartPoint());
-                double distanceToEnd = position.horizontalDistanceTo(segment.getEndPoint());
-                double minSegmentDistance = Math.min(distanceToStart, distanceToEnd);
-                
-                if (minSegmentDistance < minDistance) {
-                    minDistance = minSegmentDistance;
+                double distance = segment.distanceTo(position);
+                if (distance < minDistance) {
+                    minDistance = distance;
                     nearest = segment;
                 }
             }
@@ -3,14 +3,20 @@ package com.airtraffic.map;
 import com.airtraffic.model.Position;
 import com.airtraffic.model.Route;
 import com.airtraffic.model.RouteDirection;
+import com.airtraffic.util.GeoUtils;
 
 import java.util.UUID;
 
 /**
  * Yol segmenti - bir rotanın belirli bir bölümü
  * Her segment için yön, yükseklik, hız limiti tanımlanır
+ *
+ * Konum testleri başlangıç noktası etrafındaki yerel metre düzleminde yapılır;
+ * yön birim vektörü, uzunluk ve kapsayan kutu ilk kullanımda hesaplanır ve
+ * uç noktalar değişince sıfırlanır.
  */
 public class RouteSegment {
+
     private String segmentId;
     private Route parentRoute;           // Hangi rotaya ait
     private Position startPoint;         // Segment başlangıç noktası
@@ -20,6 +26,7 @@ public class RouteSegment {
     private double speedLimit;             // Bu segment için hız limiti (m/s)
     private int maxVehicles;              // Bu segment için maksimum araç sayısı
     private boolean isActive;             // Segment aktif mi?
+    private transient Geometry geometry;  // Kalıcı değil; ilk kullanımda hesaplanır
     
     public RouteSegment() {
         this.segmentId = UUID.randomUUID().toString();
@@ -39,14 +46,12 @@ public class RouteSegment {
     }
     
     /**
-     * Segment uzunluğunu hesaplar
+     * Segment uzunluğunu döndürür (haversine, bir kez hesaplanır)
      * @return Segment uzunluğu (metre)
      */
     public double calculateLength() {
-        if (startPoint == null || endPoint == null) {
-            return 0.0;
-        }
-        return startPoint.horizontalDistanceTo(endPoint);
+        Geometry g = geometry();
+        return g != null ? g.length : 0.0;
     }
     
     /**
@@ -56,24 +61,64 @@ public class RouteSegment {
      * @return Segment üzerindeyse true
      */
     public boolean isOnSegment(Position position, double threshold) {
-        if (position == null || startPoint == null || endPoint == null) {
+        if (position == null) {
+            return false;
+        }
+        Geometry g = geometry();
+        if (g == null) {
+            return false;
+        }
+        // Eşik kadar genişletilmiş kapsayan kutu ile hızlı eleme
+        double latMargin = threshold / GeoUtils.METERS_PER_DEGREE_LAT;
+        double lonMargin = threshold / g.metersPerDegreeLon;
+        if (position.getLatitude() < g.minLat - latMargin || position.getLatitude() > g.maxLat + latMargin
+                || position.getLongitude() < g.minLon - lonMargin || position.getLongitude() > g.maxLon + lonMargin) {
             return false;
         }
-        
-        // Segment üzerindeki en yakın noktaya mesafeyi hesapla
-        double distanceToStart = position.horizontalDistanceTo(startPoint);
-        double distanceToEnd = position.horizontalDistanceTo(endPoint);
-        double segmentLength = calculateLength();
-        
-        // Eğer konum segment başlangıç/bitiş noktalarına yakınsa
-        if (distanceToStart <= threshold || distanceToEnd <= threshold) {
-            return true;
+        return distanceTo(position) <= threshold;
+    }
+    
+    /**
+     * Konumun segmente yatay mesafesi: segment içindeyse dik mesafe, dışındaysa en yakın uca mesafe
+     * @param position Konum
+     * @return Mesafe (metre), uç noktalar tanımsızsa Double.MAX_VALUE
+     */
+    public double distanceTo(Position position) {
+        Geometry g = geometry();
+        if (g == null || position == null) {
+            return Double.MAX_VALUE;
         }
-        
-        // Segment üzerindeki en yakın noktaya mesafe hesapla (basitleştirilmiş)
-        // Gerçek implementasyonda doğru nokta-segment mesafesi hesaplanmalı
-        double minDistance = Math.min(distanceToStart, distanceToEnd);
-        return minDistance <= threshold;
+        double east = (position.getLongitude() - startPoint.getLongitude()) * g.metersPerDegreeLon;
+        double north = (position.getLatitude() - startPoint.getLatitude()) * GeoUtils.METERS_PER_DEGREE_LAT;
+        double along = Math.max(0.0, Math.min(g.localLength, east * g.unitEast + north * g.unitNorth));
+        double dx = east - along * g.unitEast;
+        double dy = north - along * g.unitNorth;
+        return Math.sqrt(dx * dx + dy * dy);
+    }
+    
+    /**
+     * Konumun segment boyunca ilerleme oranı (başlangıçta 0, bitişte 1, dışında sınırlanır)
+     * @param position Konum
+     * @return İlerleme oranı [0, 1]
+     */
+    public double getProgress(Position position) {
+        Geometry g = geometry();
+        if (g == null || position == null || g.localLength == 0.0) {
+            return 0.0;
+        }
+        double east = (position.getLongitude() - startPoint.getLongitude()) * g.metersPerDegreeLon;
+        double north = (position.getLatitude() - startPoint.getLatitude()) * GeoUtils.METERS_PER_DEGREE_LAT;
+        double along = east * g.unitEast + north * g.unitNorth;
+        return Math.max(0.0, Math.min(1.0, along / g.localLength));
+    }
+    
+    private Geometry geometry() {
+        Geometry g = geometry;
+        if (g == null && startPoint != null && endPoint != null) {
+            g = new Geometry(startPoint, endPoint);
+            geometry = g;
+        }
+        return g;
     }
     
     // Getters and Setters
@@ -99,6 +144,7 @@ public class RouteSegment {
     
     public void setStartPoint(Position startPoint) {
         this.startPoint = startPoint;
+        this.geometry = null;
     }
     
     public Position getEndPoint() {
@@ -107,6 +153,7 @@ public class RouteSegment {
     
     public void setEndPoint(Position endPoint) {
         this.endPoint = endPoint;
+        this.geometry = null;
     }
     
     public RouteDirection getDirection() {
@@ -163,5 +210,34 @@ public class RouteSegment {
         return String.format("RouteSegment[id=%s, route=%s, direction=%s, altitude=%.2fm, speed=%.2fm/s]",
                 segmentId, parentRoute != null ? parentRoute.getName() : "null", direction, altitude, speedLimit);
     }
-}
 
+    /**
+     * Başlangıç noktasına göre yerel düzlemde segment geometrisi (değişmez)
+     */
+    private static final class Geometry {
+        final double length;              // haversine uzunluk (metre)
+        final double localLength;         // yerel düzlemdeki uzunluk (metre)
+        final double metersPerDegreeLon;
+        final double unitEast;            // yön birim vektörü
+        final double unitNorth;
+        final double minLat;
+        final double maxLat;
+        final double minLon;
+        final double maxLon;
+
+        Geometry(Position start, Position end) {
+            this.length = start.horizontalDistanceTo(end);
+            double midLat = (start.getLatitude() + end.getLatitude()) / 2.0;
+            this.metersPerDegreeLon = GeoUtils.metersPerDegreeLon(midLat);
+            double east = (end.getLongitude() - start.getLongitude()) * metersPerDegreeLon;
+            double north = (end.getLatitude() - start.getLatitude()) * GeoUtils.METERS_PER_DEGREE_LAT;
+            this.localLength = Math.sqrt(east * east + north * north);
+            this.unitEast = localLength > 0 ? east / localLength : 0.0;
+            this.unitNorth = localLength > 0 ? north / localLength : 0.0;
+            this.minLat = Math.min(start.getLatitude(), end.getLatitude());
+            this.maxLat = Math.max(start.getLatitude(), end.getLatitude());
+            this.minLon = Math.min(start.getLongitude(), end.getLongitude());
+            this.maxLon = Math.max(start.getLongitude(), end.getLongitude());
+        }
+    }
+}
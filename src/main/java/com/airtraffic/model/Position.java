@@ -1,5 +1,7 @@
 package com.airtraffic.model;
 
+import com.airtraffic.util.GeoUtils;
+
 import java.time.LocalDateTime;
 import java.util.Objects;
 
@@ -37,19 +39,7 @@ public class Position {
      * @return Mesafe (metre)
      */
     public double horizontalDistanceTo(Position other) {
-        final int EARTH_RADIUS_M = 6371000; // Dünya yarıçapı (metre)
-
-        double lat1Rad = Math.toRadians(this.latitude);
-        double lat2Rad = Math.toRadians(other.latitude);
-        double deltaLat = Math.toRadians(other.latitude - this.latitude);
-        double deltaLon = Math.toRadians(other.longitude - this.longitude);
-
-        double a = Math.sin(deltaLat / 2) * Math.sin(deltaLat / 2) +
-                   Math.cos(lat1Rad) * Math.cos(lat2Rad) *
-                   Math.sin(deltaLon / 2) * Math.sin(deltaLon / 2);
-        double c = 2 * Math.atan2(Math.sqrt(a), Math.sqrt(1 - a));
-
-        return EARTH_RADIUS_M * c;
+        return GeoUtils.haversine(this.latitude, this.longitude, other.latitude, other.longitude);
     }
 
     /**
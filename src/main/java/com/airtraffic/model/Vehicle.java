@@ -45,6 +45,33 @@ public class Vehicle {
         this.altitude = initialPosition.getAltitude();
     }
 
+    /**
+     * Aracın o anki durumunun kopyası (snapshot okuyucuları için).
+     * Konum bir kez okunur ve kopyalanır; kopya canlı aracı etkilemez.
+     */
+    public Vehicle(Vehicle other) {
+        Position current = other.position;
+        this.id = other.id;
+        this.type = other.type;
+        this.position = current != null ? new Position(current.getLatitude(), current.getLongitude(),
+            current.getAltitude(), current.getTimestamp()) : null;
+        this.velocity = other.velocity;
+        this.heading = other.heading;
+        this.altitude = other.altitude;
+        this.fuelLevel = other.fuelLevel;
+        this.status = other.status;
+        this.pilotLicense = other.pilotLicense;
+        this.automationLevel = other.automationLevel;
+        this.registrationNumber = other.registrationNumber;
+        this.lastUpdateTime = other.lastUpdateTime;
+        this.maxSpeed = other.maxSpeed;
+        this.maxAltitude = other.maxAltitude;
+        this.weight = other.weight;
+        this.manufacturer = other.manufacturer;
+        this.model = other.model;
+        this.currentSegment = other.currentSegment;
+    }
+
     /**
      * Araç konumunu günceller
      */
@@ -0,0 +1,121 @@
+package com.airtraffic.rules;
+
+import com.airtraffic.map.RouteSegment;
+import com.airtraffic.model.Position;
+import com.airtraffic.model.Vehicle;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Segment bazlı tavsiye hız limiti kuralı
+ *
+ * Tek bir kural tüm segmentlerin dinamik limitlerini taşır; limitler kural
+ * motorunda kural yeniden oluşturulmadan setAdvisoryLimit ile güncellenir.
+ * Tavsiye limiti olmayan segmentte kural uygulanmaz (statik limit geçerlidir).
+ * Tavsiye limiti statik segment limitinden yüksek olamaz.
+ */
+public class SegmentSpeedAdvisoryRule extends SpeedLimitRule {
+    private final Map<String, Double> advisoryLimits;   // Segment ID -> limit (m/s)
+    private double violationTolerance;                  // Oransal tolerans (0.1 = %10)
+
+    public SegmentSpeedAdvisoryRule() {
+        this("Segment Tavsiye Hız Limiti");
+    }
+
+    public SegmentSpeedAdvisoryRule(String name) {
+        super(name, 0.0);
+        this.advisoryLimits = new ConcurrentHashMap<>();
+        this.violationTolerance = 0.1;
+        setPriority(12); // Statik hız limitlerinden önce değerlendirilir
+    }
+
+    @Override
+    public boolean isApplicable(Vehicle vehicle, Position position) {
+        return super.isApplicable(vehicle, position) && vehicle != null
+            && vehicle.getCurrentSegment() != null
+            && advisoryLimits.containsKey(vehicle.getCurrentSegment().getSegmentId());
+    }
+
+    @Override
+    public boolean isViolated(Vehicle vehicle, Position position) {
+        if (!isApplicable(vehicle, position)) {
+            return false;
+        }
+        double limit = getAdvisoryLimit(vehicle.getCurrentSegment().getSegmentId());
+        return vehicle.getVelocity() > limit * (1.0 + violationTolerance);
+    }
+
+    @Override
+    public boolean isWarningNeeded(Vehicle vehicle) {
+        if (vehicle == null || vehicle.getCurrentSegment() == null) {
+            return false;
+        }
+        double limit = getAdvisoryLimit(vehicle.getCurrentSegment().getSegmentId());
+        if (Double.isNaN(limit)) {
+            return false;
+        }
+        double speed = vehicle.getVelocity();
+        return speed > limit - getTolerance() && speed <= limit * (1.0 + violationTolerance);
+    }
+
+    /**
+     * Segmentin tavsiye limitini ayarlar (statik limitle sınırlanır)
+     * @param segment Segment
+     * @param limit Tavsiye limiti (m/s)
+     */
+    public void setAdvisoryLimit(RouteSegment segment, double limit) {
+        if (segment == null) {
+            throw new IllegalArgumentException("Segment null olamaz");
+        }
+        if (limit <= 0 || Double.isNaN(limit)) {
+            throw new IllegalArgumentException("Tavsiye hız limiti pozitif olmalı");
+        }
+        double capped = segment.getSpeedLimit() > 0 ? Math.min(limit, segment.getSpeedLimit()) : limit;
+        advisoryLimits.put(segment.getSegmentId(), capped);
+    }
+
+    /**
+     * Segmentin tavsiye limitini kaldırır (statik limite dönülür)
+     */
+    public void clearAdvisoryLimit(String segmentId) {
+        if (segmentId != null) {
+            advisoryLimits.remove(segmentId);
+        }
+    }
+
+    /**
+     * @return Tavsiye limiti veya yoksa NaN
+     */
+    public double getAdvisoryLimit(String segmentId) {
+        Double limit = segmentId != null ? advisoryLimits.get(segmentId) : null;
+        return limit != null ? limit : Double.NaN;
+    }
+
+    /**
+     * Segmentte geçerli limit: tavsiye varsa o, yoksa statik limit
+     */
+    public double getEffectiveLimit(RouteSegment segment) {
+        double advisory = getAdvisoryLimit(segment.getSegmentId());
+        return Double.isNaN(advisory) ? segment.getSpeedLimit() : advisory;
+    }
+
+    public int getAdvisoryCount() {
+        return advisoryLimits.size();
+    }
+
+    public void clearAdvisoryLimits() {
+        advisoryLimits.clear();
+    }
+
+    public double getViolationTolerance() {
+        return violationTolerance;
+    }
+
+    public void setViolationTolerance(double violationTolerance) {
+        if (violationTolerance < 0) {
+            throw new IllegalArgumentException("Tolerans negatif olamaz");
+        }
+        this.violationTolerance = violationTolerance;
+    }
+}
@@ -0,0 +1,421 @@
+package com.airtraffic.spatial;
+
+import com.airtraffic.model.Position;
+import com.airtraffic.model.Vehicle;
+import com.airtraffic.util.GeoUtils;
+import com.airtraffic.util.LocalProjection;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Araç konum sorguları için düzgün spatial hash grid
+ *
+ * Konumlar yerel metre düzlemine izdüşülüp kare hücrelere dağıtılır. Hücreler
+ * paketlenmiş (cellX, cellY) anahtarlı açık adresli tabloda, araç slotları
+ * primitive int dizilerinde tutulur; hücresinde kalan aracın güncellemesi
+ * bedavadır, hücre değişimi O(1)'dir.
+ *
+ * Hücre boyu etkileşim yarıçapıyla başlar (sorgu en fazla 9 hücre) ve
+ * yoğunluğa göre ayarlanır: kalabalıkta yarıya (en az yarıçap / 4), seyrekte
+ * tekrar iki katına (en fazla yarıçap) çıkar.
+ * Public metodlar synchronized; {@code BatchProcessor}'ın paralel yolları paylaşabilir.
+ */
+public class HashGridIndex implements SpatialIndex {
+
+    private static final long EMPTY_KEY = Long.MIN_VALUE;
+    private static final int INITIAL_TABLE_CAPACITY = 64;       // must be power of two
+    private static final int INITIAL_SLOT_CAPACITY = 64;
+    private static final int INITIAL_BUCKET_CAPACITY = 4;
+    private static final int RETUNE_INTERVAL = 256;            // structural ops between density checks
+    private static final double MAX_MEAN_OCCUPANCY = 16.0;     // vehicles per non-empty cell
+    private static final double MIN_MEAN_OCCUPANCY = 2.0;
+    private static final double MIN_CELL_FRACTION = 0.25;      // cell size lower bound = radius / 4
+    private static final double QUERY_MARGIN = 1.01;           // projection vs. haversine slack
+
+    private final LocalProjection projection;
+    private final double interactionRadius;
+    private double cellSize;
+
+    // Open-addressing cell table
+    private long[] cellKeys;
+    private int[][] cellMembers;   // vehicle slot ids per cell
+    private int[] cellCounts;
+    private int usedCells;         // table entries with a key (including emptied cells)
+    private int nonEmptyCells;
+
+    // Vehicle slots
+    private Vehicle[] slotVehicles;
+    private int[] slotCell;        // table index of the vehicle's cell
+    private int[] slotOffset;      // offset inside that cell's member array
+    private int[] freeSlots;
+    private int freeSlotCount;
+    private int slotHighWater;
+    private final Map<String, Integer> slotById;
+
+    private int opsSinceRetune;
+
+    /**
+     * Verilen sınırları kapsayan hash grid
+     * @param minLat Minimum enlem
+     * @param maxLat Maksimum enlem
+     * @param minLon Minimum boylam
+     * @param maxLon Maksimum boylam
+     * @param interactionRadius Tipik sorgu yarıçapı (metre, ör. çarpışma kontrol yarıçapı)
+     */
+    public HashGridIndex(double minLat, double maxLat, double minLon, double maxLon, double interactionRadius) {
+        this((minLat + maxLat) / 2.0, (minLon + maxLon) / 2.0, interactionRadius);
+    }
+
+    /**
+     * Referans nokta etrafında izdüşülen hash grid
+     * @param referenceLat Yerel izdüşüm referans enlemi
+     * @param referenceLon Yerel izdüşüm referans boylamı
+     * @param interactionRadius Tipik sorgu yarıçapı (metre, ör. çarpışma kontrol yarıçapı)
+     */
+    public HashGridIndex(double referenceLat, double referenceLon, double interactionRadius) {
+        if (interactionRadius <= 0) {
+            throw new IllegalArgumentException("Interaction radius must be positive");
+        }
+        this.projection = new LocalProjection(referenceLat, referenceLon);
+        this.interactionRadius = interactionRadius;
+        this.cellSize = interactionRadius;
+        this.slotById = new HashMap<>();
+        allocateTable(INITIAL_TABLE_CAPACITY);
+        allocateSlots(INITIAL_SLOT_CAPACITY);
+    }
+
+    @Override
+    public synchronized void insert(Vehicle vehicle) {
+        if (vehicle == null) {
+            throw new IllegalArgumentException("Vehicle cannot be null");
+        }
+        if (vehicle.getPosition() == null) {
+            throw new IllegalArgumentException("Vehicle position cannot be null");
+        }
+
+        Integer existing = slotById.get(vehicle.getId());
+        if (existing != null) {
+            slotVehicles[existing] = vehicle;
+            moveSlot(existing, vehicle.getPosition());
+            return;
+        }
+
+        int slot = acquireSlot();
+        slotVehicles[slot] = vehicle;
+        slotById.put(vehicle.getId(), slot);
+        placeSlot(slot, cellKey(vehicle.getPosition()));
+        afterStructuralChange();
+    }
+
+    @Override
+    public synchronized boolean remove(Vehicle vehicle) {
+        if (vehicle == null) {
+            throw new IllegalArgumentException("Vehicle cannot be null");
+        }
+        Integer slot = slotById.remove(vehicle.getId());
+        if (slot == null) {
+            return false;
+        }
+        removeFromCell(slot);
+        slotVehicles[slot] = null;
+        freeSlots[freeSlotCount++] = slot;
+        return true;
+    }
+
+    @Override
+    public synchronized void update(Vehicle vehicle) {
+        if (vehicle == null) {
+            throw new IllegalArgumentException("Vehicle cannot be null");
+        }
+        Integer slot = slotById.get(vehicle.getId());
+        if (slot == null) {
+            if (vehicle.getPosition() != null) {
+                insert(vehicle);
+            }
+            return;
+        }
+        if (vehicle.getPosition() == null) {
+            remove(vehicle);
+            return;
+        }
+        slotVehicles[slot] = vehicle;
+        moveSlot(slot, vehicle.getPosition());
+    }
+
+    @Override
+    public synchronized List<Vehicle> query(Position center, double radius) {
+        List<Vehicle> result = new ArrayList<>();
+        if (center == null || radius < 0 || slotById.isEmpty()) {
+            return result;
+        }
+
+        double cx = projection.toX(center.getLongitude());
+        double cy = projection.toY(center.getLatitude());
+        double reach = radius * QUERY_MARGIN + 1.0;
+        long minCellX = (long) Math.floor((cx - reach) / cellSize);
+        long maxCellX = (long) Math.floor((cx + reach) / cellSize);
+        long minCellY = (long) Math.floor((cy - reach) / cellSize);
+        long maxCellY = (long) Math.floor((cy + reach) / cellSize);
+
+        long cellsInRange = (maxCellX - minCellX + 1) * (maxCellY - minCellY + 1);
+        if (cellsInRange > nonEmptyCells) {
+            // Large radius: scanning occupied cells is cheaper than probing empty ones
+            for (int i = 0; i < cellKeys.length; i++) {
+                if (cellKeys[i] != EMPTY_KEY && cellCounts[i] > 0) {
+                    long cellX = GeoUtils.cellX(cellKeys[i]);
+                    long cellY = GeoUtils.cellY(cellKeys[i]);
+                    if (cellX >= minCellX && cellX <= maxCellX && cellY >= minCellY && cellY <= maxCellY) {
+                        collect(i, center, radius, result);
+                    }
+                }
+            }
+            return result;
+        }
+
+        for (long x = minCellX; x <= maxCellX; x++) {
+            for (long y = minCellY; y <= maxCellY; y++) {
+                int index = findCell(GeoUtils.packKey(x, y));
+                if (index >= 0) {
+                    collect(index, center, radius, result);
+                }
+            }
+        }
+        return result;
+    }
+
+    @Override
+    public synchronized void clear() {
+        slotById.clear();
+        allocateTable(INITIAL_TABLE_CAPACITY);
+        allocateSlots(INITIAL_SLOT_CAPACITY);
+        cellSize = interactionRadius;
+        opsSinceRetune = 0;
+    }
+
+    @Override
+    public synchronized int size() {
+        return slotById.size();
+    }
+
+    /**
+     * Güncel hücre kenar uzunluğu (metre)
+     */
+    public synchronized double getCellSize() {
+        return cellSize;
+    }
+
+    /**
+     * En az bir araç içeren hücre sayısı
+     */
+    public synchronized int getOccupiedCellCount() {
+        return nonEmptyCells;
+    }
+
+    /**
+     * Hücre boyunun ayarlandığı etkileşim yarıçapı (metre)
+     */
+    public double getInteractionRadius() {
+        return interactionRadius;
+    }
+
+    /**
+     * Hücre boyunu güncel yoğunluğa göre hemen yeniden değerlendirir
+     * (normalde birkaç yüz yapısal işlemde bir yapılır)
+     */
+    public synchronized void retune() {
+        opsSinceRetune = 0;
+        if (nonEmptyCells == 0) {
+            return;
+        }
+        double meanOccupancy = (double) slotById.size() / nonEmptyCells;
+        double newCellSize = cellSize;
+        double minCellSize = interactionRadius * MIN_CELL_FRACTION;
+        while (meanOccupancy > MAX_MEAN_OCCUPANCY && newCellSize / 2.0 >= minCellSize) {
+            newCellSize /= 2.0;
+            meanOccupancy /= 4.0; // assumes roughly uniform local density
+        }
+        while (meanOccupancy < MIN_MEAN_OCCUPANCY && newCellSize * 2.0 <= interactionRadius) {
+            newCellSize *= 2.0;
+            meanOccupancy *= 4.0;
+        }
+        if (newCellSize != cellSize) {
+            cellSize = newCellSize;
+            rebuild(cellKeys.length);
+        }
+    }
+
+    private void collect(int cellIndex, Position center, double radius, List<Vehicle> result) {
+        int[] members = cellMembers[cellIndex];
+        int count = cellCounts[cellIndex];
+        for (int i = 0; i < count; i++) {
+            Vehicle vehicle = slotVehicles[members[i]];
+            if (vehicle.getPosition() != null
+                    && vehicle.getPosition().horizontalDistanceTo(center) <= radius) {
+                result.add(vehicle);
+            }
+        }
+    }
+
+    private void moveSlot(int slot, Position position) {
+        long newKey = cellKey(position);
+        if (cellKeys[slotCell[slot]] == newKey) {
+            return; // same cell, nothing to do
+        }
+        removeFromCell(slot);
+        placeSlot(slot, newKey);
+        afterStructuralChange();
+    }
+
+    private void addToCell(int slot, int cellIndex) {
+        int count = cellCounts[cellIndex];
+        int[] members = cellMembers[cellIndex];
+        if (members == null) {
+            members = new int[INITIAL_BUCKET_CAPACITY];
+            cellMembers[cellIndex] = members;
+        } else if (count == members.length) {
+            members = Arrays.copyOf(members, count * 2);
+            cellMembers[cellIndex] = members;
+        }
+        members[count] = slot;
+        cellCounts[cellIndex] = count + 1;
+        if (count == 0) {
+            nonEmptyCells++;
+        }
+        slotCell[slot] = cellIndex;
+        slotOffset[slot] = count;
+    }
+
+    private void removeFromCell(int slot) {
+        int cellIndex = slotCell[slot];
+        int offset = slotOffset[slot];
+        int[] members = cellMembers[cellIndex];
+        int last = cellCounts[cellIndex] - 1;
+        if (offset != last) {
+            int movedSlot = members[last];
+            members[offset] = movedSlot;
+            slotOffset[movedSlot] = offset;
+        }
+        cellCounts[cellIndex] = last;
+        if (last == 0) {
+            nonEmptyCells--;
+        }
+    }
+
+    private void afterStructuralChange() {
+        if (++opsSinceRetune >= RETUNE_INTERVAL) {
+            retune();
+        }
+    }
+
+    /**
+     * Aracı zaten kayıtlı slotu anahtarın hücresine ekler, hücre yoksa açar
+     */
+    private void placeSlot(int slot, long key) {
+        int index = findCell(key);
+        if (index >= 0) {
+            addToCell(slot, index);
+            return;
+        }
+        if ((usedCells + 1) * 2 > cellKeys.length) {
+            // Grow, or just compact emptied cells; the rebuild re-adds every
+            // stored vehicle, this slot included
+            int capacity = cellKeys.length;
+            if ((nonEmptyCells + 1) * 4 > capacity) {
+                capacity *= 2;
+            }
+            rebuild(capacity);
+            return;
+        }
+        addToCell(slot, claimCell(key));
+    }
+
+    private int findCell(long key) {
+        int mask = cellKeys.length - 1;
+        int i = mix(key) & mask;
+        while (cellKeys[i] != EMPTY_KEY) {
+            if (cellKeys[i] == key) {
+                return i;
+            }
+            i = (i + 1) & mask;
+        }
+        return -1;
+    }
+
+    private int claimCell(long key) {
+        int mask = cellKeys.length - 1;
+        int i = mix(key) & mask;
+        while (cellKeys[i] != EMPTY_KEY) {
+            i = (i + 1) & mask;
+        }
+        cellKeys[i] = key;
+        cellCounts[i] = 0;
+        usedCells++;
+        return i;
+    }
+
+    /**
+     * Hücre tablosunu güncel boyla yeniden kurar, boşalan hücreleri atar
+     */
+    private void rebuild(int capacity) {
+        // Every vehicle may land in its own cell, keep the load factor at or below 1/2
+        while (capacity < (slotById.size() + 1) * 2) {
+            capacity *= 2;
+        }
+        allocateTable(capacity);
+        for (int slot = 0; slot < slotHighWater; slot++) {
+            Vehicle vehicle = slotVehicles[slot];
+            if (vehicle != null) {
+                long key = cellKey(vehicle.getPosition());
+                int index = findCell(key);
+                addToCell(slot, index >= 0 ? index : claimCell(key));
+            }
+        }
+    }
+
+    private void allocateTable(int capacity) {
+        cellKeys = new long[capacity];
+        Arrays.fill(cellKeys, EMPTY_KEY);
+        cellMembers = new int[capacity][];
+        cellCounts = new int[capacity];
+        usedCells = 0;
+        nonEmptyCells = 0;
+    }
+
+    private void allocateSlots(int capacity) {
+        slotVehicles = new Vehicle[capacity];
+        slotCell = new int[capacity];
+        slotOffset = new int[capacity];
+        freeSlots = new int[capacity];
+        freeSlotCount = 0;
+        slotHighWater = 0;
+    }
+
+    private int acquireSlot() {
+        if (freeSlotCount > 0) {
+            return freeSlots[--freeSlotCount];
+        }
+        if (slotHighWater == slotVehicles.length) {
+            int capacity = slotVehicles.length * 2;
+            slotVehicles = Arrays.copyOf(slotVehicles, capacity);
+            slotCell = Arrays.copyOf(slotCell, capacity);
+            slotOffset = Arrays.copyOf(slotOffset, capacity);
+            freeSlots = Arrays.copyOf(freeSlots, capacity);
+        }
+        return slotHighWater++;
+    }
+
+    private long cellKey(Position position) {
+        long cellX = (long) Math.floor(projection.toX(position.getLongitude()) / cellSize);
+        long cellY = (long) Math.floor(projection.toY(position.getLatitude()) / cellSize);
+        return GeoUtils.packKey(cellX, cellY);
+    }
+
+    private static int mix(long key) {
+        long h = key * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32));
+    }
+}
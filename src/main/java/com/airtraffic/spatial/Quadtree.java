@@ -15,7 +15,7 @@ import java.util.List;
  * The quadtree divides the 2D space into four quadrants recursively until
  * each quadrant contains a maximum number of vehicles (default: 10).
  */
-public class Quadtree {
+public class Quadtree implements SpatialIndex {
     
     private static final int DEFAULT_CAPACITY = 10;
     private static final int MAX_DEPTH = 20; // Prevent infinite recursion
@@ -68,6 +68,7 @@ public class Quadtree {
      * @param vehicle Vehicle to insert
      * @throws IllegalArgumentException if vehicle is null or has null position
      */
+    @Override
     public void insert(Vehicle vehicle) {
         if (vehicle == null) {
             throw new IllegalArgumentException("Vehicle cannot be null");
@@ -99,6 +100,7 @@ public class Quadtree {
      * @param radius Radius in meters
      * @return List of vehicles within the radius
      */
+    @Override
     public List<Vehicle> query(Position center, double radius) {
         List<Vehicle> result = new ArrayList<>();
         query(center, radius, result);
@@ -139,6 +141,7 @@ public class Quadtree {
      * @param vehicle Vehicle to remove
      * @return true if vehicle was found and removed
      */
+    @Override
     public boolean remove(Vehicle vehicle) {
         if (vehicle == null) {
             throw new IllegalArgumentException("Vehicle cannot be null");
@@ -171,6 +174,7 @@ public class Quadtree {
      * This is equivalent to remove + insert
      * @param vehicle Vehicle with updated position
      */
+    @Override
     public void update(Vehicle vehicle) {
         remove(vehicle);
         insert(vehicle);
@@ -179,6 +183,7 @@ public class Quadtree {
     /**
      * Clear all vehicles from the quadtree
      */
+    @Override
     public void clear() {
         vehicles.clear();
         if (isDivided) {
@@ -193,6 +198,7 @@ public class Quadtree {
      * Get the total number of vehicles in the quadtree
      * @return Total vehicle count
      */
+    @Override
     public int size() {
         int count = vehicles.size();
         if (isDivided) {
@@ -0,0 +1,52 @@
+package com.airtraffic.spatial;
+
+import com.airtraffic.model.Position;
+import com.airtraffic.model.Vehicle;
+
+import java.util.List;
+
+/**
+ * Araç spatial index'leri için ortak sözleşme
+ * {@link Quadtree} (uyarlamalı bölme, yoğun kümelenmiş trafik için) ve
+ * {@link HashGridIndex} (sabit etkileşim yarıçapında güncellemesi en ucuz hash grid)
+ */
+public interface SpatialIndex {
+
+    /**
+     * Aracı indekse ekler
+     * @param vehicle Eklenecek araç
+     * @throws IllegalArgumentException Araç veya konumu null ise
+     */
+    void insert(Vehicle vehicle);
+
+    /**
+     * Aracı indeksten çıkarır
+     * @param vehicle Çıkarılacak araç
+     * @return Araç bulunup çıkarıldıysa true
+     */
+    boolean remove(Vehicle vehicle);
+
+    /**
+     * Aracın indeksteki konumunu günceller
+     * @param vehicle Konumu güncellenmiş araç
+     */
+    void update(Vehicle vehicle);
+
+    /**
+     * Merkez etrafında yarıçap içindeki araçları sorgular
+     * @param center Merkez konum
+     * @param radius Yarıçap (metre)
+     * @return Yarıçap içindeki araçlar
+     */
+    List<Vehicle> query(Position center, double radius);
+
+    /**
+     * İndeksteki tüm araçları temizler
+     */
+    void clear();
+
+    /**
+     * İndeksteki toplam araç sayısı
+     */
+    int size();
+}
@@ -0,0 +1,28 @@
+package com.airtraffic.spatial;
+
+import java.util.Locale;
+
+/**
+ * Araç spatial index implementasyonunu seçer
+ */
+public enum SpatialIndexType {
+    QUADTREE,   // Adaptive subdivision, suits strongly clustered traffic
+    HASH_GRID;  // Uniform hash grid, cheapest updates for a fixed interaction radius
+
+    /**
+     * Konfigürasyon değerinden tipi çözer (büyük/küçük harf duyarsız)
+     * @param value Konfigürasyon değeri (örn. "hash_grid")
+     * @param defaultType Değer boş veya tanınmıyorsa kullanılacak tip
+     * @return Çözülen tip
+     */
+    public static SpatialIndexType fromConfig(String value, SpatialIndexType defaultType) {
+        if (value == null || value.trim().isEmpty()) {
+            return defaultType;
+        }
+        try {
+            return SpatialIndexType.valueOf(value.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            return defaultType;
+        }
+    }
+}
@@ -0,0 +1,375 @@
+package com.airtraffic.standards;
+
+import com.airtraffic.map.CityMap;
+import com.airtraffic.map.RestrictedZone;
+import com.airtraffic.model.Position;
+import com.airtraffic.model.Vehicle;
+import com.airtraffic.util.GeoUtils;
+import com.airtraffic.util.LocalProjection;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * CPU bütçeli arka plan ICAO uyumluluk izlemesi
+ *
+ * Düşük öncelikli tek daemon thread periyodik uyanır ve bütçe yettiği kadar
+ * araç için {@link ICAOStandardsCompliance#checkFlightRulesCompliance} ve
+ * {@link ICAOStandardsCompliance#validateCommunicationRequirements} çalıştırır;
+ * geçiş başına alınan filo kopyası üzerinde kaldığı yerden devam eder.
+ *
+ * Yoğun hücrelerdeki veya yasak bölgeye yakın araçlar ayrı bir öncelik
+ * turuyla daha sık örneklenir. Sonuçlar saniyelik kovalarda toplanıp son
+ * {@code windowSeconds} için kayan uyumluluk oranı olarak yayınlanır.
+ */
+public class ContinuousComplianceAuditor {
+
+    private static final long DEFAULT_PERIOD_MILLIS = 100;
+    private static final long DEFAULT_BUDGET_MILLIS_PER_SECOND = 50;  // %5 CPU
+    private static final int DEFAULT_WINDOW_SECONDS = 60;
+    private static final double DENSE_CELL_SIZE = 500.0;    // metre, çarpışma kontrol yarıçapı
+    private static final int DENSE_CELL_THRESHOLD = 8;      // hücre başına araç
+    private static final double ZONE_MARGIN = 500.0;        // metre
+    private static final double PRIORITY_SHARE = 0.5;       // kontrollerin öncelikli araçlara ayrılan payı
+
+    private final ICAOStandardsCompliance compliance;
+    private final Supplier<? extends Collection<Vehicle>> fleetSupplier;
+    private final Supplier<CityMap> cityMapSupplier;
+    private final Supplier<List<Position>> stationSupplier;
+    private final long periodMillis;
+    private final long budgetNanosPerRun;
+    private final int windowSeconds;
+    private final ThreadMXBean threadBean;
+
+    // Yalnızca denetim thread'i (veya runOnce çağıranı) yazar
+    private List<Vehicle> pass = Collections.emptyList();
+    private List<Vehicle> priority = Collections.emptyList();
+    private int passCursor;
+    private int priorityCursor;
+    private double priorityCredit;
+    private CityMap passCityMap;
+    private List<Position> passStations = Collections.emptyList();
+
+    private final long[] bucketSecond;
+    private final long[] bucketChecks;
+    private final long[] bucketFlightViolations;
+    private final long[] bucketCommFailures;
+    private long totalChecks;
+    private long totalPriorityChecks;
+    private long completedPasses;
+
+    private ScheduledExecutorService executor;
+
+    /**
+     * 100 ms periyot, saniyede 50 ms CPU ve 60 sn pencereli denetçi
+     */
+    public ContinuousComplianceAuditor(ICAOStandardsCompliance compliance,
+                                       Supplier<? extends Collection<Vehicle>> fleetSupplier,
+                                       Supplier<CityMap> cityMapSupplier,
+                                       Supplier<List<Position>> stationSupplier) {
+        this(compliance, fleetSupplier, cityMapSupplier, stationSupplier,
+             DEFAULT_PERIOD_MILLIS, DEFAULT_BUDGET_MILLIS_PER_SECOND, DEFAULT_WINDOW_SECONDS);
+    }
+
+    /**
+     * @param compliance Uyumluluk denetleyicisi
+     * @param fleetSupplier Güncel filo (geçiş başına bir kez okunur)
+     * @param cityMapSupplier Güncel şehir haritası (null verebilir)
+     * @param stationSupplier Güncel baz istasyonu konumları
+     * @param periodMillis Çalışmalar arası süre
+     * @param budgetMillisPerSecond Saniye başına kullanılabilecek CPU süresi
+     * @param windowSeconds Kayan metrik penceresinin uzunluğu
+     */
+    public ContinuousComplianceAuditor(ICAOStandardsCompliance compliance,
+                                       Supplier<? extends Collection<Vehicle>> fleetSupplier,
+                                       Supplier<CityMap> cityMapSupplier,
+                                       Supplier<List<Position>> stationSupplier,
+                                       long periodMillis, long budgetMillisPerSecond, int windowSeconds) {
+        if (compliance == null || fleetSupplier == null || cityMapSupplier == null || stationSupplier == null) {
+            throw new IllegalArgumentException("Compliance checker and suppliers cannot be null");
+        }
+        if (periodMillis <= 0 || budgetMillisPerSecond <= 0 || budgetMillisPerSecond > 1000) {
+            throw new IllegalArgumentException("Period must be positive and budget in (0, 1000] ms per second");
+        }
+        if (windowSeconds <= 0) {
+            throw new IllegalArgumentException("Window must be positive");
+        }
+        this.compliance = compliance;
+        this.fleetSupplier = fleetSupplier;
+        this.cityMapSupplier = cityMapSupplier;
+        this.stationSupplier = stationSupplier;
+        this.periodMillis = periodMillis;
+        this.budgetNanosPerRun = budgetMillisPerSecond * periodMillis * 1000L;
+        this.windowSeconds = windowSeconds;
+        this.bucketSecond = new long[windowSeconds];
+        this.bucketChecks = new long[windowSeconds];
+        this.bucketFlightViolations = new long[windowSeconds];
+        this.bucketCommFailures = new long[windowSeconds];
+        ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+        this.threadBean = bean.isCurrentThreadCpuTimeSupported() ? bean : null;
+    }
+
+    /**
+     * Düşük öncelikli daemon thread'de periyodik denetimi başlatır
+     */
+    public synchronized void start() {
+        if (executor != null) {
+            return;
+        }
+        executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "compliance-auditor");
+            thread.setDaemon(true);
+            thread.setPriority(Thread.MIN_PRIORITY);
+            return thread;
+        });
+        executor.scheduleWithFixedDelay(() -> {
+            try {
+                runOnce(budgetNanosPerRun);
+            } catch (RuntimeException e) {
+                // Denetim hatası zamanlayıcıyı durdurmamalı
+                System.err.println("Compliance audit run failed: " + e.getMessage());
+            }
+        }, periodMillis, periodMillis, TimeUnit.MILLISECONDS);
+    }
+
+    public synchronized void stop() {
+        if (executor != null) {
+            executor.shutdownNow();
+            executor = null;
+        }
+    }
+
+    public synchronized boolean isRunning() {
+        return executor != null;
+    }
+
+    /**
+     * CPU bütçesi bitene veya geçiş tamamlanana kadar araçları denetler
+     * @param budgetNanos Bu çalışmanın CPU bütçesi
+     * @return Denetlenen araç sayısı
+     */
+    public synchronized int runOnce(long budgetNanos) {
+        long start = cpuTime();
+        int checked = 0;
+        if (passCursor >= pass.size()) {
+            if (!pass.isEmpty()) {
+                completedPasses++;
+            }
+            beginPass();
+            if (pass.isEmpty()) {
+                return 0;
+            }
+        }
+        while (cpuTime() - start < budgetNanos) {
+            Vehicle next = nextVehicle();
+            if (next == null) {
+                break;
+            }
+            audit(next);
+            checked++;
+        }
+        return checked;
+    }
+
+    private Vehicle nextVehicle() {
+        if (!priority.isEmpty()) {
+            priorityCredit += PRIORITY_SHARE;
+            if (priorityCredit >= 1.0) {
+                priorityCredit -= 1.0;
+                Vehicle vehicle = priority.get(priorityCursor);
+                priorityCursor = (priorityCursor + 1) % priority.size();
+                totalPriorityChecks++;
+                return vehicle;
+            }
+        }
+        if (passCursor >= pass.size()) {
+            return null; // Tur bitti; sonraki çalıştırma yeni snapshot alır
+        }
+        return pass.get(passCursor++);
+    }
+
+    private void audit(Vehicle vehicle) {
+        ComplianceResult rules = compliance.checkFlightRulesCompliance(vehicle, passCityMap);
+        boolean communicates = compliance.validateCommunicationRequirements(vehicle, passStations);
+
+        long second = System.currentTimeMillis() / 1000;
+        int b = (int) (second % windowSeconds);
+        if (bucketSecond[b] != second) {
+            bucketSecond[b] = second;
+            bucketChecks[b] = 0;
+            bucketFlightViolations[b] = 0;
+            bucketCommFailures[b] = 0;
+        }
+        bucketChecks[b]++;
+        if (!rules.isCompliant()) {
+            bucketFlightViolations[b]++;
+        }
+        if (!communicates) {
+            bucketCommFailures[b]++;
+        }
+        totalChecks++;
+    }
+
+    /**
+     * Yeni geçiş için filo kopyası alır ve öncelikli araçları seçer
+     */
+    private void beginPass() {
+        Collection<Vehicle> fleet = fleetSupplier.get();
+        List<Vehicle> snapshot = new ArrayList<>(fleet != null ? fleet.size() : 0);
+        if (fleet != null) {
+            for (Vehicle vehicle : fleet) {
+                if (vehicle != null && vehicle.getPosition() != null) {
+                    snapshot.add(vehicle);
+                }
+            }
+        }
+        pass = snapshot;
+        passCursor = 0;
+        passCityMap = cityMapSupplier.get();
+        List<Position> stations = stationSupplier.get();
+        passStations = stations != null ? stations : Collections.emptyList();
+        priority = selectPriorityVehicles(snapshot, passCityMap);
+        priorityCursor = 0;
+        priorityCredit = 0.0;
+    }
+
+    private List<Vehicle> selectPriorityVehicles(List<Vehicle> vehicles, CityMap cityMap) {
+        if (vehicles.isEmpty()) {
+            return Collections.emptyList();
+        }
+        Position reference = vehicles.get(0).getPosition();
+        LocalProjection projection = new LocalProjection(reference.getLatitude(), reference.getLongitude());
+
+        Map<Long, Integer> cellCounts = new HashMap<>();
+        long[] cells = new long[vehicles.size()];
+        for (int i = 0; i < cells.length; i++) {
+            Position p = vehicles.get(i).getPosition();
+            long cx = (long) Math.floor(projection.toX(p.getLongitude()) / DENSE_CELL_SIZE);
+            long cy = (long) Math.floor(projection.toY(p.getLatitude()) / DENSE_CELL_SIZE);
+            cells[i] = GeoUtils.packKey(cx, cy);
+            cellCounts.merge(cells[i], 1, Integer::sum);
+        }
+
+        // Yasak bölge sınır kutuları (derece), kenar payı ile genişletilmiş
+        List<double[]> zoneBoxes = new ArrayList<>();
+        if (cityMap != null && cityMap.getRestrictedZones() != null) {
+            double latMargin = ZONE_MARGIN / GeoUtils.METERS_PER_DEGREE_LAT;
+            double lonMargin = ZONE_MARGIN / projection.getMetersPerDegreeLon();
+            for (RestrictedZone zone : cityMap.getRestrictedZones()) {
+                double[] box = boundingBox(zone);
+                if (box != null) {
+                    zoneBoxes.add(new double[] {box[0] - latMargin, box[1] + latMargin,
+                                                box[2] - lonMargin, box[3] + lonMargin});
+                }
+            }
+        }
+
+        List<Vehicle> selected = new ArrayList<>();
+        for (int i = 0; i < cells.length; i++) {
+            Vehicle vehicle = vehicles.get(i);
+            if (cellCounts.get(cells[i]) >= DENSE_CELL_THRESHOLD || nearZone(vehicle.getPosition(), zoneBoxes)) {
+                selected.add(vehicle);
+            }
+        }
+        return selected;
+    }
+
+    private static double[] boundingBox(RestrictedZone zone) {
+        List<Position> boundary = zone.getBoundaries();
+        if (boundary == null || boundary.isEmpty()) {
+            return null;
+        }
+        double minLat = Double.MAX_VALUE, maxLat = -Double.MAX_VALUE;
+        double minLon = Double.MAX_VALUE, maxLon = -Double.MAX_VALUE;
+        for (Position p : boundary) {
+            minLat = Math.min(minLat, p.getLatitude());
+            maxLat = Math.max(maxLat, p.getLatitude());
+            minLon = Math.min(minLon, p.getLongitude());
+            maxLon = Math.max(maxLon, p.getLongitude());
+        }
+        return new double[] {minLat, maxLat, minLon, maxLon};
+    }
+
+    private static boolean nearZone(Position position, List<double[]> zoneBoxes) {
+        for (double[] box : zoneBoxes) {
+            if (position.getLatitude() >= box[0] && position.getLatitude() <= box[1]
+                    && position.getLongitude() >= box[2] && position.getLongitude() <= box[3]) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private long cpuTime() {
+        return threadBean != null ? threadBean.getCurrentThreadCpuTime() : System.nanoTime();
+    }
+
+    // Rolling metrics over the last windowSeconds
+
+    private long windowSum(long[] values) {
+        long oldest = System.currentTimeMillis() / 1000 - windowSeconds + 1;
+        long sum = 0;
+        for (int i = 0; i < windowSeconds; i++) {
+            if (bucketSecond[i] >= oldest) {
+                sum += values[i];
+            }
+        }
+        return sum;
+    }
+
+    /**
+     * Kayan pencerede denetlenen araç sayısı
+     */
+    public synchronized long getWindowCheckCount() {
+        return windowSum(bucketChecks);
+    }
+
+    /**
+     * Penceredeki uçuş kuralı kontrollerinin başarı oranı (kontrol yoksa 1.0)
+     */
+    public synchronized double getFlightRulesComplianceRate() {
+        long checks = windowSum(bucketChecks);
+        return checks > 0 ? 1.0 - (double) windowSum(bucketFlightViolations) / checks : 1.0;
+    }
+
+    /**
+     * Penceredeki iletişim menzili kontrollerinin başarı oranı (kontrol yoksa 1.0)
+     */
+    public synchronized double getCommunicationComplianceRate() {
+        long checks = windowSum(bucketChecks);
+        return checks > 0 ? 1.0 - (double) windowSum(bucketCommFailures) / checks : 1.0;
+    }
+
+    public synchronized long getTotalCheckCount() {
+        return totalChecks;
+    }
+
+    /**
+     * Yoğun hücre veya bölgeye yakın araçlara harcanan kontrol sayısı
+     */
+    public synchronized long getPriorityCheckCount() {
+        return totalPriorityChecks;
+    }
+
+    public synchronized int getPriorityVehicleCount() {
+        return priority.size();
+    }
+
+    public synchronized long getCompletedPassCount() {
+        return completedPasses;
+    }
+
+    public long getBudgetNanosPerRun() {
+        return budgetNanosPerRun;
+    }
+}
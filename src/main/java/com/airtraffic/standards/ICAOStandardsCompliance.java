@@ -7,6 +7,7 @@ import com.airtraffic.model.Position;
 import com.airtraffic.model.Vehicle;
 import com.airtraffic.model.VehicleStatus;
 
+import java.util.Collection;
 import java.util.List;
 
 /**
@@ -245,6 +246,24 @@ public class ICAOStandardsCompliance {
         return results;
     }
     
+    /**
+     * Ayrım zarfı içindeki araç çiftlerini grid üzerinden paralel denetler
+     * Yalnızca uyumsuz çiftler için sonuç üretilir ve sink'e aktarılır
+     *
+     * Not: {@link #checkAllSeparationStandards(List)}'ten daha dar bir kuraldır.
+     * Yatay mesafesi minimumun (50 m) altında olmayan çiftler uyumlu sayılır;
+     * checkSeparationStandards bu çiftler için tek başına dikey ihlal raporlasa da
+     * bu denetim onları hiç incelemez. Zarf içindeki çiftler checkSeparationStandards
+     * ile aynı sonucu alır (dikey ihlaller dahil).
+     * @param vehicles Araç listesi
+     * @param cityMap Şehir haritası (yükseklik katmanı kontrolü için, opsiyonel)
+     * @param sink Uyumsuz çiftlerin alıcısı (thread-safe olmalı)
+     * @return Uyumsuz çift sayısı
+     */
+    public long auditSeparation(Collection<Vehicle> vehicles, CityMap cityMap, SeparationViolationSink sink) {
+        return new SeparationAudit(this).run(vehicles, cityMap, sink);
+    }
+    
     /**
      * Minimum separation değerlerini döndürür
      */
@@ -0,0 +1,207 @@
+package com.airtraffic.standards;
+
+import com.airtraffic.map.CityMap;
+import com.airtraffic.model.Position;
+import com.airtraffic.model.Vehicle;
+import com.airtraffic.util.GeoUtils;
+import com.airtraffic.util.LocalProjection;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Tüm filo için grid tabanlı separation denetimi
+ * Hücre boyu yatay minimum kadardır; her hücre kendisi ve dört "ileri" komşusu
+ * ile karşılaştırılır. Hücreler fork-join havuzunda paralel işlenir, yalnızca
+ * uyumsuz çiftler {@link SeparationViolationSink}'e aktarılır.
+ *
+ * Yatay minimumdan uzak çiftler incelenmez ve irtifadan bağımsız uyumlu sayılır;
+ * bu, dikey ihlalleri de raporlayan
+ * {@link ICAOStandardsCompliance#checkAllSeparationStandards}'tan daha dar bir kuraldır.
+ */
+public class SeparationAudit {
+
+    private static final double PROJECTION_SLACK = 1.01;  // projeksiyon vs. haversine payı
+    private static final int PARALLEL_THRESHOLD = 512;    // altında sıralı çalışır
+    private static final int CELLS_PER_TASK = 64;
+    // Yarım komşuluk: her komşu hücre çifti bir kez ziyaret edilir
+    private static final int[][] FORWARD_NEIGHBOURS = {{1, -1}, {1, 0}, {1, 1}, {0, 1}};
+
+    private final ICAOStandardsCompliance compliance;
+    private final ForkJoinPool pool;
+    private final double envelope;
+
+    public SeparationAudit(ICAOStandardsCompliance compliance) {
+        this(compliance, ForkJoinPool.commonPool());
+    }
+
+    public SeparationAudit(ICAOStandardsCompliance compliance, ForkJoinPool pool) {
+        if (compliance == null || pool == null) {
+            throw new IllegalArgumentException("Compliance checker and pool cannot be null");
+        }
+        this.compliance = compliance;
+        this.pool = pool;
+        this.envelope = ICAOStandardsCompliance.getMinHorizontalSeparation();
+    }
+
+    /**
+     * Ayrım zarfı içindeki tüm çiftleri denetler
+     * @param vehicles Denetlenecek filo (konumsuz araçlar atlanır)
+     * @param cityMap Şehir haritası (yükseklik katmanı kontrolü için, opsiyonel)
+     * @param sink Uyumsuz çiftlerin alıcısı
+     * @return Uyumsuz çift sayısı
+     */
+    public long run(Collection<Vehicle> vehicles, CityMap cityMap, SeparationViolationSink sink) {
+        if (sink == null) {
+            throw new IllegalArgumentException("Sink cannot be null");
+        }
+        if (vehicles == null || vehicles.size() < 2) {
+            return 0;
+        }
+        Grid grid = new Grid(vehicles, envelope);
+        LongAdder violations = new LongAdder();
+        CellTask task = new CellTask(grid, cityMap, sink, violations, 0, grid.cells.length);
+        if (grid.vehicles.length < PARALLEL_THRESHOLD) {
+            task.compute();
+        } else {
+            pool.invoke(task);
+        }
+        return violations.sum();
+    }
+
+    private void checkCell(Grid grid, Cell cell, CityMap cityMap, SeparationViolationSink sink, LongAdder violations) {
+        int[] members = cell.members;
+        for (int i = 0; i < cell.count; i++) {
+            for (int j = i + 1; j < cell.count; j++) {
+                checkPair(grid, members[i], members[j], cityMap, sink, violations);
+            }
+        }
+        for (int[] offset : FORWARD_NEIGHBOURS) {
+            Cell neighbour = grid.cellByKey.get(GeoUtils.packKey(cell.x + offset[0], cell.y + offset[1]));
+            if (neighbour == null) {
+                continue;
+            }
+            for (int i = 0; i < cell.count; i++) {
+                for (int j = 0; j < neighbour.count; j++) {
+                    checkPair(grid, members[i], neighbour.members[j], cityMap, sink, violations);
+                }
+            }
+        }
+    }
+
+    private void checkPair(Grid grid, int a, int b, CityMap cityMap, SeparationViolationSink sink,
+                           LongAdder violations) {
+        double dx = grid.xs[a] - grid.xs[b];
+        double dy = grid.ys[a] - grid.ys[b];
+        double limit = envelope * PROJECTION_SLACK;
+        if (dx * dx + dy * dy >= limit * limit) {
+            return;
+        }
+        Vehicle v1 = grid.vehicles[a];
+        Vehicle v2 = grid.vehicles[b];
+        // Ön filtre payından geçen çiftler kesin mesafeyle elenir
+        if (v1.getPosition().horizontalDistanceTo(v2.getPosition()) >= envelope) {
+            return;
+        }
+        ComplianceResult result = compliance.checkSeparationStandards(v1, v2, cityMap);
+        if (!result.isCompliant()) {
+            violations.increment();
+            sink.onViolation(v1, v2, result);
+        }
+    }
+
+    private final class CellTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final Grid grid;
+        private final CityMap cityMap;
+        private final SeparationViolationSink sink;
+        private final LongAdder violations;
+        private final int from;
+        private final int to;
+
+        CellTask(Grid grid, CityMap cityMap, SeparationViolationSink sink, LongAdder violations, int from, int to) {
+            this.grid = grid;
+            this.cityMap = cityMap;
+            this.sink = sink;
+            this.violations = violations;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= CELLS_PER_TASK) {
+                for (int i = from; i < to; i++) {
+                    checkCell(grid, grid.cells[i], cityMap, sink, violations);
+                }
+                return;
+            }
+            int mid = (from + to) >>> 1;
+            invokeAll(new CellTask(grid, cityMap, sink, violations, from, mid),
+                      new CellTask(grid, cityMap, sink, violations, mid, to));
+        }
+    }
+
+    /**
+     * Filonun zarf boyutlu hücrelere dağıtılmış değişmez görüntüsü
+     */
+    private static final class Grid {
+        final Vehicle[] vehicles;
+        final double[] xs;
+        final double[] ys;
+        final Cell[] cells;
+        final Map<Long, Cell> cellByKey;
+
+        Grid(Collection<Vehicle> fleet, double cellSize) {
+            int n = 0;
+            Vehicle[] positioned = new Vehicle[fleet.size()];
+            for (Vehicle vehicle : fleet) {
+                if (vehicle != null && vehicle.getPosition() != null && n < positioned.length) {
+                    positioned[n++] = vehicle;
+                }
+            }
+            vehicles = Arrays.copyOf(positioned, n);
+            xs = new double[n];
+            ys = new double[n];
+            cellByKey = new HashMap<>();
+
+            LocalProjection projection = n > 0
+                ? new LocalProjection(vehicles[0].getPosition().getLatitude(), vehicles[0].getPosition().getLongitude())
+                : new LocalProjection(0.0, 0.0);
+            for (int i = 0; i < n; i++) {
+                Position position = vehicles[i].getPosition();
+                xs[i] = projection.toX(position.getLongitude());
+                ys[i] = projection.toY(position.getLatitude());
+                int cx = (int) Math.floor(xs[i] / cellSize);
+                int cy = (int) Math.floor(ys[i] / cellSize);
+                cellByKey.computeIfAbsent(GeoUtils.packKey(cx, cy), k -> new Cell(cx, cy)).add(i);
+            }
+            cells = cellByKey.values().toArray(new Cell[0]);
+        }
+    }
+
+    private static final class Cell {
+        final int x;
+        final int y;
+        int[] members = new int[4];
+        int count;
+
+        Cell(int x, int y) {
+            this.x = x;
+            this.y = y;
+        }
+
+        void add(int index) {
+            if (count == members.length) {
+                members = Arrays.copyOf(members, count * 2);
+            }
+            members[count++] = index;
+        }
+    }
+}
@@ -0,0 +1,18 @@
+package com.airtraffic.standards;
+
+import com.airtraffic.model.Vehicle;
+
+/**
+ * {@link SeparationAudit} tarafından bulunan uyumsuz çiftlerin alıcısı
+ * Fork-join worker thread'lerinden eşzamanlı çağrılır; implementasyon thread-safe olmalı
+ */
+@FunctionalInterface
+public interface SeparationViolationSink {
+
+    /**
+     * @param vehicle1 Çiftin ilk aracı
+     * @param vehicle2 Çiftin ikinci aracı
+     * @param result Çiftin uyumsuz separation sonucu
+     */
+    void onViolation(Vehicle vehicle1, Vehicle vehicle2, ComplianceResult result);
+}
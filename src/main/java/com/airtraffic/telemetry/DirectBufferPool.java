@@ -0,0 +1,61 @@
+package com.airtraffic.telemetry;
+
+import java.nio.ByteBuffer;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+
+/**
+ * Sınırlı direct byte buffer havuzu
+ * Direct buffer'lar soket verisini doğrudan heap dışına alır ama oluşturması
+ * pahalıdır; havuz bağlantılar arasında yeniden kullanır. Havuz boşsa yeni
+ * buffer ayrılır, kapasiteyi aşan iadeler GC'ye bırakılır.
+ */
+public class DirectBufferPool {
+
+    private final int bufferSize;
+    private final BlockingQueue<ByteBuffer> buffers;
+
+    /**
+     * @param bufferSize Buffer boyutu (byte)
+     * @param capacity Tutulacak en fazla boşta buffer sayısı
+     */
+    public DirectBufferPool(int bufferSize, int capacity) {
+        if (bufferSize < TelemetryMessage.SIZE) {
+            throw new IllegalArgumentException("Buffer size must hold at least one message");
+        }
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("Capacity must be positive");
+        }
+        this.bufferSize = bufferSize;
+        this.buffers = new ArrayBlockingQueue<>(capacity);
+    }
+
+    /**
+     * Havuzdan temizlenmiş buffer alır (boşsa yeni ayırır)
+     */
+    public ByteBuffer acquire() {
+        ByteBuffer buffer = buffers.poll();
+        if (buffer == null) {
+            buffer = ByteBuffer.allocateDirect(bufferSize);
+        }
+        buffer.clear();
+        return buffer;
+    }
+
+    /**
+     * Buffer'ı havuza iade eder
+     */
+    public void release(ByteBuffer buffer) {
+        if (buffer != null && buffer.isDirect() && buffer.capacity() == bufferSize) {
+            buffers.offer(buffer);
+        }
+    }
+
+    public int getIdleCount() {
+        return buffers.size();
+    }
+
+    public int getBufferSize() {
+        return bufferSize;
+    }
+}
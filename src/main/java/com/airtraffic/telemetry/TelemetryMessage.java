@@ -0,0 +1,160 @@
+package com.airtraffic.telemetry;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Sabit düzenli ikili konum mesajı
+ *
+ * Düzen (big-endian, {@value #SIZE} byte):
+ * <pre>
+ *  offset  size  field
+ *       0     2  magic (0xA7C1)
+ *       2     1  version
+ *       3     1  flags (reserved)
+ *       4     4  sequence       (int, per vehicle, monotonically increasing)
+ *       8     8  vehicleKey     (long)
+ *      16     8  timestampMillis (long, epoch milliseconds UTC)
+ *      24     8  latitude       (double, degrees)
+ *      32     8  longitude      (double, degrees)
+ *      40     4  altitude       (float, meters)
+ *      44     4  velocity       (float, m/s)
+ *      48     4  heading        (float, degrees, 0 = north)
+ * </pre>
+ * Bir datagram veya akışta birden çok mesaj art arda bulunabilir.
+ * Erişimler mutlak offset kullanır; çözme nesne oluşturmaz.
+ */
+public final class TelemetryMessage {
+
+    public static final short MAGIC = (short) 0xA7C1;
+    public static final byte VERSION = 1;
+    public static final int SIZE = 52;
+
+    private static final int OFFSET_MAGIC = 0;
+    private static final int OFFSET_VERSION = 2;
+    private static final int OFFSET_FLAGS = 3;
+    private static final int OFFSET_SEQUENCE = 4;
+    private static final int OFFSET_VEHICLE_KEY = 8;
+    private static final int OFFSET_TIMESTAMP = 16;
+    private static final int OFFSET_LATITUDE = 24;
+    private static final int OFFSET_LONGITUDE = 32;
+    private static final int OFFSET_ALTITUDE = 40;
+    private static final int OFFSET_VELOCITY = 44;
+    private static final int OFFSET_HEADING = 48;
+
+    private TelemetryMessage() {
+    }
+
+    /**
+     * Buffer konumuna tek mesaj ekler
+     * @throws java.nio.BufferOverflowException {@link #SIZE} byte'tan az yer kaldıysa
+     */
+    public static void encode(ByteBuffer buffer, long vehicleKey, int sequence, long timestampMillis,
+                              double latitude, double longitude, double altitude,
+                              double velocity, double heading) {
+        buffer.putShort(MAGIC)
+              .put(VERSION)
+              .put((byte) 0)
+              .putInt(sequence)
+              .putLong(vehicleKey)
+              .putLong(timestampMillis)
+              .putDouble(latitude)
+              .putDouble(longitude)
+              .putFloat((float) altitude)
+              .putFloat((float) velocity)
+              .putFloat((float) heading);
+    }
+
+    /**
+     * Offset'te tam ve geçerli bir mesaj başlığı başlıyor mu?
+     */
+    public static boolean isValid(ByteBuffer buffer, int offset) {
+        return offset >= 0 && offset + SIZE <= buffer.limit()
+            && buffer.getShort(offset + OFFSET_MAGIC) == MAGIC
+            && buffer.get(offset + OFFSET_VERSION) == VERSION;
+    }
+
+    /**
+     * Position ile limit arasındaki tüm tam mesajları sink'e çözer
+     * Position tüketilen byte'ların sonuna ilerler, sondaki yarım mesaj yerinde
+     * kalır. Bozuk mesajdan sonra bir sonraki magic/version başlığına
+     * senkronlanılır; akıştaki tek bozuk çerçeve arkasındakileri kaydırmaz.
+     * @return Atlanan bozuk bölge sayısı
+     */
+    public static int decodeAll(ByteBuffer buffer, TelemetrySink sink) {
+        int offset = buffer.position();
+        int limit = buffer.limit();
+        int malformed = 0;
+        while (offset + SIZE <= limit) {
+            if (!isValid(buffer, offset)) {
+                malformed++;
+                offset = resync(buffer, offset + 1, limit);
+                continue;
+            }
+            sink.onPosition(
+                buffer.getLong(offset + OFFSET_VEHICLE_KEY),
+                buffer.getInt(offset + OFFSET_SEQUENCE),
+                buffer.getLong(offset + OFFSET_TIMESTAMP),
+                buffer.getDouble(offset + OFFSET_LATITUDE),
+                buffer.getDouble(offset + OFFSET_LONGITUDE),
+                buffer.getFloat(offset + OFFSET_ALTITUDE),
+                buffer.getFloat(offset + OFFSET_VELOCITY),
+                buffer.getFloat(offset + OFFSET_HEADING));
+            offset += SIZE;
+        }
+        buffer.position(offset);
+        return malformed;
+    }
+
+    /**
+     * from'dan itibaren başlık başlayabilecek ilk offset; limite yakın, başlık
+     * önekine uyan byte'lar sonraki okuma için tutulur
+     */
+    private static int resync(ByteBuffer buffer, int from, int limit) {
+        for (int offset = from; offset < limit; offset++) {
+            if (buffer.get(offset) == (byte) (MAGIC >> 8)
+                    && (offset + 1 >= limit || buffer.get(offset + 1) == (byte) MAGIC)
+                    && (offset + 2 >= limit || buffer.get(offset + OFFSET_VERSION) == VERSION)) {
+                return offset;
+            }
+        }
+        return limit;
+    }
+
+    // Absolute field accessors
+
+    public static byte flags(ByteBuffer buffer, int offset) {
+        return buffer.get(offset + OFFSET_FLAGS);
+    }
+
+    public static int sequence(ByteBuffer buffer, int offset) {
+        return buffer.getInt(offset + OFFSET_SEQUENCE);
+    }
+
+    public static long vehicleKey(ByteBuffer buffer, int offset) {
+        return buffer.getLong(offset + OFFSET_VEHICLE_KEY);
+    }
+
+    public static long timestampMillis(ByteBuffer buffer, int offset) {
+        return buffer.getLong(offset + OFFSET_TIMESTAMP);
+    }
+
+    public static double latitude(ByteBuffer buffer, int offset) {
+        return buffer.getDouble(offset + OFFSET_LATITUDE);
+    }
+
+    public static double longitude(ByteBuffer buffer, int offset) {
+        return buffer.getDouble(offset + OFFSET_LONGITUDE);
+    }
+
+    public static double altitude(ByteBuffer buffer, int offset) {
+        return buffer.getFloat(offset + OFFSET_ALTITUDE);
+    }
+
+    public static double velocity(ByteBuffer buffer, int offset) {
+        return buffer.getFloat(offset + OFFSET_VELOCITY);
+    }
+
+    public static double heading(ByteBuffer buffer, int offset) {
+        return buffer.getFloat(offset + OFFSET_HEADING);
+    }
+}
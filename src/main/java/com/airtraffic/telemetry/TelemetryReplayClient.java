@@ -0,0 +1,119 @@
+package com.airtraffic.telemetry;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.DatagramChannel;
+import java.nio.channels.SocketChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Kayıtlı telemetriyi ayarlanabilir hızda yeniden oynatan test istemcisi
+ * Kayıt art arda {@link TelemetryMessage} çerçeveleridir (ör. dosyaya yazılmış
+ * TCP akışı). Gönderimler {@link System#nanoTime()}'a göre ayarlanır; tek tek
+ * gönderimler dalgalansa da ortalama hız korunur.
+ */
+public class TelemetryReplayClient {
+
+    private static final int MAX_DATAGRAM_MESSAGES = 1200; // ~62 KB, UDP sınırının altında
+
+    private final ByteBuffer recording;
+    private final int messageCount;
+
+    /**
+     * @param recording Art arda mesajlar (position'dan limit'e); buffer değiştirilmez
+     */
+    public TelemetryReplayClient(ByteBuffer recording) {
+        if (recording == null || recording.remaining() % TelemetryMessage.SIZE != 0) {
+            throw new IllegalArgumentException("Recording must contain whole messages");
+        }
+        this.recording = recording.slice().asReadOnlyBuffer();
+        this.messageCount = this.recording.remaining() / TelemetryMessage.SIZE;
+    }
+
+    /**
+     * Kaydı dosyadan yükler
+     */
+    public static TelemetryReplayClient fromFile(Path path) throws IOException {
+        return new TelemetryReplayClient(ByteBuffer.wrap(Files.readAllBytes(path)));
+    }
+
+    /**
+     * UDP üzerinden oynatır
+     * @param target Sunucu adresi
+     * @param messagesPerSecond Hedef hız (0 veya altı = olabildiğince hızlı)
+     * @param messagesPerDatagram Datagram başına mesaj sayısı
+     * @param loops Kaydın kaç kez oynatılacağı
+     * @return Gönderilen mesaj sayısı
+     */
+    public long replayUdp(InetSocketAddress target, int messagesPerSecond, int messagesPerDatagram, int loops)
+            throws IOException {
+        if (messagesPerDatagram <= 0 || messagesPerDatagram > MAX_DATAGRAM_MESSAGES) {
+            throw new IllegalArgumentException("Messages per datagram must be 1.." + MAX_DATAGRAM_MESSAGES);
+        }
+        try (DatagramChannel channel = DatagramChannel.open()) {
+            channel.connect(target);
+            return replay(messagesPerSecond, messagesPerDatagram, loops, channel::write);
+        }
+    }
+
+    /**
+     * Tek TCP bağlantısı üzerinden oynatır
+     * @param target Sunucu adresi
+     * @param messagesPerSecond Hedef hız (0 veya altı = olabildiğince hızlı)
+     * @param messagesPerWrite Write çağrısı başına mesaj sayısı
+     * @param loops Kaydın kaç kez oynatılacağı
+     * @return Gönderilen mesaj sayısı
+     */
+    public long replayTcp(InetSocketAddress target, int messagesPerSecond, int messagesPerWrite, int loops)
+            throws IOException {
+        if (messagesPerWrite <= 0) {
+            throw new IllegalArgumentException("Messages per write must be positive");
+        }
+        try (SocketChannel channel = SocketChannel.open(target)) {
+            return replay(messagesPerSecond, messagesPerWrite, loops, chunk -> {
+                while (chunk.hasRemaining()) {
+                    channel.write(chunk);
+                }
+                return 0;
+            });
+        }
+    }
+
+    private long replay(int messagesPerSecond, int chunkMessages, int loops, ChunkWriter writer)
+            throws IOException {
+        long nanosPerMessage = messagesPerSecond > 0 ? 1_000_000_000L / messagesPerSecond : 0;
+        long start = System.nanoTime();
+        long sent = 0;
+        for (int loop = 0; loop < loops; loop++) {
+            for (int first = 0; first < messageCount; first += chunkMessages) {
+                int count = Math.min(chunkMessages, messageCount - first);
+                ByteBuffer chunk = recording.duplicate();
+                chunk.position(first * TelemetryMessage.SIZE);
+                chunk.limit((first + count) * TelemetryMessage.SIZE);
+                writer.write(chunk);
+                sent += count;
+
+                if (nanosPerMessage > 0) {
+                    long due = start + sent * nanosPerMessage;
+                    long wait;
+                    while ((wait = due - System.nanoTime()) > 0) {
+                        LockSupport.parkNanos(wait);
+                    }
+                }
+            }
+        }
+        return sent;
+    }
+
+    public int getMessageCount() {
+        return messageCount;
+    }
+
+    @FunctionalInterface
+    private interface ChunkWriter {
+        int write(ByteBuffer chunk) throws IOException;
+    }
+}
@@ -0,0 +1,299 @@
+package com.airtraffic.telemetry;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.StandardSocketOptions;
+import java.nio.ByteBuffer;
+import java.nio.channels.DatagramChannel;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.util.Iterator;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * UDP datagram ve TCP akışları için NIO telemetri dinleyicisi
+ * Tek I/O thread'i tüm kanalları bir {@link Selector} üzerinde çoklar. Byte'lar
+ * havuzdaki direct buffer'lara alınıp
+ * {@link TelemetryMessage#decodeAll(ByteBuffer, TelemetrySink)} ile yerinde
+ * çözülür; alım yolunda Position veya String oluşmaz. Her select turundan
+ * sonra {@link TelemetrySink#onBatchEnd()} çağrılır.
+ */
+public class TelemetryServer {
+
+    private static final int UDP_BUFFER_SIZE = 65536;           // en büyük datagram
+    private static final int TCP_BUFFER_SIZE = 64 * TelemetryMessage.SIZE * 16;
+    private static final int POOL_CAPACITY = 256;
+    private static final int SOCKET_RECEIVE_BUFFER = 4 * 1024 * 1024;
+
+    private final TelemetrySink sink;
+    private final InetSocketAddress udpAddress;
+    private final InetSocketAddress tcpAddress;
+    private final DirectBufferPool bufferPool;
+    private final TelemetrySink countingSink;
+    private int decodedInBuffer;  // yalnızca I/O thread
+
+    private Selector selector;
+    private DatagramChannel udpChannel;
+    private ServerSocketChannel tcpChannel;
+    private ByteBuffer udpBuffer;
+    private Thread ioThread;
+    private volatile boolean running;
+
+    private final AtomicLong messagesReceived = new AtomicLong();
+    private final AtomicLong bytesReceived = new AtomicLong();
+    private final AtomicLong malformedCount = new AtomicLong();
+    private final AtomicLong connectionsAccepted = new AtomicLong();
+    private final AtomicLong sinkErrorCount = new AtomicLong();
+
+    /**
+     * @param sink Çözülen mesajların alıcısı
+     * @param udpAddress UDP bağlanma adresi (null = UDP yok, port 0 = geçici port)
+     * @param tcpAddress TCP bağlanma adresi (null = TCP yok, port 0 = geçici port)
+     */
+    public TelemetryServer(TelemetrySink sink, InetSocketAddress udpAddress, InetSocketAddress tcpAddress) {
+        if (sink == null) {
+            throw new IllegalArgumentException("Sink cannot be null");
+        }
+        if (udpAddress == null && tcpAddress == null) {
+            throw new IllegalArgumentException("At least one of UDP or TCP address is required");
+        }
+        this.sink = sink;
+        this.udpAddress = udpAddress;
+        this.tcpAddress = tcpAddress;
+        this.bufferPool = new DirectBufferPool(TCP_BUFFER_SIZE, POOL_CAPACITY);
+        this.countingSink = (key, sequence, timestamp, lat, lon, alt, velocity, heading) -> {
+            decodedInBuffer++;
+            sink.onPosition(key, sequence, timestamp, lat, lon, alt, velocity, heading);
+        };
+    }
+
+    /**
+     * Kanalları bağlar ve I/O thread'ini başlatır
+     */
+    public synchronized void start() throws IOException {
+        if (running) {
+            throw new IllegalStateException("Telemetry server already running");
+        }
+        selector = Selector.open();
+        try {
+            if (udpAddress != null) {
+                udpChannel = DatagramChannel.open();
+                udpChannel.setOption(StandardSocketOptions.SO_RCVBUF, SOCKET_RECEIVE_BUFFER);
+                udpChannel.bind(udpAddress);
+                udpChannel.configureBlocking(false);
+                udpChannel.register(selector, SelectionKey.OP_READ);
+                udpBuffer = ByteBuffer.allocateDirect(UDP_BUFFER_SIZE);
+            }
+            if (tcpAddress != null) {
+                tcpChannel = ServerSocketChannel.open();
+                tcpChannel.bind(tcpAddress);
+                tcpChannel.configureBlocking(false);
+                tcpChannel.register(selector, SelectionKey.OP_ACCEPT);
+            }
+        } catch (IOException e) {
+            closeChannels();
+            throw e;
+        }
+
+        running = true;
+        ioThread = new Thread(this::runLoop, "TelemetryServer-io");
+        ioThread.setDaemon(true);
+        ioThread.start();
+    }
+
+    /**
+     * I/O thread'ini durdurur ve tüm kanalları kapatır
+     */
+    public void stop() {
+        Thread thread;
+        synchronized (this) {
+            if (!running) {
+                return;
+            }
+            running = false;
+            thread = ioThread;
+            selector.wakeup();
+        }
+        try {
+            thread.join(5000);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void runLoop() {
+        try {
+            while (running) {
+                selector.select();
+                Iterator<SelectionKey> keys = selector.selectedKeys().iterator();
+                while (keys.hasNext()) {
+                    SelectionKey key = keys.next();
+                    keys.remove();
+                    if (!key.isValid()) {
+                        continue;
+                    }
+                    try {
+                        if (key.isAcceptable()) {
+                            accept();
+                        } else if (key.channel() == udpChannel) {
+                            readDatagrams();
+                        } else {
+                            readStream(key);
+                        }
+                    } catch (IOException e) {
+                        closeConnection(key);
+                    } catch (RuntimeException e) {
+                        // Sink/çözücü hatası yalnızca bu kanalı etkiler; UDP dinleyicisi açık kalır
+                        // (datagramın kalanı atılır)
+                        sinkErrorCount.incrementAndGet();
+                        System.err.println("Telemetry channel error: " + e);
+                        if (key.channel() instanceof SocketChannel) {
+                            closeConnection(key);
+                        }
+                    }
+                }
+                try {
+                    sink.onBatchEnd();
+                } catch (RuntimeException e) {
+                    sinkErrorCount.incrementAndGet();
+                    System.err.println("Telemetry batch end failed: " + e);
+                }
+            }
+        } catch (IOException | RuntimeException e) {
+            System.err.println("Telemetry server stopped: " + e);
+        } finally {
+            running = false;
+            closeChannels();
+        }
+    }
+
+    private void accept() throws IOException {
+        SocketChannel client;
+        while ((client = tcpChannel.accept()) != null) {
+            client.configureBlocking(false);
+            client.setOption(StandardSocketOptions.TCP_NODELAY, true);
+            client.register(selector, SelectionKey.OP_READ, bufferPool.acquire());
+            connectionsAccepted.incrementAndGet();
+        }
+    }
+
+    private void readDatagrams() throws IOException {
+        while (true) {
+            udpBuffer.clear();
+            if (udpChannel.receive(udpBuffer) == null) {
+                return;
+            }
+            udpBuffer.flip();
+            bytesReceived.addAndGet(udpBuffer.remaining());
+            decode(udpBuffer);
+            if (udpBuffer.hasRemaining()) {
+                malformedCount.incrementAndGet(); // datagram with a partial message
+            }
+        }
+    }
+
+    private void readStream(SelectionKey key) throws IOException {
+        SocketChannel client = (SocketChannel) key.channel();
+        ByteBuffer buffer = (ByteBuffer) key.attachment();
+        int read;
+        while ((read = client.read(buffer)) > 0) {
+            bytesReceived.addAndGet(read);
+            buffer.flip();
+            decode(buffer);
+            buffer.compact(); // keep a trailing partial message for the next read
+        }
+        if (read < 0) {
+            closeConnection(key);
+        }
+    }
+
+    private void decode(ByteBuffer buffer) {
+        // Bozuk çerçeveler atlanır; atlanan baytlar mesaj sayısına katılmaz
+        decodedInBuffer = 0;
+        malformedCount.addAndGet(TelemetryMessage.decodeAll(buffer, countingSink));
+        messagesReceived.addAndGet(decodedInBuffer);
+    }
+
+    private void closeConnection(SelectionKey key) {
+        key.cancel();
+        if (key.attachment() instanceof ByteBuffer) {
+            bufferPool.release((ByteBuffer) key.attachment());
+            key.attach(null);
+        }
+        try {
+            key.channel().close();
+        } catch (IOException e) {
+            // Kanal zaten kapalı
+        }
+    }
+
+    private void closeChannels() {
+        if (selector != null) {
+            for (SelectionKey key : selector.keys()) {
+                if (key.channel() instanceof SocketChannel) {
+                    closeConnection(key);
+                }
+            }
+        }
+        closeQuietly(udpChannel);
+        closeQuietly(tcpChannel);
+        closeQuietly(selector);
+        udpChannel = null;
+        tcpChannel = null;
+    }
+
+    private static void closeQuietly(AutoCloseable closeable) {
+        if (closeable != null) {
+            try {
+                closeable.close();
+            } catch (Exception e) {
+                // Kapatma hatası yok sayılır
+            }
+        }
+    }
+
+    /**
+     * Bağlı UDP portu (port 0 ile bağlanınca işe yarar), dinlenmiyorsa -1
+     */
+    public int getUdpPort() {
+        DatagramChannel channel = udpChannel;
+        return channel != null ? channel.socket().getLocalPort() : -1;
+    }
+
+    /**
+     * Bağlı TCP portu (port 0 ile bağlanınca işe yarar), dinlenmiyorsa -1
+     */
+    public int getTcpPort() {
+        ServerSocketChannel channel = tcpChannel;
+        return channel != null ? channel.socket().getLocalPort() : -1;
+    }
+
+    public boolean isRunning() {
+        return running;
+    }
+
+    public long getMessagesReceived() {
+        return messagesReceived.get();
+    }
+
+    public long getBytesReceived() {
+        return bytesReceived.get();
+    }
+
+    public long getMalformedCount() {
+        return malformedCount.get();
+    }
+
+    public long getConnectionsAccepted() {
+        return connectionsAccepted.get();
+    }
+
+    /**
+     * I/O thread'inde yakalanan sink/çözücü hataları (TCP bağlantısı kapatılır)
+     */
+    public long getSinkErrorCount() {
+        return sinkErrorCount.get();
+    }
+}
@@ -0,0 +1,31 @@
+package com.airtraffic.telemetry;
+
+/**
+ * Çözülmüş telemetrinin alıcısı
+ * Callback'ler yalnızca primitive taşır, çözme yolunda nesne oluşmaz.
+ * Bir {@link TelemetryServer}'ın tüm callback'leri tek I/O thread'inden çağrılır.
+ */
+public interface TelemetrySink {
+
+    /**
+     * Çözülmüş tek konum raporu
+     * @param vehicleKey Sayısal araç anahtarı (bkz. {@link TrafficControlCenterSink})
+     * @param sequence Araç başına sıra numarası
+     * @param timestampMillis Rapor zamanı (epoch milisaniye UTC)
+     * @param latitude Enlem (derece)
+     * @param longitude Boylam (derece)
+     * @param altitude Yükseklik (metre)
+     * @param velocity Hız (m/s)
+     * @param heading Yön (derece, 0 = kuzey)
+     */
+    void onPosition(long vehicleKey, int sequence, long timestampMillis,
+                    double latitude, double longitude, double altitude,
+                    double velocity, double heading);
+
+    /**
+     * Her I/O turunun sonunda, hazır kanalların hepsi boşaltıldıktan sonra çağrılır
+     * Tick kapatmak veya batch boşaltmak için doğal nokta
+     */
+    default void onBatchEnd() {
+    }
+}
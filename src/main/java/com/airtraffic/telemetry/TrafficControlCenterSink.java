@@ -0,0 +1,286 @@
+package com.airtraffic.telemetry;
+
+import com.airtraffic.control.TrafficControlCenter;
+import com.airtraffic.model.Position;
+import com.airtraffic.model.Vehicle;
+import com.airtraffic.util.TimeUtils;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Çözülmüş telemetriyi {@link TrafficControlCenter}'a aktaran adaptör
+ *
+ * Mesajlardaki sayısal araç anahtarı, kayıtta copy-on-write değiştirilen açık
+ * adresli tabloyla araç ID'sine çevrilir; I/O thread'i kilitsiz ve boxing'siz
+ * arar. Kabul edilen rapor başına tek {@link Position} burada oluşturulur.
+ *
+ * Sıra numarası araç için son uygulanandan büyük olmayan rapor düşürülür;
+ * sıralar taşmalı (seri numara aritmetiği) karşılaştırılır. Her anahtar
+ * eşlemesinin bir nesli vardır; kayıt, yeniden eşleme veya silme yeni nesil
+ * başlatır, merkezin tanımadığı araç için gelen rapor sırayı sıfırlar.
+ */
+public class TrafficControlCenterSink implements TelemetrySink {
+
+    private final TrafficControlCenter controlCenter;
+    private volatile KeyTable keyTable = new KeyTable(16);
+    private long nextGeneration = 1;   // lock altında; 0 = sıfırlanmış sıra kaydı
+
+    private final AtomicLong forwardedCount = new AtomicLong();
+    private final AtomicLong unknownKeyCount = new AtomicLong();
+    private final AtomicLong staleCount = new AtomicLong();
+    private long forwardedSinceBatch;  // yalnızca I/O thread
+    private SequenceTable lastSequences = new SequenceTable(16); // yalnızca I/O thread
+
+    public TrafficControlCenterSink(TrafficControlCenter controlCenter) {
+        if (controlCenter == null) {
+            throw new IllegalArgumentException("Control center cannot be null");
+        }
+        this.controlCenter = controlCenter;
+    }
+
+    /**
+     * Mesaj anahtarını araç ID'sine eşler
+     * @param vehicleKey Telemetri mesajlarındaki anahtar
+     * @param vehicleId Kayıtlı araç ID
+     */
+    public synchronized void registerVehicleKey(long vehicleKey, String vehicleId) {
+        if (vehicleId == null) {
+            throw new IllegalArgumentException("Vehicle ID cannot be null");
+        }
+        KeyTable current = keyTable;
+        KeyTable next = current.size + 1 > current.keys.length / 2
+            ? current.resized(current.keys.length * 2) : current.copy();
+        next.put(vehicleKey, vehicleId, nextGeneration++);
+        keyTable = next;
+    }
+
+    /**
+     * Anahtar eşlemesini kaldırır
+     * @return Anahtar eşliyse true
+     */
+    public synchronized boolean unregisterVehicleKey(long vehicleKey) {
+        KeyTable current = keyTable;
+        if (current.get(vehicleKey) == null) {
+            return false;
+        }
+        KeyTable next = new KeyTable(current.keys.length);
+        for (int i = 0; i < current.keys.length; i++) {
+            if (current.ids[i] != null && current.keys[i] != vehicleKey) {
+                next.put(current.keys[i], current.ids[i], current.generations[i]);
+            }
+        }
+        keyTable = next;
+        return true;
+    }
+
+    /**
+     * Anahtara eşli araç ID'si veya null
+     */
+    public String getVehicleId(long vehicleKey) {
+        return keyTable.get(vehicleKey);
+    }
+
+    @Override
+    public void onPosition(long vehicleKey, int sequence, long timestampMillis,
+                           double latitude, double longitude, double altitude,
+                           double velocity, double heading) {
+        KeyTable keys = keyTable;
+        int slot = keys.find(vehicleKey);
+        String vehicleId = slot >= 0 ? keys.ids[slot] : null;
+        Vehicle vehicle = vehicleId != null ? controlCenter.getVehicle(vehicleId) : null;
+        if (vehicle == null) {
+            unknownKeyCount.incrementAndGet();
+            if (vehicleId != null) {
+                // Araç merkezden çıkarıldı: yeniden kaydolursa sıra baştan başlar
+                lastSequences.reset(vehicleKey);
+            }
+            return;
+        }
+        if (!advanceSequence(vehicleKey, keys.generations[slot], sequence)) {
+            staleCount.incrementAndGet();
+            return;
+        }
+        vehicle.setVelocity(velocity);
+        vehicle.setHeading(heading);
+        LocalDateTime timestamp = TimeUtils.fromEpochMillis(timestampMillis);
+        controlCenter.updateVehiclePosition(vehicleId, new Position(latitude, longitude, altitude, timestamp));
+        forwardedCount.incrementAndGet();
+        forwardedSinceBatch++;
+    }
+
+    @Override
+    public void onBatchEnd() {
+        if (forwardedSinceBatch > 0) {
+            forwardedSinceBatch = 0;
+            controlCenter.publishFleetSnapshot();
+        }
+    }
+
+    private boolean advanceSequence(long vehicleKey, long generation, int sequence) {
+        SequenceTable table = lastSequences;
+        if (table.size + 1 > table.keys.length / 2) {
+            // Büyütürken eski eşlemelere ait kayıtlar düşürülür
+            KeyTable current = keyTable;
+            SequenceTable next = new SequenceTable(table.keys.length * 2);
+            for (int i = 0; i < table.keys.length; i++) {
+                if (table.generations[i] != 0 && table.generations[i] == current.generationOf(table.keys[i])) {
+                    next.advance(table.keys[i], table.generations[i], table.sequences[i]);
+                }
+            }
+            lastSequences = next;
+            table = next;
+        }
+        return table.advance(vehicleKey, generation, sequence);
+    }
+
+    public long getForwardedCount() {
+        return forwardedCount.get();
+    }
+
+    public long getUnknownKeyCount() {
+        return unknownKeyCount.get();
+    }
+
+    /**
+     * Sırası son uygulanandan yeni olmadığı için düşürülen rapor sayısı
+     */
+    public long getStaleCount() {
+        return staleCount.get();
+    }
+
+    /**
+     * Açık adresli long -> son uygulanan sıra tablosu (I/O thread'ine ait)
+     * Eşleme nesli de tutulur; yeniden kaydedilen anahtar sıfırdan başlar
+     */
+    private static final class SequenceTable {
+        private final long[] keys;
+        private final long[] generations;  // 0 = sıfırlandı
+        private final int[] sequences;
+        private final boolean[] used;
+        private int size;
+
+        private SequenceTable(int capacity) {
+            this.keys = new long[capacity];
+            this.generations = new long[capacity];
+            this.sequences = new int[capacity];
+            this.used = new boolean[capacity];
+        }
+
+        /**
+         * Sıra anahtarın sonuncusundan yeniyse kaydeder
+         * @return Rapor eski veya tekrar ise false
+         */
+        private boolean advance(long key, long generation, int sequence) {
+            int slot = slotOf(key);
+            if (!used[slot]) {
+                used[slot] = true;
+                size++;
+            } else if (generations[slot] == generation && sequence - sequences[slot] <= 0) {
+                return false;
+            }
+            keys[slot] = key;
+            generations[slot] = generation;
+            sequences[slot] = sequence;
+            return true;
+        }
+
+        /**
+         * Anahtarın son sırasını unutur; sonraki rapor kabul edilir
+         */
+        private void reset(long key) {
+            int slot = slotOf(key);
+            if (used[slot]) {
+                generations[slot] = 0;
+            }
+        }
+
+        private int slotOf(long key) {
+            int mask = keys.length - 1;
+            int slot = KeyTable.hash(key) & mask;
+            while (used[slot] && keys[slot] != key) {
+                slot = (slot + 1) & mask;
+            }
+            return slot;
+        }
+    }
+
+    /**
+     * Açık adresli long -> (String, nesil) tablosu (doğrusal yoklama, doluluk <= 1/2)
+     */
+    private static final class KeyTable {
+        private final long[] keys;
+        private final String[] ids;
+        private final long[] generations;
+        private int size;
+
+        private KeyTable(int capacity) {
+            this.keys = new long[capacity];
+            this.ids = new String[capacity];
+            this.generations = new long[capacity];
+        }
+
+        private KeyTable copy() {
+            KeyTable copy = new KeyTable(keys.length);
+            System.arraycopy(keys, 0, copy.keys, 0, keys.length);
+            System.arraycopy(ids, 0, copy.ids, 0, ids.length);
+            System.arraycopy(generations, 0, copy.generations, 0, generations.length);
+            copy.size = size;
+            return copy;
+        }
+
+        private KeyTable resized(int capacity) {
+            KeyTable table = new KeyTable(capacity);
+            for (int i = 0; i < keys.length; i++) {
+                if (ids[i] != null) {
+                    table.put(keys[i], ids[i], generations[i]);
+                }
+            }
+            return table;
+        }
+
+        private void put(long key, String id, long generation) {
+            int mask = keys.length - 1;
+            int slot = hash(key) & mask;
+            while (ids[slot] != null && keys[slot] != key) {
+                slot = (slot + 1) & mask;
+            }
+            if (ids[slot] == null) {
+                size++;
+            }
+            keys[slot] = key;
+            ids[slot] = id;
+            generations[slot] = generation;
+        }
+
+        /**
+         * Eşli anahtarın slotu veya -1
+         */
+        private int find(long key) {
+            int mask = keys.length - 1;
+            int slot = hash(key) & mask;
+            while (ids[slot] != null) {
+                if (keys[slot] == key) {
+                    return slot;
+                }
+                slot = (slot + 1) & mask;
+            }
+            return -1;
+        }
+
+        private String get(long key) {
+            int slot = find(key);
+            return slot >= 0 ? ids[slot] : null;
+        }
+
+        private long generationOf(long key) {
+            int slot = find(key);
+            return slot >= 0 ? generations[slot] : -1;
+        }
+
+        private static int hash(long key) {
+            long h = key * 0x9E3779B97F4A7C15L;
+            return (int) (h ^ (h >>> 32));
+        }
+    }
+}
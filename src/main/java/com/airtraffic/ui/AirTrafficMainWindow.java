@@ -350,7 +350,8 @@ public class AirTrafficMainWindow extends Application {
                 System.out.println("Araç 3 izni reddedildi: " + auth3.getReason());
             }
             
-            // Araç listesini güncelle
+            // Araç listesini güncelle (demo kontrol döngüsü yerine snapshot'ı yayınlar)
+            controlCenter.publishFleetSnapshot();
             vehicleListView.refresh();
             System.out.println("Aktif araç sayısı: " + controlCenter.getActiveVehicles().size());
             
@@ -364,6 +365,7 @@ public class AirTrafficMainWindow extends Application {
             // Araç 1 ve 2 aynı konumda ama farklı yükseklikte (5m fark - minimum 10m gerekli)
             controlCenter.updateVehiclePosition(vehicle1.getId(), new Position(41.0082, 28.9784, 100.0));
             controlCenter.updateVehiclePosition(vehicle2.getId(), new Position(41.0082, 28.9784, 105.0));
+            controlCenter.publishFleetSnapshot();
             
             // Sprint 3 Test: ICAO Standartları kontrolü
             System.out.println("\n=== SPRINT 3 TEST: ICAO Standartları Kontrolü ===");
@@ -1,11 +1,11 @@
 package com.airtraffic.ui;
 
+import com.airtraffic.control.FleetSnapshot;
 import com.airtraffic.control.TrafficControlCenter;
 import com.airtraffic.map.CityMap;
 import com.airtraffic.map.Obstacle;
 import com.airtraffic.map.RestrictedZone;
 import com.airtraffic.model.Position;
-import com.airtraffic.model.Vehicle;
 import com.airtraffic.model.VehicleStatus;
 import com.airtraffic.model.VehicleType;
 import javafx.scene.canvas.Canvas;
@@ -425,28 +425,31 @@ public class MapVisualization {
             return;
         }
         
-        java.util.List<Vehicle> vehicles = controlCenter.getActiveVehicles();
-        if (vehicles == null || vehicles.isEmpty()) {
+        // Draw from one immutable snapshot so positions and statuses belong to the same tick
+        FleetSnapshot snapshot = controlCenter.getFleetSnapshot();
+        if (snapshot.size() == 0) {
             return;
         }
         
-        for (Vehicle vehicle : vehicles) {
-            if (vehicle == null || vehicle.getPosition() == null) {
+        for (int i = 0; i < snapshot.size(); i++) {
+            if (!snapshot.hasPosition(i)) {
                 continue;
             }
             
-            Position pos = vehicle.getPosition();
-            double x = lonToX(pos.getLongitude(), canvasWidth);
-            double y = latToY(pos.getLatitude(), canvasHeight);
+            double x = lonToX(snapshot.getLongitude(i), canvasWidth);
+            double y = latToY(snapshot.getLatitude(i), canvasHeight);
             
             // Skip if vehicle is outside visible area (with some margin)
             if (x < -50 || x > canvasWidth + 50 || y < -50 || y > canvasHeight + 50) {
                 continue;
             }
             
+            VehicleType type = snapshot.getType(i);
+            VehicleStatus status = snapshot.getStatus(i);
+            
             // Determine vehicle color based on type
-            Color vehicleColor = getVehicleColor(vehicle);
-            double radius = getVehicleRadius(vehicle);
+            Color vehicleColor = getVehicleColor(type, status);
+            double radius = getVehicleRadius(type, status);
             
             // Draw vehicle circle
             gc.setFill(vehicleColor);
@@ -458,8 +461,9 @@ public class MapVisualization {
             gc.strokeOval(x - radius, y - radius, radius * 2, radius * 2);
             
             // Draw direction indicator for vehicles in flight
-            if (vehicle.getStatus() == VehicleStatus.IN_FLIGHT && vehicle.getHeading() != 0.0) {
-                drawDirectionIndicator(x, y, vehicle.getHeading(), radius);
+            double heading = snapshot.getHeading(i);
+            if (status == VehicleStatus.IN_FLIGHT && heading != 0.0) {
+                drawDirectionIndicator(x, y, heading, radius);
             }
         }
     }
@@ -467,18 +471,13 @@ public class MapVisualization {
     /**
      * Get vehicle color based on type
      */
-    private Color getVehicleColor(Vehicle vehicle) {
-        if (vehicle == null) {
-            return DEFAULT_VEHICLE_COLOR;
-        }
-        
-        VehicleType type = vehicle.getType();
+    private Color getVehicleColor(VehicleType type, VehicleStatus status) {
         if (type == null) {
             return DEFAULT_VEHICLE_COLOR;
         }
         
         // Emergency vehicles always red, regardless of type
-        if (vehicle.getStatus() == VehicleStatus.EMERGENCY) {
+        if (status == VehicleStatus.EMERGENCY) {
             return EMERGENCY_VEHICLE_COLOR;
         }
         
@@ -497,14 +496,9 @@ public class MapVisualization {
     /**
      * Get vehicle radius based on type and status
      */
-    private double getVehicleRadius(Vehicle vehicle) {
-        if (vehicle == null) {
-            return VEHICLE_RADIUS;
-        }
-        
+    private double getVehicleRadius(VehicleType type, VehicleStatus status) {
         // Emergency vehicles are larger
-        if (vehicle.getStatus() == VehicleStatus.EMERGENCY || 
-            vehicle.getType() == VehicleType.EMERGENCY) {
+        if (status == VehicleStatus.EMERGENCY || type == VehicleType.EMERGENCY) {
             return EMERGENCY_VEHICLE_RADIUS * zoomLevel;
         }
         
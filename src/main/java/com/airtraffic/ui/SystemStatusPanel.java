@@ -1,7 +1,7 @@
 package com.airtraffic.ui;
 
 import com.airtraffic.control.AuthorizationStatus;
-import com.airtraffic.control.FlightAuthorization;
+import com.airtraffic.control.FleetSnapshot;
 import com.airtraffic.control.TrafficControlCenter;
 import com.airtraffic.model.Vehicle;
 import com.airtraffic.model.VehicleStatus;
@@ -10,8 +10,6 @@ import javafx.scene.control.Label;
 import javafx.scene.layout.VBox;
 import javafx.scene.paint.Color;
 
-import java.util.Map;
-
 /**
  * Sistem durumu paneli
  * TrafficControlCenter'dan sistem durumu bilgilerini gösterir
@@ -148,39 +146,25 @@ public class SystemStatusPanel {
         operationalStatusLabel.setText("Operational: " + (isOperational ? "Yes" : "No"));
         operationalStatusLabel.setTextFill(isOperational ? Color.GREEN : Color.RED);
         
+        // Read one immutable fleet snapshot: never blocks or tears the control loop
+        FleetSnapshot snapshot = controlCenter.getFleetSnapshot();
+        
         // Update vehicle count (total active)
-        int vehicleCount = controlCenter.getActiveVehicles().size();
+        int vehicleCount = snapshot.size();
         vehicleCountLabel.setText("Active Vehicles: " + vehicleCount);
         
-        // Update authorization statuses
-        Map<String, FlightAuthorization> authorizations = controlCenter.getAuthorizations();
-        long pendingCount = authorizations.values().stream()
-                .filter(auth -> auth.getStatus() == AuthorizationStatus.PENDING)
-                .count();
+        // Update authorization statuses from maintained counters (expired ones are evicted first)
+        controlCenter.expireAuthorizations();
+        long pendingCount = controlCenter.getAuthorizationCount(AuthorizationStatus.PENDING);
         pendingAuthorizationsLabel.setText("Pending Authorizations: " + pendingCount);
         
-        long approvedNotRegisteredCount = authorizations.values().stream()
-                .filter(auth -> auth.getStatus() == AuthorizationStatus.APPROVED && auth.isValid())
-                .filter(auth -> !controlCenter.getActiveVehicles().stream()
-                        .anyMatch(v -> v.getId().equals(auth.getVehicleId())))
-                .count();
+        int approvedNotRegisteredCount = controlCenter.getApprovedUnregisteredCount();
         approvedNotRegisteredLabel.setText("Approved (Not Registered): " + approvedNotRegisteredCount);
         
         // Update vehicle status counts
-        long inFlightCount = controlCenter.getActiveVehicles().stream()
-                .filter(v -> v.getStatus() == VehicleStatus.IN_FLIGHT)
-                .count();
-        inFlightLabel.setText("In Flight: " + inFlightCount);
-        
-        long landingCount = controlCenter.getActiveVehicles().stream()
-                .filter(v -> v.getStatus() == VehicleStatus.LANDING)
-                .count();
-        landingLabel.setText("Landing: " + landingCount);
-        
-        long emergencyCount = controlCenter.getActiveVehicles().stream()
-                .filter(v -> v.getStatus() == VehicleStatus.EMERGENCY)
-                .count();
-        emergencyLabel.setText("Emergency: " + emergencyCount);
+        inFlightLabel.setText("In Flight: " + snapshot.countByStatus(VehicleStatus.IN_FLIGHT));
+        landingLabel.setText("Landing: " + snapshot.countByStatus(VehicleStatus.LANDING));
+        emergencyLabel.setText("Emergency: " + snapshot.countByStatus(VehicleStatus.EMERGENCY));
         
         // Update base station count
         int baseStationCount = controlCenter.getBaseStations().size();
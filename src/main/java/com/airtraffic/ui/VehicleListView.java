@@ -168,8 +168,8 @@ public class VehicleListView {
             return;
         }
         
-        // Get active vehicles from control center
-        java.util.List<Vehicle> activeVehicles = controlCenter.getActiveVehicles();
+        // Get active vehicles from the published fleet snapshot (lock-free read)
+        java.util.List<Vehicle> activeVehicles = controlCenter.getFleetSnapshot().getVehicles();
         
         // Update observable list
         vehicleList.clear();
@@ -0,0 +1,54 @@
+package com.airtraffic.util;
+
+/**
+ * Grid indeksleri ve yakınlık sorguları için ortak coğrafi yardımcılar.
+ * Haversine, {@link com.airtraffic.model.Position#horizontalDistanceTo} ile
+ * aynı sonucu verir; sıcak döngülerde Position nesnesi oluşturmadan kullanılır.
+ */
+public final class GeoUtils {
+
+    public static final double METERS_PER_DEGREE_LAT = 111320.0;
+    public static final double EARTH_RADIUS_M = 6371000.0;
+
+    private static final long CELL_Y_OFFSET = 1L << 31; // anahtarları (x, y) sırasında tutar
+
+    private GeoUtils() {
+    }
+
+    /**
+     * Verilen enlemde bir boylam derecesinin metre karşılığı
+     */
+    public static double metersPerDegreeLon(double latitude) {
+        return METERS_PER_DEGREE_LAT * Math.cos(Math.toRadians(latitude));
+    }
+
+    /**
+     * İki nokta arasındaki yatay mesafe (Haversine, metre)
+     */
+    public static double haversine(double lat1, double lon1, double lat2, double lon2) {
+        double lat1Rad = Math.toRadians(lat1);
+        double lat2Rad = Math.toRadians(lat2);
+        double deltaLat = Math.toRadians(lat2 - lat1);
+        double deltaLon = Math.toRadians(lon2 - lon1);
+        double a = Math.sin(deltaLat / 2) * Math.sin(deltaLat / 2) +
+                   Math.cos(lat1Rad) * Math.cos(lat2Rad) *
+                   Math.sin(deltaLon / 2) * Math.sin(deltaLon / 2);
+        return EARTH_RADIUS_M * 2 * Math.atan2(Math.sqrt(a), Math.sqrt(1 - a));
+    }
+
+    /**
+     * Hücre koordinatlarını tek bir long anahtara paketler.
+     * Aynı X'li hücreler artan Y ile ardışık sıralanır.
+     */
+    public static long packKey(long cellX, long cellY) {
+        return (cellX << 32) | ((cellY + CELL_Y_OFFSET) & 0xFFFFFFFFL);
+    }
+
+    public static long cellX(long key) {
+        return key >> 32;
+    }
+
+    public static long cellY(long key) {
+        return (key & 0xFFFFFFFFL) - CELL_Y_OFFSET;
+    }
+}
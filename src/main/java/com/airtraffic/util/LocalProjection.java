@@ -0,0 +1,52 @@
+package com.airtraffic.util;
+
+/**
+ * Referans noktası etrafında enlem/boylamı metreye çeviren eşdikdörtgen izdüşüm.
+ * Değişmezdir; grid indeksleri referans değiştiğinde yeni bir örnek yayınlar.
+ */
+public final class LocalProjection {
+
+    private final double referenceLat;
+    private final double referenceLon;
+    private final double metersPerDegreeLon;
+
+    public LocalProjection(double referenceLat, double referenceLon) {
+        this.referenceLat = referenceLat;
+        this.referenceLon = referenceLon;
+        this.metersPerDegreeLon = GeoUtils.metersPerDegreeLon(referenceLat);
+    }
+
+    /**
+     * Doğu yönünde referanstan uzaklık (metre)
+     */
+    public double toX(double longitude) {
+        return (longitude - referenceLon) * metersPerDegreeLon;
+    }
+
+    /**
+     * Kuzey yönünde referanstan uzaklık (metre)
+     */
+    public double toY(double latitude) {
+        return (latitude - referenceLat) * GeoUtils.METERS_PER_DEGREE_LAT;
+    }
+
+    public double fromX(double x) {
+        return referenceLon + x / metersPerDegreeLon;
+    }
+
+    public double fromY(double y) {
+        return referenceLat + y / GeoUtils.METERS_PER_DEGREE_LAT;
+    }
+
+    public double getReferenceLat() {
+        return referenceLat;
+    }
+
+    public double getReferenceLon() {
+        return referenceLon;
+    }
+
+    public double getMetersPerDegreeLon() {
+        return metersPerDegreeLon;
+    }
+}
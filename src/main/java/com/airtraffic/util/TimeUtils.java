@@ -0,0 +1,38 @@
+package com.airtraffic.util;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+
+/**
+ * LocalDateTime ile epoch milisaniye arasındaki tek dönüşüm noktası.
+ * LocalDateTime.now() sistem varsayılan saat dilimini kullandığı için tüm
+ * dönüşümler de aynı dilimle yapılır; böylece izin süreleri, telemetri
+ * zaman damgaları ve watermark'lar aynı zaman çizgisinde karşılaştırılır.
+ */
+public final class TimeUtils {
+
+    private TimeUtils() {
+    }
+
+    /**
+     * Yerel zamanı epoch milisaniyeye çevirir
+     * @param time Yerel zaman (null = şimdi)
+     * @return Epoch milisaniye
+     */
+    public static long toEpochMillis(LocalDateTime time) {
+        if (time == null) {
+            return System.currentTimeMillis();
+        }
+        return time.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+
+    /**
+     * Epoch milisaniyeyi yerel zamana çevirir
+     * @param epochMillis Epoch milisaniye
+     * @return Yerel zaman
+     */
+    public static LocalDateTime fromEpochMillis(long epochMillis) {
+        return LocalDateTime.ofInstant(Instant.ofEpochMilli(epochMillis), ZoneId.systemDefault());
+    }
+}
@@ -0,0 +1,187 @@
+package com.airtraffic.alert;
+
+import com.airtraffic.control.MessagePriority;
+import com.airtraffic.model.CollisionRisk;
+import com.airtraffic.model.RiskLevel;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for AlertPipeline
+ * Tests asynchronous delivery, ordering, back-pressure and rate limiting
+ */
+@DisplayName("AlertPipeline Tests")
+class AlertPipelineTest {
+
+    private AlertPipeline pipeline;
+
+    @AfterEach
+    void tearDown() {
+        if (pipeline != null) {
+            pipeline.close();
+        }
+    }
+
+    @Test
+    @DisplayName("Test constructor validation and capacity rounding")
+    void testConstructor() {
+        assertThrows(IllegalArgumentException.class, () -> new AlertPipeline(0, null));
+        assertEquals(8, new AlertPipeline(5, null).getCapacity());
+        assertEquals(8, new AlertPipeline(8, null).getCapacity());
+    }
+
+    @Test
+    @DisplayName("Test events are delivered in order from the consumer thread")
+    void testDelivery() {
+        pipeline = new AlertPipeline(64, null);
+        List<AlertEvent> received = Collections.synchronizedList(new ArrayList<>());
+        List<String> threads = Collections.synchronizedList(new ArrayList<>());
+        pipeline.addSink(event -> {
+            received.add(event.copy());
+            threads.add(Thread.currentThread().getName());
+        });
+        pipeline.start();
+
+        pipeline.publishRuleViolation("v1", 2, 100);
+        pipeline.publishCollisionRisk("v1", createRisk("v1", "v2", RiskLevel.CRITICAL), 200);
+        assertTrue(pipeline.awaitDrained(5000));
+
+        assertEquals(2, received.size());
+        assertEquals(AlertType.RULE_VIOLATION, received.get(0).getType());
+        assertEquals(MessagePriority.RULE_VIOLATION, received.get(0).getPriority());
+        assertEquals(2, received.get(0).getViolationCount());
+
+        AlertEvent collision = received.get(1);
+        assertEquals("v2", collision.getOtherVehicleId());
+        assertEquals(MessagePriority.CRITICAL_COLLISION, collision.getPriority());
+        assertTrue(collision.formatMessage().startsWith("KRİTİK ÇARPIŞMA RİSKİ"));
+        assertEquals("alert-pipeline", threads.get(0));
+        assertEquals(2, pipeline.getDeliveredCount());
+    }
+
+    @Test
+    @DisplayName("Test full ring drops new alerts instead of blocking")
+    void testBackPressure() {
+        pipeline = new AlertPipeline(4, null);
+        for (int i = 0; i < 10; i++) {
+            pipeline.publishRuleViolation("v" + i, 1, i);
+        }
+        assertEquals(4, pipeline.getPublishedCount());
+        assertEquals(6, pipeline.getDroppedCount());
+        assertEquals(4, pipeline.getPendingCount());
+
+        pipeline.start();
+        assertTrue(pipeline.awaitDrained(5000));
+        assertTrue(pipeline.publishRuleViolation("late", 1, 20));
+    }
+
+    @Test
+    @DisplayName("Test rate limiter suppresses repeats before they reach the ring")
+    void testRateLimiting() {
+        pipeline = new AlertPipeline(64, new AlertRateLimiter(1000, 3));
+        CollisionRisk risk = createRisk("v1", "v2", RiskLevel.HIGH);
+        assertTrue(pipeline.publishCollisionRisk("v1", risk, 0));
+        assertFalse(pipeline.publishCollisionRisk("v2", createRisk("v2", "v1", RiskLevel.HIGH), 10));
+        assertEquals(1, pipeline.getSuppressedCount());
+        assertEquals(1, pipeline.getPendingCount());
+    }
+
+    @Test
+    @DisplayName("Test pair alert reaches both vehicles and is rate limited once")
+    void testPairDelivery() {
+        pipeline = new AlertPipeline(64, new AlertRateLimiter(1000, 3));
+        List<AlertEvent> received = Collections.synchronizedList(new ArrayList<>());
+        pipeline.addSink(event -> received.add(event.copy()));
+        pipeline.start();
+
+        CollisionRisk risk = createRisk("v1", "v2", RiskLevel.CRITICAL);
+        assertEquals(2, pipeline.publishCollisionRiskToPair(risk, 0));
+        assertEquals(0, pipeline.publishCollisionRiskToPair(risk, 10), "Repeat is suppressed for both");
+        assertTrue(pipeline.awaitDrained(5000));
+
+        assertEquals(2, received.size());
+        assertEquals("v1", received.get(0).getVehicleId());
+        assertEquals("v2", received.get(0).getOtherVehicleId());
+        assertEquals("v2", received.get(1).getVehicleId());
+        assertEquals("v1", received.get(1).getOtherVehicleId());
+        assertEquals(1, pipeline.getSuppressedCount());
+    }
+
+    @Test
+    @DisplayName("Test failing sink does not stop other sinks and close drains")
+    void testSinkErrorsAndClose() {
+        pipeline = new AlertPipeline(64, null);
+        List<String> received = Collections.synchronizedList(new ArrayList<>());
+        pipeline.addSink(event -> {
+            throw new IllegalStateException("boom");
+        });
+        pipeline.addSink(event -> received.add(event.getVehicleId()));
+        pipeline.start();
+        for (int i = 0; i < 20; i++) {
+            pipeline.publishRuleViolation("v" + i, 1, i);
+        }
+        pipeline.close();
+
+        assertFalse(pipeline.isRunning());
+        assertEquals(20, received.size());
+        assertEquals(20, pipeline.getSinkErrorCount());
+    }
+
+    @Test
+    @DisplayName("Test concurrent producers lose no accepted alerts")
+    void testConcurrentProducers() throws InterruptedException {
+        pipeline = new AlertPipeline(1 << 16, null);
+        LongCounter counter = new LongCounter();
+        pipeline.addSink(event -> counter.value++);
+        pipeline.start();
+
+        Thread[] producers = new Thread[4];
+        for (int t = 0; t < producers.length; t++) {
+            final int id = t;
+            producers[t] = new Thread(() -> {
+                for (int i = 0; i < 5000; i++) {
+                    pipeline.publishRuleViolation("v" + id, 1, i);
+                }
+            });
+            producers[t].start();
+        }
+        for (Thread producer : producers) {
+            producer.join();
+        }
+        assertTrue(pipeline.awaitDrained(5000));
+        assertEquals(20000, pipeline.getPublishedCount() + pipeline.getDroppedCount());
+        assertEquals(pipeline.getPublishedCount(), counter.value);
+    }
+
+    @Test
+    @DisplayName("Test log levels follow severity")
+    void testLogLevels() {
+        AlertEvent event = new AlertEvent();
+        event.setCollisionRisk("a", "b", RiskLevel.CRITICAL, 1.0, 10.0, "climb", 0);
+        assertEquals(org.apache.logging.log4j.Level.ERROR, Log4jAlertSink.levelOf(event));
+        event.setCollisionRisk("a", "b", RiskLevel.MEDIUM, 1.0, 10.0, "monitor", 0);
+        assertEquals(org.apache.logging.log4j.Level.INFO, Log4jAlertSink.levelOf(event));
+        assertEquals(MessagePriority.INFO, event.getPriority());
+        event.setRuleViolation("a", 1, 0);
+        assertEquals(org.apache.logging.log4j.Level.WARN, Log4jAlertSink.levelOf(event));
+    }
+
+    private static CollisionRisk createRisk(String id1, String id2, RiskLevel level) {
+        CollisionRisk risk = new CollisionRisk(id1, id2, level, 0.8);
+        risk.setEstimatedTimeToCollision(3.5);
+        risk.setCurrentDistance(42.0);
+        return risk;
+    }
+
+    // Yalnızca tüketici thread'i yazar
+    private static final class LongCounter {
+        volatile long value;
+    }
+}
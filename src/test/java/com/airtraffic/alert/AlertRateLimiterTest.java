@@ -0,0 +1,70 @@
+package com.airtraffic.alert;
+
+import com.airtraffic.model.RiskLevel;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for AlertRateLimiter
+ * Tests per-pair interval, escalation bypass and de-escalation hysteresis
+ */
+@DisplayName("AlertRateLimiter Tests")
+class AlertRateLimiterTest {
+
+    @Test
+    @DisplayName("Test constructor validation")
+    void testConstructorValidation() {
+        assertThrows(IllegalArgumentException.class, () -> new AlertRateLimiter(-1, 3));
+        assertThrows(IllegalArgumentException.class, () -> new AlertRateLimiter(1000, 0));
+    }
+
+    @Test
+    @DisplayName("Test same level is emitted once per interval regardless of pair order")
+    void testInterval() {
+        AlertRateLimiter limiter = new AlertRateLimiter(1000, 3);
+        assertTrue(limiter.allowCollision("a", "b", RiskLevel.HIGH, 0));
+        assertFalse(limiter.allowCollision("b", "a", RiskLevel.HIGH, 500));
+        assertTrue(limiter.allowCollision("a", "b", RiskLevel.HIGH, 1000));
+        assertEquals(1, limiter.getTrackedPairCount());
+    }
+
+    @Test
+    @DisplayName("Test escalation bypasses the interval")
+    void testEscalation() {
+        AlertRateLimiter limiter = new AlertRateLimiter(1000, 3);
+        assertTrue(limiter.allowCollision("a", "b", RiskLevel.MEDIUM, 0));
+        assertTrue(limiter.allowCollision("a", "b", RiskLevel.CRITICAL, 10));
+        assertFalse(limiter.allowCollision("a", "b", RiskLevel.CRITICAL, 20));
+    }
+
+    @Test
+    @DisplayName("Test de-escalation needs consecutive lower observations")
+    void testHysteresis() {
+        AlertRateLimiter limiter = new AlertRateLimiter(0, 3);
+        assertTrue(limiter.allowCollision("a", "b", RiskLevel.HIGH, 0));
+        // Eşik etrafında salınım: düşük seviye seri bozulur
+        assertFalse(limiter.allowCollision("a", "b", RiskLevel.MEDIUM, 1));
+        assertFalse(limiter.allowCollision("a", "b", RiskLevel.MEDIUM, 2));
+        assertTrue(limiter.allowCollision("a", "b", RiskLevel.HIGH, 3));
+        assertFalse(limiter.allowCollision("a", "b", RiskLevel.MEDIUM, 4));
+        assertFalse(limiter.allowCollision("a", "b", RiskLevel.MEDIUM, 5));
+        assertTrue(limiter.allowCollision("a", "b", RiskLevel.MEDIUM, 6));
+    }
+
+    @Test
+    @DisplayName("Test rule violations are limited per vehicle and forget clears state")
+    void testViolationsAndForget() {
+        AlertRateLimiter limiter = new AlertRateLimiter(1000, 3);
+        assertTrue(limiter.allowViolation("a", 0));
+        assertFalse(limiter.allowViolation("a", 10));
+        assertTrue(limiter.allowViolation("b", 10));
+
+        limiter.allowCollision("a", "c", RiskLevel.LOW, 0);
+        limiter.allowCollision("c", "d", RiskLevel.LOW, 0);
+        limiter.forget("a");
+        assertTrue(limiter.allowViolation("a", 20));
+        assertEquals(1, limiter.getTrackedPairCount());
+    }
+}
@@ -0,0 +1,197 @@
+package com.airtraffic.control;
+
+import com.airtraffic.map.CityMap;
+import com.airtraffic.map.RouteNetwork;
+import com.airtraffic.map.RouteSegment;
+import com.airtraffic.model.Position;
+import com.airtraffic.model.Route;
+import com.airtraffic.model.RouteDirection;
+import com.airtraffic.model.Vehicle;
+import com.airtraffic.model.VehicleType;
+import com.airtraffic.rules.SegmentSpeedAdvisoryRule;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for AdmissionController
+ * Tests per-cell capacity, corridor reservations, incremental occupancy, segment limits and metering
+ */
+@DisplayName("AdmissionController Tests")
+class AdmissionControllerTest {
+
+    private AdmissionController controller;
+    private Position departure;
+    private Position destination;
+
+    @BeforeEach
+    void setUp() {
+        controller = new AdmissionController(41.0, 29.0, 250.0, 3);
+        departure = new Position(41.0010, 29.0010, 100.0);
+        destination = new Position(41.0010, 29.0200, 100.0); // ~1.6 km doğuya
+    }
+
+    @Test
+    @DisplayName("Test constructor validation")
+    void testConstructorValidation() {
+        assertThrows(IllegalArgumentException.class, () -> new AdmissionController(41.0, 29.0, 0.0, 10));
+        assertThrows(IllegalArgumentException.class, () -> new AdmissionController(41.0, 29.0, 250.0, 0));
+        assertThrows(IllegalArgumentException.class, () -> controller.tryAdmit("v1", null, destination));
+    }
+
+    @Test
+    @DisplayName("Test corridor cells cover every crossed cell exactly once")
+    void testCorridorCells() {
+        long[] cells = controller.corridorCells(departure, destination);
+        // ~1.6 km / 250 m -> 7-8 hücre, tek satırda
+        assertTrue(cells.length >= 7 && cells.length <= 8, "cells: " + cells.length);
+        assertEquals(cells.length, Arrays.stream(cells).distinct().count());
+
+        assertEquals(1, controller.corridorCells(departure, departure).length);
+        Position diagonal = new Position(41.0100, 29.0130, 100.0);
+        long[] diag = controller.corridorCells(departure, diagonal);
+        assertEquals(diag.length, Arrays.stream(diag).distinct().count());
+    }
+
+    @Test
+    @DisplayName("Test reservations fill corridor cells up to capacity")
+    void testCorridorCapacity() {
+        assertTrue(controller.tryAdmit("v1", departure, destination));
+        assertTrue(controller.tryAdmit("v2", departure, destination));
+        assertTrue(controller.tryAdmit("v3", departure, destination));
+        assertFalse(controller.tryAdmit("v4", departure, destination));
+        assertEquals(3, controller.getReservations(departure));
+        assertEquals(3, controller.getPeakCorridorDensity(departure, destination));
+
+        // Koridorun ortasından geçen kesişen uçuş da reddedilir
+        Position north = new Position(41.0100, 29.0100, 100.0);
+        Position south = new Position(40.9950, 29.0100, 100.0);
+        assertFalse(controller.tryAdmit("v5", north, south));
+
+        // Ayrı bölgedeki uçuş etkilenmez
+        Position farA = new Position(41.0500, 29.0500, 100.0);
+        Position farB = new Position(41.0520, 29.0520, 100.0);
+        assertTrue(controller.tryAdmit("v6", farA, farB));
+
+        assertEquals(4, controller.getAdmittedCount());
+        assertEquals(2, controller.getRejectedCount());
+    }
+
+    @Test
+    @DisplayName("Test re-request replaces the vehicle's own reservation")
+    void testReRequestDoesNotDoubleCount() {
+        assertTrue(controller.tryAdmit("v1", departure, destination));
+        assertTrue(controller.tryAdmit("v1", departure, destination));
+        assertEquals(1, controller.getReservations(departure));
+        assertEquals(1, controller.getReservationCount());
+    }
+
+    @Test
+    @DisplayName("Test registration turns reservation into occupancy and moves follow the vehicle")
+    void testOccupancyLifecycle() {
+        Vehicle vehicle = new Vehicle(VehicleType.PASSENGER, departure);
+        assertTrue(controller.tryAdmit(vehicle.getId(), departure, destination));
+
+        controller.onVehicleRegistered(vehicle);
+        assertEquals(0, controller.getReservations(departure));
+        assertEquals(1, controller.getOccupancy(departure));
+
+        vehicle.updatePosition(destination);
+        controller.onVehicleMoved(vehicle);
+        assertEquals(0, controller.getOccupancy(departure));
+        assertEquals(1, controller.getOccupancy(destination));
+
+        controller.onVehicleRemoved(vehicle.getId());
+        assertEquals(0, controller.getOccupancy(destination));
+        assertEquals(0, controller.getReservationCount());
+    }
+
+    @Test
+    @DisplayName("Test occupancy counts toward corridor capacity")
+    void testOccupancyBlocksAdmission() {
+        for (int i = 0; i < 3; i++) {
+            controller.onVehicleRegistered(new Vehicle(VehicleType.PASSENGER, destination));
+        }
+        assertFalse(controller.tryAdmit("v1", departure, destination));
+        assertFalse(controller.release("none"));
+    }
+
+    @Test
+    @DisplayName("Test reservations in disjoint time windows do not conflict")
+    void testTimeWindows() {
+        long morning = System.currentTimeMillis() + 24 * 3600_000L;
+        long later = morning + 3600_000L;
+        for (int i = 0; i < 3; i++) {
+            assertTrue(controller.tryAdmit("m" + i, departure, destination, morning, morning + 600_000));
+        }
+        assertFalse(controller.tryAdmit("m3", departure, destination, morning, morning + 600_000));
+        assertTrue(controller.tryAdmit("l0", departure, destination, later, later + 600_000));
+        assertEquals(3, controller.getReservations(departure, morning));
+        assertEquals(1, controller.getReservations(departure, later));
+        assertEquals(0, controller.getReservations(departure));
+
+        // Şu an havadaki araçlar yalnızca yakın pencereleri etkiler
+        for (int i = 0; i < 3; i++) {
+            controller.onVehicleRegistered(new Vehicle(VehicleType.PASSENGER, departure));
+        }
+        assertFalse(controller.tryAdmit("now", departure, destination));
+        assertTrue(controller.tryAdmit("l1", departure, destination, later, later + 600_000));
+    }
+
+    @Test
+    @DisplayName("Test segment vehicle limit is enforced when flow service is attached")
+    void testSegmentCapacity() {
+        RouteNetwork network = new RouteNetwork("Test");
+        Route route = new Route("Main", Arrays.asList(departure, destination));
+        network.addMainStreet(route);
+        RouteSegment segment = network.createSegmentsForRoute(route, 5000.0, RouteDirection.FORWARD, 100.0, 15.0).get(0);
+        segment.setMaxVehicles(2);
+        TrafficFlowService flow = new TrafficFlowService();
+        flow.initialize(network, new CityMap("Test"));
+
+        AdmissionController segmentController = new AdmissionController(41.0, 29.0, 250.0, 100);
+        segmentController.setTrafficFlowService(flow);
+        assertTrue(segmentController.tryAdmit("v1", departure, destination));
+        assertTrue(segmentController.tryAdmit("v2", departure, destination));
+        assertFalse(segmentController.tryAdmit("v3", departure, destination));
+        assertEquals(2, segmentController.getSegmentReservations(segment.getSegmentId()));
+    }
+
+    @Test
+    @DisplayName("Test metered segment admits at most its rate per entry minute")
+    void testSegmentMetering() {
+        RouteNetwork network = new RouteNetwork("Test");
+        Route route = new Route("Main", Arrays.asList(departure, destination));
+        network.addMainStreet(route);
+        RouteSegment segment = network.createSegmentsForRoute(route, 5000.0, RouteDirection.FORWARD, 100.0, 15.0).get(0);
+        segment.setMaxVehicles(10);
+        TrafficFlowService flow = new TrafficFlowService();
+        flow.initialize(network, new CityMap("Test"));
+        SpeedAdvisoryController metering = new SpeedAdvisoryController(
+                new SegmentFlowAnalytics(flow, 10_000L, 6), new SegmentSpeedAdvisoryRule()) {
+            @Override
+            public synchronized double getMeteringRate(String segmentId) {
+                return segment.getSegmentId().equals(segmentId) ? 2.0 : Double.POSITIVE_INFINITY;
+            }
+        };
+
+        AdmissionController meteredController = new AdmissionController(41.0, 29.0, 250.0, 100);
+        meteredController.setTrafficFlowService(flow);
+        meteredController.setMeteringSource(metering);
+        long start = (System.currentTimeMillis() / 60_000L + 1) * 60_000L;
+        long end = start + 600_000L;
+        assertTrue(meteredController.tryAdmit("v1", departure, destination, start, end));
+        assertTrue(meteredController.tryAdmit("v2", departure, destination, start + 30_000L, end));
+        assertFalse(meteredController.tryAdmit("v3", departure, destination, start, end),
+            "Third entry in the same minute exceeds 2 vehicles/min");
+        assertTrue(meteredController.tryAdmit("v3", departure, destination, start + 60_000L, end),
+            "Next minute has its own metering budget");
+
+        meteredController.setMeteringSource(null);
+        assertTrue(meteredController.tryAdmit("v4", departure, destination, start, end));
+    }
+}
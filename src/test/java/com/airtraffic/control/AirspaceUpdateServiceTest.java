@@ -0,0 +1,169 @@
+package com.airtraffic.control;
+
+import com.airtraffic.map.RestrictedZone;
+import com.airtraffic.map.RestrictedZoneType;
+import com.airtraffic.model.Position;
+import com.airtraffic.model.Vehicle;
+import com.airtraffic.model.VehicleType;
+import com.airtraffic.spatial.Quadtree;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for AirspaceUpdateService
+ * Tests re-route and hold notices, resume on lift, and bounded evaluation
+ */
+@DisplayName("AirspaceUpdateService Tests")
+class AirspaceUpdateServiceTest {
+
+    private AdmissionController admissionController;
+    private AirspaceUpdateService service;
+    private Quadtree vehicleIndex;
+    private Map<String, FlightAuthorization> authorizations;
+    private RestrictedZone zone;
+
+    @BeforeEach
+    void setUp() {
+        admissionController = new AdmissionController(41.0, 29.0);
+        service = new AirspaceUpdateService(admissionController, 2000.0);
+        vehicleIndex = new Quadtree(40.8, 41.2, 28.8, 29.2);
+        authorizations = new HashMap<>();
+
+        // ~170 m x 170 m stadyum çevresi, 0-300 m
+        zone = new RestrictedZone("Stadium", RestrictedZoneType.GOVERNMENT);
+        zone.setId("zone-1");
+        zone.setPermanent(false);
+        zone.setMinAltitude(0.0);
+        zone.setMaxAltitude(300.0);
+        zone.addBoundaryPoint(new Position(41.0000, 29.0000, 0.0));
+        zone.addBoundaryPoint(new Position(41.0015, 29.0000, 0.0));
+        zone.addBoundaryPoint(new Position(41.0015, 29.0020, 0.0));
+        zone.addBoundaryPoint(new Position(41.0000, 29.0020, 0.0));
+    }
+
+    private Vehicle airborne(Position position, Position destination) {
+        Vehicle vehicle = new Vehicle(VehicleType.PASSENGER, position);
+        vehicleIndex.insert(vehicle);
+        if (destination != null) {
+            FlightAuthorization auth = new FlightAuthorization(vehicle.getId(), position, destination);
+            auth.approve(java.time.LocalDateTime.now().plusHours(2));
+            authorizations.put(vehicle.getId(), auth);
+        }
+        return vehicle;
+    }
+
+    private String waiting(Position departure, Position destination) {
+        Vehicle vehicle = new Vehicle(VehicleType.CARGO, departure);
+        FlightAuthorization auth = new FlightAuthorization(vehicle.getId(), departure, destination);
+        auth.approve(java.time.LocalDateTime.now().plusHours(2));
+        authorizations.put(vehicle.getId(), auth);
+        assertTrue(admissionController.tryAdmit(vehicle.getId(), departure, destination));
+        return vehicle.getId();
+    }
+
+    private static Set<String> ids(List<AirspaceNotice> notices, AirspaceNoticeType type) {
+        return notices.stream().filter(n -> n.getType() == type)
+            .map(AirspaceNotice::getVehicleId).collect(Collectors.toSet());
+    }
+
+    @Test
+    @DisplayName("Test constructor and zone validation")
+    void testValidation() {
+        assertThrows(IllegalArgumentException.class, () -> new AirspaceUpdateService(null));
+        assertThrows(IllegalArgumentException.class, () -> new AirspaceUpdateService(admissionController, -1.0));
+        assertThrows(IllegalArgumentException.class,
+            () -> service.onZoneActivated(new RestrictedZone(), vehicleIndex, authorizations));
+    }
+
+    @Test
+    @DisplayName("Test airborne vehicles inside or heading through the zone are re-routed")
+    void testReroute() {
+        Vehicle inside = airborne(new Position(41.0007, 29.0010, 100.0), null);
+        Vehicle crossing = airborne(new Position(41.0007, 28.9950, 100.0), new Position(41.0007, 29.0100, 100.0));
+        Vehicle above = airborne(new Position(41.0007, 28.9950, 400.0), new Position(41.0007, 29.0100, 400.0));
+        Vehicle away = airborne(new Position(41.0050, 28.9950, 100.0), new Position(41.0050, 29.0100, 100.0));
+        Vehicle farOut = airborne(new Position(41.0007, 28.9000, 100.0), new Position(41.0007, 29.0100, 100.0));
+
+        Set<String> rerouted = ids(service.onZoneActivated(zone, vehicleIndex, authorizations),
+            AirspaceNoticeType.REROUTE);
+
+        assertTrue(rerouted.contains(inside.getId()));
+        assertTrue(rerouted.contains(crossing.getId()));
+        assertFalse(rerouted.contains(above.getId()), "Leg passes over the zone ceiling");
+        assertFalse(rerouted.contains(away.getId()));
+        assertFalse(rerouted.contains(farOut.getId()), "Beyond the lookahead distance");
+    }
+
+    @Test
+    @DisplayName("Test waiting flights through the zone are held and resumed when lifted")
+    void testHoldAndResume() {
+        String through = waiting(new Position(41.0007, 28.9950, 100.0), new Position(41.0007, 29.0100, 100.0));
+        String beside = waiting(new Position(41.0050, 28.9950, 100.0), new Position(41.0050, 29.0100, 100.0));
+
+        List<AirspaceNotice> notices = service.onZoneActivated(zone, vehicleIndex, authorizations);
+        assertEquals(Set.of(through), ids(notices, AirspaceNoticeType.HOLD));
+        assertEquals(1, service.getHeldCount("zone-1"));
+
+        // Tekrar değerlendirme aynı uçuşu ikinci kez bekletmez
+        assertTrue(ids(service.onZoneActivated(zone, vehicleIndex, authorizations),
+            AirspaceNoticeType.HOLD).isEmpty());
+
+        List<AirspaceNotice> resumed = service.onZoneDeactivated(zone, authorizations);
+        assertEquals(Set.of(through), ids(resumed, AirspaceNoticeType.RESUME));
+        assertEquals(0, service.getHeldCount("zone-1"));
+        assertFalse(ids(resumed, AirspaceNoticeType.RESUME).contains(beside));
+    }
+
+    @Test
+    @DisplayName("Test inactive zone produces no notices")
+    void testInactiveZone() {
+        airborne(new Position(41.0007, 29.0010, 100.0), null);
+        zone.setActive(false);
+        assertTrue(service.onZoneActivated(zone, vehicleIndex, authorizations).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Test evaluation stays local with 50k airborne vehicles")
+    void testLargeFleet() {
+        Random random = new Random(42);
+        Position zoneCenter = new Position(41.00075, 29.0010, 0.0);
+        int nearby = 0;
+        for (int i = 0; i < 50_000; i++) {
+            Vehicle vehicle = airborne(new Position(40.8 + random.nextDouble() * 0.4,
+                28.8 + random.nextDouble() * 0.4, 50.0 + random.nextDouble() * 200.0), null);
+            // Bölge yarı köşegeni (~120 m) + 2000 m lookahead, pay ile
+            if (vehicle.getPosition().horizontalDistanceTo(zoneCenter) <= 2500.0) {
+                nearby++;
+            }
+        }
+        Vehicle inside = airborne(new Position(41.0007, 29.0010, 100.0), null);
+
+        // Her aday araç için bir izin araması yapılır: aranan araç sayısı = incelenen iş
+        int[] lookups = new int[1];
+        Map<String, FlightAuthorization> counting = new HashMap<>(authorizations) {
+            @Override
+            public FlightAuthorization get(Object key) {
+                lookups[0]++;
+                return super.get(key);
+            }
+        };
+        List<AirspaceNotice> notices = service.onZoneActivated(zone, vehicleIndex, counting);
+
+        assertTrue(ids(notices, AirspaceNoticeType.REROUTE).contains(inside.getId()));
+        assertTrue(notices.size() < 100, "Only vehicles inside the small zone are affected");
+        assertTrue(lookups[0] > 0);
+        assertTrue(lookups[0] <= nearby + 1,
+            "Examined " + lookups[0] + " vehicles, only " + (nearby + 1) + " are near the zone");
+        assertTrue(lookups[0] < 50_000 / 20, "Pass must not scale with the fleet");
+    }
+}
@@ -0,0 +1,133 @@
+package com.airtraffic.control;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for AuthorizationExpiryWheel
+ * Tests firing times, cascading across levels, cancellation and exactly-once expiry
+ */
+@DisplayName("AuthorizationExpiryWheel Tests")
+class AuthorizationExpiryWheelTest {
+
+    private static final long TICK = 1000;
+
+    private FlightAuthorization approved(String vehicleId) {
+        FlightAuthorization auth = new FlightAuthorization(vehicleId, null, null);
+        auth.approve(LocalDateTime.now().plusHours(2));
+        return auth;
+    }
+
+    @Test
+    @DisplayName("Test constructor validation")
+    void testConstructorValidation() {
+        assertThrows(IllegalArgumentException.class, () -> new AuthorizationExpiryWheel(0, 0));
+        AuthorizationExpiryWheel wheel = new AuthorizationExpiryWheel(TICK, 0);
+        assertThrows(IllegalArgumentException.class, () -> wheel.schedule(null, 1000));
+    }
+
+    @Test
+    @DisplayName("Test authorization fires after its expiry time, never before")
+    void testFiresAfterExpiry() {
+        AuthorizationExpiryWheel wheel = new AuthorizationExpiryWheel(TICK, 0);
+        FlightAuthorization auth = approved("v1");
+        wheel.schedule(auth, 5_500);
+        List<FlightAuthorization> fired = new ArrayList<>();
+
+        assertEquals(0, wheel.advanceTo(5_500, fired::add));
+        assertEquals(0, wheel.advanceTo(5_999, fired::add));
+        assertEquals(1, wheel.advanceTo(6_000, fired::add));
+        assertSame(auth, fired.get(0));
+        assertEquals(0, wheel.size());
+        assertFalse(wheel.isScheduled(auth.getId()));
+    }
+
+    @Test
+    @DisplayName("Test each authorization fires exactly once")
+    void testFiresExactlyOnce() {
+        AuthorizationExpiryWheel wheel = new AuthorizationExpiryWheel(TICK, 0);
+        wheel.schedule(approved("v1"), 2_000);
+        List<FlightAuthorization> fired = new ArrayList<>();
+
+        wheel.advanceTo(10_000, fired::add);
+        wheel.advanceTo(20_000, fired::add);
+        assertEquals(1, fired.size());
+    }
+
+    @Test
+    @DisplayName("Test deadlines on higher levels cascade and fire at the right tick")
+    void testCascadeAcrossLevels() {
+        AuthorizationExpiryWheel wheel = new AuthorizationExpiryWheel(TICK, 0);
+        long[] expiries = {100_000, 4_096_000, 7_200_000, 300_000_000};
+        for (int i = 0; i < expiries.length; i++) {
+            wheel.schedule(approved("v" + i), expiries[i]);
+        }
+
+        for (long expiry : expiries) {
+            List<FlightAuthorization> fired = new ArrayList<>();
+            assertEquals(0, wheel.advanceTo(expiry, fired::add), "early fire at " + expiry);
+            assertEquals(1, wheel.advanceTo(expiry + TICK, fired::add), "missed fire at " + expiry);
+        }
+        assertEquals(0, wheel.size());
+    }
+
+    @Test
+    @DisplayName("Test deadlines beyond the top level wait in overflow")
+    void testOverflowDeadline() {
+        AuthorizationExpiryWheel wheel = new AuthorizationExpiryWheel(TICK, 0);
+        long expiry = 20_000_000L * TICK; // 64^4 tick'ten uzun
+        wheel.schedule(approved("v1"), expiry);
+        List<FlightAuthorization> fired = new ArrayList<>();
+
+        assertEquals(0, wheel.advanceTo(expiry, fired::add));
+        assertEquals(1, wheel.advanceTo(expiry + TICK, fired::add));
+    }
+
+    @Test
+    @DisplayName("Test cancel and reschedule")
+    void testCancelAndReschedule() {
+        AuthorizationExpiryWheel wheel = new AuthorizationExpiryWheel(TICK, 0);
+        FlightAuthorization first = approved("v1");
+        FlightAuthorization second = approved("v2");
+        wheel.schedule(first, 3_000);
+        wheel.schedule(second, 3_000);
+        assertTrue(wheel.cancel(first.getId()));
+        assertFalse(wheel.cancel(first.getId()));
+
+        wheel.schedule(second, 50_000); // Eski kayıt yerine geçer
+        assertEquals(1, wheel.size());
+
+        List<FlightAuthorization> fired = new ArrayList<>();
+        assertEquals(0, wheel.advanceTo(10_000, fired::add));
+        assertEquals(1, wheel.advanceTo(51_000, fired::add));
+        assertSame(second, fired.get(0));
+    }
+
+    @Test
+    @DisplayName("Test past deadlines fire on the next advance")
+    void testPastDeadline() {
+        AuthorizationExpiryWheel wheel = new AuthorizationExpiryWheel(TICK, 100_000);
+        wheel.schedule(approved("v1"), 1_000);
+        assertEquals(1, wheel.advanceTo(100_000, auth -> { }));
+    }
+
+    @Test
+    @DisplayName("Test FlightAuthorization.expire transitions only once")
+    void testAuthorizationExpire() {
+        FlightAuthorization auth = approved("v1");
+        assertTrue(auth.expire());
+        assertEquals(AuthorizationStatus.EXPIRED, auth.getStatus());
+        assertFalse(auth.expire());
+        assertFalse(auth.isValid());
+
+        FlightAuthorization pending = new FlightAuthorization("v2", null, null);
+        assertFalse(pending.expire());
+        assertEquals(AuthorizationStatus.PENDING, pending.getStatus());
+    }
+}
@@ -0,0 +1,168 @@
+package com.airtraffic.control;
+
+import com.airtraffic.map.CityMap;
+import com.airtraffic.model.Position;
+import com.airtraffic.model.Vehicle;
+import com.airtraffic.model.VehicleStatus;
+import com.airtraffic.model.VehicleType;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for BaseStationIndex
+ * Tests FULL/PARTIAL cell coverage, incremental connections and departures
+ */
+@DisplayName("BaseStationIndex Tests")
+class BaseStationIndexTest {
+
+    private BaseStationIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new BaseStationIndex(41.0, 29.0, 500.0);
+    }
+
+    @Test
+    @DisplayName("Test constructor validation")
+    void testConstructorValidation() {
+        assertThrows(IllegalArgumentException.class, () -> new BaseStationIndex(41.0, 29.0, 0.0));
+        assertThrows(IllegalArgumentException.class, () -> index.addStation(null));
+    }
+
+    @Test
+    @DisplayName("Test station is registered in covering cells")
+    void testAddStation() {
+        BaseStation station = new BaseStation("S1", new Position(41.0, 29.0, 0.0), 2000.0);
+        index.addStation(station);
+
+        assertEquals(1, index.getStationCount());
+        assertTrue(index.getIndexedCellCount() > 0);
+        assertEquals(List.of(station), index.getStationsCovering(new Position(41.001, 29.001, 100.0)));
+        assertTrue(index.getStationsCovering(new Position(41.05, 29.0, 100.0)).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Test connections match brute-force coverage after random moves")
+    void testParityWithBruteForce() {
+        Random random = new Random(11);
+        List<BaseStation> stations = new ArrayList<>();
+        for (int i = 0; i < 60; i++) {
+            BaseStation station = new BaseStation("S" + i,
+                new Position(40.95 + random.nextDouble() * 0.1, 28.95 + random.nextDouble() * 0.1, 0.0),
+                300.0 + random.nextDouble() * 3000.0);
+            stations.add(station);
+            index.addStation(station);
+        }
+        List<Vehicle> vehicles = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            vehicles.add(createVehicle("v" + i, 40.95 + random.nextDouble() * 0.1, 28.95 + random.nextDouble() * 0.1));
+        }
+
+        for (int round = 0; round < 5; round++) {
+            for (Vehicle vehicle : vehicles) {
+                Position p = vehicle.getPosition();
+                vehicle.updatePosition(new Position(p.getLatitude() + (random.nextDouble() - 0.5) * 0.01,
+                    p.getLongitude() + (random.nextDouble() - 0.5) * 0.01, 100.0));
+                index.updateVehicle(vehicle);
+            }
+            for (Vehicle vehicle : vehicles) {
+                Set<BaseStation> expected = new HashSet<>();
+                for (BaseStation station : stations) {
+                    if (station.isInCoverage(vehicle)) {
+                        expected.add(station);
+                    }
+                    assertEquals(station.isInCoverage(vehicle), station.isConnected(vehicle.getId()));
+                }
+                assertEquals(expected, new HashSet<>(index.getConnectedStations(vehicle.getId())));
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Test removing a vehicle disconnects only that vehicle")
+    void testRemoveVehicle() {
+        BaseStation station = new BaseStation("S1", new Position(41.0, 29.0, 0.0), 2000.0);
+        index.addStation(station);
+        Vehicle v1 = createVehicle("v1", 41.001, 29.0);
+        Vehicle v2 = createVehicle("v2", 41.002, 29.0);
+        index.updateVehicle(v1);
+        index.updateVehicle(v2);
+        assertEquals(2, station.getConnectedVehicleCount());
+
+        index.removeVehicle("v1");
+        assertFalse(station.isConnected("v1"));
+        assertTrue(station.isConnected("v2"));
+        assertEquals(1, index.getTrackedVehicleCount());
+    }
+
+    @Test
+    @DisplayName("Test station added later is picked up on next update")
+    void testLateStation() {
+        Vehicle vehicle = createVehicle("v1", 41.0, 29.0);
+        index.updateVehicle(vehicle);
+        BaseStation station = new BaseStation("S1", new Position(41.0, 29.0, 0.0), 1000.0);
+        index.addStation(station);
+
+        index.updateVehicle(vehicle);
+        assertTrue(station.isConnected("v1"));
+    }
+
+    @Test
+    @DisplayName("Test rebuild adopts connections recorded on stations")
+    void testRebuildAdoptsConnections() {
+        BaseStation station = new BaseStation("S1", new Position(41.0, 29.0, 0.0), 1000.0);
+        station.connectVehicle("v1"); // e.g. restored from saved state
+        index.rebuild(List.of(station));
+
+        Vehicle vehicle = createVehicle("v1", 41.5, 29.5); // far away
+        index.updateVehicle(vehicle);
+        assertFalse(station.isConnected("v1"), "Stale restored connection should be dropped");
+    }
+
+    @Test
+    @DisplayName("Test control center disconnects departing vehicle")
+    void testControlCenterUnregister() {
+        TrafficControlCenter controlCenter = TrafficControlCenter.getInstance();
+        for (Vehicle v : controlCenter.getActiveVehicles()) {
+            controlCenter.unregisterVehicle(v.getId());
+        }
+        CityMap cityMap = new CityMap("Istanbul");
+        cityMap.setMinLatitude(40.0);
+        cityMap.setMaxLatitude(42.0);
+        cityMap.setMinLongitude(28.0);
+        cityMap.setMaxLongitude(30.0);
+        controlCenter.loadCityMap(cityMap);
+        BaseStation station = new BaseStation("BS-IDX", new Position(41.0082, 28.9784, 0.0), 3000.0);
+        controlCenter.addBaseStation(station);
+
+        Position pos = new Position(41.0085, 28.9787, 100.0);
+        Vehicle vehicle = new Vehicle(VehicleType.PASSENGER, pos);
+        vehicle.setPilotLicense("PILOT-BSI");
+        FlightAuthorization auth = controlCenter.requestFlightAuthorization(
+            vehicle, pos, new Position(41.0100, 28.9800, 120.0));
+        assertEquals(AuthorizationStatus.APPROVED, auth.getStatus());
+        controlCenter.registerVehicle(vehicle);
+        assertTrue(station.isConnected(vehicle.getId()));
+
+        controlCenter.unregisterVehicle(vehicle.getId());
+        assertFalse(station.isConnected(vehicle.getId()));
+    }
+
+    private Vehicle createVehicle(String id, double lat, double lon) {
+        Vehicle vehicle = new Vehicle();
+        vehicle.setId(id);
+        vehicle.setType(VehicleType.PASSENGER);
+        vehicle.setStatus(VehicleStatus.IN_FLIGHT);
+        vehicle.setPosition(new Position(lat, lon, 100.0));
+        return vehicle;
+    }
+}
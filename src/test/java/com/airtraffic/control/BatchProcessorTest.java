@@ -239,6 +239,43 @@ class BatchProcessorTest {
         // At least one should succeed
         assertTrue(result.getProcessedCount() > 0);
     }
-}
 
+    @Test
+    @DisplayName("Test batch processing with Kalman track filter smooths positions and velocity")
+    void testProcessBatchWithTrackFilter() throws Exception {
+        Position pos = new Position(41.0082, 28.9784, 100.0);
+        Vehicle vehicle = new Vehicle(VehicleType.PASSENGER, pos);
+        vehicle.setPilotLicense("PILOT-KF");
+        FlightAuthorization auth = controlCenter.requestFlightAuthorization(
+            vehicle, pos, new Position(41.0100, 28.9800, 120.0));
+        assertEquals(AuthorizationStatus.APPROVED, auth.getStatus());
+        controlCenter.registerVehicle(vehicle);
+
+        KalmanTrackFilter filter = new KalmanTrackFilter(41.0, 29.0);
+        batchProcessor.setTrackFilter(filter);
+        java.time.LocalDateTime t0 = java.time.LocalDateTime.of(2024, 1, 1, 12, 0, 0);
+        for (int t = 0; t < 10; t++) {
+            // 10 m/s kuzeye
+            Position report = new Position(41.0082 + 10.0 * t / 111320.0, 28.9784, 100.0, t0.plusSeconds(t));
+            BatchProcessor.BatchResult result = batchProcessor.processBatch(
+                Map.of(vehicle.getId(), report)).get(10, TimeUnit.SECONDS);
+            assertEquals(1, result.getProcessedCount());
+        }
+
+        assertEquals(1, filter.getTrackCount());
+        assertEquals(10.0, vehicle.getVelocity(), 1.0, "Vehicle speed should come from the track estimate");
+        assertTrue(vehicle.getHeading() < 5.0 || vehicle.getHeading() > 355.0);
+        assertEquals(41.0082 + 90.0 / 111320.0, vehicle.getPosition().getLatitude(), 2.0 / 111320.0);
+
+        // Kayıtlı olmayan araca iz açılmaz
+        batchProcessor.processBatch(Map.of("UNKNOWN-KF", new Position(41.0, 29.0, 100.0, t0)))
+            .get(10, TimeUnit.SECONDS);
+        assertEquals(-1, filter.slotOf("UNKNOWN-KF"));
+        assertEquals(1, filter.getTrackCount());
 
+        // Trafikten ayrılan aracın izi serbest bırakılır
+        controlCenter.unregisterVehicle(vehicle.getId());
+        assertEquals(0, filter.getTrackCount());
+        batchProcessor.setTrackFilter(null);
+    }
+}
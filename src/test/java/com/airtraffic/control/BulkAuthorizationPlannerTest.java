@@ -0,0 +1,175 @@
+package com.airtraffic.control;
+
+import com.airtraffic.map.CityMap;
+import com.airtraffic.model.Position;
+import com.airtraffic.model.Vehicle;
+import com.airtraffic.model.VehicleType;
+import com.airtraffic.util.TimeUtils;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for BulkAuthorizationPlanner
+ * Tests batch decisions, slot shifts, safety rejection and parallel prechecks
+ */
+@DisplayName("BulkAuthorizationPlanner Tests")
+class BulkAuthorizationPlannerTest {
+
+    private AdmissionController controller;
+    private Position departure;
+    private Position destination;
+    private LocalDateTime start;
+
+    @BeforeEach
+    void setUp() {
+        controller = new AdmissionController(41.0, 29.0, 250.0, 2);
+        departure = new Position(41.0010, 29.0010, 100.0);
+        destination = new Position(41.0010, 29.0100, 100.0);
+        start = LocalDateTime.now().plusDays(1).withHour(7).withMinute(0).withSecond(0).withNano(0);
+    }
+
+    private FlightRequest request(Position from, Position to, LocalDateTime windowStart) {
+        return new FlightRequest(new Vehicle(VehicleType.PASSENGER, from), from, to,
+            windowStart, windowStart.plusMinutes(10));
+    }
+
+    @Test
+    @DisplayName("Test request and constructor validation")
+    void testValidation() {
+        Vehicle vehicle = new Vehicle(VehicleType.PASSENGER, departure);
+        assertThrows(IllegalArgumentException.class,
+            () -> new FlightRequest(vehicle, departure, destination, start, start.minusMinutes(1)));
+        assertThrows(IllegalArgumentException.class,
+            () -> new FlightRequest(null, departure, destination, start, start));
+        assertThrows(IllegalArgumentException.class, () -> new BulkAuthorizationPlanner(null));
+        assertThrows(IllegalArgumentException.class,
+            () -> new BulkAuthorizationPlanner(controller, ForkJoinPool.commonPool(), -1));
+        assertThrows(IllegalArgumentException.class,
+            () -> new BulkAuthorizationPlanner(controller).plan(null, null));
+    }
+
+    @Test
+    @DisplayName("Test conflicting flights are shifted to the next free slot")
+    void testSlotShift() {
+        BulkAuthorizationPlanner planner = new BulkAuthorizationPlanner(controller);
+        List<FlightRequest> requests = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            requests.add(request(departure, destination, start));
+        }
+
+        List<FlightDecision> decisions = planner.plan(requests, null);
+        assertEquals(3, decisions.size());
+        assertTrue(decisions.get(0).isApproved());
+        assertFalse(decisions.get(0).isShifted());
+        assertTrue(decisions.get(1).isApproved());
+        assertFalse(decisions.get(1).isShifted());
+
+        FlightDecision shifted = decisions.get(2);
+        assertTrue(shifted.isApproved());
+        assertEquals(Duration.ofMinutes(15), shifted.getSlotShift());
+        assertEquals(start.plusMinutes(15), shifted.getApprovedStart());
+        assertEquals(shifted.getApprovedEnd(), shifted.getAuthorization().getValidUntil());
+        assertEquals(shifted.getApprovedStart(), shifted.getAuthorization().getValidFrom());
+        assertTrue(shifted.getAuthorization().isBeforeWindow());
+        assertFalse(shifted.getAuthorization().isValid(), "Not usable before the assigned window");
+    }
+
+    @Test
+    @DisplayName("Test a vehicle appearing twice in a batch is planned only once")
+    void testDuplicateVehicleRejected() {
+        BulkAuthorizationPlanner planner = new BulkAuthorizationPlanner(controller);
+        Vehicle vehicle = new Vehicle(VehicleType.PASSENGER, departure);
+        List<FlightRequest> requests = new ArrayList<>();
+        requests.add(new FlightRequest(vehicle, departure, destination, start.plusMinutes(30),
+            start.plusMinutes(40)));
+        requests.add(new FlightRequest(vehicle, departure, destination, start, start.plusMinutes(10)));
+
+        List<FlightDecision> decisions = planner.plan(requests, null);
+        assertTrue(decisions.get(0).isApproved());
+        assertEquals(start.plusMinutes(30), decisions.get(0).getAuthorization().getValidFrom());
+        assertFalse(decisions.get(1).isApproved(), "Second request of the same vehicle is rejected");
+        assertNotNull(decisions.get(1).getAuthorization().getReason());
+    }
+
+    @Test
+    @DisplayName("Test flights are rejected when no slot fits within the shift limit")
+    void testNoShiftAllowed() {
+        BulkAuthorizationPlanner planner = new BulkAuthorizationPlanner(controller, ForkJoinPool.commonPool(), 0);
+        List<FlightRequest> requests = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            requests.add(request(departure, destination, start));
+        }
+
+        List<FlightDecision> decisions = planner.plan(requests, null);
+        assertEquals(AuthorizationStatus.REJECTED, decisions.get(2).getAuthorization().getStatus());
+        assertNull(decisions.get(2).getSlotShift());
+        assertNotNull(decisions.get(2).getAuthorization().getReason());
+    }
+
+    @Test
+    @DisplayName("Test earlier windows are placed first and existing reservations are respected")
+    void testGreedyOrderAndExistingReservations() {
+        long from = TimeUtils.toEpochMillis(start);
+        assertTrue(controller.tryAdmit("existing", departure, destination, from, from + 600_000));
+
+        BulkAuthorizationPlanner planner = new BulkAuthorizationPlanner(controller);
+        List<FlightRequest> requests = new ArrayList<>();
+        requests.add(request(departure, destination, start.plusMinutes(15))); // sonra istenen
+        requests.add(request(departure, destination, start));                 // önce istenen
+
+        List<FlightDecision> decisions = planner.plan(requests, null);
+        // Önce istenen uçuş kalan tek yere yerleşir, sonra istenen kendi slotunu alır
+        assertFalse(decisions.get(1).isShifted());
+        assertFalse(decisions.get(0).isShifted());
+        assertTrue(decisions.get(0).isApproved() && decisions.get(1).isApproved());
+    }
+
+    @Test
+    @DisplayName("Test unsafe endpoints are rejected without reserving")
+    void testUnsafeRejected() {
+        CityMap cityMap = new CityMap("Test");
+        cityMap.setMinLatitude(40.0);
+        cityMap.setMaxLatitude(42.0);
+        cityMap.setMinLongitude(28.0);
+        cityMap.setMaxLongitude(30.0);
+        BulkAuthorizationPlanner planner = new BulkAuthorizationPlanner(controller);
+
+        List<FlightRequest> requests = new ArrayList<>();
+        requests.add(request(new Position(39.0, 27.0, 100.0), destination, start));
+        List<FlightDecision> decisions = planner.plan(requests, cityMap);
+
+        assertFalse(decisions.get(0).isApproved());
+        assertEquals(0, controller.getReservationCount());
+    }
+
+    @Test
+    @DisplayName("Test large batch uses the parallel precheck and respects capacity")
+    void testLargeBatch() {
+        AdmissionController roomy = new AdmissionController(41.0, 29.0, 250.0, 10);
+        BulkAuthorizationPlanner planner = new BulkAuthorizationPlanner(roomy, ForkJoinPool.commonPool(), 0);
+        List<FlightRequest> requests = new ArrayList<>();
+        for (int i = 0; i < 2000; i++) {
+            // 20 ayrı koridor, her birine 100 talep
+            Position from = new Position(41.0 + (i % 20) * 0.01, 29.0, 100.0);
+            Position to = new Position(41.0 + (i % 20) * 0.01, 29.005, 100.0);
+            requests.add(request(from, to, start));
+        }
+
+        List<FlightDecision> decisions = planner.plan(requests, null);
+        assertEquals(2000, decisions.size());
+        for (int i = 0; i < decisions.size(); i++) {
+            assertSame(requests.get(i), decisions.get(i).getRequest());
+        }
+        long approved = decisions.stream().filter(FlightDecision::isApproved).count();
+        assertEquals(20 * 10, approved);
+    }
+}
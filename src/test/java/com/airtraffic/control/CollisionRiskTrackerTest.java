@@ -0,0 +1,170 @@
+package com.airtraffic.control;
+
+import com.airtraffic.model.Position;
+import com.airtraffic.model.RiskLevel;
+import com.airtraffic.model.Vehicle;
+import com.airtraffic.model.VehicleStatus;
+import com.airtraffic.model.VehicleType;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for CollisionRiskTracker
+ * Tests pair lifecycle, hysteresis, material-change skipping and events
+ */
+@DisplayName("CollisionRiskTracker Tests")
+class CollisionRiskTrackerTest {
+
+    private static final double METERS_PER_DEGREE_LAT = 111320.0;
+
+    private CollisionRiskTracker tracker;
+    private List<CollisionRiskEvent> events;
+    private Vehicle a;
+    private Vehicle b;
+    private List<Vehicle> fleet;
+
+    @BeforeEach
+    void setUp() {
+        tracker = new CollisionRiskTracker(new CollisionDetectionService(), 5.0, 2.0, 3);
+        events = new ArrayList<>();
+        tracker.addListener(events::add);
+        a = createVehicle("a", 0.0);
+        b = createVehicle("b", 20.0);
+        fleet = List.of(a, b);
+    }
+
+    @Test
+    @DisplayName("Test constructor validation")
+    void testConstructorValidation() {
+        assertThrows(IllegalArgumentException.class, () -> new CollisionRiskTracker(null));
+        assertThrows(IllegalArgumentException.class,
+            () -> new CollisionRiskTracker(new CollisionDetectionService(), -1.0, 2.0, 3));
+        assertThrows(IllegalArgumentException.class,
+            () -> new CollisionRiskTracker(new CollisionDetectionService(), 5.0, 2.0, 0));
+    }
+
+    @Test
+    @DisplayName("Test close pair becomes NEW and is keyed independently of order")
+    void testNewPair() {
+        assertTrue(tracker.update(a, null, fleet));
+        assertEquals(1, events.size());
+        assertEquals(RiskState.NEW, events.get(0).getState());
+        assertEquals(RiskLevel.CRITICAL, events.get(0).getLevel());
+        assertTrue(events.get(0).isSevere());
+        assertEquals(RiskState.NEW, tracker.getRiskState("b", "a"));
+        assertEquals(1, tracker.getTrackedPairCount());
+        assertEquals(1, tracker.getRisks("b").size());
+    }
+
+    @Test
+    @DisplayName("Test unchanged motion does not re-score")
+    void testMaterialChangeSkipping() {
+        tracker.update(a, null, fleet);
+        long scored = tracker.getPairScoreCount();
+
+        a.setPosition(offset(1.0, 100.5));
+        assertFalse(tracker.update(a, null, fleet));
+        assertEquals(scored, tracker.getPairScoreCount());
+        assertEquals(1, tracker.getSkippedCount());
+
+        a.setVelocity(a.getVelocity() + 5.0);
+        assertTrue(tracker.update(a, null, fleet));
+        assertTrue(tracker.getPairScoreCount() > scored);
+    }
+
+    @Test
+    @DisplayName("Test same level re-score moves to STEADY without repeated events")
+    void testSteady() {
+        tracker.update(a, null, fleet);
+        tracker.update(b, null, fleet);
+        assertEquals(RiskState.STEADY, tracker.getRiskState("a", "b"));
+        int count = events.size();
+
+        b.setPosition(offset(14.0, 100.0));
+        tracker.update(b, null, fleet);
+        assertEquals(count, events.size(), "Steady pair emits no further events");
+    }
+
+    @Test
+    @DisplayName("Test clearing needs consecutive confirmations")
+    void testHysteresisClear() {
+        tracker.update(a, null, fleet);
+
+        // Uzaklaşır: kapsam dışında, risk yok
+        b.setPosition(offset(2000.0, 100.0));
+        tracker.update(b, null, fleet);
+        assertEquals(RiskState.RESOLVING, tracker.getRiskState("a", "b"));
+        assertEquals(RiskLevel.CRITICAL, tracker.getRiskLevel("a", "b"));
+
+        b.setPosition(offset(2100.0, 100.0));
+        tracker.update(b, null, fleet);
+        assertEquals(RiskState.RESOLVING, tracker.getRiskState("a", "b"));
+
+        b.setPosition(offset(2200.0, 100.0));
+        tracker.update(b, null, fleet);
+        assertNull(tracker.getRiskState("a", "b"));
+        assertEquals(0, tracker.getTrackedPairCount());
+
+        CollisionRiskEvent last = events.get(events.size() - 1);
+        assertEquals(RiskState.CLEARED, last.getState());
+        assertFalse(last.isSevere());
+    }
+
+    @Test
+    @DisplayName("Test risk returning during resolution restores STEADY")
+    void testFlickerDoesNotClear() {
+        tracker.update(a, null, fleet);
+        b.setPosition(offset(2000.0, 100.0));
+        tracker.update(b, null, fleet);
+        b.setPosition(offset(20.0, 100.0));
+        tracker.update(b, null, fleet);
+        assertEquals(RiskState.STEADY, tracker.getRiskState("a", "b"));
+        assertEquals(RiskLevel.CRITICAL, tracker.getRiskLevel("a", "b"));
+    }
+
+    @Test
+    @DisplayName("Test escalation is adopted immediately")
+    void testEscalation() {
+        // 15 m dikey ayrım: yalnızca yatay ihlal -> HIGH
+        b.setPosition(offset(20.0, 115.0));
+        tracker.update(a, null, fleet);
+        assertEquals(RiskLevel.HIGH, tracker.getRiskLevel("a", "b"));
+
+        b.setPosition(offset(20.0, 100.0));
+        tracker.update(b, null, fleet);
+        assertEquals(RiskState.ESCALATING, tracker.getRiskState("a", "b"));
+        assertEquals(RiskLevel.CRITICAL, tracker.getRiskLevel("a", "b"));
+        assertEquals(RiskLevel.HIGH, events.get(events.size() - 1).getPreviousLevel());
+    }
+
+    @Test
+    @DisplayName("Test forget clears all pairs of a vehicle")
+    void testForget() {
+        tracker.update(a, null, fleet);
+        tracker.forget("b");
+        assertEquals(0, tracker.getTrackedPairCount());
+        assertEquals(RiskState.CLEARED, events.get(events.size() - 1).getState());
+        assertTrue(tracker.getRisks("a").isEmpty());
+    }
+
+    private Position offset(double northMeters, double altitude) {
+        return new Position(41.0 + northMeters / METERS_PER_DEGREE_LAT, 29.0, altitude);
+    }
+
+    private Vehicle createVehicle(String id, double northMeters) {
+        Vehicle vehicle = new Vehicle();
+        vehicle.setId(id);
+        vehicle.setType(VehicleType.PASSENGER);
+        vehicle.setStatus(VehicleStatus.IN_FLIGHT);
+        vehicle.setPosition(offset(northMeters, 100.0));
+        vehicle.setVelocity(10.0);
+        vehicle.setHeading(90.0);
+        return vehicle;
+    }
+}
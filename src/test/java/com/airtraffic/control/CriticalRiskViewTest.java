@@ -0,0 +1,127 @@
+package com.airtraffic.control;
+
+import com.airtraffic.model.CollisionRisk;
+import com.airtraffic.model.RiskLevel;
+import com.airtraffic.model.Position;
+import com.airtraffic.model.Vehicle;
+import com.airtraffic.model.VehicleStatus;
+import com.airtraffic.model.VehicleType;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for CriticalRiskView
+ * Tests membership by effective level, latest-risk reads and versioning
+ */
+@DisplayName("CriticalRiskView Tests")
+class CriticalRiskViewTest {
+
+    private static final double METERS_PER_DEGREE_LAT = 111320.0;
+
+    private CollisionRiskTracker tracker;
+    private CriticalRiskView view;
+    private Vehicle a;
+    private Vehicle b;
+    private List<Vehicle> fleet;
+
+    @BeforeEach
+    void setUp() {
+        tracker = new CollisionRiskTracker(new CollisionDetectionService(), 5.0, 2.0, 2);
+        view = new CriticalRiskView(tracker);
+        a = createVehicle("a", 0.0, 100.0);
+        b = createVehicle("b", 20.0, 115.0);
+        fleet = List.of(a, b);
+    }
+
+    @Test
+    @DisplayName("Test constructor validation")
+    void testConstructorValidation() {
+        assertThrows(IllegalArgumentException.class, () -> new CriticalRiskView(null));
+    }
+
+    @Test
+    @DisplayName("Test pair moves between HIGH and CRITICAL sets")
+    void testMembership() {
+        tracker.update(a, null, fleet);
+        assertEquals(1, view.getHighCount());
+        assertEquals(0, view.getCriticalCount());
+        assertTrue(view.getCriticalRisks().isEmpty());
+
+        b.setPosition(offset(20.0, 100.0));
+        tracker.update(b, null, fleet);
+        assertEquals(0, view.getHighCount());
+        assertEquals(1, view.getCriticalCount());
+        assertEquals(1, view.getSevereRisks().size());
+    }
+
+    @Test
+    @DisplayName("Test reads return the latest scored risk")
+    void testLatestRisk() {
+        b.setPosition(offset(20.0, 100.0));
+        tracker.update(a, null, fleet);
+        long version = view.getVersion();
+
+        b.setPosition(offset(12.0, 100.0));
+        tracker.update(b, null, fleet);
+        CollisionRisk risk = view.getCriticalRisks().get(0);
+        assertEquals(12.0, risk.getHorizontalDistance(), 0.5);
+        assertEquals(version, view.getVersion(), "Steady pair does not change membership");
+    }
+
+    @Test
+    @DisplayName("Test resolving pair is reported at its effective level")
+    void testResolvingKeepsEffectiveLevel() {
+        b.setPosition(offset(20.0, 100.0));
+        tracker.update(a, null, fleet);
+        assertEquals(1, view.getCriticalCount());
+
+        // Ham seviye HIGH'a düşer; histerezis onaylayana kadar çift CRITICAL kalır
+        b.setPosition(offset(20.0, 115.0));
+        tracker.update(b, null, fleet);
+        assertEquals(RiskState.RESOLVING, tracker.getRiskState("a", "b"));
+        assertEquals(RiskLevel.HIGH, tracker.getRisk("a", "b").getRiskLevel());
+        List<CollisionRisk> critical = view.getCriticalRisks();
+        assertEquals(1, critical.size());
+        assertTrue(critical.get(0).isCritical());
+        assertEquals(15.0, critical.get(0).getVerticalDistance(), 0.5, "Latest geometry is kept");
+        assertEquals(RiskLevel.HIGH, tracker.getRisk("a", "b").getRiskLevel(), "Tracker risk is not modified");
+
+        b.setPosition(offset(27.0, 115.0));
+        assertTrue(tracker.update(b, null, fleet));
+        assertTrue(view.getCriticalRisks().isEmpty());
+        assertEquals(RiskLevel.HIGH, view.getHighRisks().get(0).getRiskLevel());
+    }
+
+    @Test
+    @DisplayName("Test cleared pair leaves the view")
+    void testCleared() {
+        tracker.update(a, null, fleet);
+        b.setPosition(offset(2000.0, 115.0));
+        tracker.update(b, null, fleet);
+        assertEquals(1, view.getHighCount(), "Resolving pair stays until confirmed");
+        b.setPosition(offset(2100.0, 115.0));
+        tracker.update(b, null, fleet);
+        assertEquals(0, view.getHighCount());
+        assertTrue(view.getSevereRisks().isEmpty());
+    }
+
+    private Position offset(double northMeters, double altitude) {
+        return new Position(41.0 + northMeters / METERS_PER_DEGREE_LAT, 29.0, altitude);
+    }
+
+    private Vehicle createVehicle(String id, double northMeters, double altitude) {
+        Vehicle vehicle = new Vehicle();
+        vehicle.setId(id);
+        vehicle.setType(VehicleType.PASSENGER);
+        vehicle.setStatus(VehicleStatus.IN_FLIGHT);
+        vehicle.setPosition(offset(northMeters, altitude));
+        vehicle.setVelocity(10.0);
+        vehicle.setHeading(90.0);
+        return vehicle;
+    }
+}
@@ -0,0 +1,152 @@
+package com.airtraffic.control;
+
+import com.airtraffic.map.CityMap;
+import com.airtraffic.model.Position;
+import com.airtraffic.model.Vehicle;
+import com.airtraffic.model.VehicleStatus;
+import com.airtraffic.model.VehicleType;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for DeadReckoningFilter
+ * Tests suppression of predictable reports, tolerances, heartbeat and control center wiring
+ */
+@DisplayName("DeadReckoningFilter Tests")
+class DeadReckoningFilterTest {
+
+    private static final LocalDateTime T0 = LocalDateTime.of(2024, 1, 1, 12, 0, 0);
+
+    private DeadReckoningFilter filter;
+    private Vehicle vehicle;
+
+    @BeforeEach
+    void setUp() {
+        filter = new DeadReckoningFilter(5.0, 2.0, 5000);
+        vehicle = new Vehicle();
+        vehicle.setId("dr-1");
+        vehicle.setType(VehicleType.PASSENGER);
+        vehicle.setStatus(VehicleStatus.IN_FLIGHT);
+        vehicle.setVelocity(20.0);
+        vehicle.setHeading(0.0); // kuzey
+    }
+
+    @Test
+    @DisplayName("Test constructor validation")
+    void testConstructorValidation() {
+        assertThrows(IllegalArgumentException.class, () -> new DeadReckoningFilter(-1.0, 2.0, 5000));
+        assertThrows(IllegalArgumentException.class, () -> new DeadReckoningFilter(5.0, 2.0, 0));
+        assertThrows(IllegalArgumentException.class, () -> filter.shouldForward(null, report(41.0, 29.0, 0)));
+    }
+
+    @Test
+    @DisplayName("Test first report is forwarded and predicted reports are suppressed")
+    void testPredictedReportsSuppressed() {
+        assertTrue(filter.shouldForward(vehicle, report(41.0, 29.0, 0)));
+
+        // 20 m/s kuzey, 1 saniye sonra ~20 m kuzeyde
+        for (int s = 1; s <= 4; s++) {
+            assertFalse(filter.shouldForward(vehicle, report(41.0 + 20.0 * s / 111320.0, 29.0, s * 1000)),
+                "Report on predicted track should be suppressed");
+        }
+        assertEquals(5, filter.getReceivedCount());
+        assertEquals(4, filter.getSuppressedCount());
+        assertEquals(0.8, filter.getSuppressionRatio(), 1e-9);
+    }
+
+    @Test
+    @DisplayName("Test deviation beyond tolerance is forwarded")
+    void testDeviationForwarded() {
+        filter.shouldForward(vehicle, report(41.0, 29.0, 0));
+
+        // Tahmin 20 m kuzey; rapor 30 m kuzey -> 10 m sapma
+        assertTrue(filter.shouldForward(vehicle, report(41.0 + 30.0 / 111320.0, 29.0, 1000)));
+
+        // Irtifa sapması
+        Position climbed = new Position(41.0 + 50.0 / 111320.0, 29.0, 105.0);
+        climbed.setTimestamp(T0.plusSeconds(2));
+        assertTrue(filter.shouldForward(vehicle, climbed));
+    }
+
+    @Test
+    @DisplayName("Test heading or speed change resets the baseline")
+    void testKinematicChangeForwarded() {
+        filter.shouldForward(vehicle, report(41.0, 29.0, 0));
+        vehicle.setHeading(90.0);
+        assertTrue(filter.shouldForward(vehicle, report(41.0 + 20.0 / 111320.0, 29.0, 1000)));
+
+        vehicle.setVelocity(30.0);
+        assertTrue(filter.shouldForward(vehicle, report(41.0 + 20.0 / 111320.0, 29.0, 2000)));
+    }
+
+    @Test
+    @DisplayName("Test heartbeat forces forwarding")
+    void testHeartbeat() {
+        vehicle.setVelocity(0.0);
+        filter.shouldForward(vehicle, report(41.0, 29.0, 0));
+        assertFalse(filter.shouldForward(vehicle, report(41.0, 29.0, 4999)));
+        assertTrue(filter.shouldForward(vehicle, report(41.0, 29.0, 5000)));
+        assertFalse(filter.shouldForward(vehicle, report(41.0, 29.0, 6000)));
+    }
+
+    @Test
+    @DisplayName("Test forget removes the track")
+    void testForget() {
+        vehicle.setVelocity(0.0);
+        filter.shouldForward(vehicle, report(41.0, 29.0, 0));
+        assertEquals(1, filter.getTrackCount());
+        filter.forget(vehicle.getId());
+        assertEquals(0, filter.getTrackCount());
+        assertTrue(filter.shouldForward(vehicle, report(41.0, 29.0, 1000)));
+    }
+
+    @Test
+    @DisplayName("Test control center still moves suppressed vehicles")
+    void testControlCenterIntegration() {
+        TrafficControlCenter controlCenter = TrafficControlCenter.getInstance();
+        for (Vehicle v : controlCenter.getActiveVehicles()) {
+            controlCenter.unregisterVehicle(v.getId());
+        }
+        CityMap cityMap = new CityMap("Istanbul");
+        cityMap.setMinLatitude(40.0);
+        cityMap.setMaxLatitude(42.0);
+        cityMap.setMinLongitude(28.0);
+        cityMap.setMaxLongitude(30.0);
+        controlCenter.loadCityMap(cityMap);
+
+        Position start = new Position(41.0082, 28.9784, 100.0);
+        Vehicle drone = new Vehicle(VehicleType.PASSENGER, start);
+        drone.setPilotLicense("PILOT-DR");
+        controlCenter.requestFlightAuthorization(drone, start, new Position(41.0100, 28.9800, 100.0));
+        controlCenter.registerVehicle(drone);
+        drone.setVelocity(0.0);
+
+        DeadReckoningFilter ccFilter = new DeadReckoningFilter();
+        controlCenter.setDeadReckoningFilter(ccFilter);
+        try {
+            controlCenter.updateVehiclePosition(drone.getId(), new Position(41.0082, 28.9784, 100.0));
+            Position hover = new Position(41.00820001, 28.9784, 100.0);
+            controlCenter.updateVehiclePosition(drone.getId(), hover);
+
+            assertEquals(1, ccFilter.getSuppressedCount());
+            assertSame(hover, drone.getPosition(), "Suppressed report must still update the position");
+            assertEquals(1, controlCenter.getVehiclesInArea(hover, 10.0).size());
+
+            controlCenter.unregisterVehicle(drone.getId());
+            assertEquals(0, ccFilter.getTrackCount());
+        } finally {
+            controlCenter.setDeadReckoningFilter(null);
+        }
+    }
+
+    private Position report(double lat, double lon, long offsetMillis) {
+        Position position = new Position(lat, lon, 100.0);
+        position.setTimestamp(T0.plusNanos(offsetMillis * 1_000_000L));
+        return position;
+    }
+}
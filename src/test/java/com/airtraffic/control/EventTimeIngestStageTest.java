@@ -0,0 +1,179 @@
+package com.airtraffic.control;
+
+import com.airtraffic.control.EventTimeIngestStage.LatePolicy;
+import com.airtraffic.model.Position;
+import com.airtraffic.util.TimeUtils;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for EventTimeIngestStage
+ * Tests reordering, watermark ticks, late-data policies and buffer bounds
+ */
+@DisplayName("EventTimeIngestStage Tests")
+class EventTimeIngestStageTest {
+
+    private static final LocalDateTime T0 = LocalDateTime.of(2024, 1, 1, 12, 0, 0);
+
+    @Test
+    @DisplayName("Test constructor validation")
+    void testConstructorValidation() {
+        assertThrows(IllegalArgumentException.class, () -> new EventTimeIngestStage(-1, LatePolicy.DROP));
+        assertThrows(IllegalArgumentException.class, () -> new EventTimeIngestStage(100, 0, LatePolicy.DROP));
+        assertThrows(IllegalArgumentException.class, () -> new EventTimeIngestStage(100, null));
+    }
+
+    @Test
+    @DisplayName("Test out-of-order reports emit the newest one released by the watermark")
+    void testReorderAndWatermark() {
+        EventTimeIngestStage stage = new EventTimeIngestStage(1000, LatePolicy.DROP);
+        stage.offer("v1", at(41.003, 3000));
+        stage.offer("v1", at(41.001, 1000));
+        stage.offer("v1", at(41.002, 2000));
+
+        // Watermark = 3000 - 1000 = 2000: releases t=1000 and t=2000
+        EventTimeIngestStage.Tick tick = stage.closeTick();
+        assertEquals(millis(2000), tick.getWatermark());
+        assertEquals(41.002, tick.getUpdates().get("v1").getLatitude(), 1e-9);
+        assertEquals(1, tick.getCoalescedCount());
+        assertEquals(1, stage.getBufferedCount());
+
+        // Boş tick: watermark ilerlemez, çıktı yok
+        assertTrue(stage.closeTick().getUpdates().isEmpty());
+        EventTimeIngestStage.Tick flushed = stage.closeTick(millis(5000));
+        assertEquals(41.003, flushed.getUpdates().get("v1").getLatitude(), 1e-9);
+        assertEquals(3, flushed.getTickNumber());
+    }
+
+    @Test
+    @DisplayName("Test output is independent of arrival order")
+    void testDeterministicOutput() {
+        List<String[]> reports = new ArrayList<>();
+        for (int v = 0; v < 50; v++) {
+            for (int t = 0; t < 10; t++) {
+                reports.add(new String[] {"v" + v, String.valueOf(t * 100)});
+            }
+        }
+        Map<String, Position> first = null;
+        Random random = new Random(3);
+        for (int run = 0; run < 5; run++) {
+            Collections.shuffle(reports, random);
+            EventTimeIngestStage stage = new EventTimeIngestStage(0, LatePolicy.DROP);
+            reports.parallelStream().forEach(r ->
+                stage.offer(r[0], at(41.0 + Integer.parseInt(r[1]) * 1e-6, Integer.parseInt(r[1]))));
+            Map<String, Position> updates = stage.closeTick(millis(1000)).getUpdates();
+            assertEquals(50, updates.size());
+            if (first == null) {
+                first = updates;
+            } else {
+                assertEquals(new ArrayList<>(first.keySet()), new ArrayList<>(updates.keySet()));
+                for (String id : first.keySet()) {
+                    assertEquals(first.get(id).getTimestamp(), updates.get(id).getTimestamp());
+                    assertEquals(first.get(id).getLatitude(), updates.get(id).getLatitude(), 0.0);
+                }
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Test DROP policy discards late reports")
+    void testDropPolicy() {
+        EventTimeIngestStage stage = new EventTimeIngestStage(0, LatePolicy.DROP);
+        stage.offer("v1", at(41.0, 2000));
+        stage.closeTick();
+
+        assertFalse(stage.offer("v1", at(41.1, 1000)));
+        assertFalse(stage.offer("v2", at(41.1, 1500)), "Behind the global watermark");
+        assertEquals(2, stage.getLateCount());
+        assertEquals(2, stage.getDroppedCount());
+        assertTrue(stage.closeTick().getUpdates().isEmpty());
+    }
+
+    @Test
+    @DisplayName("Test APPLY_IF_NEWER applies late reports newer than the last emitted one")
+    void testApplyIfNewerPolicy() {
+        EventTimeIngestStage stage = new EventTimeIngestStage(0, LatePolicy.APPLY_IF_NEWER);
+        stage.offer("v1", at(41.0, 1000));
+        stage.offer("v2", at(41.0, 3000));
+        stage.closeTick(); // watermark 3000, v1 emitted at 1000
+
+        assertTrue(stage.offer("v1", at(41.2, 2000)), "Late but newer than v1's last emitted report");
+        assertFalse(stage.offer("v1", at(41.3, 500)), "Older than last emitted report");
+        Map<String, Position> updates = stage.closeTick().getUpdates();
+        assertEquals(41.2, updates.get("v1").getLatitude(), 1e-9);
+        assertEquals(1, stage.getDroppedCount());
+    }
+
+    @Test
+    @DisplayName("Test SIDE_OUTPUT policy routes late reports to the side queue")
+    void testSideOutputPolicy() {
+        EventTimeIngestStage stage = new EventTimeIngestStage(0, LatePolicy.SIDE_OUTPUT);
+        stage.offer("v1", at(41.0, 2000));
+        stage.closeTick();
+
+        assertFalse(stage.offer("v1", at(41.5, 1000)));
+        List<EventTimeIngestStage.LateUpdate> late = stage.drainSideOutput();
+        assertEquals(1, late.size());
+        assertEquals("v1", late.get(0).getVehicleId());
+        assertEquals(millis(1000), late.get(0).getEventTime());
+        assertEquals(millis(2000), late.get(0).getWatermarkAtArrival());
+        assertTrue(stage.drainSideOutput().isEmpty());
+    }
+
+    @Test
+    @DisplayName("Test full reorder buffer releases the oldest report early")
+    void testBufferOverflow() {
+        EventTimeIngestStage stage = new EventTimeIngestStage(1_000_000, 2, LatePolicy.DROP);
+        stage.offer("v1", at(41.001, 1000));
+        stage.offer("v1", at(41.002, 2000));
+        stage.offer("v1", at(41.003, 3000));
+
+        assertEquals(1, stage.getOverflowCount());
+        assertEquals(2, stage.getBufferedCount());
+        Map<String, Position> updates = stage.closeTick().getUpdates();
+        assertEquals(41.001, updates.get("v1").getLatitude(), 1e-9);
+        assertFalse(stage.offer("v1", at(41.0, 500)), "Older than emitted report is late");
+    }
+
+    @Test
+    @DisplayName("Test batch processor closes one watermark tick per batch")
+    void testBatchProcessorIntegration() throws Exception {
+        TrafficControlCenter controlCenter = TrafficControlCenter.getInstance();
+        BatchProcessor processor = new BatchProcessor(controlCenter);
+        try {
+            EventTimeIngestStage stage = new EventTimeIngestStage(0, LatePolicy.DROP);
+            processor.setIngestStage(stage);
+            BatchProcessor.BatchResult result = processor.processBatch(
+                Map.of("unknown-vehicle", at(41.0, 1000))).get(5, java.util.concurrent.TimeUnit.SECONDS);
+            assertEquals(1, result.getProcessedCount());
+            assertEquals(millis(1000), stage.getWatermark());
+
+            // Trafikten ayrılan aracın bekleyen raporları silinir
+            assertSame(stage, controlCenter.getIngestStage());
+            assertTrue(stage.offer("leaving-vehicle", at(41.0, 5000)));
+            assertEquals(1, stage.getBufferedCount());
+            controlCenter.unregisterVehicle("leaving-vehicle");
+            assertEquals(0, stage.getBufferedCount());
+        } finally {
+            processor.setIngestStage(null);
+            processor.shutdown();
+        }
+    }
+
+    private static Position at(double latitude, long offsetMillis) {
+        return new Position(latitude, 29.0, 100.0, T0.plusNanos(offsetMillis * 1_000_000L));
+    }
+
+    private static long millis(long offsetMillis) {
+        return TimeUtils.toEpochMillis(T0) + offsetMillis;
+    }
+}
@@ -0,0 +1,149 @@
+package com.airtraffic.control;
+
+import com.airtraffic.map.CityMap;
+import com.airtraffic.model.Position;
+import com.airtraffic.model.Vehicle;
+import com.airtraffic.model.VehicleStatus;
+import com.airtraffic.model.VehicleType;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for FleetSnapshot
+ * Tests immutability, snapshot queries and publishing through TrafficControlCenter
+ */
+@DisplayName("FleetSnapshot Tests")
+class FleetSnapshotTest {
+
+    private TrafficControlCenter controlCenter;
+
+    @BeforeEach
+    void setUp() {
+        controlCenter = TrafficControlCenter.getInstance();
+        for (Vehicle vehicle : controlCenter.getActiveVehicles()) {
+            controlCenter.unregisterVehicle(vehicle.getId());
+        }
+        CityMap cityMap = new CityMap("Istanbul");
+        cityMap.setMinLatitude(40.0);
+        cityMap.setMaxLatitude(42.0);
+        cityMap.setMinLongitude(28.0);
+        cityMap.setMaxLongitude(30.0);
+        controlCenter.loadCityMap(cityMap);
+    }
+
+    @Test
+    @DisplayName("Test snapshot copies columns and is not affected by later writes")
+    void testSnapshotIsImmutable() {
+        Vehicle vehicle = createVehicle("v1", 41.0, 29.0, VehicleStatus.IN_FLIGHT);
+        FleetSnapshot snapshot = FleetSnapshot.build(7L, List.of(vehicle), 41.0, 29.0, 500.0);
+
+        vehicle.updatePosition(new Position(41.5, 29.5, 200.0));
+        vehicle.setStatus(VehicleStatus.LANDING);
+
+        assertEquals(7L, snapshot.getVersion());
+        assertEquals(1, snapshot.size());
+        assertEquals(41.0, snapshot.getLatitude(0), 1e-9);
+        assertEquals(29.0, snapshot.getLongitude(0), 1e-9);
+        assertEquals(VehicleStatus.IN_FLIGHT, snapshot.getStatus(0));
+        assertEquals(1, snapshot.countByStatus(VehicleStatus.IN_FLIGHT));
+        assertEquals(0, snapshot.countByStatus(VehicleStatus.LANDING));
+        assertTrue(snapshot.containsVehicle("v1"));
+        assertThrows(UnsupportedOperationException.class, () -> snapshot.getVehicles().clear());
+
+        // Okuyucu kopya alır: ne canlı araç ne de snapshot değişir
+        Vehicle copy = snapshot.getVehicle(0);
+        assertNotSame(vehicle, copy);
+        assertEquals(41.0, copy.getPosition().getLatitude(), 1e-9);
+        assertEquals(VehicleStatus.IN_FLIGHT, copy.getStatus());
+        copy.setStatus(VehicleStatus.EMERGENCY);
+        copy.getPosition().setLatitude(40.0);
+        assertEquals(VehicleStatus.LANDING, vehicle.getStatus());
+        assertEquals(VehicleStatus.IN_FLIGHT, snapshot.getVehicles().get(0).getStatus());
+        assertEquals(41.0, snapshot.getVehicle(0).getPosition().getLatitude(), 1e-9);
+    }
+
+    @Test
+    @DisplayName("Test snapshot radius query matches linear search")
+    void testQueryParity() {
+        Random random = new Random(7);
+        List<Vehicle> vehicles = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            vehicles.add(createVehicle("v" + i, 40.99 + random.nextDouble() * 0.03,
+                28.99 + random.nextDouble() * 0.03, VehicleStatus.IN_FLIGHT));
+        }
+        Vehicle noPosition = createVehicle("nopos", 41.0, 29.0, VehicleStatus.IDLE);
+        noPosition.setPosition(null);
+        vehicles.add(noPosition);
+
+        FleetSnapshot snapshot = FleetSnapshot.build(1L, vehicles, 41.0, 29.0, 500.0);
+        assertEquals(1001, snapshot.size());
+        assertFalse(snapshot.hasPosition(snapshot.indexOf("nopos")));
+
+        for (int q = 0; q < 30; q++) {
+            Position center = new Position(40.99 + random.nextDouble() * 0.03,
+                28.99 + random.nextDouble() * 0.03, 100.0);
+            double radius = 100.0 + random.nextDouble() * 1500.0;
+            Set<String> expected = new HashSet<>();
+            for (Vehicle vehicle : vehicles) {
+                if (vehicle.getPosition() != null && vehicle.getPosition().horizontalDistanceTo(center) <= radius) {
+                    expected.add(vehicle.getId());
+                }
+            }
+            Set<String> actual = new HashSet<>();
+            for (Vehicle vehicle : snapshot.getVehiclesInArea(center, radius)) {
+                actual.add(vehicle.getId());
+            }
+            assertEquals(expected, actual);
+        }
+    }
+
+    @Test
+    @DisplayName("Test readers see only snapshots published by the control loop")
+    void testPublishThroughControlCenter() {
+        Position pos = new Position(41.0082, 28.9784, 100.0);
+        Vehicle vehicle = new Vehicle(VehicleType.PASSENGER, pos);
+        vehicle.setPilotLicense("PILOT-SNAP");
+        FlightAuthorization auth = controlCenter.requestFlightAuthorization(
+            vehicle, pos, new Position(41.0100, 28.9800, 120.0));
+        assertEquals(AuthorizationStatus.APPROVED, auth.getStatus());
+        FleetSnapshot before = controlCenter.getFleetSnapshot();
+        controlCenter.registerVehicle(vehicle);
+        assertSame(before, controlCenter.getFleetSnapshot(), "Readers never rebuild the snapshot");
+
+        FleetSnapshot first = controlCenter.publishFleetSnapshot();
+        assertTrue(first.containsVehicle(vehicle.getId()));
+        assertSame(first, controlCenter.getFleetSnapshot());
+
+        Position moved = new Position(41.0100, 28.9800, 120.0);
+        controlCenter.updateVehiclePosition(vehicle.getId(), moved);
+        assertSame(first, controlCenter.getFleetSnapshot(), "Stale until the next publish");
+        FleetSnapshot second = controlCenter.publishFleetSnapshot();
+        assertSame(second, controlCenter.getFleetSnapshot());
+        assertTrue(second.getVersion() > first.getVersion());
+        assertEquals(1, second.getVehiclesInArea(moved, 50.0).size());
+        assertEquals(41.0082, first.getLatitude(first.indexOf(vehicle.getId())), 1e-9,
+            "Old snapshot must keep its tick's position");
+
+        controlCenter.unregisterVehicle(vehicle.getId());
+        controlCenter.publishFleetSnapshot();
+        assertFalse(controlCenter.getFleetSnapshot().containsVehicle(vehicle.getId()));
+    }
+
+    private Vehicle createVehicle(String id, double lat, double lon, VehicleStatus status) {
+        Vehicle vehicle = new Vehicle();
+        vehicle.setId(id);
+        vehicle.setType(VehicleType.PASSENGER);
+        vehicle.setStatus(status);
+        vehicle.setPosition(new Position(lat, lon, 100.0));
+        return vehicle;
+    }
+}
@@ -0,0 +1,145 @@
+package com.airtraffic.control;
+
+import com.airtraffic.model.Position;
+import com.airtraffic.model.Vehicle;
+import com.airtraffic.model.VehicleStatus;
+import com.airtraffic.model.VehicleType;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for HandoffPlanner
+ * Tests primary/backup assignment, capacity limits, prediction and hysteresis
+ */
+@DisplayName("HandoffPlanner Tests")
+class HandoffPlannerTest {
+
+    private static final double METERS_PER_DEGREE_LAT = 111320.0;
+
+    private BaseStationIndex index;
+    private BaseStation west;
+    private BaseStation east;
+
+    @BeforeEach
+    void setUp() {
+        index = new BaseStationIndex(41.0, 29.0, 500.0);
+        // İki istasyon, doğu-batı ekseninde 2 km arayla, 2 km kapsama
+        west = new BaseStation("West", new Position(41.0, 29.0, 0.0), 2000.0);
+        east = new BaseStation("East", new Position(41.0, 29.0 + lonOffset(2000.0), 0.0), 2000.0);
+        index.addStation(west);
+        index.addStation(east);
+    }
+
+    @Test
+    @DisplayName("Test constructor validation")
+    void testConstructorValidation() {
+        assertThrows(IllegalArgumentException.class, () -> new HandoffPlanner(null));
+        assertThrows(IllegalArgumentException.class, () -> new HandoffPlanner(index, 30.0, 0.1, 0));
+        assertThrows(IllegalArgumentException.class, () -> west.setMaxConnections(-1));
+    }
+
+    @Test
+    @DisplayName("Test vehicle gets nearest station as primary and other as backup")
+    void testPrimaryAndBackup() {
+        HandoffPlanner planner = new HandoffPlanner(index, 0.0, 0.15, 10);
+        Vehicle vehicle = createVehicle("v1", 41.0, 29.0 + lonOffset(300.0), 0.0, 0.0);
+
+        assertEquals(0, planner.planTick(List.of(vehicle)), "Initial attach is not a handoff");
+        assertSame(west, planner.getPrimary("v1"));
+        assertSame(east, planner.getBackup("v1"));
+        assertEquals(1, planner.getPrimaryLoad(west));
+    }
+
+    @Test
+    @DisplayName("Test predicted trajectory favours the station ahead")
+    void testPredictiveScoring() {
+        HandoffPlanner planner = new HandoffPlanner(index, 60.0, 0.0, 10);
+        // Ortanın biraz batısında, doğuya 30 m/s: 60 s sonra doğu istasyonunun yakınında
+        Vehicle vehicle = createVehicle("v1", 41.0, 29.0 + lonOffset(900.0), 30.0, 90.0);
+        planner.planTick(List.of(vehicle));
+        assertSame(east, planner.getPrimary("v1"));
+    }
+
+    @Test
+    @DisplayName("Test station capacity limits primaries")
+    void testCapacity() {
+        west.setMaxConnections(2);
+        HandoffPlanner planner = new HandoffPlanner(index, 0.0, 0.15, 10);
+        List<Vehicle> vehicles = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            vehicles.add(createVehicle("v" + i, 41.0, 29.0 + lonOffset(100.0 + i), 0.0, 0.0));
+        }
+        planner.planTick(vehicles);
+
+        assertEquals(2, planner.getPrimaryLoad(west));
+        assertEquals(2, planner.getPrimaryLoad(east));
+        planner.release("v0");
+        assertEquals(1, planner.getPrimaryLoad(west));
+        assertEquals(3, planner.getAssignmentCount());
+    }
+
+    @Test
+    @DisplayName("Test hysteresis prevents ping-pong at the midpoint")
+    void testHysteresis() {
+        HandoffPlanner planner = new HandoffPlanner(index, 0.0, 0.2, 1);
+        Vehicle vehicle = createVehicle("v1", 41.0, 29.0 + lonOffset(950.0), 0.0, 0.0);
+        planner.planTick(List.of(vehicle));
+        assertSame(west, planner.getPrimary("v1"));
+
+        // Orta noktanın etrafında salınım: birincil istasyon değişmemeli
+        for (int i = 0; i < 10; i++) {
+            double offset = i % 2 == 0 ? 1050.0 : 950.0;
+            vehicle.setPosition(new Position(41.0, 29.0 + lonOffset(offset), 100.0));
+            planner.planTick(List.of(vehicle));
+        }
+        assertSame(west, planner.getPrimary("v1"));
+        assertEquals(0, planner.getHandoffCount());
+
+        // Belirgin biçimde doğuya geçince handoff olur
+        vehicle.setPosition(new Position(41.0, 29.0 + lonOffset(1800.0), 100.0));
+        assertEquals(1, planner.planTick(List.of(vehicle)));
+        assertSame(east, planner.getPrimary("v1"));
+    }
+
+    @Test
+    @DisplayName("Test stable vehicles are not re-planned every tick")
+    void testIncrementalPlanning() {
+        HandoffPlanner planner = new HandoffPlanner(index, 0.0, 0.15, 5);
+        Vehicle vehicle = createVehicle("v1", 41.0, 29.0 + lonOffset(200.0), 0.0, 0.0);
+        for (int i = 0; i < 4; i++) {
+            planner.planTick(List.of(vehicle));
+        }
+        assertEquals(1, planner.getReplannedCount());
+    }
+
+    @Test
+    @DisplayName("Test vehicle outside coverage has no primary")
+    void testNoCoverage() {
+        HandoffPlanner planner = new HandoffPlanner(index);
+        Vehicle vehicle = createVehicle("v1", 41.5, 29.5, 0.0, 0.0);
+        planner.planTick(List.of(vehicle));
+        assertNull(planner.getPrimary("v1"));
+        assertEquals(1, planner.getUnservedCount());
+    }
+
+    private static double lonOffset(double meters) {
+        return meters / (METERS_PER_DEGREE_LAT * Math.cos(Math.toRadians(41.0)));
+    }
+
+    private Vehicle createVehicle(String id, double lat, double lon, double velocity, double heading) {
+        Vehicle vehicle = new Vehicle();
+        vehicle.setId(id);
+        vehicle.setType(VehicleType.PASSENGER);
+        vehicle.setStatus(VehicleStatus.IN_FLIGHT);
+        vehicle.setPosition(new Position(lat, lon, 100.0));
+        vehicle.setVelocity(velocity);
+        vehicle.setHeading(heading);
+        return vehicle;
+    }
+}
@@ -0,0 +1,159 @@
+package com.airtraffic.control;
+
+import com.airtraffic.model.Position;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for KalmanTrackFilter
+ * Tests slot management, smoothing of noisy tracks and velocity estimation
+ */
+@DisplayName("KalmanTrackFilter Tests")
+class KalmanTrackFilterTest {
+
+    private static final double METERS_PER_DEGREE_LAT = 111320.0;
+
+    private KalmanTrackFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        filter = new KalmanTrackFilter(41.0, 29.0);
+    }
+
+    @Test
+    @DisplayName("Test constructor and slot validation")
+    void testValidation() {
+        assertThrows(IllegalArgumentException.class, () -> new KalmanTrackFilter(41.0, 29.0, 0.0, 1.0));
+        assertThrows(IllegalArgumentException.class, () -> filter.track(null));
+        assertThrows(IllegalArgumentException.class, () -> filter.submit(5, 41.0, 29.0, 100.0, 0L));
+    }
+
+    @Test
+    @DisplayName("Test slots are reused after release")
+    void testSlotLifecycle() {
+        int a = filter.track("a");
+        assertEquals(a, filter.track("a"));
+        assertEquals(1, filter.getTrackCount());
+
+        filter.submit(a, 41.0, 29.0, 100.0, 0L);
+        assertTrue(filter.release("a"));
+        assertFalse(filter.release("a"));
+        assertEquals(-1, filter.slotOf("a"));
+        assertEquals(0, filter.processTick(), "Released track's pending measurement must be dropped");
+
+        int b = filter.track("b");
+        assertEquals(a, b);
+        assertEquals(0, filter.getUpdateCount(b));
+    }
+
+    @Test
+    @DisplayName("Test first measurement initialises the track")
+    void testInitialisation() {
+        int slot = filter.track("v1");
+        filter.submit(slot, 41.001, 29.002, 120.0, 1000L);
+        assertEquals(1, filter.processTick());
+
+        assertEquals(41.001, filter.getLatitude(slot), 1e-9);
+        assertEquals(29.002, filter.getLongitude(slot), 1e-9);
+        assertEquals(120.0, filter.getAltitude(slot), 1e-9);
+        assertFalse(filter.hasVelocity(slot));
+        assertEquals(0, filter.processTick(), "No pending measurements after a tick");
+    }
+
+    @Test
+    @DisplayName("Test out-of-order measurement is dropped without touching the track")
+    void testOutOfOrderDropped() {
+        int slot = filter.track("v1");
+        filter.submit(slot, 41.0, 29.0, 100.0, 0L);
+        filter.processTick();
+        filter.submit(slot, 41.0 + 10.0 / METERS_PER_DEGREE_LAT, 29.0, 100.0, 1000L);
+        filter.processTick();
+        double lat = filter.getLatitude(slot);
+        double speed = filter.getSpeed(slot);
+
+        filter.submit(slot, 41.01, 29.01, 150.0, 500L);
+        assertEquals(0, filter.processTick());
+        assertEquals(1, filter.getOutOfOrderCount());
+        assertEquals(lat, filter.getLatitude(slot), 0.0);
+        assertEquals(speed, filter.getSpeed(slot), 0.0);
+        assertEquals(2, filter.getUpdateCount(slot));
+
+        filter.submit(slot, 41.0 + 20.0 / METERS_PER_DEGREE_LAT, 29.0, 100.0, 2000L);
+        assertEquals(1, filter.processTick(), "Later measurements are still applied");
+        assertEquals(3, filter.getUpdateCount(slot));
+    }
+
+    @Test
+    @DisplayName("Test noisy constant-velocity track is smoothed and velocity converges")
+    void testSmoothingAndVelocity() {
+        Random random = new Random(1);
+        int slot = filter.track("v1");
+        double speedNorth = 15.0;
+        double rawErrorSum = 0.0;
+        double smoothErrorSum = 0.0;
+
+        for (int t = 0; t < 60; t++) {
+            double trueNorth = speedNorth * t;
+            double noisyNorth = trueNorth + random.nextGaussian() * 3.0;
+            double noisyEast = random.nextGaussian() * 3.0;
+            filter.submit(slot, 41.0 + noisyNorth / METERS_PER_DEGREE_LAT,
+                29.0 + noisyEast / (METERS_PER_DEGREE_LAT * Math.cos(Math.toRadians(41.0))),
+                100.0 + random.nextGaussian(), t * 1000L);
+            filter.processTick();
+
+            if (t >= 20) {
+                double smoothNorth = (filter.getLatitude(slot) - 41.0) * METERS_PER_DEGREE_LAT;
+                rawErrorSum += Math.abs(noisyNorth - trueNorth);
+                smoothErrorSum += Math.abs(smoothNorth - trueNorth);
+            }
+        }
+
+        assertTrue(smoothErrorSum < rawErrorSum, "Smoothed track should be closer to truth than raw");
+        assertEquals(speedNorth, filter.getSpeed(slot), 1.5);
+        double heading = filter.getHeading(slot);
+        assertTrue(heading < 10.0 || heading > 350.0, "Heading should point north, was " + heading);
+        assertEquals(0.0, filter.getVelocityUp(slot), 1.0);
+    }
+
+    @Test
+    @DisplayName("Test large batch is processed in one tick")
+    void testLargeBatch() {
+        int tracks = 5000;
+        int[] slots = new int[tracks];
+        for (int i = 0; i < tracks; i++) {
+            slots[i] = filter.track("v" + i);
+        }
+        for (int t = 0; t < 3; t++) {
+            for (int i = 0; i < tracks; i++) {
+                // Doğuya 10 m/s
+                double east = 10.0 * t + i;
+                filter.submit(slots[i], 41.0, 29.0 + east / (METERS_PER_DEGREE_LAT * Math.cos(Math.toRadians(41.0))),
+                    100.0, t * 1000L);
+            }
+            assertEquals(tracks, filter.processTick());
+        }
+        for (int i = 0; i < tracks; i += 997) {
+            assertTrue(filter.hasVelocity(slots[i]));
+            assertEquals(90.0, filter.getHeading(slots[i]), 1.0);
+        }
+    }
+
+    @Test
+    @DisplayName("Test Position convenience API")
+    void testPositionApi() {
+        LocalDateTime t0 = LocalDateTime.of(2024, 1, 1, 12, 0, 0);
+        int slot = filter.submit("v1", new Position(41.0, 29.0, 100.0, t0));
+        assertEquals(slot, filter.submit("v1", new Position(41.0, 29.0, 100.0, t0.plusSeconds(1))));
+        filter.processTick();
+
+        Position smoothed = filter.getSmoothedPosition(slot, t0);
+        assertEquals(41.0, smoothed.getLatitude(), 1e-9);
+        assertEquals(t0, smoothed.getTimestamp());
+    }
+}
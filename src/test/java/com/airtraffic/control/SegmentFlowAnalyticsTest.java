@@ -0,0 +1,182 @@
+package com.airtraffic.control;
+
+import com.airtraffic.map.CityMap;
+import com.airtraffic.map.RouteNetwork;
+import com.airtraffic.map.RouteSegment;
+import com.airtraffic.model.Position;
+import com.airtraffic.model.Route;
+import com.airtraffic.model.RouteDirection;
+import com.airtraffic.model.Vehicle;
+import com.airtraffic.model.VehicleType;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for SegmentFlowAnalytics
+ * Tests windowed throughput, density, speed statistics and top-K congestion
+ */
+@DisplayName("SegmentFlowAnalytics Tests")
+class SegmentFlowAnalyticsTest {
+
+    private TrafficFlowService service;
+    private SegmentFlowAnalytics analytics;
+    private RouteSegment segment;   // ~1 km, kapasite 10
+    private int handle;
+
+    @BeforeEach
+    void setUp() {
+        service = new TrafficFlowService();
+        // 10 sn kova, 6 kova = 60 sn pencere
+        analytics = new SegmentFlowAnalytics(service, 10_000L, 6);
+        segment = new RouteSegment(null, new Position(41.0000, 28.9000, 100.0),
+            new Position(41.0090, 28.9000, 100.0), RouteDirection.FORWARD, 100.0, 25.0);
+        segment.setMaxVehicles(10);
+        handle = service.getSegmentHandle(segment.getSegmentId());
+    }
+
+    @Test
+    @DisplayName("Test constructor validation and service hook")
+    void testConstructorValidation() {
+        assertThrows(IllegalArgumentException.class, () -> new SegmentFlowAnalytics(null));
+        assertThrows(IllegalArgumentException.class, () -> new SegmentFlowAnalytics(service, 0L, 6));
+        assertThrows(IllegalArgumentException.class, () -> new SegmentFlowAnalytics(service, 1_000L, 0));
+        assertThrows(IllegalArgumentException.class, () -> analytics.getTopCongested(0, FlowWindowType.SLIDING, 0L));
+        assertSame(analytics, service.getFlowAnalytics());
+        assertEquals(60_000L, analytics.getWindowMillis());
+        assertNull(analytics.getMetrics("unknown", FlowWindowType.SLIDING, 0L));
+
+        analytics.detach();
+        assertNull(service.getFlowAnalytics());
+    }
+
+    @Test
+    @DisplayName("Test throughput and speed statistics over a sliding window")
+    void testSlidingWindow() {
+        double[] speeds = {10.0, 12.0, 14.0, 16.0};
+        for (int i = 0; i < speeds.length; i++) {
+            analytics.record(handle, segment, true, speeds[i], 5_000L + i * 10_000L);
+        }
+        analytics.record(handle, segment, false, 13.0, 40_000L);
+
+        SegmentFlowMetrics metrics = analytics.getMetrics(segment.getSegmentId(), FlowWindowType.SLIDING, 45_000L);
+        assertEquals(4.0, metrics.getThroughputPerMinute(), 1e-9, "4 entries in a one-minute window");
+        assertEquals(5, metrics.getSpeedSamples());
+        assertEquals(13.0, metrics.getMeanSpeed(), 1e-9);
+        assertEquals(4.0, metrics.getSpeedVariance(), 1e-9);
+
+        // 65 sn: ilk kova (0-10 sn) pencereden çıkar
+        metrics = analytics.getMetrics(segment.getSegmentId(), FlowWindowType.SLIDING, 65_000L);
+        assertEquals(3.0, metrics.getThroughputPerMinute(), 1e-9);
+        assertEquals(4, metrics.getSpeedSamples());
+    }
+
+    @Test
+    @DisplayName("Test tumbling window reports the last completed window")
+    void testTumblingWindow() {
+        analytics.record(handle, segment, true, 10.0, 10_000L);
+        analytics.record(handle, segment, true, 10.0, 50_000L);
+        analytics.record(handle, segment, true, 20.0, 70_000L);
+
+        SegmentFlowMetrics metrics = analytics.getMetrics(segment.getSegmentId(), FlowWindowType.TUMBLING, 75_000L);
+        assertEquals(2.0, metrics.getThroughputPerMinute(), 1e-9, "Window [0, 60) s");
+        assertEquals(10.0, metrics.getMeanSpeed(), 1e-9);
+
+        metrics = analytics.getMetrics(segment.getSegmentId(), FlowWindowType.TUMBLING, 125_000L);
+        assertEquals(1.0, metrics.getThroughputPerMinute(), 1e-9, "Window [60, 120) s");
+        assertEquals(20.0, metrics.getMeanSpeed(), 1e-9);
+
+        // Halkadan düşmüş eski olay yok sayılır
+        analytics.record(handle, segment, true, 99.0, 0L);
+        assertEquals(1, analytics.getMetrics(segment.getSegmentId(), FlowWindowType.TUMBLING, 125_000L)
+            .getSpeedSamples());
+    }
+
+    @Test
+    @DisplayName("Test density and top-K congested segments from occupancy samples")
+    void testDensityAndTopCongested() {
+        RouteNetwork network = new RouteNetwork("Istanbul");
+        Route street = new Route("Main Street 1", Arrays.asList(
+            new Position(41.0000, 28.9000, 100.0), new Position(41.0260, 28.9000, 100.0)));
+        network.addMainStreet(street);
+        List<RouteSegment> segments = network.createSegmentsForRoute(street, 1000.0,
+            RouteDirection.FORWARD, 100.0, 25.0);
+        service.initialize(network, new CityMap("Istanbul"));
+
+        assertEquals(3, segments.size());
+        int[] vehiclesPerSegment = {2, 8, 5};
+        int id = 0;
+        for (int s = 0; s < segments.size(); s++) {
+            RouteSegment target = segments.get(s);
+            for (int i = 0; i < vehiclesPerSegment[s]; i++) {
+                Vehicle vehicle = new Vehicle(VehicleType.PASSENGER, target.getStartPoint());
+                vehicle.setId("V" + id++);
+                vehicle.setVelocity(15.0);
+                vehicle.setCurrentSegment(target);
+                service.updateVehicleSegment(vehicle, 50.0, 1_000L);
+            }
+        }
+        analytics.sampleOccupancy(2_000L);
+        analytics.sampleOccupancy(3_000L);
+        assertEquals(3, analytics.getTrackedSegmentCount());
+
+        List<SegmentFlowMetrics> top = analytics.getTopCongested(2, FlowWindowType.SLIDING, 5_000L);
+        assertEquals(2, top.size());
+        assertEquals(segments.get(1).getSegmentId(), top.get(0).getSegmentId());
+        assertEquals(segments.get(2).getSegmentId(), top.get(1).getSegmentId());
+        assertEquals(8.0 / segments.get(1).getMaxVehicles(), top.get(0).getUtilization(), 1e-9);
+
+        SegmentFlowMetrics busiest = top.get(0);
+        double lengthKm = segments.get(1).calculateLength() / 1000.0;
+        assertEquals(8.0 / lengthKm, busiest.getDensity(), 1e-9);
+        assertEquals(15.0, busiest.getMeanSpeed(), 1e-9);
+    }
+
+    @Test
+    @DisplayName("Test segment changes through the flow service count entries once")
+    void testServiceHookCountsEntries() {
+        RouteNetwork network = new RouteNetwork("Istanbul");
+        Route street = new Route("Main Street 1", Arrays.asList(
+            new Position(41.0000, 28.9000, 100.0), new Position(41.0090, 28.9000, 100.0)));
+        network.addMainStreet(street);
+        RouteSegment only = network.createSegmentsForRoute(street, 2000.0,
+            RouteDirection.FORWARD, 100.0, 25.0).get(0);
+        service.initialize(network, new CityMap("Istanbul"));
+
+        Vehicle vehicle = new Vehicle(VehicleType.PASSENGER, new Position(41.0010, 28.9000, 100.0));
+        vehicle.setVelocity(20.0);
+        for (int i = 0; i < 5; i++) {
+            vehicle.setPosition(new Position(41.0010 + i * 0.001, 28.9000, 100.0));
+            service.updateVehicleSegment(vehicle, 50.0, 1_000L + i * 1_000L);
+        }
+
+        SegmentFlowMetrics metrics = analytics.getMetrics(only.getSegmentId(), FlowWindowType.SLIDING, 10_000L);
+        assertEquals(1.0, metrics.getThroughputPerMinute(), 1e-9, "Only the first update is an entry");
+        assertEquals(5, metrics.getSpeedSamples());
+    }
+
+    @Test
+    @DisplayName("Test parallel recording keeps exact counts")
+    void testParallelRecording() throws InterruptedException {
+        Thread[] threads = new Thread[4];
+        for (int t = 0; t < threads.length; t++) {
+            threads[t] = new Thread(() -> {
+                for (int i = 0; i < 10_000; i++) {
+                    analytics.record(handle, segment, true, 10.0, 1_000L + i);
+                }
+            });
+            threads[t].start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        SegmentFlowMetrics metrics = analytics.getMetrics(segment.getSegmentId(), FlowWindowType.SLIDING, 20_000L);
+        assertEquals(40_000, metrics.getSpeedSamples());
+        assertEquals(0.0, metrics.getSpeedVariance(), 1e-9);
+    }
+}
@@ -0,0 +1,145 @@
+package com.airtraffic.control;
+
+import com.airtraffic.map.CityMap;
+import com.airtraffic.map.RouteNetwork;
+import com.airtraffic.map.RouteSegment;
+import com.airtraffic.model.Position;
+import com.airtraffic.model.Route;
+import com.airtraffic.model.RouteDirection;
+import com.airtraffic.model.Vehicle;
+import com.airtraffic.model.VehicleType;
+import com.airtraffic.rules.SegmentSpeedAdvisoryRule;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for SpeedAdvisoryController
+ * Tests gradual advisory limits, metering, release and the CPU budget cursor
+ */
+@DisplayName("SpeedAdvisoryController Tests")
+class SpeedAdvisoryControllerTest {
+
+    private TrafficFlowService service;
+    private SegmentFlowAnalytics analytics;
+    private SegmentSpeedAdvisoryRule rule;
+    private List<RouteSegment> segments;
+
+    @BeforeEach
+    void setUp() {
+        service = new TrafficFlowService();
+        RouteNetwork network = new RouteNetwork("Istanbul");
+        Route street = new Route("Main Street 1", Arrays.asList(
+            new Position(41.0000, 28.9000, 100.0), new Position(41.0260, 28.9000, 100.0)));
+        network.addMainStreet(street);
+        segments = network.createSegmentsForRoute(street, 1000.0, RouteDirection.FORWARD, 100.0, 25.0);
+        for (RouteSegment segment : segments) {
+            segment.setMaxVehicles(10);
+        }
+        service.initialize(network, new CityMap("Istanbul"));
+        analytics = new SegmentFlowAnalytics(service, 10_000L, 6);
+        rule = new SegmentSpeedAdvisoryRule();
+    }
+
+    private List<Vehicle> fill(RouteSegment segment, int count, double speed, long timestamp) {
+        List<Vehicle> vehicles = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            Vehicle vehicle = new Vehicle(VehicleType.PASSENGER, segment.getStartPoint());
+            vehicle.setVelocity(speed);
+            vehicle.setCurrentSegment(segment);
+            service.updateVehicleSegment(vehicle, 50.0, timestamp);
+            vehicles.add(vehicle);
+        }
+        return vehicles;
+    }
+
+    @Test
+    @DisplayName("Test constructor validation and compliance hook")
+    void testConstructorValidation() {
+        assertThrows(IllegalArgumentException.class, () -> new SpeedAdvisoryController(null, rule));
+        assertThrows(IllegalArgumentException.class, () -> new SpeedAdvisoryController(analytics, null));
+        assertThrows(IllegalArgumentException.class, () -> new SpeedAdvisoryController(analytics, rule, 0L));
+
+        SpeedAdvisoryController controller = new SpeedAdvisoryController(analytics, rule);
+        assertSame(rule, service.getSpeedAdvisoryRule());
+        assertThrows(IllegalArgumentException.class, () -> controller.setCriticalUtilization(1.0));
+        assertThrows(IllegalArgumentException.class, () -> controller.setMinSpeedFactor(0.0));
+        assertEquals(Double.POSITIVE_INFINITY, controller.getMeteringRate("unknown"));
+    }
+
+    @Test
+    @DisplayName("Test congested segment is slowed gradually and metered")
+    void testCongestionLowersLimitGradually() {
+        RouteSegment congested = segments.get(1);
+        fill(congested, 10, 5.0, 1_000L);
+        fill(segments.get(0), 2, 24.0, 1_000L);
+        SpeedAdvisoryController controller = new SpeedAdvisoryController(analytics, rule, 1_000_000_000L);
+
+        assertEquals(segments.size(), controller.evaluate(2_000L), "Large budget sweeps every segment");
+        assertEquals(23.0, controller.getAdvisoryLimit(congested.getSegmentId()), 1e-9, "One 2 m/s step");
+        assertTrue(Double.isNaN(controller.getAdvisoryLimit(segments.get(0).getSegmentId())));
+        assertEquals(8.5, controller.getMeteringRate(congested.getSegmentId()), 1e-9);
+        assertEquals(Double.POSITIVE_INFINITY, controller.getMeteringRate(segments.get(0).getSegmentId()));
+
+        double previous = 23.0;
+        for (int i = 0; i < 10; i++) {
+            controller.evaluate(3_000L + i * 1_000L);
+            double limit = controller.getAdvisoryLimit(congested.getSegmentId());
+            assertTrue(previous - limit <= 2.0 + 1e-9, "Limit never drops more than one step");
+            previous = limit;
+        }
+        assertEquals(10.0, previous, 1e-9, "Settles at 40% of the static limit");
+        assertEquals(1.0, controller.getMeteringRate(congested.getSegmentId()), 1e-9);
+        assertEquals(25.0, congested.getSpeedLimit(), 1e-9, "Static limit is untouched");
+
+        Vehicle fast = fill(congested, 1, 20.0, 13_000L).get(0);
+        assertFalse(service.checkSegmentCompliance(fast), "20 m/s exceeds the 10 m/s advisory");
+    }
+
+    @Test
+    @DisplayName("Test cleared congestion ramps the limit back and releases metering")
+    void testReleaseAfterCongestion() {
+        RouteSegment congested = segments.get(1);
+        List<Vehicle> vehicles = fill(congested, 10, 5.0, 1_000L);
+        SpeedAdvisoryController controller = new SpeedAdvisoryController(analytics, rule, 1_000_000_000L);
+        for (int i = 0; i < 3; i++) {
+            controller.evaluate(2_000L + i * 1_000L);
+        }
+        assertEquals(19.0, controller.getAdvisoryLimit(congested.getSegmentId()), 1e-9);
+
+        for (Vehicle vehicle : vehicles) {
+            service.removeVehicle(vehicle.getId());
+        }
+        // Pencere eski örneklerden temizlenince hedef statik limite döner
+        controller.evaluate(200_000L);
+        assertEquals(21.0, controller.getAdvisoryLimit(congested.getSegmentId()), 1e-9);
+        assertEquals(Double.POSITIVE_INFINITY, controller.getMeteringRate(congested.getSegmentId()));
+        controller.evaluate(201_000L);
+        controller.evaluate(202_000L);
+        assertTrue(Double.isNaN(controller.getAdvisoryLimit(congested.getSegmentId())));
+        assertEquals(0, rule.getAdvisoryCount());
+        assertEquals(6, controller.getLimitChangeCount());
+    }
+
+    @Test
+    @DisplayName("Test CPU budget resumes from the cursor")
+    void testBudgetCursor() {
+        fill(segments.get(2), 10, 5.0, 1_000L);
+        SpeedAdvisoryController controller = new SpeedAdvisoryController(analytics, rule, 1L);
+
+        assertEquals(1, controller.evaluate(2_000L));
+        assertEquals(1, controller.getCursor());
+        assertEquals(1, controller.evaluate(2_000L));
+        assertTrue(Double.isNaN(controller.getAdvisoryLimit(segments.get(2).getSegmentId())));
+        assertEquals(1, controller.evaluate(2_000L));
+        assertEquals(0, controller.getCursor());
+        assertEquals(1, controller.getCompletedSweeps());
+        assertEquals(23.0, controller.getAdvisoryLimit(segments.get(2).getSegmentId()), 1e-9);
+    }
+}
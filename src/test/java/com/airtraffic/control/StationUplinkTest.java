@@ -0,0 +1,103 @@
+package com.airtraffic.control;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for StationUplink
+ * Tests priority ordering, bounded queues and the bandwidth/latency model
+ */
+@DisplayName("StationUplink Tests")
+class StationUplinkTest {
+
+    @Test
+    @DisplayName("Test constructor validation")
+    void testConstructorValidation() {
+        assertThrows(IllegalArgumentException.class, () -> new StationUplink("S", 0.0, 10.0, 8));
+        assertThrows(IllegalArgumentException.class, () -> new StationUplink("S", 1000.0, -1.0, 8));
+        assertThrows(IllegalArgumentException.class, () -> new StationUplink("S", 1000.0, 10.0, 0));
+    }
+
+    @Test
+    @DisplayName("Test critical messages are sent before queued lower priorities")
+    void testPriorityOrder() {
+        StationUplink uplink = new StationUplink("S", 1000.0, 0.0, 8);
+        uplink.enqueue(new UplinkMessage("v1", "S", MessagePriority.INFO, "info", 0.0));
+        uplink.enqueue(new UplinkMessage("v1", "S", MessagePriority.RULE_VIOLATION, "rule", 0.0));
+        uplink.enqueue(new UplinkMessage("v1", "S", MessagePriority.CRITICAL_COLLISION, "crit", 0.0));
+
+        List<UplinkMessage> sent = uplink.drain(1000.0);
+        assertEquals(3, sent.size());
+        assertEquals(MessagePriority.CRITICAL_COLLISION, sent.get(0).getPriority());
+        assertEquals(MessagePriority.RULE_VIOLATION, sent.get(1).getPriority());
+        assertEquals(MessagePriority.INFO, sent.get(2).getPriority());
+    }
+
+    @Test
+    @DisplayName("Test delay includes transmission, queueing and latency")
+    void testDelayModel() {
+        // 1000 byte/s -> 1 byte/ms; 64 byte başlık + 36 byte yük = 100 ms iletim
+        StationUplink uplink = new StationUplink("S", 1000.0, 20.0, 8);
+        String payload = "x".repeat(36);
+        uplink.enqueue(new UplinkMessage("v1", "S", MessagePriority.INFO, payload, 0.0));
+        uplink.enqueue(new UplinkMessage("v2", "S", MessagePriority.INFO, payload, 0.0));
+
+        List<UplinkMessage> first = uplink.drain(0.0);
+        assertEquals(1, first.size(), "Link is busy after the first message");
+        assertEquals(120.0, first.get(0).getDelayMillis(), 1e-9);
+
+        List<UplinkMessage> second = uplink.drain(100.0);
+        assertEquals(1, second.size());
+        assertEquals(220.0, second.get(0).getDelayMillis(), 1e-9);
+        assertEquals(170.0, uplink.getMeanDelayMillis(MessagePriority.INFO), 1e-9);
+        assertEquals(220.0, uplink.getMaxDelayMillis(MessagePriority.INFO), 1e-9);
+    }
+
+    @Test
+    @DisplayName("Test full queue drops only its own priority class")
+    void testBoundedQueues() {
+        StationUplink uplink = new StationUplink("S", 1000.0, 0.0, 2);
+        for (int i = 0; i < 5; i++) {
+            uplink.enqueue(new UplinkMessage("v" + i, "S", MessagePriority.INFO, "info", 0.0));
+        }
+        assertTrue(uplink.enqueue(new UplinkMessage("v9", "S", MessagePriority.CRITICAL_COLLISION, "crit", 0.0)));
+
+        assertEquals(2, uplink.getQueuedCount(MessagePriority.INFO));
+        assertEquals(3, uplink.getDroppedCount(MessagePriority.INFO));
+        assertEquals(0, uplink.getDroppedCount(MessagePriority.CRITICAL_COLLISION));
+        assertEquals(3, uplink.getQueuedCount());
+    }
+
+    @Test
+    @DisplayName("Test messages enqueued after the drain time wait for a later tick")
+    void testFutureMessageWaits() {
+        StationUplink uplink = new StationUplink("S", 1000.0, 0.0, 8);
+        uplink.enqueue(new UplinkMessage("v1", "S", MessagePriority.CRITICAL_COLLISION, null, 300.0));
+        uplink.enqueue(new UplinkMessage("v2", "S", MessagePriority.INFO, null, 0.0));
+
+        List<UplinkMessage> sent = uplink.drain(100.0);
+        assertEquals(1, sent.size(), "Only the message already enqueued may be sent");
+        assertEquals(MessagePriority.INFO, sent.get(0).getPriority());
+        assertEquals(1, uplink.getQueuedCount(MessagePriority.CRITICAL_COLLISION));
+
+        sent = uplink.drain(300.0);
+        assertEquals(1, sent.size());
+        assertEquals(364.0, sent.get(0).getDeliveredAtMillis(), 1e-9);
+        assertTrue(sent.get(0).getDeliveredAtMillis() >= 300.0);
+    }
+
+    @Test
+    @DisplayName("Test idle link sends a late message at its enqueue time")
+    void testIdleLink() {
+        StationUplink uplink = new StationUplink("S", 1000.0, 5.0, 8);
+        uplink.enqueue(new UplinkMessage("v1", "S", MessagePriority.INFO, null, 500.0));
+        List<UplinkMessage> sent = uplink.drain(500.0);
+        assertEquals(1, sent.size());
+        assertEquals(569.0, sent.get(0).getDeliveredAtMillis(), 1e-9);
+        assertEquals(1, uplink.getDeliveredCount(MessagePriority.INFO));
+    }
+}
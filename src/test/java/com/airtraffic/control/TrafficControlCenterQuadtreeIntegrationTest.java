@@ -6,6 +6,7 @@ import com.airtraffic.model.Position;
 import com.airtraffic.model.Vehicle;
 import com.airtraffic.model.VehicleStatus;
 import com.airtraffic.model.VehicleType;
+import com.airtraffic.spatial.SpatialIndexType;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -217,5 +218,33 @@ class TrafficControlCenterQuadtreeIntegrationTest {
         assertTrue(result.size() > 0, 
             "Should find vehicles in area. Found: " + result.size() + ", Registered: " + registeredCount);
     }
-}
 
+    @Test
+    @DisplayName("Test hash grid index can be selected via configuration")
+    void testHashGridIndexSelection() {
+        Position pos = new Position(41.0082, 28.9784, 100.0);
+        Position destination = new Position(41.0100, 28.9800, 120.0);
+        
+        center.setSpatialIndexType(SpatialIndexType.HASH_GRID);
+        try {
+            assertEquals(SpatialIndexType.HASH_GRID, center.getSpatialIndexType());
+            
+            Vehicle vehicle = new Vehicle(VehicleType.PASSENGER, pos);
+            vehicle.setPilotLicense("PILOT-GRID");
+            FlightAuthorization auth = center.requestFlightAuthorization(vehicle, pos, destination);
+            assertEquals(AuthorizationStatus.APPROVED, auth.getStatus());
+            center.registerVehicle(vehicle);
+            
+            assertTrue(center.getVehiclesInArea(pos, 100.0).contains(vehicle));
+            
+            center.updateVehiclePosition(vehicle.getId(), destination);
+            assertTrue(center.getVehiclesInArea(destination, 100.0).contains(vehicle));
+            assertFalse(center.getVehiclesInArea(pos, 50.0).contains(vehicle));
+            
+            center.unregisterVehicle(vehicle.getId());
+            assertFalse(center.getVehiclesInArea(destination, 100.0).contains(vehicle));
+        } finally {
+            center.setSpatialIndexType(SpatialIndexType.QUADTREE);
+        }
+    }
+}
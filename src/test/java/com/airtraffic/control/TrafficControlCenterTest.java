@@ -1,10 +1,20 @@
 package com.airtraffic.control;
 
 import com.airtraffic.map.CityMap;
+import com.airtraffic.map.GeofenceEvent;
+import com.airtraffic.map.GeofenceEventType;
+import com.airtraffic.map.RestrictedZone;
+import com.airtraffic.map.RestrictedZoneType;
+import com.airtraffic.map.RouteNetwork;
+import com.airtraffic.map.RouteSegment;
 import com.airtraffic.model.Position;
+import com.airtraffic.model.Route;
+import com.airtraffic.model.RouteDirection;
 import com.airtraffic.model.Vehicle;
 import com.airtraffic.model.VehicleStatus;
 import com.airtraffic.model.VehicleType;
+import com.airtraffic.rules.SegmentSpeedAdvisoryRule;
+import com.airtraffic.util.TimeUtils;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -14,7 +24,11 @@ import java.io.File;
 import java.io.IOException;
 import java.nio.file.Path;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -250,6 +264,204 @@ class TrafficControlCenterTest {
         }
     }
 
+    @Test
+    @DisplayName("Test getCriticalCollisionRisks reads the maintained view")
+    void testGetCriticalCollisionRisksView() {
+        center.loadCityMap(cityMap);
+        Vehicle other = new Vehicle(VehicleType.PASSENGER, new Position(41.0082, 28.9784, 100.0));
+        other.setStatus(VehicleStatus.IN_FLIGHT);
+        other.setPilotLicense("PILOT-67890");
+
+        FlightAuthorization auth1 = center.requestFlightAuthorization(
+            testVehicle, departurePosition, destinationPosition);
+        FlightAuthorization auth2 = center.requestFlightAuthorization(
+            other, departurePosition, destinationPosition);
+
+        if (auth1.getStatus() == AuthorizationStatus.APPROVED && auth2.getStatus() == AuthorizationStatus.APPROVED) {
+            center.registerVehicle(testVehicle);
+            center.registerVehicle(other);
+            assertEquals(1, countPairRisks(center.getCriticalCollisionRisks(), testVehicle, other),
+                "Co-located vehicles should appear once as a critical pair");
+
+            center.unregisterVehicle(other.getId());
+            assertEquals(0, countPairRisks(center.getCriticalCollisionRisks(), testVehicle, other),
+                "Unregistered vehicle's pair should leave the view");
+            center.unregisterVehicle(testVehicle.getId());
+        } else {
+            center.unregisterVehicle(testVehicle.getId());
+            center.unregisterVehicle(other.getId());
+            assertTrue(true, "Authorization was rejected, cannot test risk view");
+        }
+    }
+
+    @Test
+    @DisplayName("Test collision alerts are sent to both vehicles of the pair")
+    void testCollisionAlertReachesBothVehicles() throws InterruptedException {
+        center.loadCityMap(cityMap);
+        Set<String> alerted = ConcurrentHashMap.newKeySet();
+        center.setUplinkDispatcher(new UplinkDispatcher(new BaseStationIndex(41.0, 29.0)) {
+            @Override
+            public boolean dispatch(String vehicleId, MessagePriority priority, String payload, double nowMillis) {
+                alerted.add(vehicleId);
+                return true;
+            }
+        });
+        Vehicle other = new Vehicle(VehicleType.PASSENGER, new Position(41.0082, 28.9784, 100.0));
+        other.setStatus(VehicleStatus.IN_FLIGHT);
+        other.setPilotLicense("PILOT-67890");
+        try {
+            FlightAuthorization auth1 = center.requestFlightAuthorization(
+                testVehicle, departurePosition, destinationPosition);
+            FlightAuthorization auth2 = center.requestFlightAuthorization(
+                other, departurePosition, destinationPosition);
+            assertEquals(AuthorizationStatus.APPROVED, auth1.getStatus());
+            assertEquals(AuthorizationStatus.APPROVED, auth2.getStatus());
+            center.registerVehicle(testVehicle);
+            center.registerVehicle(other);
+
+            long deadline = System.currentTimeMillis() + 5000;
+            while (!(alerted.contains(testVehicle.getId()) && alerted.contains(other.getId()))
+                    && System.currentTimeMillis() < deadline) {
+                Thread.sleep(10);
+            }
+            assertTrue(alerted.contains(testVehicle.getId()));
+            assertTrue(alerted.contains(other.getId()));
+        } finally {
+            center.setUplinkDispatcher(null);
+            center.unregisterVehicle(testVehicle.getId());
+            center.unregisterVehicle(other.getId());
+        }
+    }
+
+    @Test
+    @DisplayName("Test handoff planner reaches the uplink dispatcher in either order")
+    void testHandoffPlannerWiredToDispatcher() {
+        BaseStationIndex index = new BaseStationIndex(41.0, 29.0);
+        HandoffPlanner planner = new HandoffPlanner(index, 0.0, 0.15, 10);
+        UplinkDispatcher dispatcher = new UplinkDispatcher(index);
+        try {
+            center.setUplinkDispatcher(dispatcher);
+            center.setHandoffPlanner(planner);
+            assertSame(planner, dispatcher.getHandoffPlanner());
+
+            // Dağıtıcı sonradan verilirse mevcut planlayıcıyı alır
+            UplinkDispatcher later = new UplinkDispatcher(index);
+            center.setUplinkDispatcher(later);
+            assertSame(planner, later.getHandoffPlanner());
+
+            center.setHandoffPlanner(null);
+            assertNull(later.getHandoffPlanner());
+        } finally {
+            center.setHandoffPlanner(null);
+            center.setUplinkDispatcher(null);
+        }
+    }
+
+    @Test
+    @DisplayName("Test authorization counters follow request, register and unregister")
+    void testAuthorizationCounters() {
+        FlightAuthorization auth = center.requestFlightAuthorization(
+            testVehicle, departurePosition, destinationPosition);
+        if (auth.getStatus() != AuthorizationStatus.APPROVED) {
+            assertTrue(true, "Authorization was rejected, cannot test counters");
+            return;
+        }
+        long approved = center.getAuthorizationCount(AuthorizationStatus.APPROVED);
+        int unregistered = center.getApprovedUnregisteredCount();
+        assertTrue(approved >= 1);
+        assertTrue(unregistered >= 1);
+
+        center.registerVehicle(testVehicle);
+        assertEquals(approved, center.getAuthorizationCount(AuthorizationStatus.APPROVED));
+        assertEquals(unregistered - 1, center.getApprovedUnregisteredCount());
+
+        center.unregisterVehicle(testVehicle.getId());
+        assertEquals(approved - 1, center.getAuthorizationCount(AuthorizationStatus.APPROVED));
+        assertEquals(unregistered - 1, center.getApprovedUnregisteredCount());
+    }
+
+    @Test
+    @DisplayName("Test bulk authorization stores approved flights")
+    void testRequestFlightAuthorizations() {
+        center.loadCityMap(cityMap);
+        LocalDateTime start = LocalDateTime.now().plusDays(1);
+        Position from = new Position(41.5000, 29.5000, 100.0);
+        Position to = new Position(41.5050, 29.5050, 100.0);
+        List<FlightRequest> requests = new java.util.ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            Vehicle v = new Vehicle(VehicleType.CARGO, from);
+            requests.add(new FlightRequest(v, from, to, start, start.plusMinutes(20)));
+        }
+        requests.add(new FlightRequest(testVehicle, new Position(39.0, 27.0, 100.0), to,
+            start, start.plusMinutes(20)));
+
+        List<FlightDecision> decisions = center.requestFlightAuthorizations(requests);
+
+        assertEquals(4, decisions.size());
+        for (int i = 0; i < 3; i++) {
+            FlightDecision decision = decisions.get(i);
+            assertTrue(decision.isApproved());
+            assertSame(decision.getAuthorization(),
+                center.getAuthorizations().get(decision.getRequest().getVehicle().getId()));
+            // Pencere yarın başlıyor; araç şimdi trafiğe giremez
+            Vehicle early = decision.getRequest().getVehicle();
+            assertThrows(IllegalStateException.class, () -> center.registerVehicle(early));
+            center.unregisterVehicle(decision.getRequest().getVehicle().getId());
+        }
+        assertFalse(decisions.get(3).isApproved(), "Unsafe departure should be rejected");
+        assertThrows(IllegalArgumentException.class, () -> center.requestFlightAuthorizations(null));
+    }
+
+    @Test
+    @DisplayName("Test live restricted zone activation and removal")
+    void testDynamicRestrictedZone() {
+        center.loadCityMap(cityMap);
+        Position from = new Position(41.5000, 29.4950, 100.0);
+        Position to = new Position(41.5000, 29.5100, 100.0);
+        Vehicle airborne = new Vehicle(VehicleType.PASSENGER, from);
+        Vehicle waiting = new Vehicle(VehicleType.CARGO, from);
+        assertEquals(AuthorizationStatus.APPROVED, center.requestFlightAuthorization(airborne, from, to).getStatus());
+        assertEquals(AuthorizationStatus.APPROVED, center.requestFlightAuthorization(waiting, from, to).getStatus());
+        center.registerVehicle(airborne);
+
+        com.airtraffic.map.RestrictedZone zone = new com.airtraffic.map.RestrictedZone(
+            "Operation", com.airtraffic.map.RestrictedZoneType.GOVERNMENT);
+        zone.setPermanent(false);
+        zone.setMaxAltitude(300.0);
+        zone.addBoundaryPoint(new Position(41.4990, 29.5000, 0.0));
+        zone.addBoundaryPoint(new Position(41.5010, 29.5000, 0.0));
+        zone.addBoundaryPoint(new Position(41.5010, 29.5020, 0.0));
+        zone.addBoundaryPoint(new Position(41.4990, 29.5020, 0.0));
+
+        try {
+            List<AirspaceNotice> notices = center.activateRestrictedZone(zone);
+            assertNotNull(zone.getId());
+            assertTrue(cityMap.getRestrictedZones().contains(zone));
+            assertFalse(cityMap.isPositionSafe(new Position(41.5000, 29.5010, 100.0)));
+            assertTrue(notices.stream().anyMatch(n -> n.getVehicleId().equals(airborne.getId())
+                && n.getType() == AirspaceNoticeType.REROUTE));
+            assertTrue(notices.stream().anyMatch(n -> n.getVehicleId().equals(waiting.getId())
+                && n.getType() == AirspaceNoticeType.HOLD));
+
+            List<AirspaceNotice> resumed = center.deactivateRestrictedZone(zone);
+            assertFalse(cityMap.getRestrictedZones().contains(zone), "Temporary zone is removed");
+            assertTrue(cityMap.isPositionSafe(new Position(41.5000, 29.5010, 100.0)));
+            assertEquals(1, resumed.size());
+            assertEquals(AirspaceNoticeType.RESUME, resumed.get(0).getType());
+        } finally {
+            center.unregisterVehicle(airborne.getId());
+            center.unregisterVehicle(waiting.getId());
+        }
+        assertThrows(IllegalArgumentException.class, () -> center.activateRestrictedZone(null));
+    }
+
+    private static long countPairRisks(List<com.airtraffic.model.CollisionRisk> risks, Vehicle v1, Vehicle v2) {
+        return risks.stream()
+            .filter(r -> (r.getVehicleId1().equals(v1.getId()) && r.getVehicleId2().equals(v2.getId()))
+                || (r.getVehicleId1().equals(v2.getId()) && r.getVehicleId2().equals(v1.getId())))
+            .count();
+    }
+
     @Test
     @DisplayName("Test updateVehiclePosition with non-existent vehicle")
     void testUpdateVehiclePositionNonExistent() {
@@ -331,8 +543,7 @@ class TrafficControlCenterTest {
             vehicle2Registered = true;
         }
         if (auth3.getStatus() == AuthorizationStatus.APPROVED) {
-            center.registerVehicle(vehicle3);
-            registeredCount++;
+            center.registerVehicle(vehicle3); // ~2.3 km away: outside the queried area
         }
         
         // Get vehicles within 1000m of center
@@ -585,6 +796,196 @@ class TrafficControlCenterTest {
         assertEquals(center.getActiveVehicles().size(), newCenter.getActiveVehicles().size());
     }
 
+    @Test
+    @DisplayName("Test loadState reserves future flights from their window start")
+    void testLoadStateReservesFromValidFrom(@TempDir Path tempDir) throws IOException {
+        center.loadCityMap(cityMap);
+        Position from = new Position(41.5200, 29.5200, 100.0);
+        Position to = new Position(41.5250, 29.5250, 100.0);
+        Vehicle later = new Vehicle(VehicleType.CARGO, from);
+        LocalDateTime start = LocalDateTime.now().plusHours(6);
+        FlightDecision decision = center.requestFlightAuthorizations(List.of(
+            new FlightRequest(later, from, to, start, start.plusMinutes(20)))).get(0);
+        assertTrue(decision.isApproved());
+        long validFrom = TimeUtils.toEpochMillis(decision.getAuthorization().getValidFrom());
+
+        String filePath = tempDir.resolve("future_state.json").toFile().getAbsolutePath();
+        center.saveState(filePath);
+        center.loadState(filePath);
+        try {
+            AdmissionController admission = center.getAdmissionController();
+            assertEquals(0, admission.getReservations(from), "Corridor is free until the window opens");
+            assertEquals(1, admission.getReservations(from, validFrom));
+        } finally {
+            center.unregisterVehicle(later.getId());
+        }
+    }
+
+    @Test
+    @DisplayName("Test geofence events use report time and loadState drops stale tracking")
+    void testGeofenceReportTimeAndLoadStateReset(@TempDir Path tempDir) throws IOException {
+        RestrictedZone zone = new RestrictedZone("Zone", RestrictedZoneType.GOVERNMENT);
+        zone.setMinAltitude(0.0);
+        zone.setMaxAltitude(200.0);
+        zone.addBoundaryPoint(new Position(41.5800, 29.5800, 0.0));
+        zone.addBoundaryPoint(new Position(41.5820, 29.5800, 0.0));
+        zone.addBoundaryPoint(new Position(41.5820, 29.5820, 0.0));
+        zone.addBoundaryPoint(new Position(41.5800, 29.5820, 0.0));
+        cityMap.addRestrictedZone(zone);
+        center.loadCityMap(cityMap);
+        String filePath = tempDir.resolve("geofence_state.json").toFile().getAbsolutePath();
+        center.saveState(filePath);
+
+        Position from = new Position(41.5600, 29.5600, 100.0);
+        Vehicle vehicle = new Vehicle(VehicleType.CARGO, from);
+        DeadReckoningFilter filter = new DeadReckoningFilter();
+        List<GeofenceEvent> events = new ArrayList<>();
+        center.setDeadReckoningFilter(filter);
+        try {
+            assertEquals(AuthorizationStatus.APPROVED, center.requestFlightAuthorization(
+                vehicle, from, new Position(41.5650, 29.5650, 100.0)).getStatus());
+            center.registerVehicle(vehicle);
+            center.getGeofenceEngine().addListener(events::add);
+
+            // Geciken rapor: olay zamanı raporun zaman damgasıdır
+            LocalDateTime reported = LocalDateTime.now().minusMinutes(10);
+            center.updateVehiclePosition(vehicle.getId(), new Position(41.5810, 29.5810, 100.0, reported));
+            assertEquals(1, events.size());
+            assertEquals(GeofenceEventType.ENTER, events.get(0).getType());
+            assertEquals(TimeUtils.toEpochMillis(reported), events.get(0).getTimestampMillis());
+            assertTrue(filter.getTrackCount() > 0);
+
+            // Kaydedilen durumda araç yok: üyeliği ve izi de kalmamalı
+            center.loadState(filePath);
+            assertTrue(center.getGeofenceEngine().getZones(vehicle.getId()).isEmpty());
+            assertEquals(0, filter.getTrackCount());
+        } finally {
+            center.setDeadReckoningFilter(null);
+            center.unregisterVehicle(vehicle.getId());
+        }
+    }
+
+    @Test
+    @DisplayName("Test grid reference follows the loaded map and keeps density counters")
+    void testGridReferenceFromMapBounds() {
+        center.loadCityMap(cityMap);
+        Position from = new Position(41.5400, 29.5400, 100.0);
+        Position to = new Position(41.5450, 29.5450, 100.0);
+        Vehicle waiting = new Vehicle(VehicleType.CARGO, from);
+        assertEquals(AuthorizationStatus.APPROVED, center.requestFlightAuthorization(testVehicle, from, to).getStatus());
+        testVehicle.updatePosition(from);
+        center.registerVehicle(testVehicle);
+        assertEquals(AuthorizationStatus.APPROVED, center.requestFlightAuthorization(waiting, from, to).getStatus());
+        AdmissionController admission = center.getAdmissionController();
+        int occupancy = admission.getOccupancy(from);
+        int reservations = admission.getReservations(from);
+
+        CityMap wide = new CityMap("Marmara");
+        wide.setMinLatitude(40.5);
+        wide.setMaxLatitude(42.5);
+        wide.setMinLongitude(28.5);
+        wide.setMaxLongitude(30.5);
+        try {
+            center.loadCityMap(wide);
+            assertEquals(41.5, admission.getProjection().getReferenceLat(), 1e-9);
+            assertEquals(29.5, admission.getProjection().getReferenceLon(), 1e-9);
+            assertEquals(41.5, center.getBaseStationIndex().getProjection().getReferenceLat(), 1e-9);
+            assertEquals(29.5, center.getBaseStationIndex().getProjection().getReferenceLon(), 1e-9);
+            assertEquals(occupancy, admission.getOccupancy(from), "Registered vehicles are re-counted");
+            assertEquals(reservations, admission.getReservations(from), "Approved flights are re-reserved");
+            FleetSnapshot snapshot = center.publishFleetSnapshot();
+            assertTrue(snapshot.getVehiclesInArea(from, 10.0).stream()
+                .anyMatch(v -> v.getId().equals(testVehicle.getId())), "Snapshot grid uses the same reference");
+        } finally {
+            center.unregisterVehicle(testVehicle.getId());
+            center.unregisterVehicle(waiting.getId());
+            center.loadCityMap(cityMap);
+        }
+        assertEquals(41.0, admission.getProjection().getReferenceLat(), 1e-9);
+    }
+
+    @Test
+    @DisplayName("Test segment flow service is wired into the control center")
+    void testSegmentFlowWiring() {
+        // Diğer testlerin bıraktığı araçlardan uzak bir cadde
+        Position departure = new Position(41.0500, 29.0500, 100.0);
+        Position destination = new Position(41.0520, 29.0500, 120.0);
+        testVehicle.updatePosition(departure);
+        RouteNetwork network = new RouteNetwork("Istanbul");
+        Route street = new Route("Main Street 1", Arrays.asList(
+            new Position(41.0500, 29.0500, 100.0), new Position(41.0600, 29.0500, 100.0)));
+        network.addMainStreet(street);
+        List<RouteSegment> segments = network.createSegmentsForRoute(street, 1000.0, RouteDirection.FORWARD, 100.0, 25.0);
+        cityMap.setRouteNetwork(network);
+        center.loadCityMap(cityMap);
+
+        TrafficFlowService service = new TrafficFlowService();
+        center.setTrafficFlowService(service);
+        try {
+            assertSame(service, center.getAdmissionController().getTrafficFlowService());
+            assertSame(network, service.getRouteNetwork(), "Service is initialised from the loaded map");
+
+            RouteSegment first = segments.get(0);
+            int existing = service.getVehicleCountForSegment(first.getSegmentId());
+            FlightAuthorization auth = center.requestFlightAuthorization(testVehicle, departure, destination);
+            assertEquals(AuthorizationStatus.APPROVED, auth.getStatus());
+            center.registerVehicle(testVehicle);
+            assertSame(first, testVehicle.getCurrentSegment());
+            assertEquals(existing + 1, service.getVehicleCountForSegment(first.getSegmentId()));
+
+            center.unregisterVehicle(testVehicle.getId());
+            assertEquals(existing, service.getVehicleCountForSegment(first.getSegmentId()));
+        } finally {
+            center.unregisterVehicle(testVehicle.getId());
+            center.setTrafficFlowService(null);
+        }
+        assertNull(center.getAdmissionController().getTrafficFlowService());
+    }
+
+    @Test
+    @DisplayName("Test speed advisory rule is registered in the control center")
+    void testSpeedAdvisoryWiring() {
+        Position departure = new Position(41.0600, 29.0600, 100.0);
+        Position destination = new Position(41.0620, 29.0600, 120.0);
+        testVehicle.updatePosition(departure);
+        RouteNetwork network = new RouteNetwork("Istanbul");
+        Route street = new Route("Main Street 2", Arrays.asList(
+            new Position(41.0600, 29.0600, 100.0), new Position(41.0700, 29.0600, 100.0)));
+        network.addMainStreet(street);
+        List<RouteSegment> segments = network.createSegmentsForRoute(street, 1000.0, RouteDirection.FORWARD, 100.0, 25.0);
+        cityMap.setRouteNetwork(network);
+        center.loadCityMap(cityMap);
+
+        TrafficFlowService service = new TrafficFlowService();
+        SegmentSpeedAdvisoryRule rule = new SegmentSpeedAdvisoryRule();
+        SpeedAdvisoryController controller = new SpeedAdvisoryController(
+            new SegmentFlowAnalytics(service), rule, 1_000_000_000L);
+        center.setSpeedAdvisoryController(controller);
+        try {
+            assertSame(service, center.getTrafficFlowService());
+            assertTrue(center.getRuleEngine().getRules().contains(rule));
+            assertSame(controller, center.getAdmissionController().getMeteringSource());
+            assertEquals(segments.size(), center.evaluateSpeedAdvisories(System.currentTimeMillis()));
+            assertEquals(1, controller.getCompletedSweeps());
+
+            FlightAuthorization auth = center.requestFlightAuthorization(testVehicle, departure, destination);
+            assertEquals(AuthorizationStatus.APPROVED, auth.getStatus());
+            center.registerVehicle(testVehicle);
+
+            rule.setAdvisoryLimit(segments.get(0), 10.0);
+            testVehicle.setVelocity(20.0);
+            center.updateVehiclePosition(testVehicle.getId(), new Position(41.0608, 29.0600, 100.0));
+            assertTrue(center.getRuleEngine().checkViolations(testVehicle, testVehicle.getPosition()).contains(rule));
+        } finally {
+            center.unregisterVehicle(testVehicle.getId());
+            center.setSpeedAdvisoryController(null);
+            center.setTrafficFlowService(null);
+        }
+        assertFalse(center.getRuleEngine().getRules().contains(rule));
+        assertNull(center.getAdmissionController().getMeteringSource());
+        assertEquals(0, center.evaluateSpeedAdvisories(System.currentTimeMillis()));
+    }
+
     @Test
     @DisplayName("Test loadState - file not found throws exception")
     void testLoadStateFileNotFound(@TempDir Path tempDir) {
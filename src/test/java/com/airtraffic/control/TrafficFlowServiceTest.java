@@ -193,5 +193,85 @@ class TrafficFlowServiceTest {
         int count = service.getVehicleCountForSegment(segment.getSegmentId());
         assertEquals(0, count);
     }
-}
 
+    @Test
+    @DisplayName("Test segment handles are stable and map back to IDs")
+    void testSegmentHandles() {
+        RouteSegment segment = routeNetwork.getAllActiveSegments().get(0);
+        int handle = service.getSegmentHandle(segment.getSegmentId());
+
+        assertEquals(handle, service.getSegmentHandle(segment.getSegmentId()));
+        assertEquals(segment.getSegmentId(), service.getSegmentId(handle));
+        assertNull(service.getSegmentId(-1));
+        assertEquals(0, service.getVehicleCount(handle));
+        assertThrows(IllegalArgumentException.class, () -> service.getSegmentHandle(null));
+    }
+
+    @Test
+    @DisplayName("Test removeVehicle and snapshot")
+    void testRemoveVehicleAndSnapshot() {
+        RouteSegment segment = service.updateVehicleSegment(vehicle1, 50.0);
+        SegmentOccupancySnapshot first = service.snapshot();
+        assertEquals(1, first.getVehicleCount(segment.getSegmentId()));
+        assertEquals(1, first.getTotalVehicles());
+
+        service.removeVehicle(vehicle1.getId());
+        assertEquals(0, service.getVehicleCountForSegment(segment.getSegmentId()));
+        assertEquals(1, first.getVehicleCount(segment.getSegmentId()), "Snapshot is a copy");
+
+        SegmentOccupancySnapshot second = service.snapshot();
+        assertTrue(second.getTick() > first.getTick());
+        assertEquals(0, second.getTotalVehicles());
+        assertFalse(second.isAtCapacity(segment));
+    }
+
+    @Test
+    @DisplayName("Test cleared counts are rebuilt on the next update")
+    void testCountsRebuiltAfterClear() {
+        RouteSegment segment = service.updateVehicleSegment(vehicle1, 50.0);
+        service.clearSegmentVehicles();
+        service.updateVehicleSegment(vehicle1, 50.0);
+        assertEquals(1, service.getVehicleCountForSegment(segment.getSegmentId()));
+    }
+
+    @Test
+    @DisplayName("Test parallel updates keep counts consistent with membership")
+    void testParallelUpdates() {
+        List<Position> waypoints = new ArrayList<>();
+        waypoints.add(new Position(41.0, 29.00, 100.0));
+        waypoints.add(new Position(41.0, 29.02, 100.0));
+        Route longRoute = new Route("Long", waypoints);
+        routeNetwork.createSegmentsForRoute(longRoute, 200.0, RouteDirection.FORWARD, 100.0, 25.0);
+
+        List<Vehicle> vehicles = new ArrayList<>();
+        for (int i = 0; i < 2000; i++) {
+            vehicles.add(new Vehicle(VehicleType.CARGO, new Position(41.0, 29.0 + (i % 20) * 0.001, 100.0)));
+        }
+        for (int round = 0; round < 5; round++) {
+            final int shift = round;
+            vehicles.parallelStream().forEach(v -> {
+                double lon = 29.0 + ((v.hashCode() + shift * 7) & 0xF) * 0.00125;
+                v.updatePosition(new Position(41.0, lon, 100.0));
+                service.updateVehicleSegment(v, 50.0);
+            });
+        }
+
+        SegmentOccupancySnapshot snapshot = service.snapshot();
+        assertEquals(2000, snapshot.getTotalVehicles());
+        for (RouteSegment segment : routeNetwork.getAllActiveSegments()) {
+            assertEquals(service.getVehiclesInSegment(segment.getSegmentId()).size(),
+                snapshot.getVehicleCount(segment.getSegmentId()));
+        }
+    }
+
+    @Test
+    @DisplayName("Test snapshot over 300k segment handles")
+    void testLargeSnapshot() {
+        for (int i = 0; i < 300_000; i++) {
+            service.getSegmentHandle("S-" + i);
+        }
+        SegmentOccupancySnapshot snapshot = service.snapshot();
+        assertTrue(snapshot.getSegmentCount() >= 300_000);
+        assertEquals(0, snapshot.getVehicleCount("S-299999"));
+    }
+}
@@ -0,0 +1,121 @@
+package com.airtraffic.control;
+
+import com.airtraffic.model.Position;
+import com.airtraffic.model.Vehicle;
+import com.airtraffic.model.VehicleStatus;
+import com.airtraffic.model.VehicleType;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for UplinkDispatcher
+ * Tests routing to stations, per-station uplinks and aggregate metrics
+ */
+@DisplayName("UplinkDispatcher Tests")
+class UplinkDispatcherTest {
+
+    private BaseStationIndex index;
+    private BaseStation station;
+
+    @BeforeEach
+    void setUp() {
+        index = new BaseStationIndex(41.0, 29.0, 500.0);
+        station = new BaseStation("Central", new Position(41.0, 29.0, 0.0), 2000.0);
+        index.addStation(station);
+    }
+
+    @Test
+    @DisplayName("Test constructor validation")
+    void testConstructorValidation() {
+        assertThrows(IllegalArgumentException.class, () -> new UplinkDispatcher(null));
+        assertThrows(IllegalArgumentException.class, () -> new UplinkDispatcher(index, -1.0, 10.0, 8));
+    }
+
+    @Test
+    @DisplayName("Test message is routed to the connected station and delivered on tick")
+    void testDispatchAndDeliver() {
+        index.updateVehicle(createVehicle("v1", 41.0, 29.0));
+        UplinkDispatcher dispatcher = new UplinkDispatcher(index, 10_000.0, 10.0, 16);
+        List<UplinkMessage> delivered = new ArrayList<>();
+        dispatcher.setDeliveryListener(delivered::add);
+
+        assertTrue(dispatcher.dispatch("v1", MessagePriority.CRITICAL_COLLISION, "brake", 0.0));
+        assertEquals(1, dispatcher.getUplinkCount());
+        assertEquals(1, dispatcher.getQueuedCount());
+
+        assertEquals(1, dispatcher.tick(0.0));
+        assertEquals(1, delivered.size());
+        assertEquals(station.getId(), delivered.get(0).getStationId());
+        assertEquals(1, dispatcher.getDeliveredCount(MessagePriority.CRITICAL_COLLISION));
+        assertTrue(dispatcher.getMeanDelayMillis(MessagePriority.CRITICAL_COLLISION) > 10.0);
+    }
+
+    @Test
+    @DisplayName("Test vehicle without station counts as no-route")
+    void testNoRoute() {
+        index.updateVehicle(createVehicle("far", 41.5, 29.5));
+        UplinkDispatcher dispatcher = new UplinkDispatcher(index);
+        assertFalse(dispatcher.dispatch("far", MessagePriority.INFO, "hello", 0.0));
+        assertFalse(dispatcher.dispatch("unknown", MessagePriority.INFO, "hello", 0.0));
+        assertEquals(2, dispatcher.getNoRouteCount());
+        assertEquals(0, dispatcher.getUplinkCount());
+    }
+
+    @Test
+    @DisplayName("Test handoff planner primary is preferred")
+    void testPlannerRouting() {
+        BaseStation other = new BaseStation("Other", new Position(41.0, 29.001, 0.0), 2000.0);
+        index.addStation(other);
+        Vehicle vehicle = createVehicle("v1", 41.0, 29.001);
+        index.updateVehicle(vehicle);
+        HandoffPlanner planner = new HandoffPlanner(index, 0.0, 0.15, 10);
+        planner.planTick(List.of(vehicle));
+
+        UplinkDispatcher dispatcher = new UplinkDispatcher(index);
+        dispatcher.setHandoffPlanner(planner);
+        dispatcher.dispatch("v1", MessagePriority.INFO, "hello", 0.0);
+        assertNotNull(dispatcher.getUplink(planner.getPrimary("v1").getId()));
+        assertSame(other, planner.getPrimary("v1"));
+    }
+
+    @Test
+    @DisplayName("Test alert burst queues up and overflows low priority first")
+    void testBurstLoad() {
+        List<Vehicle> vehicles = new ArrayList<>();
+        for (int i = 0; i < 50; i++) {
+            Vehicle vehicle = createVehicle("v" + i, 41.0, 29.0);
+            index.updateVehicle(vehicle);
+            vehicles.add(vehicle);
+        }
+        // 1 byte/ms: her mesaj ~70 ms bağlantıyı meşgul eder
+        UplinkDispatcher dispatcher = new UplinkDispatcher(index, 1000.0, 0.0, 20);
+        for (Vehicle vehicle : vehicles) {
+            dispatcher.dispatch(vehicle.getId(), MessagePriority.INFO, "status", 0.0);
+            dispatcher.dispatch(vehicle.getId(), MessagePriority.CRITICAL_COLLISION, "brake", 0.0);
+        }
+        assertEquals(30, dispatcher.getDroppedCount(MessagePriority.INFO));
+        assertEquals(30, dispatcher.getDroppedCount(MessagePriority.CRITICAL_COLLISION));
+
+        for (double t = 0.0; t <= 10_000.0; t += 100.0) {
+            dispatcher.tick(t);
+        }
+        assertEquals(0, dispatcher.getQueuedCount());
+        assertTrue(dispatcher.getMeanDelayMillis(MessagePriority.CRITICAL_COLLISION)
+            < dispatcher.getMeanDelayMillis(MessagePriority.INFO));
+    }
+
+    private Vehicle createVehicle(String id, double lat, double lon) {
+        Vehicle vehicle = new Vehicle();
+        vehicle.setId(id);
+        vehicle.setType(VehicleType.PASSENGER);
+        vehicle.setStatus(VehicleStatus.IN_FLIGHT);
+        vehicle.setPosition(new Position(lat, lon, 100.0));
+        return vehicle;
+    }
+}
@@ -8,6 +8,8 @@ import org.junit.jupiter.api.Test;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -519,6 +521,48 @@ class CityMapTest {
             "Position at 180m should return null (out of range)");
     }
 
+    @Test
+    @DisplayName("Test map change listeners and remove methods")
+    void testMapChangeListeners() {
+        List<Object> changes = new ArrayList<>();
+        int[] resets = new int[1];
+        MapChangeListener listener = new MapChangeListener() {
+            @Override
+            public void onObstacleChanged(Obstacle obstacle) {
+                changes.add(obstacle);
+            }
+
+            @Override
+            public void onRestrictedZoneChanged(RestrictedZone zone) {
+                changes.add(zone);
+            }
+
+            @Override
+            public void onMapReset() {
+                resets[0]++;
+            }
+        };
+        cityMap.addMapChangeListener(listener);
+
+        Obstacle obstacle = new Obstacle("Test Building", ObstacleType.BUILDING, safePosition, 50.0);
+        RestrictedZone zone = new RestrictedZone("Test Zone", RestrictedZoneType.GOVERNMENT);
+        cityMap.addObstacle(obstacle);
+        cityMap.addRestrictedZone(zone);
+        assertTrue(cityMap.removeObstacle(obstacle));
+        assertFalse(cityMap.removeObstacle(obstacle), "Second remove should report absence");
+        assertTrue(cityMap.removeRestrictedZone(zone));
+        cityMap.setMinLatitude(40.0);
+
+        assertEquals(List.of(obstacle, zone, obstacle, zone), changes);
+        assertEquals(1, resets[0]);
+        assertTrue(cityMap.getObstacles().isEmpty());
+
+        cityMap.removeMapChangeListener(listener);
+        cityMap.addObstacle(obstacle);
+        assertEquals(4, changes.size());
+        assertThrows(IllegalArgumentException.class, () -> cityMap.addMapChangeListener(null));
+    }
+
     @Test
     @DisplayName("Test getLayerForAltitude with null position")
     void testGetLayerForAltitudeNullPosition() {
@@ -526,11 +570,40 @@ class CityMapTest {
             cityMap.getLayerForAltitude(null);
         }, "Null position should throw NullPointerException");
     }
-}
-
-
-
-
-
-
 
+    @Test
+    @DisplayName("Test live zone updates while other threads run safety checks")
+    void testConcurrentZoneUpdates() throws InterruptedException {
+        cityMap.setMinLatitude(40.0);
+        cityMap.setMaxLatitude(42.0);
+        cityMap.setMinLongitude(28.0);
+        cityMap.setMaxLongitude(30.0);
+        List<Throwable> failures = new CopyOnWriteArrayList<>();
+        AtomicBoolean done = new AtomicBoolean();
+        Thread reader = new Thread(() -> {
+            try {
+                while (!done.get()) {
+                    cityMap.isPositionSafe(safePosition);
+                    cityMap.getSafePassageAltitude(safePosition);
+                }
+            } catch (Throwable t) {
+                failures.add(t);
+            }
+        });
+        reader.start();
+        for (int i = 0; i < 2000; i++) {
+            Obstacle obstacle = new Obstacle("B" + i, ObstacleType.BUILDING, centerPosition, 20.0);
+            RestrictedZone zone = new RestrictedZone("Z" + i, RestrictedZoneType.GOVERNMENT);
+            cityMap.addObstacle(obstacle);
+            cityMap.addRestrictedZone(zone);
+            cityMap.removeObstacle(obstacle);
+            cityMap.removeRestrictedZone(zone);
+        }
+        done.set(true);
+        reader.join();
+
+        assertTrue(failures.isEmpty(), () -> "Reader failed: " + failures);
+        assertTrue(cityMap.getObstacles().isEmpty());
+        assertTrue(cityMap.getRestrictedZones().isEmpty());
+    }
+}
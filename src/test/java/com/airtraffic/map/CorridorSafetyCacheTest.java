@@ -0,0 +1,206 @@
+package com.airtraffic.map;
+
+import com.airtraffic.model.Position;
+import com.airtraffic.model.RouteDirection;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for CorridorSafetyCache
+ * Tests segment safety, clearance altitude, caching and surgical invalidation
+ */
+@DisplayName("CorridorSafetyCache Tests")
+class CorridorSafetyCacheTest {
+
+    private CityMap cityMap;
+    private CorridorSafetyCache cache;
+    private RouteSegment westSegment;
+    private RouteSegment eastSegment;
+
+    @BeforeEach
+    void setUp() {
+        cityMap = new CityMap("Istanbul");
+        cityMap.setMinLatitude(40.0);
+        cityMap.setMaxLatitude(42.0);
+        cityMap.setMinLongitude(28.0);
+        cityMap.setMaxLongitude(30.0);
+        cache = new CorridorSafetyCache(cityMap);
+
+        // İki ayrı, ~850 m uzunluğunda doğu-batı segmenti (~4 km arayla)
+        westSegment = new RouteSegment(null, new Position(41.0000, 28.9000, 0.0),
+            new Position(41.0000, 28.9100, 0.0), RouteDirection.FORWARD, 80.0, 15.0);
+        eastSegment = new RouteSegment(null, new Position(41.0000, 28.9500, 0.0),
+            new Position(41.0000, 28.9600, 0.0), RouteDirection.FORWARD, 80.0, 15.0);
+    }
+
+    private Obstacle tower(Position position, double height) {
+        Obstacle obstacle = new Obstacle("Tower", ObstacleType.BUILDING, position, height);
+        obstacle.setRadius(30.0);
+        return obstacle;
+    }
+
+    @Test
+    @DisplayName("Test constructor validation")
+    void testConstructorValidation() {
+        assertThrows(IllegalArgumentException.class, () -> new CorridorSafetyCache(null));
+        assertThrows(IllegalArgumentException.class, () -> new CorridorSafetyCache(cityMap, 0.0));
+        assertThrows(IllegalArgumentException.class, () -> cache.get(new RouteSegment()));
+    }
+
+    @Test
+    @DisplayName("Test clear segment is safe with base clearance")
+    void testClearSegment() {
+        CorridorSafetyCache.SegmentSafety safety = cache.get(westSegment);
+        assertTrue(safety.isSafe());
+        assertEquals(10.0, safety.getMinClearanceAltitude(), 1e-9);
+    }
+
+    @Test
+    @DisplayName("Test obstacle mid-segment is detected and sets clearance")
+    void testObstacleOnSegment() {
+        cityMap.addObstacle(tower(new Position(41.0000, 28.9050, 0.0), 120.0));
+
+        CorridorSafetyCache.SegmentSafety safety = cache.get(westSegment);
+        assertFalse(safety.isSafe(), "Segment at 80 m crosses a 120 m tower");
+        assertEquals(130.0, safety.getMinClearanceAltitude(), 1e-9);
+
+        // Alçak engel: segment üstünden geçer, açıklık yükselir
+        cityMap.setObstacles(List.of(tower(new Position(41.0000, 28.9050, 0.0), 40.0)));
+        safety = cache.get(westSegment);
+        assertTrue(safety.isSafe());
+        assertEquals(50.0, safety.getMinClearanceAltitude(), 1e-9);
+    }
+
+    @Test
+    @DisplayName("Test repeated lookups hit the cache")
+    void testCacheHits() {
+        cache.get(westSegment);
+        cache.get(westSegment);
+        cache.get(westSegment);
+        assertEquals(1, cache.getMissCount());
+        assertEquals(2, cache.getHitCount());
+        assertEquals(1, cache.size());
+    }
+
+    @Test
+    @DisplayName("Test map changes invalidate only intersecting segments")
+    void testSurgicalInvalidation() {
+        cache.precompute(Arrays.asList(westSegment, eastSegment));
+        assertEquals(2, cache.size());
+
+        Obstacle obstacle = tower(new Position(41.0000, 28.9550, 0.0), 150.0);
+        cityMap.addObstacle(obstacle);
+        assertEquals(1, cache.size(), "Only the east segment should be dropped");
+        assertEquals(1, cache.getInvalidatedCount());
+        assertFalse(cache.get(eastSegment).isSafe());
+        assertTrue(cache.get(westSegment).isSafe());
+
+        assertTrue(cityMap.removeObstacle(obstacle));
+        assertTrue(cache.get(eastSegment).isSafe());
+
+        RestrictedZone zone = new RestrictedZone("Zone", RestrictedZoneType.GOVERNMENT);
+        zone.setMinAltitude(0.0);
+        zone.setMaxAltitude(200.0);
+        zone.addBoundaryPoint(new Position(40.9990, 28.9020, 0.0));
+        zone.addBoundaryPoint(new Position(41.0010, 28.9020, 0.0));
+        zone.addBoundaryPoint(new Position(41.0010, 28.9040, 0.0));
+        zone.addBoundaryPoint(new Position(40.9990, 28.9040, 0.0));
+        cityMap.addRestrictedZone(zone);
+        assertFalse(cache.isPathSafe(Arrays.asList(westSegment, eastSegment)));
+
+        cityMap.removeRestrictedZone(zone);
+        assertTrue(cache.isPathSafe(Arrays.asList(westSegment, eastSegment)));
+    }
+
+    @Test
+    @DisplayName("Test moved or resized objects also invalidate the area they left")
+    void testMoveInvalidatesOldBounds() {
+        Obstacle obstacle = tower(new Position(41.0000, 28.9550, 0.0), 150.0);
+        cityMap.addObstacle(obstacle);
+        cache.precompute(Arrays.asList(westSegment, eastSegment));
+        assertFalse(cache.get(eastSegment).isSafe());
+
+        // Engel yerinde batıya taşınır: eski (doğu) kutu da düşürülmeli
+        obstacle.setPosition(new Position(41.0000, 28.9050, 0.0));
+        cityMap.notifyObstacleChanged(obstacle);
+        assertEquals(0, cache.size());
+        assertTrue(cache.get(eastSegment).isSafe(), "Stale entry left at the old position");
+        assertFalse(cache.get(westSegment).isSafe());
+
+        // Bölge küçültülür: yeni kutu segmentle kesişmese de eski kutu düşürülür
+        RestrictedZone zone = new RestrictedZone("Zone", RestrictedZoneType.GOVERNMENT);
+        zone.setMinAltitude(0.0);
+        zone.setMaxAltitude(200.0);
+        zone.addBoundaryPoint(new Position(40.9990, 28.9520, 0.0));
+        zone.addBoundaryPoint(new Position(41.0010, 28.9520, 0.0));
+        zone.addBoundaryPoint(new Position(41.0010, 28.9540, 0.0));
+        zone.addBoundaryPoint(new Position(40.9990, 28.9540, 0.0));
+        cityMap.addRestrictedZone(zone);
+        assertFalse(cache.get(eastSegment).isSafe());
+
+        zone.setBoundaries(Arrays.asList(
+            new Position(41.0020, 28.9520, 0.0), new Position(41.0030, 28.9520, 0.0),
+            new Position(41.0030, 28.9540, 0.0), new Position(41.0020, 28.9540, 0.0)));
+        cityMap.notifyRestrictedZoneChanged(zone);
+        assertTrue(cache.get(eastSegment).isSafe());
+    }
+
+    @Test
+    @DisplayName("Test grid index finds spanning segments and wide changes still clear all")
+    void testGridIndexedInvalidation() {
+        // 40 segment, her biri ayrı hücrelerde (~2 km arayla kuzeye dizili)
+        List<RouteSegment> segments = new java.util.ArrayList<>();
+        for (int i = 0; i < 40; i++) {
+            double lat = 40.5 + i * 0.02;
+            segments.add(new RouteSegment(null, new Position(lat, 29.1000, 0.0),
+                new Position(lat, 29.1150, 0.0), RouteDirection.FORWARD, 80.0, 15.0));
+        }
+        cache.precompute(segments);
+        assertEquals(40, cache.size());
+
+        // Segmentin ikinci hücresindeki engel de onu düşürmeli
+        cityMap.addObstacle(tower(new Position(40.5, 29.1140, 0.0), 120.0));
+        assertEquals(39, cache.size());
+        assertEquals(1, cache.getInvalidatedCount());
+        assertFalse(cache.get(segments.get(0)).isSafe());
+        assertTrue(cache.get(segments.get(39)).isSafe());
+
+        // Tüm segmentleri kapsayan geniş bölge: hepsi düşer
+        RestrictedZone zone = new RestrictedZone("Wide", RestrictedZoneType.GOVERNMENT);
+        zone.setMinAltitude(0.0);
+        zone.setMaxAltitude(200.0);
+        zone.addBoundaryPoint(new Position(40.4, 29.0, 0.0));
+        zone.addBoundaryPoint(new Position(41.4, 29.0, 0.0));
+        zone.addBoundaryPoint(new Position(41.4, 29.2, 0.0));
+        zone.addBoundaryPoint(new Position(40.4, 29.2, 0.0));
+        cityMap.addRestrictedZone(zone);
+        assertEquals(0, cache.size());
+        assertFalse(cache.get(segments.get(20)).isSafe());
+    }
+
+    @Test
+    @DisplayName("Test bound changes clear everything and detach stops listening")
+    void testResetAndDetach() {
+        cache.precompute(Arrays.asList(westSegment, eastSegment));
+        cityMap.setMaxLongitude(28.9300); // Doğu segmenti sınır dışına çıkar
+        assertEquals(0, cache.size());
+        assertFalse(cache.get(eastSegment).isSafe());
+
+        cache.detach();
+        cityMap.addObstacle(tower(new Position(41.0000, 28.9050, 0.0), 120.0));
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    @DisplayName("Test path clearance is the maximum over segments")
+    void testPathClearance() {
+        cityMap.addObstacle(tower(new Position(41.0000, 28.9550, 0.0), 60.0));
+        assertEquals(70.0, cache.getMinClearanceAltitude(Arrays.asList(westSegment, eastSegment)), 1e-9);
+    }
+}
@@ -0,0 +1,143 @@
+package com.airtraffic.map;
+
+import com.airtraffic.model.Position;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for GeofenceEngine
+ * Tests enter/exit/dwell events, slab point location and map change handling
+ */
+@DisplayName("GeofenceEngine Tests")
+class GeofenceEngineTest {
+
+    private CityMap cityMap;
+    private RestrictedZone zone;
+    private GeofenceEngine engine;
+    private List<GeofenceEvent> received;
+
+    @BeforeEach
+    void setUp() {
+        cityMap = new CityMap("Istanbul");
+        zone = new RestrictedZone("Stadium", RestrictedZoneType.GOVERNMENT);
+        zone.setMinAltitude(0.0);
+        zone.setMaxAltitude(200.0);
+        zone.addBoundaryPoint(new Position(41.0000, 29.0000, 0.0));
+        zone.addBoundaryPoint(new Position(41.0020, 29.0000, 0.0));
+        zone.addBoundaryPoint(new Position(41.0020, 29.0020, 0.0));
+        zone.addBoundaryPoint(new Position(41.0000, 29.0020, 0.0));
+        cityMap.addRestrictedZone(zone);
+
+        engine = new GeofenceEngine(cityMap, 30_000L);
+        received = new ArrayList<>();
+        engine.addListener(received::add);
+    }
+
+    @Test
+    @DisplayName("Test constructor validation")
+    void testConstructorValidation() {
+        assertThrows(IllegalArgumentException.class, () -> new GeofenceEngine(null));
+        assertThrows(IllegalArgumentException.class, () -> new GeofenceEngine(cityMap, 0L));
+        assertThrows(IllegalArgumentException.class, () -> engine.update("V1", null, 0L));
+        assertEquals(1, engine.getZoneCount());
+    }
+
+    @Test
+    @DisplayName("Test enter, dwell and exit events")
+    void testEnterDwellExit() {
+        assertTrue(engine.update("V1", new Position(40.9990, 29.0010, 100.0), 0L).isEmpty());
+
+        List<GeofenceEvent> events = engine.update("V1", new Position(41.0010, 29.0010, 100.0), 1_000L);
+        assertEquals(1, events.size());
+        assertEquals(GeofenceEventType.ENTER, events.get(0).getType());
+        assertSame(zone, events.get(0).getZone());
+        assertTrue(engine.isInside("V1", zone));
+
+        assertTrue(engine.update("V1", new Position(41.0011, 29.0011, 100.0), 20_000L).isEmpty());
+        events = engine.update("V1", new Position(41.0012, 29.0012, 100.0), 31_000L);
+        assertEquals(GeofenceEventType.DWELL, events.get(0).getType());
+        assertEquals(30_000L, events.get(0).getDwellMillis());
+        assertTrue(engine.update("V1", new Position(41.0012, 29.0012, 100.0), 60_000L).isEmpty(),
+            "Dwell is reported once per stay");
+
+        // Tavanın üzerine tırmanma bölgeden çıkıştır
+        events = engine.update("V1", new Position(41.0012, 29.0012, 250.0), 61_000L);
+        assertEquals(GeofenceEventType.EXIT, events.get(0).getType());
+        assertEquals(60_000L, events.get(0).getDwellMillis());
+        assertTrue(engine.getZones("V1").isEmpty());
+        assertEquals(3, received.size(), "ENTER, DWELL and EXIT were delivered");
+    }
+
+    @Test
+    @DisplayName("Test slab point location matches ray casting on a concave zone")
+    void testSlabMatchesRayCasting() {
+        RestrictedZone concave = new RestrictedZone("U", RestrictedZoneType.MILITARY);
+        concave.setMaxAltitude(500.0);
+        double[][] points = {
+            {41.100, 29.100}, {41.110, 29.100}, {41.110, 29.104}, {41.104, 29.106},
+            {41.110, 29.108}, {41.110, 29.112}, {41.100, 29.112}, {41.103, 29.106}
+        };
+        for (double[] p : points) {
+            concave.addBoundaryPoint(new Position(p[0], p[1], 0.0));
+        }
+        GeofenceEngine.CompiledZone compiled = GeofenceEngine.CompiledZone.compile(concave);
+
+        Random random = new Random(7);
+        for (int i = 0; i < 20_000; i++) {
+            Position p = new Position(41.098 + random.nextDouble() * 0.014,
+                29.098 + random.nextDouble() * 0.016, 100.0);
+            assertEquals(concave.contains(p), compiled.contains(p), "Mismatch at " + p);
+        }
+    }
+
+    @Test
+    @DisplayName("Test removed or lifted zones produce exit on next update")
+    void testZoneChanges() {
+        engine.update("V1", new Position(41.0010, 29.0010, 100.0), 0L);
+        assertTrue(engine.isInside("V1", zone));
+
+        zone.setActive(false);
+        cityMap.notifyRestrictedZoneChanged(zone);
+        assertEquals(0, engine.getZoneCount());
+        List<GeofenceEvent> events = engine.update("V1", new Position(41.0010, 29.0010, 100.0), 1_000L);
+        assertEquals(GeofenceEventType.EXIT, events.get(0).getType());
+
+        zone.setActive(true);
+        cityMap.notifyRestrictedZoneChanged(zone);
+        assertEquals(GeofenceEventType.ENTER,
+            engine.update("V1", new Position(41.0010, 29.0010, 100.0), 2_000L).get(0).getType());
+
+        cityMap.removeRestrictedZone(zone);
+        assertEquals(GeofenceEventType.EXIT,
+            engine.update("V1", new Position(41.0010, 29.0010, 100.0), 3_000L).get(0).getType());
+    }
+
+    @Test
+    @DisplayName("Test new zones are picked up and detach stops listening")
+    void testNewZoneAndDetach() {
+        RestrictedZone far = new RestrictedZone("Far", RestrictedZoneType.HOSPITAL);
+        far.setMaxAltitude(200.0);
+        far.addBoundaryPoint(new Position(41.0500, 29.0500, 0.0));
+        far.addBoundaryPoint(new Position(41.0520, 29.0500, 0.0));
+        far.addBoundaryPoint(new Position(41.0520, 29.0520, 0.0));
+        cityMap.addRestrictedZone(far);
+        assertEquals(2, engine.getZoneCount());
+
+        engine.update("V1", new Position(41.0515, 29.0505, 100.0), 0L);
+        assertEquals(List.of(far), engine.getZones("V1"));
+
+        engine.remove("V1");
+        assertEquals(0, engine.getTrackedVehicleCount());
+
+        engine.detach();
+        cityMap.removeRestrictedZone(far);
+        assertEquals(2, engine.getZoneCount(), "Detached engine no longer follows the map");
+    }
+}
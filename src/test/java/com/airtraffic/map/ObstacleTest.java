@@ -5,6 +5,8 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 
+import java.util.Arrays;
+
 import static org.junit.jupiter.api.Assertions.*;
 
 /**
@@ -242,11 +244,76 @@ class ObstacleTest {
         assertTrue(obstacle.contains(withinCircle), 
             "Circular obstacle should take priority when both are defined");
     }
-}
 
+    /**
+     * Merkeze göre doğu/kuzey metre ofsetinde konum
+     */
+    private Position offset(double east, double north, double altitude) {
+        double metersPerDegreeLon = 111320.0 * Math.cos(Math.toRadians(obstaclePosition.getLatitude()));
+        return new Position(obstaclePosition.getLatitude() + north / 111320.0,
+            obstaclePosition.getLongitude() + east / metersPerDegreeLon, altitude);
+    }
 
+    @Test
+    @DisplayName("Test oriented rectangle uses exact geometry and heading")
+    void testOrientedRectangle() {
+        obstacle.setWidth(20.0);
+        obstacle.setLength(100.0);
 
+        // Kuzey yönlü (heading 0): uzun eksen kuzey-güney
+        assertTrue(obstacle.contains(offset(0.0, 45.0, 100.0)));
+        assertFalse(obstacle.contains(offset(30.0, 0.0, 100.0)),
+            "Beside the narrow side is outside (old circle approximation said inside)");
 
+        // Doğuya döndürüldüğünde uzun eksen doğu-batı
+        obstacle.setHeading(90.0);
+        assertTrue(obstacle.contains(offset(45.0, 0.0, 100.0)));
+        assertFalse(obstacle.contains(offset(0.0, 45.0, 100.0)));
 
+        // 45 derece: köşegen boyunca içeride, dik yönde dışarıda
+        obstacle.setHeading(45.0);
+        assertTrue(obstacle.contains(offset(30.0, 30.0, 100.0)));
+        assertFalse(obstacle.contains(offset(30.0, -30.0, 100.0)));
+    }
+
+    @Test
+    @DisplayName("Test polygon footprint")
+    void testPolygonFootprint() {
+        // L şeklinde bina: 60x60 kare, kuzeydoğu çeyreği eksik
+        obstacle.setFootprint(Arrays.asList(
+            offset(-30.0, -30.0, 0.0), offset(30.0, -30.0, 0.0), offset(30.0, 0.0, 0.0),
+            offset(0.0, 0.0, 0.0), offset(0.0, 30.0, 0.0), offset(-30.0, 30.0, 0.0)));
 
+        assertTrue(obstacle.contains(offset(-15.0, 15.0, 100.0)));
+        assertTrue(obstacle.contains(offset(15.0, -15.0, 100.0)));
+        assertFalse(obstacle.contains(offset(15.0, 15.0, 100.0)), "Missing quarter of the L");
+        assertFalse(obstacle.contains(offset(-15.0, 15.0, 200.0)), "Above the roof");
+        assertEquals(6, obstacle.getFootprint().size());
+        assertEquals(Math.hypot(30.0, 30.0), obstacle.getBoundingRadius(), 0.01);
 
+        // Daire tanımlıysa öncelik dairededir
+        obstacle.setRadius(10.0);
+        assertFalse(obstacle.contains(offset(-15.0, 15.0, 100.0)));
+    }
+
+    @Test
+    @DisplayName("Test bounding box covers rotated footprint and drives safe passage altitude")
+    void testBoundingBoxAndSafePassage() {
+        obstacle.setWidth(20.0);
+        obstacle.setLength(100.0);
+        obstacle.setHeading(90.0);
+
+        double[] box = obstacle.getBoundingBox();
+        Position east = offset(50.0, 0.0, 0.0);
+        Position north = offset(0.0, 10.0, 0.0);
+        assertEquals(east.getLongitude(), box[3], 1e-9);
+        assertEquals(north.getLatitude(), box[1], 1e-9);
+        assertNull(new Obstacle().getBoundingBox());
+
+        CityMap cityMap = new CityMap("Test");
+        cityMap.addObstacle(obstacle);
+        // Engelin yanındaki boşluk artık engel tepesini gerektirmez
+        assertEquals(10.0, cityMap.getSafePassageAltitude(offset(0.0, 30.0, 0.0)), 0.01);
+        assertEquals(160.0, cityMap.getSafePassageAltitude(offset(40.0, 0.0, 0.0)), 0.01);
+    }
+}
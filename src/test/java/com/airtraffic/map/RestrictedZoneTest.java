@@ -274,11 +274,25 @@ class RestrictedZoneTest {
         assertTrue(complexZone.contains(center), 
             "Position at center of complex polygon should be contained");
     }
-}
-
-
-
-
 
+    @Test
+    @DisplayName("Test segment intersection and active flag")
+    void testIntersectsSegmentAndActive() {
+        // Bölgeyi doğu-batı yönünde kesen bacak
+        Position west = new Position(41.0075, 28.9700, 100.0);
+        Position east = new Position(41.0075, 28.9850, 100.0);
+        assertTrue(zone.intersectsSegment(west, east));
+        assertFalse(zone.intersectsSegment(new Position(41.0075, 28.9700, 300.0),
+            new Position(41.0075, 28.9850, 300.0)), "Leg above the zone");
+        assertFalse(zone.intersectsSegment(new Position(41.0200, 28.9700, 100.0),
+            new Position(41.0200, 28.9850, 100.0)), "Leg north of the zone");
 
+        double[] box = zone.getBoundingBox();
+        assertArrayEquals(new double[] {41.0050, 41.0100, 28.9750, 28.9800}, box, 1e-9);
 
+        assertTrue(zone.isActive());
+        zone.setActive(false);
+        assertFalse(zone.contains(new Position(41.0075, 28.9775, 100.0)));
+        assertFalse(zone.intersectsSegment(west, east));
+    }
+}
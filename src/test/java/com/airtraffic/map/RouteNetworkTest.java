@@ -2,6 +2,7 @@ package com.airtraffic.map;
 
 import com.airtraffic.model.Position;
 import com.airtraffic.model.Route;
+import com.airtraffic.model.RouteDirection;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -326,11 +327,21 @@ class RouteNetworkTest {
         assertTrue(routes.size() >= 1, 
             "Large tolerance should find multiple routes");
     }
-}
-
-
-
-
-
-
 
+    @Test
+    @DisplayName("Test findNearestSegment uses perpendicular distance")
+    void testFindNearestSegmentPerpendicular() {
+        List<Position> waypoints = new ArrayList<>();
+        waypoints.add(new Position(41.0, 29.00, 100.0));
+        waypoints.add(new Position(41.0, 29.02, 100.0));
+        Route longRoute = new Route("Long", waypoints);
+        network.createSegmentsForRoute(longRoute, 10000.0, RouteDirection.FORWARD, 100.0, 20.0);
+
+        // Uç noktalardan ~800 m uzakta, segmente 30 m mesafede
+        Position middle = new Position(41.0 + 30.0 / 111320.0, 29.01, 100.0);
+        RouteSegment nearest = network.findNearestSegment(middle, 50.0);
+        assertNotNull(nearest);
+        assertTrue(nearest.distanceTo(middle) <= 50.0);
+        assertNull(network.findNearestSegment(new Position(41.01, 29.01, 100.0), 50.0));
+    }
+}
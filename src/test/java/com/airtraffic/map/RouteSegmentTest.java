@@ -187,5 +187,43 @@ class RouteSegmentTest {
         assertTrue(str.contains("RouteSegment"));
         assertTrue(str.contains(segment.getSegmentId().substring(0, 8)));
     }
-}
 
+    @Test
+    @DisplayName("Test isOnSegment - point in the middle of a long segment")
+    void testIsOnSegmentMiddleOfLongSegment() {
+        // ~1.7 km doğu-batı segmenti; orta noktanın 30 m kuzeyi
+        RouteSegment longSegment = new RouteSegment(parentRoute, new Position(41.0, 29.00, 100.0),
+            new Position(41.0, 29.02, 100.0), RouteDirection.FORWARD, 100.0, 25.0);
+        Position middle = new Position(41.0 + 30.0 / 111320.0, 29.01, 100.0);
+
+        assertTrue(longSegment.isOnSegment(middle, 50.0));
+        assertFalse(longSegment.isOnSegment(middle, 20.0));
+        assertEquals(30.0, longSegment.distanceTo(middle), 0.1);
+        assertEquals(0.5, longSegment.getProgress(middle), 1e-3);
+    }
+
+    @Test
+    @DisplayName("Test distance and progress beyond the segment ends")
+    void testDistanceBeyondEnds() {
+        RouteSegment longSegment = new RouteSegment(parentRoute, new Position(41.0, 29.00, 100.0),
+            new Position(41.0, 29.02, 100.0), RouteDirection.FORWARD, 100.0, 25.0);
+        Position beyondEnd = new Position(41.0, 29.03, 100.0);
+
+        assertEquals(beyondEnd.horizontalDistanceTo(longSegment.getEndPoint()),
+            longSegment.distanceTo(beyondEnd), 1.0);
+        assertEquals(1.0, longSegment.getProgress(beyondEnd), 1e-9);
+        assertEquals(0.0, longSegment.getProgress(new Position(41.0, 28.99, 100.0)), 1e-9);
+        assertEquals(Double.MAX_VALUE, new RouteSegment().distanceTo(beyondEnd));
+    }
+
+    @Test
+    @DisplayName("Test cached geometry follows end point changes")
+    void testGeometryInvalidation() {
+        double before = segment.calculateLength();
+        assertEquals(before, segment.calculateLength());
+
+        segment.setEndPoint(new Position(41.0200, 28.9900, 100.0));
+        assertTrue(segment.calculateLength() > before);
+        assertTrue(segment.isOnSegment(new Position(41.0200, 28.9900, 100.0), 5.0));
+    }
+}
@@ -0,0 +1,81 @@
+package com.airtraffic.rules;
+
+import com.airtraffic.map.RouteSegment;
+import com.airtraffic.model.Position;
+import com.airtraffic.model.RouteDirection;
+import com.airtraffic.model.Vehicle;
+import com.airtraffic.model.VehicleType;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for SegmentSpeedAdvisoryRule class
+ * Tests per-segment advisory limits and in-place updates through the engine
+ */
+@DisplayName("SegmentSpeedAdvisoryRule Tests")
+class SegmentSpeedAdvisoryRuleTest {
+
+    private SegmentSpeedAdvisoryRule rule;
+    private RouteSegment segment;
+    private Vehicle vehicle;
+
+    @BeforeEach
+    void setUp() {
+        rule = new SegmentSpeedAdvisoryRule();
+        segment = new RouteSegment(null, new Position(41.0000, 28.9000, 100.0),
+            new Position(41.0090, 28.9000, 100.0), RouteDirection.FORWARD, 100.0, 25.0);
+        vehicle = new Vehicle(VehicleType.PASSENGER, new Position(41.0010, 28.9000, 100.0));
+        vehicle.setCurrentSegment(segment);
+        vehicle.setVelocity(18.0);
+    }
+
+    @Test
+    @DisplayName("Test rule applies only to segments with an advisory")
+    void testApplicability() {
+        assertEquals(RuleType.SPEED_LIMIT, rule.getRuleType());
+        assertFalse(rule.isApplicable(vehicle, vehicle.getPosition()));
+        assertFalse(rule.isViolated(vehicle, vehicle.getPosition()));
+        assertEquals(25.0, rule.getEffectiveLimit(segment), 1e-9);
+
+        rule.setAdvisoryLimit(segment, 15.0);
+        assertTrue(rule.isApplicable(vehicle, vehicle.getPosition()));
+        assertTrue(rule.isViolated(vehicle, vehicle.getPosition()), "18 m/s > 15 m/s + 10%");
+        assertEquals(15.0, rule.getEffectiveLimit(segment), 1e-9);
+
+        vehicle.setVelocity(16.0);
+        assertFalse(rule.isViolated(vehicle, vehicle.getPosition()));
+        assertTrue(rule.isWarningNeeded(vehicle));
+    }
+
+    @Test
+    @DisplayName("Test validation and cap at static limit")
+    void testValidation() {
+        assertThrows(IllegalArgumentException.class, () -> rule.setAdvisoryLimit(null, 10.0));
+        assertThrows(IllegalArgumentException.class, () -> rule.setAdvisoryLimit(segment, 0.0));
+        assertThrows(IllegalArgumentException.class, () -> rule.setViolationTolerance(-0.1));
+
+        rule.setAdvisoryLimit(segment, 40.0);
+        assertEquals(25.0, rule.getAdvisoryLimit(segment.getSegmentId()), 1e-9);
+        rule.clearAdvisoryLimit(segment.getSegmentId());
+        assertTrue(Double.isNaN(rule.getAdvisoryLimit(segment.getSegmentId())));
+        assertEquals(0, rule.getAdvisoryCount());
+    }
+
+    @Test
+    @DisplayName("Test limits change in the engine without re-adding the rule")
+    void testEngineSeesUpdatedLimits() {
+        TrafficRuleEngine engine = new TrafficRuleEngine();
+        engine.addRule(rule);
+        int ruleCount = engine.getRules().size();
+
+        assertFalse(engine.checkViolations(vehicle, vehicle.getPosition()).contains(rule));
+        rule.setAdvisoryLimit(segment, 12.0);
+        assertTrue(engine.checkViolations(vehicle, vehicle.getPosition()).contains(rule));
+        rule.setAdvisoryLimit(segment, 20.0);
+        assertFalse(engine.checkViolations(vehicle, vehicle.getPosition()).contains(rule));
+        assertEquals(ruleCount, engine.getRules().size());
+    }
+}
@@ -0,0 +1,230 @@
+package com.airtraffic.spatial;
+
+import com.airtraffic.model.Position;
+import com.airtraffic.model.Vehicle;
+import com.airtraffic.model.VehicleStatus;
+import com.airtraffic.model.VehicleType;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for HashGridIndex
+ * Verifies parity with linear search and cell size auto-tuning
+ */
+@DisplayName("HashGridIndex Tests")
+class HashGridIndexTest {
+
+    private static final double RADIUS = 500.0;
+
+    private HashGridIndex grid;
+
+    @BeforeEach
+    void setUp() {
+        grid = new HashGridIndex(40.0, 42.0, 28.0, 30.0, RADIUS);
+    }
+
+    @Test
+    @DisplayName("Test constructor starts with cell size equal to interaction radius")
+    void testConstructor() {
+        assertEquals(0, grid.size());
+        assertEquals(RADIUS, grid.getCellSize(), 0.001);
+        assertThrows(IllegalArgumentException.class, () -> new HashGridIndex(41.0, 29.0, 0.0));
+    }
+
+    @Test
+    @DisplayName("Test insert null vehicle or null position throws exception")
+    void testInsertInvalid() {
+        assertThrows(IllegalArgumentException.class, () -> grid.insert(null));
+        Vehicle vehicle = new Vehicle();
+        vehicle.setPosition(null);
+        assertThrows(IllegalArgumentException.class, () -> grid.insert(vehicle));
+    }
+
+    @Test
+    @DisplayName("Test query returns only vehicles within radius")
+    void testQuery() {
+        Vehicle v1 = createVehicle("vehicle1", 41.0, 29.0);
+        Vehicle v2 = createVehicle("vehicle2", 41.002, 29.0);   // ~220 m north
+        Vehicle v3 = createVehicle("vehicle3", 41.01, 29.0);    // ~1.1 km north
+        grid.insert(v1);
+        grid.insert(v2);
+        grid.insert(v3);
+
+        List<Vehicle> result = grid.query(new Position(41.0, 29.0, 100.0), RADIUS);
+
+        assertEquals(2, result.size());
+        assertTrue(result.contains(v1));
+        assertTrue(result.contains(v2));
+        assertFalse(result.contains(v3));
+    }
+
+    @Test
+    @DisplayName("Test update moves vehicle to new cell")
+    void testUpdate() {
+        Vehicle vehicle = createVehicle("vehicle1", 41.0, 29.0);
+        grid.insert(vehicle);
+
+        vehicle.updatePosition(new Position(41.5, 29.5, 100.0));
+        grid.update(vehicle);
+
+        assertTrue(grid.query(new Position(41.0, 29.0, 100.0), RADIUS).isEmpty());
+        assertEquals(1, grid.query(new Position(41.5, 29.5, 100.0), RADIUS).size());
+        assertEquals(1, grid.size());
+    }
+
+    @Test
+    @DisplayName("Test inserting the same vehicle twice does not duplicate it")
+    void testInsertTwice() {
+        Vehicle vehicle = createVehicle("vehicle1", 41.0, 29.0);
+        grid.insert(vehicle);
+        grid.insert(vehicle);
+
+        assertEquals(1, grid.size());
+        assertEquals(1, grid.query(vehicle.getPosition(), RADIUS).size());
+    }
+
+    @Test
+    @DisplayName("Test remove and clear")
+    void testRemoveAndClear() {
+        Vehicle v1 = createVehicle("vehicle1", 41.0, 29.0);
+        Vehicle v2 = createVehicle("vehicle2", 41.0, 29.001);
+        grid.insert(v1);
+        grid.insert(v2);
+
+        assertTrue(grid.remove(v1));
+        assertFalse(grid.remove(v1));
+        assertEquals(1, grid.size());
+        assertEquals(List.of(v2), grid.query(v1.getPosition(), RADIUS));
+
+        grid.clear();
+        assertEquals(0, grid.size());
+        assertTrue(grid.query(v2.getPosition(), RADIUS).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Test query results match linear search after random moves")
+    void testParityWithLinearSearch() {
+        Random random = new Random(42);
+        List<Vehicle> vehicles = new ArrayList<>();
+        for (int i = 0; i < 2000; i++) {
+            Vehicle vehicle = createVehicle("vehicle" + i,
+                41.0 + random.nextDouble() * 0.05, 29.0 + random.nextDouble() * 0.05);
+            vehicles.add(vehicle);
+            grid.insert(vehicle);
+        }
+        for (int round = 0; round < 3; round++) {
+            for (Vehicle vehicle : vehicles) {
+                Position p = vehicle.getPosition();
+                vehicle.updatePosition(new Position(
+                    p.getLatitude() + (random.nextDouble() - 0.5) * 0.002,
+                    p.getLongitude() + (random.nextDouble() - 0.5) * 0.002, 100.0));
+                grid.update(vehicle);
+            }
+        }
+        for (int i = 0; i < 500; i += 3) {
+            grid.remove(vehicles.get(i));
+        }
+
+        for (int q = 0; q < 50; q++) {
+            Position center = new Position(41.0 + random.nextDouble() * 0.05,
+                29.0 + random.nextDouble() * 0.05, 100.0);
+            Set<String> expected = new HashSet<>();
+            for (int i = 0; i < vehicles.size(); i++) {
+                if (i < 500 && i % 3 == 0) {
+                    continue;
+                }
+                if (vehicles.get(i).getPosition().horizontalDistanceTo(center) <= RADIUS) {
+                    expected.add(vehicles.get(i).getId());
+                }
+            }
+            Set<String> actual = new HashSet<>();
+            for (Vehicle vehicle : grid.query(center, RADIUS)) {
+                actual.add(vehicle.getId());
+            }
+            assertEquals(expected, actual);
+        }
+    }
+
+    @Test
+    @DisplayName("Test cell size shrinks for dense traffic and grows back when sparse")
+    void testRetune() {
+        List<Vehicle> vehicles = new ArrayList<>();
+        for (int i = 0; i < 400; i++) {
+            Vehicle vehicle = createVehicle("vehicle" + i,
+                41.0 + (i % 20) * 0.0002, 29.0 + (i / 20) * 0.0002);
+            vehicles.add(vehicle);
+            grid.insert(vehicle);
+        }
+        grid.retune();
+        assertTrue(grid.getCellSize() < RADIUS, "Dense cluster should shrink cells");
+        assertTrue(grid.getCellSize() >= RADIUS / 4.0, "Cell size should not go below radius / 4");
+        assertEquals(400, grid.query(new Position(41.002, 29.002, 100.0), RADIUS).size());
+
+        for (int i = 0; i < vehicles.size(); i++) {
+            Vehicle vehicle = vehicles.get(i);
+            vehicle.updatePosition(new Position(40.5 + i * 0.01, 28.5 + i * 0.003, 100.0));
+            grid.update(vehicle);
+        }
+        grid.retune();
+        assertEquals(RADIUS, grid.getCellSize(), 0.001, "Sparse traffic should restore radius-sized cells");
+        assertEquals(400, grid.size());
+    }
+
+    @Test
+    @DisplayName("Test table growth keeps each vehicle in exactly one cell")
+    void testTableGrowthThenRemove() {
+        List<Vehicle> vehicles = new ArrayList<>();
+        for (int i = 0; i < 40; i++) {
+            // ~1 km apart: every vehicle gets its own cell, forcing table resizes
+            Vehicle vehicle = createVehicle("vehicle" + i, 41.0 + i * 0.01, 29.0);
+            vehicles.add(vehicle);
+            grid.insert(vehicle);
+        }
+        assertEquals(40, grid.getOccupiedCellCount());
+
+        // Moves into fresh cells take the same growth path
+        for (int i = 0; i < 40; i++) {
+            Vehicle vehicle = vehicles.get(i);
+            vehicle.setPosition(new Position(41.0 + i * 0.01, 29.5, 100.0));
+            grid.update(vehicle);
+        }
+        assertEquals(40, grid.getOccupiedCellCount());
+
+        for (int i = 0; i < 40; i += 2) {
+            assertTrue(grid.remove(vehicles.get(i)));
+        }
+        assertEquals(20, grid.getOccupiedCellCount());
+        for (int i = 0; i < 40; i++) {
+            List<Vehicle> found = grid.query(new Position(41.0 + i * 0.01, 29.5, 100.0), 100.0);
+            assertEquals(i % 2 == 0 ? 0 : 1, found.size());
+        }
+        assertEquals(20, grid.query(new Position(41.2, 29.5, 100.0), 50_000.0).size());
+    }
+
+    @Test
+    @DisplayName("Test SpatialIndexType resolves configuration values")
+    void testSpatialIndexTypeFromConfig() {
+        assertEquals(SpatialIndexType.HASH_GRID, SpatialIndexType.fromConfig("hash_grid", SpatialIndexType.QUADTREE));
+        assertEquals(SpatialIndexType.QUADTREE, SpatialIndexType.fromConfig(null, SpatialIndexType.QUADTREE));
+        assertEquals(SpatialIndexType.QUADTREE, SpatialIndexType.fromConfig("unknown", SpatialIndexType.QUADTREE));
+    }
+
+    // Helper method to create test vehicles
+    private Vehicle createVehicle(String id, double lat, double lon) {
+        Vehicle vehicle = new Vehicle();
+        vehicle.setId(id);
+        vehicle.setType(VehicleType.PASSENGER);
+        vehicle.setStatus(VehicleStatus.IN_FLIGHT);
+        vehicle.setPosition(new Position(lat, lon, 100.0));
+        return vehicle;
+    }
+}
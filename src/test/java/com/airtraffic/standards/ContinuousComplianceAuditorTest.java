@@ -0,0 +1,144 @@
+package com.airtraffic.standards;
+
+import com.airtraffic.map.CityMap;
+import com.airtraffic.map.RestrictedZone;
+import com.airtraffic.map.RestrictedZoneType;
+import com.airtraffic.model.Position;
+import com.airtraffic.model.Vehicle;
+import com.airtraffic.model.VehicleStatus;
+import com.airtraffic.model.VehicleType;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for ContinuousComplianceAuditor
+ * Tests round-robin passes, priority sampling, budgets and rolling rates
+ */
+@DisplayName("ContinuousComplianceAuditor Tests")
+class ContinuousComplianceAuditorTest {
+
+    private static final double METERS_PER_DEGREE_LAT = 111320.0;
+
+    private final ICAOStandardsCompliance compliance = new ICAOStandardsCompliance();
+
+    @Test
+    @DisplayName("Test constructor validation")
+    void testConstructorValidation() {
+        assertThrows(IllegalArgumentException.class,
+            () -> new ContinuousComplianceAuditor(null, List::of, () -> null, List::of));
+        assertThrows(IllegalArgumentException.class,
+            () -> new ContinuousComplianceAuditor(compliance, List::of, () -> null, List::of, 100, 0, 60));
+        assertThrows(IllegalArgumentException.class,
+            () -> new ContinuousComplianceAuditor(compliance, List::of, () -> null, List::of, 100, 50, 0));
+    }
+
+    @Test
+    @DisplayName("Test a pass covers the whole fleet and rates reflect results")
+    void testRoundRobinAndRates() {
+        List<Vehicle> fleet = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            fleet.add(createVehicle(i * 2000.0, 0.0));   // seyrek: öncelikli araç yok
+        }
+        // Yalnızca ilk aracın yakınında istasyon var
+        List<Position> stations = List.of(fleet.get(0).getPosition());
+        ContinuousComplianceAuditor auditor =
+            new ContinuousComplianceAuditor(compliance, () -> fleet, () -> null, () -> stations);
+
+        assertEquals(10, auditor.runOnce(Long.MAX_VALUE));
+        assertEquals(0, auditor.getPriorityVehicleCount());
+        assertEquals(10, auditor.getWindowCheckCount());
+        assertEquals(1.0, auditor.getFlightRulesComplianceRate(), 1e-9);
+        assertEquals(0.3, auditor.getCommunicationComplianceRate(), 1e-9);
+
+        // Yeni tur yeni snapshot ile başlar
+        auditor.runOnce(Long.MAX_VALUE);
+        assertEquals(1, auditor.getCompletedPassCount());
+        assertEquals(20, auditor.getTotalCheckCount());
+    }
+
+    @Test
+    @DisplayName("Test exhausted budget performs no checks")
+    void testZeroBudget() {
+        List<Vehicle> fleet = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            fleet.add(createVehicle(i * 2000.0, 0.0));
+        }
+        ContinuousComplianceAuditor auditor =
+            new ContinuousComplianceAuditor(compliance, () -> fleet, () -> null, List::of);
+        int total = 0;
+        for (int i = 0; i < 5; i++) {
+            total += auditor.runOnce(0);
+        }
+        assertEquals(0, total, "No budget, no checks");
+        assertEquals(0, auditor.getTotalCheckCount());
+    }
+
+    @Test
+    @DisplayName("Test dense cells and restricted-zone vicinity get priority sampling")
+    void testPrioritySampling() {
+        List<Vehicle> fleet = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            fleet.add(createVehicle(10.0 * i, 0.0));     // yoğun hücre
+        }
+        Vehicle nearZone = createVehicle(0.0, 5000.0);
+        fleet.add(nearZone);
+        for (int i = 0; i < 20; i++) {
+            fleet.add(createVehicle(3000.0 + i * 1000.0, 3000.0));
+        }
+
+        CityMap cityMap = new CityMap("Istanbul");
+        cityMap.setMinLatitude(40.0);
+        cityMap.setMaxLatitude(42.0);
+        cityMap.setMinLongitude(28.0);
+        cityMap.setMaxLongitude(30.0);
+        RestrictedZone zone = new RestrictedZone("Zone", RestrictedZoneType.MILITARY);
+        zone.addBoundaryPoint(position(0.0, 5200.0));
+        zone.addBoundaryPoint(position(200.0, 5200.0));
+        zone.addBoundaryPoint(position(200.0, 5400.0));
+        zone.addBoundaryPoint(position(0.0, 5400.0));
+        cityMap.addRestrictedZone(zone);
+
+        ContinuousComplianceAuditor auditor =
+            new ContinuousComplianceAuditor(compliance, () -> fleet, () -> cityMap, List::of);
+        int checked = auditor.runOnce(Long.MAX_VALUE);
+
+        assertEquals(9, auditor.getPriorityVehicleCount());
+        assertEquals(fleet.size(), checked - auditor.getPriorityCheckCount());
+        assertTrue(auditor.getPriorityCheckCount() >= fleet.size() - 1,
+            "Priority rotation should get about half of the checks");
+    }
+
+    @Test
+    @DisplayName("Test background start and stop")
+    void testStartStop() throws InterruptedException {
+        List<Vehicle> fleet = List.of(createVehicle(0.0, 0.0));
+        ContinuousComplianceAuditor auditor =
+            new ContinuousComplianceAuditor(compliance, () -> fleet, () -> null, List::of, 10, 100, 60);
+        auditor.start();
+        assertTrue(auditor.isRunning());
+        long deadline = System.currentTimeMillis() + 5000;
+        while (auditor.getTotalCheckCount() < 3 && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        auditor.stop();
+        assertFalse(auditor.isRunning());
+        assertTrue(auditor.getTotalCheckCount() >= 3);
+    }
+
+    private static Position position(double eastMeters, double northMeters) {
+        double lat = 41.0 + northMeters / METERS_PER_DEGREE_LAT;
+        double lon = 29.0 + eastMeters / (METERS_PER_DEGREE_LAT * Math.cos(Math.toRadians(41.0)));
+        return new Position(lat, lon, 100.0);
+    }
+
+    private static Vehicle createVehicle(double eastMeters, double northMeters) {
+        Vehicle vehicle = new Vehicle(VehicleType.PASSENGER, position(eastMeters, northMeters));
+        vehicle.setStatus(VehicleStatus.IN_FLIGHT);
+        return vehicle;
+    }
+}
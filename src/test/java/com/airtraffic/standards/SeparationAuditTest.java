@@ -0,0 +1,132 @@
+package com.airtraffic.standards;
+
+import com.airtraffic.model.Position;
+import com.airtraffic.model.Vehicle;
+import com.airtraffic.model.VehicleType;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for SeparationAudit
+ * Tests envelope filtering, agreement with pairwise checks and parallel runs
+ */
+@DisplayName("SeparationAudit Tests")
+class SeparationAuditTest {
+
+    private static final double METERS_PER_DEGREE_LAT = 111320.0;
+
+    private final ICAOStandardsCompliance compliance = new ICAOStandardsCompliance();
+
+    @Test
+    @DisplayName("Test constructor and argument validation")
+    void testValidation() {
+        assertThrows(IllegalArgumentException.class, () -> new SeparationAudit(null));
+        SeparationAudit audit = new SeparationAudit(compliance);
+        assertThrows(IllegalArgumentException.class, () -> audit.run(List.of(), null, null));
+        assertEquals(0, audit.run(null, null, (a, b, r) -> fail("No pairs expected")));
+    }
+
+    @Test
+    @DisplayName("Test only pairs within the horizontal envelope are reported")
+    void testEnvelope() {
+        Vehicle a = createVehicle(0.0, 0.0, 100.0);
+        Vehicle b = createVehicle(30.0, 0.0, 100.0);
+        Vehicle far = createVehicle(0.0, 500.0, 100.0);   // aynı irtifa ama uzak
+        Vehicle noPosition = new Vehicle();
+
+        List<Vehicle[]> pairs = new ArrayList<>();
+        long count = compliance.auditSeparation(List.of(a, b, far, noPosition), null,
+            (v1, v2, result) -> pairs.add(new Vehicle[] {v1, v2}));
+
+        assertEquals(1, count);
+        assertEquals(1, pairs.size());
+        Set<Vehicle> reported = Set.of(pairs.get(0));
+        assertEquals(Set.of(a, b), reported);
+    }
+
+    @Test
+    @DisplayName("Test pairs outside the horizontal minimum are compliant at any altitude")
+    void testVerticalOnlyPairsNotReported() {
+        // 60 m yatay, aynı irtifa: ikili kontrol dikey ihlal raporlar, denetim raporlamaz
+        Vehicle a = createVehicle(0.0, 0.0, 100.0);
+        Vehicle b = createVehicle(60.0, 0.0, 100.0);
+        ComplianceResult pairwise = compliance.checkSeparationStandards(a, b);
+        assertFalse(pairwise.isCompliant());
+        assertEquals(1, pairwise.getViolations().size());
+        assertTrue(pairwise.getViolations().get(0).startsWith("Vertical"));
+        assertEquals(1, compliance.checkAllSeparationStandards(List.of(a, b)).size());
+
+        assertEquals(0, compliance.auditSeparation(List.of(a, b), null,
+            (v1, v2, r) -> fail("Pairs beyond the horizontal minimum are not audited")));
+
+        // Zarf içinde yalnızca dikey ihlal: denetim de raporlar
+        Vehicle c = createVehicle(0.0, 40.0, 105.0);
+        List<ComplianceResult> results = new ArrayList<>();
+        assertEquals(1, compliance.auditSeparation(List.of(a, c), null, (v1, v2, r) -> results.add(r)));
+        assertEquals(compliance.checkSeparationStandards(a, c).getViolations(), results.get(0).getViolations());
+    }
+
+    @Test
+    @DisplayName("Test pairs across cell boundaries are found exactly once")
+    void testCellBoundaries() {
+        // 50 m hücre sınırının iki yanında, çapraz komşular dahil
+        Vehicle a = createVehicle(49.0, 49.0, 100.0);
+        Vehicle b = createVehicle(51.0, 51.0, 100.0);
+        Vehicle c = createVehicle(51.0, 47.0, 100.0);
+        Vehicle d = createVehicle(47.0, 51.0, 100.0);
+        long count = compliance.auditSeparation(List.of(a, b, c, d), null, (v1, v2, r) -> { });
+        assertEquals(6, count);
+    }
+
+    @Test
+    @DisplayName("Test parallel audit matches brute force within the envelope")
+    void testMatchesBruteForce() {
+        Random random = new Random(42);
+        List<Vehicle> fleet = new ArrayList<>();
+        for (int i = 0; i < 3000; i++) {
+            fleet.add(createVehicle(random.nextDouble() * 2000.0, random.nextDouble() * 2000.0,
+                80.0 + random.nextDouble() * 40.0));
+        }
+
+        Set<String> expected = new HashSet<>();
+        for (int i = 0; i < fleet.size(); i++) {
+            for (int j = i + 1; j < fleet.size(); j++) {
+                Vehicle v1 = fleet.get(i);
+                Vehicle v2 = fleet.get(j);
+                if (v1.getPosition().horizontalDistanceTo(v2.getPosition()) < 50.0
+                        && !compliance.checkSeparationStandards(v1, v2).isCompliant()) {
+                    expected.add(pairKey(v1, v2));
+                }
+            }
+        }
+
+        Set<String> actual = ConcurrentHashMap.newKeySet();
+        long count = compliance.auditSeparation(fleet, null, (v1, v2, r) -> {
+            assertFalse(r.isCompliant());
+            actual.add(pairKey(v1, v2));
+        });
+
+        assertFalse(expected.isEmpty());
+        assertEquals(expected.size(), count);
+        assertEquals(expected, actual);
+    }
+
+    private static String pairKey(Vehicle v1, Vehicle v2) {
+        return v1.getId().compareTo(v2.getId()) < 0 ? v1.getId() + "|" + v2.getId() : v2.getId() + "|" + v1.getId();
+    }
+
+    private Vehicle createVehicle(double eastMeters, double northMeters, double altitude) {
+        double lat = 41.0 + northMeters / METERS_PER_DEGREE_LAT;
+        double lon = 29.0 + eastMeters / (METERS_PER_DEGREE_LAT * Math.cos(Math.toRadians(41.0)));
+        return new Vehicle(VehicleType.PASSENGER, new Position(lat, lon, altitude));
+    }
+}
@@ -0,0 +1,118 @@
+package com.airtraffic.telemetry;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for TelemetryMessage
+ * Tests binary layout round trip, partial frames and malformed input
+ */
+@DisplayName("TelemetryMessage Tests")
+class TelemetryMessageTest {
+
+    @Test
+    @DisplayName("Test encode and absolute accessors round trip")
+    void testRoundTrip() {
+        ByteBuffer buffer = ByteBuffer.allocateDirect(TelemetryMessage.SIZE);
+        TelemetryMessage.encode(buffer, 42L, 7, 1_700_000_000_000L, 41.0082, 28.9784, 120.5, 15.25, 270.0);
+        assertEquals(TelemetryMessage.SIZE, buffer.position());
+        buffer.flip();
+
+        assertTrue(TelemetryMessage.isValid(buffer, 0));
+        assertEquals(42L, TelemetryMessage.vehicleKey(buffer, 0));
+        assertEquals(7, TelemetryMessage.sequence(buffer, 0));
+        assertEquals(1_700_000_000_000L, TelemetryMessage.timestampMillis(buffer, 0));
+        assertEquals(41.0082, TelemetryMessage.latitude(buffer, 0), 0.0);
+        assertEquals(28.9784, TelemetryMessage.longitude(buffer, 0), 0.0);
+        assertEquals(120.5, TelemetryMessage.altitude(buffer, 0), 1e-3);
+        assertEquals(15.25, TelemetryMessage.velocity(buffer, 0), 1e-3);
+        assertEquals(270.0, TelemetryMessage.heading(buffer, 0), 1e-3);
+    }
+
+    @Test
+    @DisplayName("Test decodeAll leaves a trailing partial message in place")
+    void testDecodePartial() {
+        ByteBuffer buffer = ByteBuffer.allocate(TelemetryMessage.SIZE * 3);
+        for (int i = 0; i < 3; i++) {
+            TelemetryMessage.encode(buffer, i, i, 0L, 41.0, 29.0, 100.0, 0.0, 0.0);
+        }
+        buffer.flip();
+        buffer.limit(TelemetryMessage.SIZE * 2 + 10);
+
+        List<Long> keys = new ArrayList<>();
+        assertEquals(0, TelemetryMessage.decodeAll(buffer, (key, seq, ts, lat, lon, alt, vel, hdg) -> keys.add(key)));
+        assertEquals(List.of(0L, 1L), keys);
+        assertEquals(TelemetryMessage.SIZE * 2, buffer.position());
+    }
+
+    @Test
+    @DisplayName("Test malformed data is rejected")
+    void testMalformed() {
+        ByteBuffer buffer = ByteBuffer.allocate(TelemetryMessage.SIZE * 2);
+        TelemetryMessage.encode(buffer, 1L, 1, 0L, 41.0, 29.0, 100.0, 0.0, 0.0);
+        buffer.putLong(0xDEADBEEFL);
+        buffer.position(TelemetryMessage.SIZE * 2);
+        buffer.flip();
+
+        int[] decoded = new int[1];
+        assertEquals(1, TelemetryMessage.decodeAll(buffer, (key, seq, ts, lat, lon, alt, vel, hdg) -> decoded[0]++));
+        assertEquals(1, decoded[0]);
+        assertFalse(buffer.hasRemaining());
+        assertFalse(TelemetryMessage.isValid(buffer, TelemetryMessage.SIZE));
+    }
+
+    @Test
+    @DisplayName("Test stream decoding resynchronises after a corrupt frame")
+    void testResyncAfterCorruptFrame() {
+        // valid, 30 byte garbage, valid, valid; fed as a stream in two reads
+        ByteBuffer stream = ByteBuffer.allocate(TelemetryMessage.SIZE * 3 + 30);
+        TelemetryMessage.encode(stream, 1L, 1, 0L, 41.0, 29.0, 100.0, 0.0, 0.0);
+        for (int i = 0; i < 30; i++) {
+            stream.put((byte) (i == 10 ? 0xA7 : 0x55));
+        }
+        TelemetryMessage.encode(stream, 2L, 1, 0L, 41.0, 29.0, 100.0, 0.0, 0.0);
+        TelemetryMessage.encode(stream, 3L, 1, 0L, 41.0, 29.0, 100.0, 0.0, 0.0);
+        stream.flip();
+
+        ByteBuffer buffer = ByteBuffer.allocate(256);
+        List<Long> keys = new ArrayList<>();
+        int malformed = 0;
+        int split = TelemetryMessage.SIZE + 40;
+        for (int[] chunk : new int[][] {{0, split}, {split, stream.limit()}}) {
+            ByteBuffer part = stream.duplicate();
+            part.position(chunk[0]).limit(chunk[1]);
+            buffer.put(part);
+            buffer.flip();
+            malformed += TelemetryMessage.decodeAll(buffer,
+                (key, seq, ts, lat, lon, alt, vel, hdg) -> keys.add(key));
+            buffer.compact();
+        }
+        assertEquals(List.of(1L, 2L, 3L), keys);
+        assertEquals(1, malformed);
+        assertEquals(0, buffer.position(), "Nothing left over after the last frame");
+    }
+
+    @Test
+    @DisplayName("Test buffer pool reuses direct buffers")
+    void testBufferPool() {
+        DirectBufferPool pool = new DirectBufferPool(1024, 2);
+        ByteBuffer first = pool.acquire();
+        assertTrue(first.isDirect());
+        first.put((byte) 1);
+        pool.release(first);
+        assertEquals(1, pool.getIdleCount());
+
+        ByteBuffer second = pool.acquire();
+        assertSame(first, second);
+        assertEquals(0, second.position(), "Acquired buffer must be cleared");
+        pool.release(ByteBuffer.allocate(1024));
+        assertEquals(0, pool.getIdleCount(), "Heap buffers are not pooled");
+        assertThrows(IllegalArgumentException.class, () -> new DirectBufferPool(8, 1));
+    }
+}
@@ -0,0 +1,253 @@
+package com.airtraffic.telemetry;
+
+import com.airtraffic.control.AuthorizationStatus;
+import com.airtraffic.control.FlightAuthorization;
+import com.airtraffic.control.TrafficControlCenter;
+import com.airtraffic.map.CityMap;
+import com.airtraffic.model.Position;
+import com.airtraffic.model.Vehicle;
+import com.airtraffic.model.VehicleType;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Integration tests for TelemetryServer over loopback
+ * Tests UDP and TCP ingest, replay pacing and the control center adapter
+ */
+@DisplayName("TelemetryServer Tests")
+class TelemetryServerTest {
+
+    private TelemetryServer server;
+
+    @AfterEach
+    void tearDown() {
+        if (server != null) {
+            server.stop();
+        }
+    }
+
+    @Test
+    @DisplayName("Test constructor validation")
+    void testConstructorValidation() {
+        assertThrows(IllegalArgumentException.class, () -> new TelemetryServer(null, loopback(), null));
+        assertThrows(IllegalArgumentException.class,
+            () -> new TelemetryServer((k, s, t, la, lo, al, v, h) -> { }, null, null));
+    }
+
+    @Test
+    @DisplayName("Test UDP and TCP messages reach the sink")
+    void testUdpAndTcpIngest() throws Exception {
+        CountingSink sink = new CountingSink();
+        server = new TelemetryServer(sink, loopback(), loopback());
+        server.start();
+        assertTrue(server.isRunning());
+
+        TelemetryReplayClient client = new TelemetryReplayClient(recording(500));
+        assertEquals(500, client.replayUdp(address(server.getUdpPort()), 0, 50, 1));
+        assertEquals(1000, client.replayTcp(address(server.getTcpPort()), 0, 37, 2)); // 37: frames split across writes
+
+        waitFor(() -> sink.count.get() >= 1500);
+        assertEquals(1500, sink.count.get());
+        assertEquals(1500, server.getMessagesReceived());
+        assertEquals(0, server.getMalformedCount());
+        assertEquals(1, server.getConnectionsAccepted());
+        assertEquals((0 + 499) * 500 / 2 * 3, sink.keySum.get());
+        assertTrue(sink.batches.get() > 0);
+    }
+
+    @Test
+    @DisplayName("Test replay honours the configured rate")
+    void testReplayRate() throws Exception {
+        CountingSink sink = new CountingSink();
+        server = new TelemetryServer(sink, loopback(), null);
+        server.start();
+
+        TelemetryReplayClient client = new TelemetryReplayClient(recording(200));
+        long start = System.nanoTime();
+        client.replayUdp(address(server.getUdpPort()), 1000, 10, 1); // 200 mesaj @ 1000/s ≈ 200 ms
+        long elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+
+        assertTrue(elapsedMillis >= 150, "Replay finished too fast: " + elapsedMillis + " ms");
+        waitFor(() -> sink.count.get() >= 200);
+    }
+
+    @Test
+    @DisplayName("Test sink exception closes only its connection and the server keeps running")
+    void testSinkFailureIsolated() throws Exception {
+        AtomicLong received = new AtomicLong();
+        server = new TelemetryServer((key, seq, ts, lat, lon, alt, v, h) -> {
+            if (key == 13L) {
+                throw new IllegalStateException("boom");
+            }
+            received.incrementAndGet();
+        }, loopback(), loopback());
+        server.start();
+
+        ByteBuffer poison = ByteBuffer.allocate(TelemetryMessage.SIZE);
+        TelemetryMessage.encode(poison, 13L, 1, 1_700_000_000_000L, 41.0, 29.0, 100.0, 0.0, 0.0);
+        poison.flip();
+        new TelemetryReplayClient(poison).replayTcp(address(server.getTcpPort()), 0, 1, 1);
+        waitFor(() -> server.getSinkErrorCount() >= 1);
+        assertEquals(1, server.getSinkErrorCount());
+        assertTrue(server.isRunning());
+
+        // Sonraki bağlantı ve UDP trafiği işlenmeye devam eder
+        TelemetryReplayClient client = new TelemetryReplayClient(recording(10));
+        client.replayTcp(address(server.getTcpPort()), 0, 10, 1);
+        client.replayUdp(address(server.getUdpPort()), 0, 10, 1);
+        waitFor(() -> received.get() >= 20);
+        assertEquals(20, received.get());
+        assertTrue(server.isRunning());
+    }
+
+    @Test
+    @DisplayName("Test control center sink maps keys to vehicles")
+    void testControlCenterSink() throws Exception {
+        TrafficControlCenter controlCenter = TrafficControlCenter.getInstance();
+        for (Vehicle v : controlCenter.getActiveVehicles()) {
+            controlCenter.unregisterVehicle(v.getId());
+        }
+        CityMap cityMap = new CityMap("Istanbul");
+        cityMap.setMinLatitude(40.0);
+        cityMap.setMaxLatitude(42.0);
+        cityMap.setMinLongitude(28.0);
+        cityMap.setMaxLongitude(30.0);
+        controlCenter.loadCityMap(cityMap);
+
+        Position start = new Position(41.0082, 28.9784, 100.0);
+        Vehicle vehicle = new Vehicle(VehicleType.PASSENGER, start);
+        vehicle.setPilotLicense("PILOT-TLM");
+        FlightAuthorization auth = controlCenter.requestFlightAuthorization(
+            vehicle, start, new Position(41.0100, 28.9800, 120.0));
+        assertEquals(AuthorizationStatus.APPROVED, auth.getStatus());
+        controlCenter.registerVehicle(vehicle);
+
+        TrafficControlCenterSink sink = new TrafficControlCenterSink(controlCenter);
+        for (long key = 1; key <= 40; key++) {
+            sink.registerVehicleKey(key, key == 7 ? vehicle.getId() : "ghost-" + key);
+        }
+        assertEquals(vehicle.getId(), sink.getVehicleId(7L));
+        assertTrue(sink.unregisterVehicleKey(8L));
+        assertNull(sink.getVehicleId(8L));
+
+        server = new TelemetryServer(sink, null, loopback());
+        server.start();
+        ByteBuffer buffer = ByteBuffer.allocate(TelemetryMessage.SIZE * 4);
+        TelemetryMessage.encode(buffer, 7L, 2, 1_700_000_000_000L, 41.0090, 28.9790, 110.0, 12.0, 45.0);
+        TelemetryMessage.encode(buffer, 999L, 1, 1_700_000_000_000L, 41.0, 29.0, 100.0, 0.0, 0.0);
+        // Yeniden sıralanmış ve tekrarlanan raporlar daha yeni konumu ezmemeli
+        TelemetryMessage.encode(buffer, 7L, 1, 1_699_999_999_000L, 41.0500, 28.9500, 110.0, 3.0, 0.0);
+        TelemetryMessage.encode(buffer, 7L, 2, 1_700_000_000_000L, 41.0500, 28.9500, 110.0, 3.0, 0.0);
+        buffer.flip();
+        new TelemetryReplayClient(buffer).replayTcp(address(server.getTcpPort()), 0, 4, 1);
+
+        waitFor(() -> sink.getForwardedCount() + sink.getUnknownKeyCount() + sink.getStaleCount() >= 4);
+        assertEquals(1, sink.getForwardedCount());
+        assertEquals(1, sink.getUnknownKeyCount());
+        assertEquals(2, sink.getStaleCount());
+        assertEquals(41.0090, vehicle.getPosition().getLatitude(), 1e-9);
+        assertEquals(12.0, vehicle.getVelocity(), 1e-6);
+        assertEquals(45.0, vehicle.getHeading(), 1e-6);
+
+        controlCenter.unregisterVehicle(vehicle.getId());
+    }
+
+    @Test
+    @DisplayName("Test sequence restarts after unregistration or re-keying")
+    void testSequenceResetOnReRegistration() {
+        TrafficControlCenter controlCenter = TrafficControlCenter.getInstance();
+        CityMap cityMap = new CityMap("Istanbul");
+        cityMap.setMinLatitude(40.0);
+        cityMap.setMaxLatitude(42.0);
+        cityMap.setMinLongitude(28.0);
+        cityMap.setMaxLongitude(30.0);
+        controlCenter.loadCityMap(cityMap);
+        Position start = new Position(41.0700, 29.0700, 100.0);
+        Position end = new Position(41.0720, 29.0720, 120.0);
+        Vehicle vehicle = new Vehicle(VehicleType.PASSENGER, start);
+        vehicle.setPilotLicense("PILOT-SEQ");
+        assertEquals(AuthorizationStatus.APPROVED,
+            controlCenter.requestFlightAuthorization(vehicle, start, end).getStatus());
+        controlCenter.registerVehicle(vehicle);
+
+        TrafficControlCenterSink sink = new TrafficControlCenterSink(controlCenter);
+        sink.registerVehicleKey(5L, vehicle.getId());
+        try {
+            sink.onPosition(5L, 100, 1_700_000_000_000L, 41.0701, 29.0700, 100.0, 5.0, 0.0);
+            sink.onPosition(5L, 3, 1_700_000_001_000L, 41.0702, 29.0700, 100.0, 5.0, 0.0);
+            assertEquals(1, sink.getForwardedCount());
+            assertEquals(1, sink.getStaleCount());
+
+            // Araç merkezden çıkıp yeniden kaydolur; cihaz sırayı baştan sayar
+            controlCenter.unregisterVehicle(vehicle.getId());
+            sink.onPosition(5L, 101, 1_700_000_002_000L, 41.0703, 29.0700, 100.0, 5.0, 0.0);
+            assertEquals(1, sink.getUnknownKeyCount());
+            assertEquals(AuthorizationStatus.APPROVED,
+                controlCenter.requestFlightAuthorization(vehicle, start, end).getStatus());
+            controlCenter.registerVehicle(vehicle);
+            sink.onPosition(5L, 1, 1_700_000_003_000L, 41.0704, 29.0700, 100.0, 5.0, 0.0);
+            assertEquals(2, sink.getForwardedCount());
+
+            // Anahtar yeniden eşlenince de sıra sıfırlanır
+            sink.registerVehicleKey(5L, vehicle.getId());
+            sink.onPosition(5L, 0, 1_700_000_004_000L, 41.0705, 29.0700, 100.0, 5.0, 0.0);
+            assertEquals(3, sink.getForwardedCount());
+            sink.onPosition(5L, 0, 1_700_000_005_000L, 41.0706, 29.0700, 100.0, 5.0, 0.0);
+            assertEquals(2, sink.getStaleCount(), "Duplicates within a mapping are still dropped");
+            assertEquals(41.0705, vehicle.getPosition().getLatitude(), 1e-9);
+        } finally {
+            controlCenter.unregisterVehicle(vehicle.getId());
+        }
+    }
+
+    private static ByteBuffer recording(int messages) {
+        ByteBuffer buffer = ByteBuffer.allocate(messages * TelemetryMessage.SIZE);
+        for (int i = 0; i < messages; i++) {
+            TelemetryMessage.encode(buffer, i, i, 1_700_000_000_000L + i, 41.0 + i * 1e-5, 29.0, 100.0, 10.0, 90.0);
+        }
+        buffer.flip();
+        return buffer;
+    }
+
+    private static InetSocketAddress loopback() {
+        return new InetSocketAddress(InetAddress.getLoopbackAddress(), 0);
+    }
+
+    private static InetSocketAddress address(int port) {
+        return new InetSocketAddress(InetAddress.getLoopbackAddress(), port);
+    }
+
+    private static void waitFor(java.util.function.BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5000;
+        while (!condition.getAsBoolean() && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+    }
+
+    private static final class CountingSink implements TelemetrySink {
+        private final AtomicLong count = new AtomicLong();
+        private final AtomicLong keySum = new AtomicLong();
+        private final AtomicLong batches = new AtomicLong();
+
+        @Override
+        public void onPosition(long vehicleKey, int sequence, long timestampMillis,
+                               double latitude, double longitude, double altitude,
+                               double velocity, double heading) {
+            count.incrementAndGet();
+            keySum.addAndGet(vehicleKey);
+        }
+
+        @Override
+        public void onBatchEnd() {
+            batches.incrementAndGet();
+        }
+    }
+}
@@ -0,0 +1,42 @@
+package com.airtraffic.util;
+
+import com.airtraffic.model.Position;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for GeoUtils
+ * Tests haversine agreement with Position and cell key packing
+ */
+@DisplayName("GeoUtils Tests")
+class GeoUtilsTest {
+
+    @Test
+    @DisplayName("Test haversine matches Position distance")
+    void testHaversineMatchesPosition() {
+        Position a = new Position(41.0082, 28.9784, 0.0);
+        Position b = new Position(41.0422, 29.0083, 0.0);
+        assertEquals(a.horizontalDistanceTo(b),
+            GeoUtils.haversine(a.getLatitude(), a.getLongitude(), b.getLatitude(), b.getLongitude()), 1e-9);
+        assertEquals(GeoUtils.METERS_PER_DEGREE_LAT * Math.cos(Math.toRadians(41.0)),
+            GeoUtils.metersPerDegreeLon(41.0), 1e-9);
+    }
+
+    @Test
+    @DisplayName("Test packed keys round-trip and keep (x, y) order")
+    void testPackKey() {
+        long[][] cells = {{0, 0}, {-3, 7}, {5, -2}, {-1, -1}, {100000, -100000}};
+        for (long[] cell : cells) {
+            long key = GeoUtils.packKey(cell[0], cell[1]);
+            assertEquals(cell[0], GeoUtils.cellX(key));
+            assertEquals(cell[1], GeoUtils.cellY(key));
+        }
+        // Aynı X için artan Y, ardından sonraki X
+        assertTrue(GeoUtils.packKey(2, -5) < GeoUtils.packKey(2, 0));
+        assertTrue(GeoUtils.packKey(2, 0) < GeoUtils.packKey(2, 5));
+        assertTrue(GeoUtils.packKey(2, 5) < GeoUtils.packKey(3, -5));
+        assertTrue(GeoUtils.packKey(-1, 5) < GeoUtils.packKey(0, -5));
+    }
+}
@@ -0,0 +1,40 @@
+package com.airtraffic.util;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for TimeUtils
+ * Tests that conversions share the system default zone with LocalDateTime.now()
+ */
+@DisplayName("TimeUtils Tests")
+class TimeUtilsTest {
+
+    @Test
+    @DisplayName("Test conversion uses the system default zone")
+    void testSystemDefaultZone() {
+        LocalDateTime time = LocalDateTime.of(2024, 6, 1, 12, 30, 15, 250_000_000);
+        long expected = time.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+
+        assertEquals(expected, TimeUtils.toEpochMillis(time));
+        assertEquals(time, TimeUtils.fromEpochMillis(expected));
+    }
+
+    @Test
+    @DisplayName("Test now() round-trips close to the wall clock")
+    void testNowMatchesWallClock() {
+        long before = System.currentTimeMillis();
+        long converted = TimeUtils.toEpochMillis(LocalDateTime.now());
+        long after = System.currentTimeMillis();
+
+        assertTrue(converted >= before - 1 && converted <= after + 1,
+            "LocalDateTime.now() must map to the current instant");
+        long nullTime = TimeUtils.toEpochMillis(null);
+        assertTrue(nullTime >= before);
+    }
+}